@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.api.API;
+import org.apache.synapse.api.ApiConstants;
+import org.apache.synapse.api.ApiRoutingIndex;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.rest.RESTConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locating the API of a request among a growing number of deployed APIs, by checking every API of the configuration
+ * as the dispatching used to, and through the routing index of the configuration. The request is for the API checked
+ * last by the linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiDispatchBenchmark {
+
+    /** Number of deployed APIs */
+    @Param({"10", "100", "1000"})
+    private int apis;
+
+    private SynapseConfiguration synapseConfig;
+
+    private MessageContext request;
+
+    @Setup
+    public void setUp() throws Exception {
+        synapseConfig = new SynapseConfiguration();
+        for (int i = 0; i < apis; i++) {
+            // same context length, so that the APIs are checked in the order of deployment
+            API api = new API("API" + i, String.format("/service%04d", i));
+            synapseConfig.addAPI(api.getName(), api, false);
+        }
+        synapseConfig.reconstructAPITable();
+        request = MessageContexts.xml("<request/>");
+        request.setProperty(RESTConstants.REST_FULL_REQUEST_PATH,
+                String.format("/service%04d/orders/1234?expand=items", apis - 1));
+    }
+
+    @Benchmark
+    public API linearScan() {
+        for (API api : synapseConfig.getAPIs(ApiConstants.DEFAULT_BINDING_ENDPOINT_NAME)) {
+            if (api.canProcess(request)) {
+                return api;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public API routingIndex() {
+        ApiRoutingIndex index = synapseConfig.getAPIRoutingIndex(ApiConstants.DEFAULT_BINDING_ENDPOINT_NAME);
+        for (API api : index.getCandidates((String) request.getProperty(RESTConstants.REST_FULL_REQUEST_PATH))) {
+            if (api.canProcess(request)) {
+                return api;
+            }
+        }
+        return null;
+    }
+}
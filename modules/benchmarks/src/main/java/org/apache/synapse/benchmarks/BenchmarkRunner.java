@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line options and writes the results as JSON to
+ * {@value #DEFAULT_RESULT_FILE} unless another result format is given, so that the results of different builds can
+ * be compared.
+ * <pre>
+ *   java -jar target/benchmarks.jar                       # all benchmarks
+ *   java -jar target/benchmarks.jar Expression -p orders=100
+ *   java -jar target/benchmarks.jar -rff baseline.json
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+            if (!options.contains("-rff")) {
+                options.add("-rff");
+                options.add(DEFAULT_RESULT_FILE);
+            }
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
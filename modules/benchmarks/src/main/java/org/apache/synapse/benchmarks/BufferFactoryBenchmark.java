@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.synapse.transport.passthru.util.BufferFactory;
+import org.apache.synapse.transport.passthru.util.ControlledByteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acquiring and releasing pass-through buffers from a shared {@link BufferFactory} by concurrent I/O threads, with and
+ * without the per-thread slabs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BufferFactoryBenchmark {
+
+    /** Capacity of the smallest buffers in bytes */
+    @Param({"8192"})
+    private int bufferSize;
+
+    /** Buffers kept per thread, 0 only uses the global pool */
+    @Param({"0", "16"})
+    private int threadLocalSize;
+
+    private BufferFactory bufferFactory;
+
+    @Setup
+    public void setUp() {
+        bufferFactory = new BufferFactory(bufferSize, null, 256, threadLocalSize, 4);
+    }
+
+    @Benchmark
+    public int acquireAndRelease() {
+        ControlledByteBuffer buffer = bufferFactory.getBuffer();
+        int capacity = buffer.capacity();
+        bufferFactory.release(buffer);
+        return capacity;
+    }
+
+    @Benchmark
+    public int acquireAndReleaseLarge() {
+        ControlledByteBuffer buffer = bufferFactory.getBuffer(bufferSize * 4);
+        int capacity = buffer.capacity();
+        bufferFactory.release(buffer);
+        return capacity;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.util.xpath.SynapseExpression;
+import org.apache.synapse.util.xpath.SynapseJsonPath;
+import org.apache.synapse.util.xpath.SynapseXPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation of pre-compiled {@link SynapseXPath}, {@link SynapseJsonPath} and {@link SynapseExpression} instances, as
+ * done by the mediators for every message. The expressions are compiled once in the setup, like they are when the
+ * configuration is deployed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEvaluationBenchmark {
+
+    /** Number of orders in the payload */
+    @Param({"1", "100", "1000"})
+    private int orders;
+
+    private MessageContext xmlMessage;
+
+    private MessageContext jsonMessage;
+
+    private SynapseXPath xpath;
+
+    private SynapseXPath xpathFunction;
+
+    private SynapseJsonPath jsonPath;
+
+    private SynapseExpression payloadExpression;
+
+    private SynapseExpression filterExpression;
+
+    private SynapseExpression constantExpression;
+
+    @Setup
+    public void setUp() throws Exception {
+        xmlMessage = MessageContexts.xml(Payloads.xml(orders));
+        jsonMessage = MessageContexts.json(Payloads.json(orders));
+        xmlMessage.setProperty("symbol", "SYM0");
+        jsonMessage.setProperty("symbol", "SYM0");
+
+        xpath = new SynapseXPath("//order[last()]/symbol");
+        xpathFunction = new SynapseXPath("//order[symbol = get-property('symbol')]/price");
+        jsonPath = new SynapseJsonPath("$.orders.order[-1:].symbol");
+        payloadExpression = new SynapseExpression("payload.orders.order[0].symbol");
+        filterExpression = new SynapseExpression("payload.orders.order[?(@.quantity > 25)].id");
+        constantExpression = new SynapseExpression("toUpper(\"synapse\") + \"-\" + (10 * 2 + 1)");
+    }
+
+    @Benchmark
+    public String xpath() {
+        return xpath.stringValueOf(xmlMessage);
+    }
+
+    @Benchmark
+    public String xpathWithFunction() {
+        return xpathFunction.stringValueOf(xmlMessage);
+    }
+
+    @Benchmark
+    public String jsonPath() {
+        return jsonPath.stringValueOf(jsonMessage);
+    }
+
+    @Benchmark
+    public String synapseExpressionPayload() {
+        return payloadExpression.stringValueOf(jsonMessage);
+    }
+
+    @Benchmark
+    public String synapseExpressionFilter() {
+        return filterExpression.stringValueOf(jsonMessage);
+    }
+
+    @Benchmark
+    public String synapseExpressionConstant() {
+        return constantExpression.stringValueOf(jsonMessage);
+    }
+}
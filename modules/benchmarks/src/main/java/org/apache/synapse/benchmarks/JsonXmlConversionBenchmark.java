@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.config.SynapseConfigUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON to XML and XML to JSON conversion of {@link JsonUtil}, as done when a JSON message is built or an XML payload
+ * is written out as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonXmlConversionBenchmark {
+
+    /** Number of orders in the payload */
+    @Param({"1", "100", "1000"})
+    private int orders;
+
+    private byte[] json;
+
+    private String xml;
+
+    @Setup
+    public void setUp() {
+        json = Payloads.json(orders).getBytes(StandardCharsets.UTF_8);
+        xml = Payloads.xml(orders);
+    }
+
+    @Benchmark
+    public OMElement jsonToXml() throws Exception {
+        OMElement element = JsonUtil.toXml(new ByteArrayInputStream(json), false);
+        // the element is built lazily, build it to include the actual conversion
+        element.build();
+        return element;
+    }
+
+    @Benchmark
+    public StringBuilder xmlToJson() throws Exception {
+        return JsonUtil.toJsonString(SynapseConfigUtils.stringToOM(xml));
+    }
+
+    @Benchmark
+    public int xmlToJsonStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        JsonUtil.writeAsJson(SynapseConfigUtils.stringToOM(xml), out);
+        return out.size();
+    }
+}
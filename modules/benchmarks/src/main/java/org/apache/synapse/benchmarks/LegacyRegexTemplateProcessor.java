@@ -0,0 +1,221 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMException;
+import org.apache.axis2.AxisFault;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.mediators.transform.ArgumentDetails;
+import org.apache.synapse.mediators.transform.pfutils.TemplateProcessor;
+import org.apache.synapse.util.InlineExpressionUtil;
+import org.apache.synapse.util.xpath.SynapseExpression;
+import org.jaxen.JaxenException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * The regex template engine as it was before templates were compiled: the format is matched on every message and
+ * the replacement values, escaped for {@link Matcher#appendReplacement(StringBuffer, String)}, are appended through
+ * the matcher. Kept as the baseline of {@link RegexTemplateBenchmark}.
+ */
+public class LegacyRegexTemplateProcessor extends TemplateProcessor {
+
+    // Pattern matches "${...}" (quoted), ${...} (unquoted), and $n
+    private final Pattern pattern = Pattern.compile("\"\\$\\{([^}]+)\\}\"|\\$\\{([^}]+)\\}|\\$(\\d+)");
+
+    private final Gson gson = new Gson();
+    private final Map<String, SynapseExpression> inlineExpressionCache = new ConcurrentHashMap<>();
+
+    @Override
+    public String processTemplate(String template, String mediaType, MessageContext synCtx) {
+
+        StringBuffer result = new StringBuffer();
+        replace(template, result, mediaType, synCtx);
+        return result.toString();
+    }
+
+    @Override
+    public void init() throws SynapseException {
+        String format = getFormat();
+        if (format != null) {
+            try {
+                InlineExpressionUtil.initInlineSynapseExpressions(format, inlineExpressionCache);
+            } catch (JaxenException e) {
+                throw new SynapseException("Invalid Payload format : " + e.getMessage());
+            }
+        }
+        this.readInputFactoryProperties();
+    }
+
+    @Override
+    public boolean getTemplateStatus() {
+        return true;
+    }
+
+    private void replace(String format, StringBuffer result, String mediaType, MessageContext synCtx) {
+
+        Map<String, Object> inlineExpressionResults = new ConcurrentHashMap<>();
+        HashMap<String, ArgumentDetails>[] argValues = getArgValues(mediaType, synCtx);
+        String replacementValue;
+        Matcher matcher;
+
+        if (JSON_TYPE.equals(mediaType) || TEXT_TYPE.equals(mediaType)) {
+            matcher = pattern.matcher(format);
+        } else {
+            matcher = pattern.matcher("<pfPadding>" + format + "</pfPadding>");
+        }
+        try {
+            while (matcher.find()) {
+                if (matcher.group(1) != null) {
+                    Object expressionResult = evaluateExpression(matcher.group(1), synCtx, inlineExpressionResults);
+                    if (expressionResult instanceof JsonPrimitive) {
+                        replacementValue = prepareJSONPrimitiveReplacementValue(expressionResult, mediaType);
+                    } else if (expressionResult instanceof JsonElement) {
+                        replacementValue = escapeJson(Matcher.quoteReplacement(gson.toJson(expressionResult)));
+                        if (XML_TYPE.equals(mediaType)) {
+                            replacementValue = convertJsonToXML(replacementValue);
+                        }
+                    } else {
+                        replacementValue = expressionResult.toString();
+                        if (XML_TYPE.equals(mediaType)) {
+                            replacementValue = StringEscapeUtils.escapeXml10(replacementValue);
+                        } else if (JSON_TYPE.equals(mediaType)) {
+                            if (isXML(replacementValue)) {
+                                replacementValue = escapeSpecialChars(Matcher.quoteReplacement(replacementValue));
+                            } else {
+                                replacementValue = escapeSpecialCharactersOfJson(replacementValue);
+                            }
+                        }
+                    }
+                    matcher.appendReplacement(result, "\"" + replacementValue + "\"");
+                } else if (matcher.group(2) != null) {
+                    Object expressionResult = evaluateExpression(matcher.group(2), synCtx, inlineExpressionResults);
+                    replacementValue = expressionResult.toString();
+                    if (expressionResult instanceof JsonPrimitive) {
+                        replacementValue = prepareJSONPrimitiveReplacementValue(expressionResult, mediaType);
+                    } else if (expressionResult instanceof JsonElement) {
+                        if (XML_TYPE.equals(mediaType)) {
+                            replacementValue = Matcher.quoteReplacement(convertJsonToXML(replacementValue));
+                        } else {
+                            replacementValue = Matcher.quoteReplacement(gson.toJson(expressionResult));
+                        }
+                    } else {
+                        if (JSON_TYPE.equals(mediaType) && isXML(replacementValue)) {
+                            replacementValue = convertXMLToJSON(replacementValue);
+                        } else {
+                            if (XML_TYPE.equals(mediaType) && !isXML(replacementValue)) {
+                                replacementValue = StringEscapeUtils.escapeXml10(replacementValue);
+                            }
+                            replacementValue = Matcher.quoteReplacement(replacementValue);
+                        }
+                    }
+                    matcher.appendReplacement(result, replacementValue);
+                } else if (matcher.group(3) != null) {
+                    Map.Entry<String, ArgumentDetails> replacementEntry =
+                            argValues[Integer.parseInt(matcher.group(3)) - 1].entrySet().iterator().next();
+                    matcher.appendReplacement(result, prepareReplacementValue(mediaType, synCtx, replacementEntry));
+                }
+            }
+        } catch (JaxenException e) {
+            throw new SynapseException("Error evaluating expression", e);
+        }
+        matcher.appendTail(result);
+    }
+
+    private String prepareJSONPrimitiveReplacementValue(Object expressionResult, String mediaType) {
+
+        String replacementValue = ((JsonPrimitive) expressionResult).getAsString();
+        replacementValue = escapeSpecialChars(Matcher.quoteReplacement(replacementValue));
+        if (XML_TYPE.equals(mediaType)) {
+            replacementValue = StringEscapeUtils.escapeXml10(replacementValue);
+        }
+        return replacementValue;
+    }
+
+    private Object evaluateExpression(String expression, MessageContext synCtx,
+                                      Map<String, Object> inlineExpressionResults) throws JaxenException {
+
+        SynapseExpression expressionObj = inlineExpressionCache.get(expression);
+        if (expressionObj == null) {
+            expressionObj = new SynapseExpression(expression);
+            inlineExpressionCache.put(expression, expressionObj);
+        }
+        Object result = inlineExpressionResults.get(expression);
+        if (result == null) {
+            result = expression.contains("xpath(") ? expressionObj.stringValueOf(synCtx)
+                    : expressionObj.objectValueOf(synCtx);
+            inlineExpressionResults.put(expression, result);
+        }
+        return result;
+    }
+
+    private String escapeJson(String value) {
+        return value.replace("\"", "\\\"").replace("\\", "\\\\");
+    }
+
+    private String convertJsonToXML(String replacementValue) {
+
+        try {
+            OMElement omXML = JsonUtil.toXml(IOUtils.toInputStream(replacementValue), false);
+            if (JsonUtil.isAJsonPayloadElement(omXML)) {
+                Iterator children = omXML.getChildElements();
+                String childrenStr = "";
+                while (children.hasNext()) {
+                    childrenStr += (children.next()).toString().trim();
+                }
+                replacementValue = childrenStr;
+            } else {
+                replacementValue = omXML.toString();
+            }
+        } catch (AxisFault e) {
+            handleException("Error converting JSON to XML, please check your expressions return valid JSON: ");
+        }
+        return escapeSpecialCharactersOfXml(replacementValue);
+    }
+
+    private String convertXMLToJSON(String replacementValue) {
+
+        try {
+            replacementValue = "<jsonObject>" + replacementValue + "</jsonObject>";
+            OMElement omXML = convertStringToOM(replacementValue);
+            replacementValue = escapeSpecialCharactersOfJson(JsonUtil.toJsonString(omXML).toString());
+        } catch (XMLStreamException e) {
+            handleException("Error parsing XML for JSON conversion, please check your expressions return valid XML: ");
+        } catch (AxisFault e) {
+            handleException("Error converting XML to JSON");
+        } catch (OMException e) {
+            replacementValue = escapeSpecialChars(replacementValue);
+        }
+        return replacementValue;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.util.MessageHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MessageHelper#cloneMessageContext(MessageContext)}, which is done for every branch of the Clone, Iterate and
+ * Scatter Gather mediators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCloneBenchmark {
+
+    /** Number of orders in the payload */
+    @Param({"1", "100", "1000"})
+    private int orders;
+
+    /** Number of message properties */
+    @Param({"10"})
+    private int properties;
+
+    private MessageContext xmlMessage;
+
+    private MessageContext jsonMessage;
+
+    @Setup
+    public void setUp() throws Exception {
+        xmlMessage = MessageContexts.xml(Payloads.xml(orders));
+        jsonMessage = MessageContexts.json(Payloads.json(orders));
+        for (int i = 0; i < properties; i++) {
+            xmlMessage.setProperty("property" + i, "value" + i);
+            jsonMessage.setProperty("property" + i, "value" + i);
+        }
+    }
+
+    @Benchmark
+    public MessageContext cloneXml() throws Exception {
+        return MessageHelper.cloneMessageContext(xmlMessage);
+    }
+
+    @Benchmark
+    public MessageContext cloneJson() throws Exception {
+        return MessageHelper.cloneMessageContext(jsonMessage);
+    }
+
+    @Benchmark
+    public MessageContext cloneWithoutEnvelope() throws Exception {
+        return MessageHelper.cloneMessageContext(xmlMessage, false);
+    }
+}
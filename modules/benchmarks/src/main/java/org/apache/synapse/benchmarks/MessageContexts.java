@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.soap.SOAPEnvelope;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.config.SynapseConfigUtils;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
+import org.apache.synapse.mediators.eip.EIPUtils;
+
+/**
+ * Creates the message contexts used by the benchmarks, the same way the unit tests of the core module do.
+ */
+public final class MessageContexts {
+
+    static {
+        EIPUtils.setJsonPathConfiguration();
+    }
+
+    private MessageContexts() {
+    }
+
+    /**
+     * @param payload XML payload to add to the SOAP body
+     * @return a message context with the given payload
+     * @throws Exception if the message context can not be created
+     */
+    public static Axis2MessageContext xml(String payload) throws Exception {
+        Axis2MessageContext synCtx = create();
+        synCtx.getEnvelope().getBody().addChild(SynapseConfigUtils.stringToOM(payload));
+        return synCtx;
+    }
+
+    /**
+     * @param payload JSON payload
+     * @return a message context with the given payload as its JSON stream
+     * @throws Exception if the message context can not be created
+     */
+    public static Axis2MessageContext json(String payload) throws Exception {
+        Axis2MessageContext synCtx = create();
+        JsonUtil.getNewJsonPayload(synCtx.getAxis2MessageContext(), payload, true, true);
+        return synCtx;
+    }
+
+    private static Axis2MessageContext create() throws Exception {
+        SynapseConfiguration config = new SynapseConfiguration();
+        SynapseEnvironment env = new Axis2SynapseEnvironment(
+                new ConfigurationContext(new AxisConfiguration()), config);
+        Axis2MessageContext synCtx = new Axis2MessageContext(new org.apache.axis2.context.MessageContext(),
+                config, env);
+        SOAPEnvelope envelope = OMAbstractFactory.getSOAP11Factory().getDefaultEnvelope();
+        OMDocument omDoc = OMAbstractFactory.getSOAP11Factory().createOMDocument();
+        omDoc.addChild(envelope);
+        synCtx.setEnvelope(envelope);
+        return synCtx;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.xml.PayloadFactoryMediatorFactory;
+import org.apache.synapse.mediators.transform.PayloadFactoryMediator;
+import org.apache.synapse.mediators.transform.pfutils.TemplateProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Templating of the Payload Factory mediator. The template is processed without replacing the payload of the message,
+ * so that every invocation works on the same input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFactoryBenchmark {
+
+    private static final String XML_CONFIG =
+            "<payloadFactory xmlns=\"http://ws.apache.org/ns/synapse\" media-type=\"xml\">"
+            + "<format><summary xmlns=\"\"><first>$1</first><last>$2</last><count>$3</count></summary></format>"
+            + "<args>"
+            + "<arg expression=\"//order[1]/symbol\"/>"
+            + "<arg expression=\"//order[last()]/symbol\"/>"
+            + "<arg expression=\"count(//order)\"/>"
+            + "</args>"
+            + "</payloadFactory>";
+
+    private static final String JSON_CONFIG =
+            "<payloadFactory xmlns=\"http://ws.apache.org/ns/synapse\" media-type=\"json\">"
+            + "<format>{\"first\":\"$1\",\"count\":$2,\"orders\":$3}</format>"
+            + "<args>"
+            + "<arg expression=\"$.orders.order[0].symbol\" evaluator=\"json\"/>"
+            + "<arg expression=\"$.orders.order.length()\" evaluator=\"json\"/>"
+            + "<arg expression=\"$.orders.order\" evaluator=\"json\"/>"
+            + "</args>"
+            + "</payloadFactory>";
+
+    /** Number of orders in the payload */
+    @Param({"1", "100", "1000"})
+    private int orders;
+
+    private MessageContext xmlMessage;
+
+    private MessageContext jsonMessage;
+
+    private PayloadFactoryMediator xmlMediator;
+
+    private PayloadFactoryMediator jsonMediator;
+
+    @Setup
+    public void setUp() throws Exception {
+        xmlMessage = MessageContexts.xml(Payloads.xml(orders));
+        jsonMessage = MessageContexts.json(Payloads.json(orders));
+        PayloadFactoryMediatorFactory factory = new PayloadFactoryMediatorFactory();
+        xmlMediator = (PayloadFactoryMediator) factory.createMediator(AXIOMUtil.stringToOM(XML_CONFIG), null);
+        jsonMediator = (PayloadFactoryMediator) factory.createMediator(AXIOMUtil.stringToOM(JSON_CONFIG), null);
+    }
+
+    @Benchmark
+    public String xmlTemplate() {
+        return process(xmlMediator, xmlMessage);
+    }
+
+    @Benchmark
+    public String jsonTemplate() {
+        return process(jsonMediator, jsonMessage);
+    }
+
+    private static String process(PayloadFactoryMediator mediator, MessageContext synCtx) {
+        TemplateProcessor templateProcessor = mediator.getTemplateProcessor();
+        return templateProcessor.processTemplate(mediator.getFormat(), mediator.getType(), synCtx);
+    }
+}
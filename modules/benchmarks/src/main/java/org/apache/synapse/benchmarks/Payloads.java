@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+/**
+ * Generates the payloads used by the benchmarks. The payloads are a list of orders, the content only depends on the
+ * number of orders so that the results of different runs are comparable.
+ */
+public final class Payloads {
+
+    private Payloads() {
+    }
+
+    /**
+     * @param orders number of orders in the payload
+     * @return a JSON payload of the form {"orders":{"order":[{"id":..,"symbol":..,"price":..,"quantity":..}]}}
+     */
+    public static String json(int orders) {
+        StringBuilder json = new StringBuilder(orders * 64 + 32);
+        json.append("{\"orders\":{\"order\":[");
+        for (int i = 0; i < orders; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"symbol\":\"").append(symbol(i))
+                    .append("\",\"price\":").append(price(i))
+                    .append(",\"quantity\":").append(quantity(i))
+                    .append('}');
+        }
+        return json.append("]}}").toString();
+    }
+
+    /**
+     * @param orders number of orders in the payload
+     * @return the XML equivalent of {@link #json(int)}
+     */
+    public static String xml(int orders) {
+        StringBuilder xml = new StringBuilder(orders * 96 + 32);
+        xml.append("<orders>");
+        for (int i = 0; i < orders; i++) {
+            xml.append("<order><id>").append(i)
+                    .append("</id><symbol>").append(symbol(i))
+                    .append("</symbol><price>").append(price(i))
+                    .append("</price><quantity>").append(quantity(i))
+                    .append("</quantity></order>");
+        }
+        return xml.append("</orders>").toString();
+    }
+
+    /**
+     * @param size number of bytes
+     * @return a printable byte array of the given size
+     */
+    public static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        return bytes;
+    }
+
+    private static String symbol(int i) {
+        return "SYM" + i;
+    }
+
+    private static String price(int i) {
+        return (i % 1000) + "." + (i % 100);
+    }
+
+    private static int quantity(int i) {
+        return i % 50 + 1;
+    }
+}
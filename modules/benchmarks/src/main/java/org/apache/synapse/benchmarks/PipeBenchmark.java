@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.synapse.transport.passthru.Pipe;
+import org.apache.synapse.transport.passthru.config.PassThroughConfigPNames;
+import org.apache.synapse.transport.passthru.util.BufferFactory;
+import org.apache.synapse.transport.passthru.util.ControlledByteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays a message through a pass-through {@link Pipe}, the way the source and target handlers move a message body
+ * which is not built: the decoder fills the pipe buffer and the encoder drains it, until the whole message is written.
+ * The decoder and encoder are in memory, so the result is the cost of the pipe itself.
+ * <p>
+ * Relay mode is read from the pass-through configuration when the pipe class is loaded, JMH runs every parameter
+ * combination in its own JVM so the parameter takes effect.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipeBenchmark {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Size of the relayed message in bytes */
+    @Param({"1024", "65536", "1048576"})
+    private int payloadSize;
+
+    /** Whether the pipe relay mode is enabled */
+    @Param({"false", "true"})
+    private boolean relayMode;
+
+    private final NoOpIOControl ioControl = new NoOpIOControl();
+
+    private BufferFactory bufferFactory;
+
+    private byte[] payload;
+
+    private byte[] sink;
+
+    @Setup
+    public void setUp() {
+        System.setProperty(PassThroughConfigPNames.PIPE_RELAY_MODE_ENABLED, String.valueOf(relayMode));
+        bufferFactory = new BufferFactory(BUFFER_SIZE, null, 64);
+        payload = Payloads.bytes(payloadSize);
+        sink = new byte[BUFFER_SIZE];
+    }
+
+    @Benchmark
+    public long relay() throws IOException {
+        ControlledByteBuffer buffer = bufferFactory.getBuffer();
+        try {
+            Pipe pipe = new Pipe(ioControl, buffer, "benchmark", null);
+            pipe.attachConsumer(ioControl);
+            pipe.enableRelayMode();
+            ArrayDecoder decoder = new ArrayDecoder(payload);
+            CountingEncoder encoder = new CountingEncoder(sink);
+            while (!encoder.isCompleted()) {
+                pipe.produce(decoder);
+                pipe.consume(encoder);
+            }
+            return encoder.written;
+        } finally {
+            bufferFactory.release(buffer);
+        }
+    }
+
+    private static class NoOpIOControl implements IOControl {
+
+        @Override
+        public void requestInput() {
+        }
+
+        @Override
+        public void suspendInput() {
+        }
+
+        @Override
+        public void requestOutput() {
+        }
+
+        @Override
+        public void suspendOutput() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    /**
+     * Decoder reading the message from a byte array.
+     */
+    private static class ArrayDecoder implements ContentDecoder {
+
+        private final byte[] source;
+
+        private int position;
+
+        private ArrayDecoder(byte[] source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (position == source.length) {
+                return -1;
+            }
+            int length = Math.min(dst.remaining(), source.length - position);
+            dst.put(source, position, length);
+            position += length;
+            return length;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return position == source.length;
+        }
+    }
+
+    /**
+     * Encoder copying the message into a scratch array, like a socket write copies it into the socket buffer.
+     */
+    private static class CountingEncoder implements ContentEncoder {
+
+        private final byte[] sink;
+
+        private long written;
+
+        private boolean completed;
+
+        private CountingEncoder(byte[] sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int length = Math.min(src.remaining(), sink.length);
+            src.get(sink, 0, length);
+            written += length;
+            return length;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+    }
+}
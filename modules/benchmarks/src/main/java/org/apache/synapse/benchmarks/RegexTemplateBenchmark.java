@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.xml.PayloadFactoryMediatorFactory;
+import org.apache.synapse.config.xml.XMLConfigConstants;
+import org.apache.synapse.mediators.transform.Argument;
+import org.apache.synapse.mediators.transform.PayloadFactoryMediator;
+import org.apache.synapse.mediators.transform.pfutils.TemplateProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regex templates of the Payload Factory mediator of 1 KB, 100 KB and 5 MB, made of a repeated block with an argument,
+ * a quoted and an unquoted inline expression, rendered by the compiled template engine and by the
+ * {@link LegacyRegexTemplateProcessor} baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegexTemplateBenchmark {
+
+    private static final String BLOCK = "{\"symbol\":\"$1\","
+            + "\"first\":\"${payload.orders.order[0].symbol}\","
+            + "\"price\":${payload.orders.order[0].price}}";
+
+    /** Size of the template in bytes */
+    @Param({"1024", "102400", "5242880"})
+    private int templateSize;
+
+    private MessageContext message;
+
+    private PayloadFactoryMediator mediator;
+
+    private TemplateProcessor legacyProcessor;
+
+    @Setup
+    public void setUp() throws Exception {
+        message = MessageContexts.json(Payloads.json(10));
+        StringBuilder format = new StringBuilder(templateSize + BLOCK.length() + 2);
+        format.append('[').append(BLOCK);
+        while (format.length() + BLOCK.length() + 2 <= templateSize) {
+            format.append(',').append(BLOCK);
+        }
+        format.append(']');
+
+        OMFactory fac = OMAbstractFactory.getOMFactory();
+        OMNamespace synNS = fac.createOMNamespace(XMLConfigConstants.SYNAPSE_NAMESPACE, "");
+        OMElement config = fac.createOMElement("payloadFactory", synNS);
+        config.addAttribute("media-type", "json", null);
+        fac.createOMElement("format", synNS, config).setText(format.toString());
+        OMElement arg = fac.createOMElement("arg", synNS, fac.createOMElement("args", synNS, config));
+        arg.addAttribute("expression", "$.orders.order[1].symbol", null);
+        arg.addAttribute("evaluator", "json", null);
+        mediator = (PayloadFactoryMediator) new PayloadFactoryMediatorFactory().createMediator(config, null);
+
+        legacyProcessor = new LegacyRegexTemplateProcessor();
+        legacyProcessor.setFormat(mediator.getFormat());
+        legacyProcessor.setMediaType(mediator.getType());
+        for (Argument argument : mediator.getTemplateProcessor().getPathArgumentList()) {
+            legacyProcessor.addPathArgument(argument);
+        }
+        legacyProcessor.init();
+    }
+
+    @Benchmark
+    public String template() {
+        return mediator.getTemplateProcessor().processTemplate(mediator.getFormat(), mediator.getType(), message);
+    }
+
+    @Benchmark
+    public String legacyTemplate() {
+        return legacyProcessor.processTemplate(mediator.getFormat(), mediator.getType(), message);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.synapse.message.store.impl.commons.Axis2Message;
+import org.apache.synapse.message.store.impl.commons.StorableMessage;
+import org.apache.synapse.message.store.impl.commons.StorableMessageCodec;
+import org.apache.synapse.message.store.impl.commons.SynapseMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a stored message with Java serialization and with the binary codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorableMessageCodecBenchmark {
+
+    /** Size of the SOAP envelope of the message in bytes */
+    @Param({"1024", "65536"})
+    private int payloadSize;
+
+    /** Size above which the binary codec compresses messages, 0 to disable */
+    @Param({"0", "16384"})
+    private int compressionThreshold;
+
+    private StorableMessage message;
+
+    private byte[] javaSerialized;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        message = createMessage(payloadSize);
+        javaSerialized = javaSerialize(message);
+        encoded = StorableMessageCodec.encode(message, compressionThreshold);
+    }
+
+    @Benchmark
+    public byte[] javaSerialization() throws IOException {
+        return javaSerialize(message);
+    }
+
+    @Benchmark
+    public Object javaDeserialization() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaSerialized))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return StorableMessageCodec.encode(message, compressionThreshold);
+    }
+
+    @Benchmark
+    public StorableMessage decode() throws IOException, ClassNotFoundException {
+        return StorableMessageCodec.fromBytes(encoded);
+    }
+
+    private static byte[] javaSerialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A message shaped like the ones MessageConverter creates for a proxy service call
+     */
+    private static StorableMessage createMessage(int payloadSize) {
+        StringBuilder envelope = new StringBuilder("<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/"
+                + "soap/envelope/\"><soapenv:Body><m:getQuote xmlns:m=\"http://services.samples\">");
+        for (int i = 0; envelope.length() < payloadSize; i++) {
+            envelope.append("<m:request><m:symbol>SYM").append(i).append("</m:symbol></m:request>");
+        }
+        envelope.append("</m:getQuote></soapenv:Body></soapenv:Envelope>");
+
+        Axis2Message axis2Message = new Axis2Message();
+        axis2Message.setMessageID("urn:uuid:5b1a4c34-63bb-4e6e-a7b8-0c1d0f1f6a53");
+        axis2Message.setOperationName(new QName("http://ws.apache.org/ns/synapse", "mediate"));
+        axis2Message.setAction("urn:getQuote");
+        axis2Message.setService("StockQuoteProxy");
+        axis2Message.setToAddress("http://localhost:8280/services/StockQuoteProxy");
+        axis2Message.setReplyToAddress("http://www.w3.org/2005/08/addressing/anonymous");
+        axis2Message.setTransportInName("http");
+        axis2Message.setTransportOutName("http");
+        axis2Message.setSoapEnvelope(envelope.toString());
+        Map<String, Object> abstractProperties = new HashMap<String, Object>();
+        for (int i = 0; i < 10; i++) {
+            abstractProperties.put("CONTEXT_PROPERTY_" + i, "value" + i);
+        }
+        abstractProperties.put("messageType", "text/xml");
+        abstractProperties.put("HTTP_SC", 200);
+        axis2Message.addProperty("ABSTRACT_MC_PROPERTIES", abstractProperties);
+        Map<String, String> headers = new TreeMap<String, String>();
+        headers.put("Content-Type", "text/xml; charset=UTF-8");
+        headers.put("Host", "localhost:8280");
+        headers.put("SOAPAction", "urn:getQuote");
+        headers.put("User-Agent", "Apache-HttpClient/4.5");
+        axis2Message.addProperty("TRANSPORT_HEADERS", headers);
+        axis2Message.addProperty("messageType", "text/xml");
+
+        SynapseMessage synapseMessage = new SynapseMessage();
+        for (int i = 0; i < 10; i++) {
+            synapseMessage.addProperty("SYNAPSE_PROPERTY_" + i, "value" + i);
+        }
+        synapseMessage.addProperty("messageType", "text/xml");
+
+        StorableMessage message = new StorableMessage();
+        message.setAxis2message(axis2Message);
+        message.setSynapseMessage(synapseMessage);
+        return message;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.synapse.commons.throttle.core.CallerContext;
+import org.apache.synapse.commons.throttle.core.ThrottleConstants;
+import org.apache.synapse.commons.throttle.core.ThrottleContext;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseCallerConfiguration;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseCallerContext;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseThrottleConfiguration;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseThrottleContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up and renewing the callers of a throttle context holding a large number of callers, by concurrent request
+ * threads. Renewing a caller moves it to a new time window, as the access controllers do when a time window is over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@Threads(4)
+public class ThrottleCallerStoreBenchmark {
+
+    private static final long UNIT_TIME = 60000;
+
+    /** Number of callers of the throttle context */
+    @Param({"10000", "1000000"})
+    private int callers;
+
+    private ThrottleContext throttleContext;
+
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        IPBaseThrottleConfiguration configuration = new IPBaseThrottleConfiguration();
+        configuration.addCallerConfiguration(new IPBaseCallerConfiguration(UNIT_TIME, 1000, 0,
+                ThrottleConstants.KEY_OF_DEFAULT_CONFIGURATION_FOR_OTHER));
+        throttleContext = new IPBaseThrottleContext(configuration, null);
+        ids = new String[callers];
+        long nextTimeWindow = System.currentTimeMillis() + UNIT_TIME;
+        for (int i = 0; i < callers; i++) {
+            ids[i] = "10." + (i >>> 16) + "." + ((i >>> 8) & 0xff) + "." + (i & 0xff);
+            throttleContext.addCallerContext(createCaller(ids[i], nextTimeWindow), ids[i]);
+        }
+    }
+
+    @Benchmark
+    public CallerContext lookup() {
+        return throttleContext.getCallerContext(ids[ThreadLocalRandom.current().nextInt(callers)]);
+    }
+
+    @Benchmark
+    public CallerContext renew() {
+        String id = ids[ThreadLocalRandom.current().nextInt(callers)];
+        CallerContext callerContext = createCaller(id, System.currentTimeMillis() + UNIT_TIME);
+        throttleContext.addCallerContext(callerContext, id);
+        return callerContext;
+    }
+
+    private static CallerContext createCaller(String id, long nextTimeWindow) {
+        CallerContext callerContext = new IPBaseCallerContext(id);
+        callerContext.setRoleId(ThrottleConstants.KEY_OF_DEFAULT_CONFIGURATION_FOR_OTHER);
+        callerContext.setUnitTime(UNIT_TIME);
+        callerContext.setNextTimeWindow(nextTimeWindow);
+        return callerContext;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.benchmarks;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.api.Resource;
+import org.apache.synapse.api.dispatch.URITemplateBasedDispatcher;
+import org.apache.synapse.api.dispatch.URITemplateHelper;
+import org.apache.synapse.rest.RESTConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resource matching of {@link URITemplateBasedDispatcher} for APIs with a growing number of URI template resources.
+ * The requests match the first resource, the last resource and none of the resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UriTemplateDispatchBenchmark {
+
+    /** Number of resources of the API */
+    @Param({"10", "100", "1000"})
+    private int resources;
+
+    private final URITemplateBasedDispatcher dispatcher = new URITemplateBasedDispatcher();
+
+    private List<Resource> apiResources;
+
+    private MessageContext firstMatch;
+
+    private MessageContext lastMatch;
+
+    private MessageContext noMatch;
+
+    @Setup
+    public void setUp() throws Exception {
+        apiResources = new ArrayList<>(resources);
+        for (int i = 0; i < resources; i++) {
+            Resource resource = new Resource();
+            resource.setDispatcherHelper(new URITemplateHelper("/customers/{customerId}/orders" + i + "/{orderId}"));
+            apiResources.add(resource);
+        }
+        firstMatch = request("/customers/1234/orders0/5678");
+        lastMatch = request("/customers/1234/orders" + (resources - 1) + "/5678?expand=items");
+        noMatch = request("/products/1234");
+    }
+
+    @Benchmark
+    public Resource firstResource() {
+        return dispatcher.findResource(firstMatch, apiResources);
+    }
+
+    @Benchmark
+    public Resource lastResource() {
+        return dispatcher.findResource(lastMatch, apiResources);
+    }
+
+    @Benchmark
+    public Resource noResource() {
+        return dispatcher.findResource(noMatch, apiResources);
+    }
+
+    private static MessageContext request(String path) throws Exception {
+        MessageContext synCtx = MessageContexts.xml("<request/>");
+        synCtx.setProperty(RESTConstants.REST_SUB_REQUEST_PATH, path);
+        return synCtx;
+    }
+}
@@ -72,6 +72,12 @@ public final class JsonUtil {
 
     private static final String ORG_APACHE_SYNAPSE_COMMONS_JSON_IS_JSON_OBJECT = "org.apache.synapse.commons.json.JsonInputStream.IsJsonObject";
 
+    /**
+     * Holds the bytes of the JSON stream of a message once it has been cloned, so that all the clones of the message
+     * share one immutable copy of the payload.
+     */
+    private static final String ORG_APACHE_SYNAPSE_COMMONS_JSON_PAYLOAD_SNAPSHOT = "org.apache.synapse.commons.json.JsonInputStream.Snapshot";
+
     private static final QName JSON_OBJECT = new QName("jsonObject");
 
     private static final QName JSON_ARRAY = new QName("jsonArray");
@@ -988,6 +994,7 @@ public final class JsonUtil {
     public static InputStream setJsonStream(MessageContext messageContext, InputStream inputStream) {
         InputStream json = toReadOnlyStream(inputStream);
         messageContext.setProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM, json);
+        messageContext.removeProperty(ORG_APACHE_SYNAPSE_COMMONS_JSON_PAYLOAD_SNAPSHOT);
         return json;
     }
 
@@ -998,6 +1005,7 @@ public final class JsonUtil {
      */
     public static void removeJsonStream(MessageContext messageContext) {
         messageContext.removeProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM);
+        messageContext.removeProperty(ORG_APACHE_SYNAPSE_COMMONS_JSON_PAYLOAD_SNAPSHOT);
     }
 
     /**
@@ -1104,6 +1112,7 @@ public final class JsonUtil {
      */
     public static boolean removeJsonPayload(MessageContext messageContext) {
         messageContext.removeProperty(Constants.ORG_APACHE_SYNAPSE_COMMONS_JSON_JSON_INPUT_STREAM);
+        messageContext.removeProperty(ORG_APACHE_SYNAPSE_COMMONS_JSON_PAYLOAD_SNAPSHOT);
         messageContext.removeProperty(ORG_APACHE_SYNAPSE_COMMONS_JSON_IS_JSON_OBJECT);
         boolean removeChildren = true;
         if (!removeChildren) { // don't change this.
@@ -1398,10 +1407,10 @@ public final class JsonUtil {
         if (!hasAJsonPayload(sourceMc)) {
             return false;
         }
-        InputStream json = jsonStream(sourceMc, true);
         try {
-            byte[] stream = IOUtils.toByteArray(json);
-            getNewJsonPayload(targetMc, new ByteArrayInputStream(stream), true, true);
+            // the JSON stream is never modified in place, a new payload replaces the stream. Hence the clones share
+            // the bytes of the payload and only a mediator which changes the payload of a clone creates a new copy.
+            getNewJsonPayload(targetMc, new SharedJsonStream(jsonPayloadSnapshot(sourceMc)), true, true);
         } catch (IOException e) {
             logger.error("#cloneJsonPayload. Could not clone JSON stream. Error>>> " + e.getLocalizedMessage());
             return false;
@@ -1409,6 +1418,29 @@ public final class JsonUtil {
         return true;
     }
 
+    /**
+     * Returns the bytes of the JSON stream of the given message context, reading the stream only the first time the
+     * message is cloned.
+     *
+     * @param messageContext Axis2 Message context that contains a JSON payload.
+     * @return bytes of the JSON payload, which must not be modified
+     * @throws IOException if the JSON stream can not be read
+     */
+    private static byte[] jsonPayloadSnapshot(MessageContext messageContext) throws IOException {
+        InputStream json = jsonStream(messageContext, true);
+        if (json instanceof SharedJsonStream) {
+            return ((SharedJsonStream) json).getPayload();
+        }
+        Object o = messageContext.getProperty(ORG_APACHE_SYNAPSE_COMMONS_JSON_PAYLOAD_SNAPSHOT);
+        if (o instanceof JsonPayloadSnapshot && ((JsonPayloadSnapshot) o).source == json) {
+            return ((JsonPayloadSnapshot) o).payload;
+        }
+        byte[] payload = IOUtils.toByteArray(json);
+        messageContext.setNonReplicableProperty(ORG_APACHE_SYNAPSE_COMMONS_JSON_PAYLOAD_SNAPSHOT,
+                new JsonPayloadSnapshot(json, payload));
+        return payload;
+    }
+
     /**
      * Sets JSON media type 'application/json' as the message type to the current message context.
      *
@@ -1432,6 +1464,10 @@ public final class JsonUtil {
         if (inputStream == null) {
             return null;
         }
+        if (inputStream instanceof SharedJsonStream) {
+            // already read only and re-readable, wrapping it would copy the shared payload into a new buffer
+            return inputStream;
+        }
         return new ReadOnlyBIS(inputStream);
     }
 
@@ -1556,6 +1592,51 @@ public final class JsonUtil {
         }
     }
 
+    /**
+     * An Un-closable, Read-Only, Reusable stream over the JSON payload of a cloned message. The payload is shared with
+     * the message it was cloned from and with the other clones, so it is never written to.
+     */
+    private static class SharedJsonStream extends ByteArrayInputStream {
+
+        SharedJsonStream(byte[] payload) {
+            super(payload);
+        }
+
+        byte[] getPayload() {
+            return buf;
+        }
+
+        @Override
+        public void close() {
+            reset();
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            // always reset to the beginning of the payload
+        }
+
+        @Override
+        public synchronized long skip(long n) {
+            return 0;
+        }
+    }
+
+    /**
+     * The bytes of a JSON stream, valid as long as the message context holds the same stream.
+     */
+    private static class JsonPayloadSnapshot {
+
+        private final InputStream source;
+
+        private final byte[] payload;
+
+        JsonPayloadSnapshot(InputStream source, byte[] payload) {
+            this.source = source;
+            this.payload = payload;
+        }
+    }
+
     /**
      * Check whether the request HTTP method is required valid payload
      *
@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.commons.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request, fault and latency metrics of a single mediation component such as a proxy service or
+ * an endpoint.
+ */
+public class ComponentMetrics {
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder faults = new LongAdder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Record a request handled by the component
+     *
+     * @param latencyNanos time the component took
+     * @param fault        whether the request failed
+     */
+    public void record(long latencyNanos, boolean fault) {
+        requests.increment();
+        if (fault) {
+            faults.increment();
+        }
+        latency.record(latencyNanos / 1000);
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFaultCount() {
+        return faults.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
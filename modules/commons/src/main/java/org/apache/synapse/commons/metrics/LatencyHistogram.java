@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.commons.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets, in the spirit of HdrHistogram. Every power
+ * of two is split into eight buckets, so a recorded value is off by at most 12.5%. Bucket counters
+ * are striped adders created on first use, so concurrent recorders never contend on a lock or on
+ * a single counter.
+ * <p>
+ * Values are in microseconds; values beyond {@link #MAX_VALUE} are clamped.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 40;
+
+    /** Largest value tracked precisely, about twelve days in microseconds */
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<LongAdder>(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a value
+     *
+     * @param micros latency in microseconds
+     */
+    public void record(long micros) {
+        long value = micros < 0 ? 0 : Math.min(micros, MAX_VALUE);
+        int index = bucketIndex(value);
+        LongAdder bucket = buckets.get(index);
+        if (bucket == null) {
+            LongAdder created = new LongAdder();
+            bucket = buckets.compareAndSet(index, null, created) ? created : buckets.get(index);
+        }
+        bucket.increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return a point in time copy of the histogram. Recorders running meanwhile may or may not be
+     * included
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            LongAdder bucket = buckets.get(i);
+            if (bucket != null) {
+                counts[i] = bucket.sum();
+                total += counts[i];
+            }
+        }
+        return new Snapshot(counts, total, sum.sum(), max.get());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest value falling into the given bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Immutable copy of a histogram
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return sum of the recorded values in microseconds
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile percentile between 0 and 100
+         * @return upper bound of the bucket holding the value at the given percentile, 0 if
+         * nothing was recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100) / 100));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * @param value value in microseconds
+         * @return number of recorded values whose bucket lies entirely at or below the value
+         */
+        public long getCountAtOrBelow(long value) {
+            long seen = 0;
+            for (int i = 0; i < counts.length && bucketUpperBound(i) <= value; i++) {
+                seen += counts[i];
+            }
+            return seen;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.commons.metrics;
+
+import org.apache.synapse.commons.jmx.MBeanRegistrar;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the runtime metrics of the mediation components, kept per component type and name.
+ * Recording is lock-free; reading takes a snapshot, exposed through JMX and as Prometheus text.
+ * <p>
+ * Recording can be switched off with the system property {@value #ENABLED_PROPERTY}.
+ */
+public final class MetricsRegistry {
+
+    /** System property switching metrics recording on or off, on by default */
+    public static final String ENABLED_PROPERTY = "synapse.metrics.enabled";
+
+    /**
+     * System property holding the request path under which HTTP listeners serve the metrics in
+     * Prometheus text format. The path is not served unless the property is set
+     */
+    public static final String PROMETHEUS_PATH_PROPERTY = "synapse.metrics.prometheus.path";
+
+    public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    public static final String PROXY = "proxy";
+    public static final String API = "api";
+    public static final String RESOURCE = "resource";
+    public static final String ENDPOINT = "endpoint";
+    public static final String SEQUENCE = "sequence";
+
+    private static final String[] TYPES = {PROXY, API, RESOURCE, ENDPOINT, SEQUENCE};
+
+    /** Latency buckets of the Prometheus histograms, in seconds */
+    private static final double[] LATENCY_BUCKETS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, ConcurrentMap<String, ComponentMetrics>> components =
+            new ConcurrentHashMap<String, ConcurrentMap<String, ComponentMetrics>>();
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+
+    private MetricsRegistry() {
+        for (String type : TYPES) {
+            components.put(type, new ConcurrentHashMap<String, ComponentMetrics>());
+        }
+        if (ENABLED) {
+            MBeanRegistrar.getInstance().registerMBean(new MetricsView(this), "Metrics", "MediationMetrics");
+        }
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Record a request handled by a component
+     *
+     * @param type         component type, one of the type constants
+     * @param name         component name
+     * @param latencyNanos time the component took
+     * @param fault        whether the request failed
+     */
+    public void record(String type, String name, long latencyNanos, boolean fault) {
+        if (ENABLED && name != null) {
+            getComponent(type, name).record(latencyNanos, fault);
+        }
+    }
+
+    /**
+     * @return metrics of the given component, created on first use
+     */
+    public ComponentMetrics getComponent(String type, String name) {
+        ConcurrentMap<String, ComponentMetrics> byName = components.get(type);
+        if (byName == null) {
+            throw new IllegalArgumentException("Unknown component type " + type);
+        }
+        ComponentMetrics metrics = byName.get(name);
+        if (metrics == null) {
+            metrics = byName.computeIfAbsent(name, key -> new ComponentMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * @return metrics of the components of the given type, by component name
+     */
+    public Map<String, ComponentMetrics> getComponents(String type) {
+        ConcurrentMap<String, ComponentMetrics> byName = components.get(type);
+        return byName == null ? Collections.<String, ComponentMetrics>emptyMap()
+                : Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Drop the metrics of a component, for example when it is undeployed
+     */
+    public void remove(String type, String name) {
+        ConcurrentMap<String, ComponentMetrics> byName = components.get(type);
+        if (byName != null) {
+            byName.remove(name);
+        }
+    }
+
+    /**
+     * Expose a counter kept elsewhere, such as the global request counter
+     *
+     * @param name  metric name
+     * @param help  description of the metric
+     * @param value supplies the current value
+     */
+    public void registerCounter(String name, String help, LongSupplier value) {
+        counters.put(name, new Counter(help, value));
+    }
+
+    /**
+     * @return a snapshot of all metrics in the Prometheus text exposition format
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Counter> counter : new TreeMap<String, Counter>(counters).entrySet()) {
+            header(out, counter.getKey(), counter.getValue().help, "counter");
+            out.append(counter.getKey()).append(' ').append(counter.getValue().value.getAsLong()).append('\n');
+        }
+
+        Map<String, Map<String, ComponentMetrics>> sorted = new TreeMap<String, Map<String, ComponentMetrics>>();
+        for (String type : TYPES) {
+            sorted.put(type, new TreeMap<String, ComponentMetrics>(components.get(type)));
+        }
+
+        header(out, "synapse_component_requests_total", "Requests handled by a mediation component", "counter");
+        for (Map.Entry<String, Map<String, ComponentMetrics>> type : sorted.entrySet()) {
+            for (Map.Entry<String, ComponentMetrics> component : type.getValue().entrySet()) {
+                out.append("synapse_component_requests_total");
+                labels(out, type.getKey(), component.getKey(), null);
+                out.append(' ').append(component.getValue().getRequestCount()).append('\n');
+            }
+        }
+
+        header(out, "synapse_component_faults_total", "Requests a mediation component failed", "counter");
+        for (Map.Entry<String, Map<String, ComponentMetrics>> type : sorted.entrySet()) {
+            for (Map.Entry<String, ComponentMetrics> component : type.getValue().entrySet()) {
+                out.append("synapse_component_faults_total");
+                labels(out, type.getKey(), component.getKey(), null);
+                out.append(' ').append(component.getValue().getFaultCount()).append('\n');
+            }
+        }
+
+        header(out, "synapse_component_latency_seconds", "Time a mediation component took per request",
+                "histogram");
+        for (Map.Entry<String, Map<String, ComponentMetrics>> type : sorted.entrySet()) {
+            for (Map.Entry<String, ComponentMetrics> component : type.getValue().entrySet()) {
+                LatencyHistogram.Snapshot latency = component.getValue().getLatency().snapshot();
+                for (double bucket : LATENCY_BUCKETS) {
+                    out.append("synapse_component_latency_seconds_bucket");
+                    labels(out, type.getKey(), component.getKey(), Double.toString(bucket));
+                    out.append(' ').append(latency.getCountAtOrBelow((long) (bucket * 1000000))).append('\n');
+                }
+                out.append("synapse_component_latency_seconds_bucket");
+                labels(out, type.getKey(), component.getKey(), "+Inf");
+                out.append(' ').append(latency.getCount()).append('\n');
+                out.append("synapse_component_latency_seconds_sum");
+                labels(out, type.getKey(), component.getKey(), null);
+                out.append(' ').append(latency.getSum() / 1000000.0).append('\n');
+                out.append("synapse_component_latency_seconds_count");
+                labels(out, type.getKey(), component.getKey(), null);
+                out.append(' ').append(latency.getCount()).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void labels(StringBuilder out, String type, String name, String le) {
+        out.append("{type=\"").append(type).append("\",name=\"");
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+        if (le != null) {
+            out.append(",le=\"").append(le).append('"');
+        }
+        out.append('}');
+    }
+
+    private static final class Counter {
+
+        private final String help;
+        private final LongSupplier value;
+
+        private Counter(String help, LongSupplier value) {
+            this.help = help;
+            this.value = value;
+        }
+    }
+}
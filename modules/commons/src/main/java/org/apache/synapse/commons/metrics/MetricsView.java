@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.commons.metrics;
+
+import java.util.Arrays;
+import java.util.Set;
+
+public class MetricsView implements MetricsViewMBean {
+
+    private final MetricsRegistry registry;
+
+    public MetricsView(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public String getPrometheusText() {
+        return registry.toPrometheusText();
+    }
+
+    public String[] getComponentNames(String type) {
+        Set<String> names = registry.getComponents(type).keySet();
+        String[] sorted = names.toArray(new String[names.size()]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    public long getRequestCount(String type, String name) {
+        ComponentMetrics metrics = registry.getComponents(type).get(name);
+        return metrics == null ? 0 : metrics.getRequestCount();
+    }
+
+    public long getFaultCount(String type, String name) {
+        ComponentMetrics metrics = registry.getComponents(type).get(name);
+        return metrics == null ? 0 : metrics.getFaultCount();
+    }
+
+    public double getMeanLatency(String type, String name) {
+        LatencyHistogram.Snapshot latency = getLatency(type, name);
+        return latency == null ? 0 : latency.getMean() / 1000;
+    }
+
+    public double getLatencyPercentile(String type, String name, double percentile) {
+        LatencyHistogram.Snapshot latency = getLatency(type, name);
+        return latency == null ? 0 : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxLatency(String type, String name) {
+        LatencyHistogram.Snapshot latency = getLatency(type, name);
+        return latency == null ? 0 : latency.getMax() / 1000.0;
+    }
+
+    private LatencyHistogram.Snapshot getLatency(String type, String name) {
+        ComponentMetrics metrics = registry.getComponents(type).get(name);
+        return metrics == null ? null : metrics.getLatency().snapshot();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.commons.metrics;
+
+/**
+ * JMX view of the mediation metrics. Latencies are in milliseconds.
+ */
+public interface MetricsViewMBean {
+
+    public String getPrometheusText();
+    public String[] getComponentNames(String type);
+    public long getRequestCount(String type, String name);
+    public long getFaultCount(String type, String name);
+    public double getMeanLatency(String type, String name);
+    public double getLatencyPercentile(String type, String name, double percentile);
+    public double getMaxLatency(String type, String name);
+
+}
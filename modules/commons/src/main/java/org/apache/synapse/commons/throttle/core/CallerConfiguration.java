@@ -37,6 +37,12 @@ public abstract class CallerConfiguration {
     /* The int value that indicate that access is fully denied/allowed or controlled for this IP */
     private int accessState = ThrottleConstants.ACCESS_CONTROLLED;
 
+    /* The algorithm which limits the rate of requests of the caller */
+    private int algorithm = ThrottleConstants.FIXED_WINDOW_ALGORITHM;
+
+    /* The number of requests which may be sent at once, 0 if it is the maximum request count */
+    private int burst;
+
     protected CallerConfiguration() {
         super();
 
@@ -133,6 +139,42 @@ public abstract class CallerConfiguration {
         this.accessState = accessState;
     }
 
+    /**
+     * To get the rate limiting algorithm
+     *
+     * @return one of the algorithm constants of {@link ThrottleConstants}
+     */
+    public int getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * To set the rate limiting algorithm
+     *
+     * @param algorithm one of the algorithm constants of {@link ThrottleConstants}
+     */
+    public void setAlgorithm(int algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * To get the burst - the number of requests allowed at once by the token bucket and GCRA algorithms
+     *
+     * @return int value of the burst, the maximum request count if no burst is set
+     */
+    public int getBurst() {
+        return burst > 0 ? burst : maximumRequest;
+    }
+
+    /**
+     * To set the burst
+     *
+     * @param burst -int value, 0 to use the maximum request count
+     */
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
     /**
      * To get ID
      *
@@ -20,12 +20,15 @@ package org.apache.synapse.commons.throttle.core;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.commons.throttle.core.factory.RateLimiterFactory;
 import org.apache.synapse.commons.throttle.core.internal.DistributedThrottleProcessor;
 import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
+import org.apache.synapse.commons.throttle.core.ratelimit.RateLimiter;
 
 import java.io.Serializable;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Contains all runtime data for a particular remote caller.
@@ -36,6 +39,16 @@ import java.util.concurrent.atomic.AtomicLong;
 public abstract class CallerContext implements Serializable, Cloneable {
     private static final long serialVersionUID = 1652165180220263492L;
     private static Log log = LogFactory.getLog(CallerContext.class.getName());
+    /* The counters are plain fields updated through field updaters, so that a caller does not carry an
+     AtomicLong per counter. There is a caller context per remote caller and throttle key. */
+    private static final AtomicLongFieldUpdater<CallerContext> GLOBAL_COUNT =
+            AtomicLongFieldUpdater.newUpdater(CallerContext.class, "globalCount");
+    private static final AtomicLongFieldUpdater<CallerContext> LOCAL_COUNT =
+            AtomicLongFieldUpdater.newUpdater(CallerContext.class, "localCount");
+    private static final AtomicLongFieldUpdater<CallerContext> LOCAL_HITS =
+            AtomicLongFieldUpdater.newUpdater(CallerContext.class, "localHits");
+    private static final AtomicReferenceFieldUpdater<CallerContext, UUID> UUID_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(CallerContext.class, UUID.class, "uuid");
 
     /* next access time - the end of prohibition */
     private long nextAccessTime = 0;
@@ -44,7 +57,7 @@ public abstract class CallerContext implements Serializable, Cloneable {
     /* The nextTimeWindow - beginning of next unit time period- end of current unit time period  */
     private long nextTimeWindow = 0;
     /* The globalCount to keep track number of request */
-    private AtomicLong globalCount = new AtomicLong(0);
+    private volatile long globalCount;
     private long localQuota;
     private String roleId;
     private long unitTime;
@@ -59,17 +72,22 @@ public abstract class CallerContext implements Serializable, Cloneable {
     /**
      * Count to keep track of local (specific to this node) number of requests
      */
-    private AtomicLong localCount = new AtomicLong(0);
-    private AtomicLong localHits = new AtomicLong(0);
+    private volatile long localCount;
+    private volatile long localHits;
 
     /**
-     * Used for debugging purposes. *
+     * Used for debugging purposes. Created on first use, random UUIDs are costly to create for every caller.
      */
-    private UUID uuid = UUID.randomUUID();
+    private volatile UUID uuid;
 
     /* The Id of caller */
     private String id;
 
+    /* The rate limiter of the caller if the policy uses an algorithm other than the fixed window, and the
+     configuration it was created for. The state of the rate limiter is local to this node. */
+    private transient RateLimiter rateLimiter;
+    private transient CallerConfiguration rateLimiterConfiguration;
+
     public CallerContext clone() throws CloneNotSupportedException {
         super.clone();
         CallerContext clone = new CallerContext(this.id) {
@@ -81,11 +99,11 @@ public abstract class CallerContext implements Serializable, Cloneable {
         clone.nextAccessTime = this.nextAccessTime;
         clone.firstAccessTime = this.firstAccessTime;
         clone.nextTimeWindow = this.nextTimeWindow;
-        clone.globalCount = new AtomicLong(this.globalCount.longValue());
-        clone.localCount = new AtomicLong(this.localCount.longValue());
+        clone.globalCount = this.globalCount;
+        clone.localCount = this.localCount;
 
         clone.roleId = this.roleId;
-        localCount.set(0);
+        localCount = 0;
         return clone;
     }
 
@@ -102,7 +120,13 @@ public abstract class CallerContext implements Serializable, Cloneable {
     }
 
     public UUID getUuid() {
-        return uuid;
+        UUID current = uuid;
+        if (current == null) {
+            // losing the race hands out the UUID set by the other thread, so a caller only ever has one
+            UUID_UPDATER.compareAndSet(this, null, UUID.randomUUID());
+            current = uuid;
+        }
+        return current;
     }
 
     /**
@@ -146,16 +170,16 @@ public abstract class CallerContext implements Serializable, Cloneable {
         boolean canAccess = false;
         int maxRequest = configuration.getMaximumRequestPerUnitTime();
         if (maxRequest != 0) {
-            if ((this.globalCount.get() + this.localCount.get()) < maxRequest) {    //If the globalCount is less than max request
+            if ((this.globalCount + this.localCount) < maxRequest) {    //If the globalCount is less than max request
                 if (log.isDebugEnabled()) {
                     log.debug("CallerContext Checking access if unit time is not over and less than max count>> Access "
-                            + "allowed=" + maxRequest + " available="+ (maxRequest - (this.globalCount.get() + this.localCount.get()))
+                            + "allowed=" + maxRequest + " available="+ (maxRequest - (this.globalCount + this.localCount))
                             +" key=" + this.getId() + " currentGlobalCount=" + globalCount + " currentTime="
                             +  currentTime + " " + "nextTimeWindow=" + this.nextTimeWindow + " currentLocalCount=" + localCount + " Tier="
                             + configuration.getID() + " nextAccessTime=" + this.nextAccessTime);
                 }
                 canAccess = true;     // can continue access
-                this.localCount.addAndGet(eventCount);
+                LOCAL_COUNT.addAndGet(this, eventCount);
                 // Send the current state to others (clustered env)
                 throttleContext.flushCallerContext(this, id);
                 // can complete access
@@ -187,7 +211,7 @@ public abstract class CallerContext implements Serializable, Cloneable {
                         if (log.isDebugEnabled()) {
                             log.debug("CallerContext Checking access if unit time is not over before time window exceed >> "
                                     + "Access allowed=" + maxRequest + " available="
-                                    +  (maxRequest - (this.globalCount.get() + this.localCount.get()))
+                                    +  (maxRequest - (this.globalCount + this.localCount))
                                     + " key=" + this.getId() + " currentGlobalCount=" + globalCount
                                     + " currentTime=" + currentTime + " " + "nextTimeWindow=" + this.nextTimeWindow
                                     + " currentLocalCount=" + localCount + " " + "Tier=" + configuration.getID()
@@ -201,8 +225,8 @@ public abstract class CallerContext implements Serializable, Cloneable {
                         this.nextAccessTime = 0;
                         canAccess = true;
 
-                        this.globalCount.set(0);// can access the system   and this is same as first access
-                        this.localCount.set(1);
+                        this.globalCount = 0;// can access the system   and this is same as first access
+                        this.localCount = 1;
                         this.firstAccessTime = currentTime;
                         this.nextTimeWindow = currentTime + configuration.getUnitTime();
                         throttleContext.replicateTimeWindow(this.id);
@@ -242,13 +266,13 @@ public abstract class CallerContext implements Serializable, Cloneable {
         // if the unit time period (session time) has just over
         int maxRequest = configuration.getMaximumRequestPerUnitTime();
         if (maxRequest != 0) {
-            if ((this.globalCount.get() + this.localCount.get()) < maxRequest) {
+            if ((this.globalCount + this.localCount) < maxRequest) {
                 if (this.nextTimeWindow != 0) {
                     // Removes and sends the current state to others  (clustered env)
                     //remove previous callercontext instance
                     throttleContext.removeCallerContext(id);
-                    this.globalCount.set(0);// can access the system   and this is same as first access
-                    this.localCount.set(1);
+                    this.globalCount = 0;// can access the system   and this is same as first access
+                    this.localCount = 1;
                     this.firstAccessTime = currentTime;
                     this.nextTimeWindow = currentTime + configuration.getUnitTime();
                     throttleContext.replicateTimeWindow(this.id);
@@ -257,7 +281,7 @@ public abstract class CallerContext implements Serializable, Cloneable {
                 }
                 if (log.isDebugEnabled()) {
                     log.debug("CallerContext Checking access if unit time over next time window>> Access allowed="
-                            +  maxRequest + " available=" + (maxRequest - (this.globalCount.get() + this.localCount.get()))
+                            +  maxRequest + " available=" + (maxRequest - (this.globalCount + this.localCount))
                             + " key=" + this.getId()+ " currentGlobalCount=" + globalCount + " currentTime=" + currentTime
                             + " nextTimeWindow=" + this.nextTimeWindow +" currentLocalCount=" + localCount + " Tier="
                             + configuration.getID() + " nextAccessTime="+ this.nextAccessTime);
@@ -270,7 +294,7 @@ public abstract class CallerContext implements Serializable, Cloneable {
                 if ((this.nextAccessTime == 0) || (this.nextAccessTime <= currentTime)) {
                     if (log.isDebugEnabled()) {
                         log.debug("CallerContext Checking access if unit time over>> Access allowed=" + maxRequest
-                                + " available=" + (maxRequest - (this.globalCount.get() + this.localCount.get())) + " key=" + this.getId()
+                                + " available=" + (maxRequest - (this.globalCount + this.localCount)) + " key=" + this.getId()
                                 + " currentGlobalCount=" + globalCount + " currentTime=" + currentTime + " nextTimeWindow=" + this.nextTimeWindow
                                 + " currentLocalCount=" + localCount + " Tier=" + configuration.getID() + " nextAccessTime="
                                 + this.nextAccessTime);
@@ -283,8 +307,8 @@ public abstract class CallerContext implements Serializable, Cloneable {
                     this.nextAccessTime = 0;
                     canAccess = true;
 
-                    this.globalCount.set(0);// can access the system   and this is same as first access
-                    this.localCount.set(1);
+                    this.globalCount = 0;// can access the system   and this is same as first access
+                    this.localCount = 1;
                     this.firstAccessTime = currentTime;
                     this.nextTimeWindow = currentTime + configuration.getUnitTime();
                     // registers caller and send the current state to others (clustered env)
@@ -335,7 +359,7 @@ public abstract class CallerContext implements Serializable, Cloneable {
 
         int maxRequest = configuration.getMaximumRequestPerUnitTime();
         if (!(maxRequest == 0)) {
-            if ((this.globalCount.get() + this.localCount.get()) <= (maxRequest - 1)) {
+            if ((this.globalCount + this.localCount) <= (maxRequest - 1)) {
                 if (this.nextTimeWindow != 0 && this.nextTimeWindow < (currentTime - this.unitTime)) {
                     if (log.isDebugEnabled()) {
                         log.debug("Removing caller with id " + this.id);
@@ -402,6 +426,9 @@ public abstract class CallerContext implements Serializable, Cloneable {
                 || configuration.getProhibitTimePeriod() < 0) {
             throw new ThrottleException("Invalid Throttle Configuration");
         }
+        if (configuration.getAlgorithm() != ThrottleConstants.FIXED_WINDOW_ALGORITHM) {
+            return canAccessBasedOnRate(configuration, throttleContext, currentTime, eventCount);
+        }
 
         // if caller access first time in his new session
         if (this.firstAccessTime == 0) {
@@ -428,6 +455,57 @@ public abstract class CallerContext implements Serializable, Cloneable {
         return canAccess;
     }
 
+    /**
+     * To verify access with the rate limiting algorithm of the configuration. Only the caller's prohibition and
+     * the rate limiter state are used, the counters of the fixed window are not.
+     *
+     * @param configuration   -The Configuration for this caller
+     * @param throttleContext -The Throttle Context
+     * @param currentTime     -The system current time
+     * @param eventCount      -The event count
+     * @return boolean        -The boolean value which say access will allow or not
+     * @throws ThrottleException throws if the configuration is not valid for the algorithm
+     */
+    private boolean canAccessBasedOnRate(CallerConfiguration configuration, ThrottleContext throttleContext,
+                                         long currentTime, Long eventCount) throws ThrottleException {
+        if (this.firstAccessTime == 0) {
+            this.unitTime = configuration.getUnitTime();
+            this.firstAccessTime = currentTime;
+            this.roleId = configuration.getID();
+            this.nextTimeWindow = currentTime + this.unitTime;
+            throttleContext.addCallerContext(this, this.id);
+        }
+        // the caller is cleaned up once it has been idle for a unit time after its time window
+        this.nextTimeWindow = Math.max(currentTime, this.nextAccessTime) + this.unitTime;
+        if (configuration.getMaximumRequestPerUnitTime() == 0) {
+            return false;
+        }
+        if (this.nextAccessTime > currentTime) {
+            if (log.isDebugEnabled()) {
+                log.debug("Prohibit period is not yet over for caller with id - " + this.id);
+            }
+            return false;
+        }
+        RateLimiter limiter = this.rateLimiter;
+        if (limiter == null || this.rateLimiterConfiguration != configuration) {
+            limiter = RateLimiterFactory.createRateLimiter(configuration, currentTime);
+            this.rateLimiter = limiter;
+            this.rateLimiterConfiguration = configuration;
+        }
+        if (limiter.tryAcquire(eventCount != null ? Math.max(0, eventCount) : 1L, currentTime)) {
+            return true;
+        }
+        long prohibitTime = configuration.getProhibitTimePeriod();
+        if (prohibitTime > 0) {
+            this.nextAccessTime = currentTime + prohibitTime;
+            this.nextTimeWindow = this.nextAccessTime + this.unitTime;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Rate limit is reached for caller with id - " + this.id);
+        }
+        return false;
+    }
+
     private boolean canAccessBasedOnUnitTime(CallerConfiguration configuration, ThrottleContext throttleContext,
                                              long currentTime, Long eventCount) {
         if (this.nextTimeWindow > currentTime) {
@@ -448,50 +526,60 @@ public abstract class CallerContext implements Serializable, Cloneable {
     }
 
     public void incrementGlobalCounter(int incrementBy) {
-        globalCount.addAndGet(incrementBy);
+        GLOBAL_COUNT.addAndGet(this, incrementBy);
     }
 
     public void incrementLocalCounter() {
-        localCount.incrementAndGet();
+        LOCAL_COUNT.incrementAndGet(this);
     }
 
     public long getGlobalCounter() {
-        return globalCount.get();
+        return globalCount;
     }
 
     public void setGlobalCounter(long counter) {
-        globalCount.set(counter);
+        globalCount = counter;
     }
 
     public void setLocalCounter(long counter) {
         if (log.isTraceEnabled()) {
-            log.trace("changing local counter from:" + localCount.get() + " to:" + counter);
+            log.trace("changing local counter from:" + localCount + " to:" + counter);
         }
-        localCount.set(counter);
+        localCount = counter;
     }
 
     public long getLocalCounter() {
-        return localCount.get();
+        return localCount;
     }
 
     public void setLocalHits(long counter) {
-        localHits.set(counter);
+        localHits = counter;
     }
 
     public long getLocalHits() {
-        return localHits.get();
+        return localHits;
     }
 
     public void incrementLocalHits() {
-        localHits.incrementAndGet();
+        LOCAL_HITS.incrementAndGet(this);
+    }
+
+    /**
+     * Resets the local counter, returning the requests counted so far. No request is lost between taking and
+     * resetting the counter.
+     *
+     * @return the local counter before it was reset
+     */
+    public long getAndResetLocalCounter() {
+        return LOCAL_COUNT.getAndSet(this, 0);
     }
 
     public void resetLocalCounter() {
-        localCount.set(0);
+        localCount = 0;
     }
 
     public void resetGlobalCounter() {
-        globalCount.set(0);
+        globalCount = 0;
     }
 
     /**
@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core;
+
+import org.apache.synapse.commons.util.HashedWheelTimer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Callers of a {@link ThrottleContext}, indexed by the caller id.
+ * <p>
+ * Every caller has an expiry time, the earliest time its state may be cleaned up: one unit time after the end of its
+ * current time window. The expiry is tracked on a timing wheel shared by all the throttle contexts, so that neither
+ * lookups nor the cleanup have to scan the callers. When a caller expires it is queued, and the cleanup of the
+ * throttle context takes the expired callers from the queue, rather than running the cleanup on the timer thread.
+ * <p>
+ * All operations are O(1) and lock free.
+ */
+class CallerContextStore {
+
+    private static final long EXPIRY_TICK_MILLIS = 100;
+
+    /** Buckets of the shared expiry wheel, one rotation covers a bit more than 6 minutes */
+    private static final int EXPIRY_TICKS_PER_WHEEL = 4096;
+
+    private final ConcurrentHashMap<String, Registration> callers = new ConcurrentHashMap<>();
+
+    private final Queue<Registration> expiredCallers = new ConcurrentLinkedQueue<>();
+
+    private static class ExpirySchedulerHolder {
+        private static final HashedWheelTimer INSTANCE = new HashedWheelTimer("ThrottleCallerExpiryScheduler",
+                EXPIRY_TICK_MILLIS, TimeUnit.MILLISECONDS, EXPIRY_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * @return the timer on which the expiry of the callers is scheduled
+     */
+    static HashedWheelTimer getExpiryScheduler() {
+        return ExpirySchedulerHolder.INSTANCE;
+    }
+
+    /**
+     * @param id id of the caller
+     * @return the caller with the given id, or null if there is no such caller
+     */
+    CallerContext get(String id) {
+        Registration registration = callers.get(id);
+        return registration != null ? registration.callerContext : null;
+    }
+
+    /**
+     * Adds a caller, replacing any caller with the same id. The caller expires after the end of its current time
+     * window, so it has to be added again when the time window is moved.
+     *
+     * @param id            id of the caller
+     * @param callerContext state of the caller
+     */
+    void put(String id, CallerContext callerContext) {
+        Registration registration = new Registration(id, callerContext,
+                callerContext.getNextTimeWindow() + callerContext.getUnitTime() + 1);
+        Registration previous = callers.put(id, registration);
+        if (previous != null) {
+            previous.cancel();
+        }
+        registration.schedule(registration.expiryTime - System.currentTimeMillis());
+    }
+
+    /**
+     * @param id id of the caller
+     * @return the removed caller, or null if there was no caller with the given id
+     */
+    CallerContext remove(String id) {
+        Registration registration = callers.remove(id);
+        if (registration == null) {
+            return null;
+        }
+        registration.cancel();
+        return registration.callerContext;
+    }
+
+    /**
+     * Takes a caller which has expired. The caller is still in the store, it is up to the cleanup to decide whether
+     * it is removed.
+     *
+     * @return an expired caller, or null if no caller has expired
+     */
+    Registration pollExpired() {
+        Registration registration;
+        while ((registration = expiredCallers.poll()) != null) {
+            if (callers.get(registration.id) == registration) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the given expired caller again after the given delay, if it has not been removed or replaced. The caller
+     * is not queued again before the delay, so a cleanup taking all the expired callers does not see it twice.
+     *
+     * @param registration expired caller
+     * @param delay        delay in milliseconds
+     */
+    void reschedule(Registration registration, long delay) {
+        if (callers.get(registration.id) == registration) {
+            registration.schedule(delay);
+        }
+    }
+
+    /**
+     * @return number of callers
+     */
+    int size() {
+        return callers.size();
+    }
+
+    /**
+     * A caller in the store along with its expiry.
+     */
+    final class Registration implements Runnable {
+
+        private final String id;
+
+        private final CallerContext callerContext;
+
+        /** Time in milliseconds after which the caller may be cleaned up */
+        private final long expiryTime;
+
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private Registration(String id, CallerContext callerContext, long expiryTime) {
+            this.id = id;
+            this.callerContext = callerContext;
+            this.expiryTime = expiryTime;
+        }
+
+        CallerContext getCallerContext() {
+            return callerContext;
+        }
+
+        private void schedule(long delay) {
+            timeout = getExpiryScheduler().schedule(this, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void cancel() {
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (callers.get(id) != this) {
+                return;
+            }
+            // the timer runs on the monotonic clock, while the callers use the wall clock
+            long remaining = expiryTime - System.currentTimeMillis();
+            if (remaining > 0) {
+                schedule(remaining);
+            } else {
+                expiredCallers.add(this);
+            }
+        }
+    }
+}
@@ -17,6 +17,9 @@
  */
 package org.apache.synapse.commons.throttle.core;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * This interface used to replicate throttling counters and windows in distributed manner.
  */
@@ -71,6 +74,21 @@ public interface DistributedCounterManager {
      */
     public long asyncGetAndAddCounter(String key, long value);
 
+    /**
+     * This method is used to get and then increment a batch of distributed counters asynchronously. Implementations
+     * backed by a remote store should override it to update the whole batch in a single round trip.
+     *
+     * @param values values to add to the distributed counters, by key.
+     * @return the original distributed counter values, by key.
+     */
+    default Map<String, Long> asyncGetAndAddCounters(Map<String, Long> values) {
+        Map<String, Long> counters = new HashMap<String, Long>(values.size() * 2);
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            counters.put(entry.getKey(), asyncGetAndAddCounter(entry.getKey(), entry.getValue()));
+        }
+        return counters;
+    }
+
     /**
      * This method is used to increment distributed counter asynchronously.
      *
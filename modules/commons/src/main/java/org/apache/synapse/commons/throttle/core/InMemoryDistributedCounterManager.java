@@ -0,0 +1,209 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link DistributedCounterManager} keeping the counters, timestamps and locks in memory. It is the reference
+ * implementation of the contract, for tests and for a single node, and does not share anything across nodes.
+ * <p>
+ * Expired keys are dropped when they are read.
+ */
+public class InMemoryDistributedCounterManager implements DistributedCounterManager {
+
+    public static final String TYPE = "in-memory";
+
+    private static final long DEFAULT_LOCK_RETRIEVAL_TIMEOUT = 1000;
+
+    private final Map<String, Long> counters = new ConcurrentHashMap<String, Long>();
+
+    private final Map<String, Long> timestamps = new ConcurrentHashMap<String, Long>();
+
+    private final Map<String, String> locks = new ConcurrentHashMap<String, String>();
+
+    /* Expiry timestamps of the keys which expire */
+    private final Map<String, Long> expiryTimes = new ConcurrentHashMap<String, Long>();
+
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private volatile boolean enabled = true;
+
+    @Override
+    public long getCounter(String key) {
+        expire(key);
+        Long counter = counters.get(key);
+        return counter != null ? counter : 0;
+    }
+
+    @Override
+    public void setCounter(String key, long value) {
+        counters.put(key, value);
+    }
+
+    @Override
+    public void setCounterWithExpiry(String key, long value, long expiryTime) {
+        counters.put(key, value);
+        expiryTimes.put(key, expiryTime);
+    }
+
+    @Override
+    public long addAndGetCounter(String key, long value) {
+        expire(key);
+        return counters.merge(key, value, Long::sum);
+    }
+
+    @Override
+    public void removeCounter(String key) {
+        counters.remove(key);
+        expiryTimes.remove(key);
+    }
+
+    @Override
+    public long asyncGetAndAddCounter(String key, long value) {
+        return addAndGetCounter(key, value) - value;
+    }
+
+    @Override
+    public Map<String, Long> asyncGetAndAddCounters(Map<String, Long> values) {
+        batchCount.incrementAndGet();
+        Map<String, Long> originalCounters = new HashMap<String, Long>(values.size() * 2);
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            originalCounters.put(entry.getKey(), asyncGetAndAddCounter(entry.getKey(), entry.getValue()));
+        }
+        return originalCounters;
+    }
+
+    @Override
+    public long asyncAddCounter(String key, long value) {
+        return addAndGetCounter(key, value);
+    }
+
+    @Override
+    public long asyncGetAndAlterCounter(String key, long value) {
+        expire(key);
+        Long counter = counters.put(key, value);
+        return counter != null ? counter : 0;
+    }
+
+    @Override
+    public long asyncGetAlterAndSetExpiryOfCounter(String key, long value, long expiryTimeStamp) {
+        long counter = asyncGetAndAlterCounter(key, value);
+        expiryTimes.put(key, expiryTimeStamp);
+        return counter;
+    }
+
+    @Override
+    public long getTimestamp(String key) {
+        expire(key);
+        Long timestamp = timestamps.get(key);
+        return timestamp != null ? timestamp : 0;
+    }
+
+    @Override
+    public void setTimestamp(String key, long timeStamp) {
+        timestamps.put(key, timeStamp);
+    }
+
+    @Override
+    public void setTimestampWithExpiry(String key, long timeStamp, long expiryTimeStamp) {
+        timestamps.put(key, timeStamp);
+        expiryTimes.put(key, expiryTimeStamp);
+    }
+
+    @Override
+    public void removeTimestamp(String key) {
+        timestamps.remove(key);
+        expiryTimes.remove(key);
+    }
+
+    @Override
+    public boolean isEnable() {
+        return enabled;
+    }
+
+    public void setEnable(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void setExpiry(String key, long expiryTimeStamp) {
+        expiryTimes.put(key, expiryTimeStamp);
+    }
+
+    @Override
+    public long getTtl(String key) {
+        expire(key);
+        Long expiryTime = expiryTimes.get(key);
+        if (expiryTime == null) {
+            return counters.containsKey(key) || timestamps.containsKey(key) || locks.containsKey(key) ? -1 : -2;
+        }
+        return Math.max(0, expiryTime - System.currentTimeMillis());
+    }
+
+    @Override
+    public long setLock(String key, String value) {
+        expire(key);
+        return locks.putIfAbsent(key, value) == null ? 1 : 0;
+    }
+
+    @Override
+    public boolean setLockWithExpiry(String key, String value, long expiryTimeStamp) {
+        if (setLock(key, value) == 1) {
+            expiryTimes.put(key, expiryTimeStamp);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long getKeyLockRetrievalTimeout() {
+        return DEFAULT_LOCK_RETRIEVAL_TIMEOUT;
+    }
+
+    @Override
+    public void removeLock(String key) {
+        locks.remove(key);
+        expiryTimes.remove(key);
+    }
+
+    /**
+     * @return number of batches of counters added through {@link #asyncGetAndAddCounters(Map)}
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    private void expire(String key) {
+        Long expiryTime = expiryTimes.get(key);
+        if (expiryTime != null && expiryTime <= System.currentTimeMillis() && expiryTimes.remove(key, expiryTime)) {
+            counters.remove(key);
+            timestamps.remove(key);
+            locks.remove(key);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -157,6 +158,39 @@ public class SharedParamManager {
 		}
 	}
 
+	/**
+	 * Asynchronously add the given values to the distributed counters of the caller contexts with the given ids, in a
+	 * single batch. If it's not distributed the local counters are updated. This will return the global values before
+	 * adding the provided values
+	 *
+	 * @param values to add to the global counters, by caller context id
+	 * @return global counters before adding the values, by caller context id
+	 */
+	public static Map<String, Long> asyncGetAndAddDistributedCounters(Map<String, Long> values) {
+		if (log.isDebugEnabled()) {
+			log.debug("ASYNC ADDING " + values.size() + " COUNTERS");
+		}
+		DistributedCounterManager distributedCounterManager =
+				ThrottleServiceDataHolder.getInstance().getDistributedCounterManager();
+		Map<String, Long> counters = new HashMap<String, Long>(values.size() * 2);
+		if (distributedCounterManager != null && distributedCounterManager.isEnable()) {
+			Map<String, Long> keyedValues = new HashMap<String, Long>(values.size() * 2);
+			for (Map.Entry<String, Long> entry : values.entrySet()) {
+				keyedValues.put(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + entry.getKey(), entry.getValue());
+			}
+			Map<String, Long> keyedCounters = distributedCounterManager.asyncGetAndAddCounters(keyedValues);
+			int prefixLength = ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY.length();
+			for (Map.Entry<String, Long> entry : keyedCounters.entrySet()) {
+				counters.put(entry.getKey().substring(prefixLength), entry.getValue());
+			}
+		} else {
+			for (Map.Entry<String, Long> entry : values.entrySet()) {
+				counters.put(entry.getKey(), asyncGetAndAddDistributedCounter(entry.getKey(), entry.getValue()));
+			}
+		}
+		return counters;
+	}
+
 	/**
 	 * Asynchronously add given value to the distribute counter of caller context of given id. If it's not
 	 * distributed return local counter. This will return global value before add the provided counter
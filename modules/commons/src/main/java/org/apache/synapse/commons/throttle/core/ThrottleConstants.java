@@ -97,6 +97,10 @@ public final class ThrottleConstants {
 
     public static final String PROHIBIT_TIME_PERIOD_PARAMETER_NAME = "ProhibitTimePeriod";
 
+    public static final String ALGORITHM_PARAMETER_NAME = "Algorithm";
+
+    public static final String BURST_PARAMETER_NAME = "Burst";
+
     public static final String ID_PARAMETER_NAME = "ID";
 
     public static final String MAXIMUM_CONCURRENT_ACCESS_PARAMETER_NAME = "MaximumConcurrentAccess";
@@ -115,6 +119,25 @@ public final class ThrottleConstants {
 
     public static final int ACCESS_ALLOWED = 2;
 
+    /* Rate limiting algorithms - the number of requests counted per unit time, a token bucket,
+     the generic cell rate algorithm (GCRA) or a sliding window counter */
+
+    public static final int FIXED_WINDOW_ALGORITHM = 0;
+
+    public static final int TOKEN_BUCKET_ALGORITHM = 1;
+
+    public static final int GCRA_ALGORITHM = 2;
+
+    public static final int SLIDING_WINDOW_ALGORITHM = 3;
+
+    public static final String FIXED_WINDOW_ALGORITHM_NAME = "FixedWindow";
+
+    public static final String TOKEN_BUCKET_ALGORITHM_NAME = "TokenBucket";
+
+    public static final String GCRA_ALGORITHM_NAME = "GCRA";
+
+    public static final String SLIDING_WINDOW_ALGORITHM_NAME = "SlidingWindow";
+
     /* The default clean up time indicates how often cleaning up process should execute  */
 
     public static final long DEFAULT_THROTTLE_CLEAN_PERIOD = 5 * 1000 * 60;
@@ -24,11 +24,6 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.factory.ThrottleContextFactory;
 import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-
 /**
  * Holds the all runtime data corresponding to call remote callers.
  * In addition to that this hold clean list for callers.
@@ -38,10 +33,8 @@ public abstract class ThrottleContext {
 
     private static Log log = LogFactory.getLog(ThrottleContext.class.getName());
 
-    /* The callersMap that contains all registered callers for a particular throttle */
-    private Map callersMap;
-    /* For mapping id (ip | domainame) to TimeStamp */
-    private Map keyToTimeStampMap;
+    /* The callers registered for a particular throttle, along with their expiry */
+    private final CallerContextStore callerStore = new CallerContextStore();
     /* The Time which next cleaning for this throttle will have to take place */
     private long nextCleanTime;
     /* The configuration of a throttle */
@@ -75,8 +68,6 @@ public abstract class ThrottleContext {
                     "from null a throttle configuration");
         }
         this.throttleReplicator = throttleReplicator;
-        this.keyToTimeStampMap = new ConcurrentHashMap();
-        this.callersMap = new ConcurrentSkipListMap();
         this.nextCleanTime = 0;
         this.throttleConfiguration = throttleConfiguration;
         this.debugOn = log.isDebugEnabled();
@@ -111,25 +102,7 @@ public abstract class ThrottleContext {
                 return dataHolder.getCallerContext(id);
             }
             // for non - clustered  env
-            Long timeKey = (Long) keyToTimeStampMap.get(id);
-            if (timeKey != null) {
-                Object co = callersMap.get(timeKey);
-                if (co != null) {
-                    if (co instanceof CallerContext) {
-                        return (CallerContext) co;
-                    } else if (co instanceof LinkedList) {    // callers with same time window
-                        LinkedList callers = (LinkedList) co;
-                        synchronized (callers) {
-                            for (Iterator it = callers.iterator(); it.hasNext(); ) {
-                                CallerContext cc = (CallerContext) it.next();
-                                if (cc != null && id.equals(cc.getId())) {
-                                    return cc;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            return callerStore.get(id);
         } else {
             if (debugOn) {
                 log.debug("Couldn't find a configuration for the remote caller : " + id);
@@ -167,29 +140,7 @@ public abstract class ThrottleContext {
             dataHolder.addCallerContext(id, callerContext);
         }
         // for clean up list
-        Long time = new Long(callerContext.getNextTimeWindow());
-        if (!callersMap.containsKey(time)) {
-            callersMap.put(time, callerContext);
-        } else {
-            //if there are callersMap with same timewindow ,then use linkedList to hold those
-            Object callerObject = callersMap.get(time);
-            if (callerObject != null) {
-                if (callerObject instanceof CallerContext) {
-                    LinkedList callersWithSameTimeStamp = new LinkedList();
-                    callersWithSameTimeStamp.add(callerObject);
-                    callersWithSameTimeStamp.add(callerContext);
-                    callersMap.remove(time);
-                    callersMap.put(time, callersWithSameTimeStamp);
-                } else if (callerObject instanceof LinkedList) {
-                    LinkedList callersWithSameTimeStamp = (LinkedList) callerObject;
-                    synchronized (callersWithSameTimeStamp) {
-                        callersWithSameTimeStamp.add(callerContext);
-                    }
-                }
-            }
-        }
-        //set Time Vs key
-        keyToTimeStampMap.put(id, time);
+        callerStore.put(id, callerContext);
     }
 
     /**
@@ -212,16 +163,11 @@ public abstract class ThrottleContext {
      * @param id The id of the caller
      */
     private void removeCaller(String id) {
-        Long time = (Long) keyToTimeStampMap.get(id);
-        // if (time != null) {
         if (dataHolder != null && keyPrefix != null) {
             log.debug("Removing the caller with the configuration id " + id);
             dataHolder.removeCaller(id);
         }
-        if (time != null) {
-            callersMap.remove(time);
-            keyToTimeStampMap.remove(id);
-        }
+        callerStore.remove(id);
     }
 
     /**
@@ -237,51 +183,7 @@ public abstract class ThrottleContext {
             log.debug("Cleaning up process is executing");
         }
         if (time > nextCleanTime) {
-            SortedMap map = ((ConcurrentNavigableMap) callersMap).headMap(new Long(time));
-            if (map != null && map.size() > 0) {
-                for (Iterator it = map.values().iterator(); it.hasNext(); ) {
-                    Object o = it.next();
-                    if (o != null) {
-                        if (o instanceof CallerContext) { // In the case nextAccessTime is unique
-                            CallerContext c = ((CallerContext) o);
-                            String key = c.getId();
-                            String role = c.getRoleId();
-                            if (key != null) {
-                                if (dataHolder != null && keyPrefix != null) {
-                                    c = dataHolder.getCallerContext(key);
-                                }
-                                if (c != null) {
-                                    c.cleanUpCallers(
-                                            this.throttleConfiguration.getCallerConfiguration(role)
-                                            , this
-                                            , time);
-                                }
-                            }
-                        }
-                        if (o instanceof LinkedList) { //In the case nextAccessTime of callers are same
-                            LinkedList callers = (LinkedList) o;
-                            synchronized (callers) {
-                                for (Iterator ite = callers.iterator(); ite.hasNext(); ) {
-                                    CallerContext c = (CallerContext) ite.next();
-                                    String key = c.getId();
-                                    String role = c.getRoleId();
-                                    if (key != null) {
-                                        if (dataHolder != null && keyPrefix != null) {
-                                            c = (CallerContext) dataHolder.getCallerContext(key);
-                                        }
-                                        if (c != null) {
-                                            c.cleanUpCallers(
-                                                    this.throttleConfiguration.getCallerConfiguration(role)
-                                                    , this
-                                                    , time);
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            cleanupExpiredCallers(time);
             nextCleanTime = time + ThrottleConstants.DEFAULT_THROTTLE_CLEAN_PERIOD;
         }
     }
@@ -445,52 +347,38 @@ public abstract class ThrottleContext {
      * @param time to clean up the caller contexts
      */
     public void cleanupCallers(long time) {
-
-        SortedMap map = ((ConcurrentNavigableMap) callersMap).headMap(new Long(time));
         if (log.isDebugEnabled()) {
-            log.debug("CallerMap Size before cleanup process : " + map.size());
+            log.debug("CallerMap Size before cleanup process : " + callerStore.size());
         }
-        if (map != null && map.size() > 0) {
-            for (Iterator it = map.values().iterator(); it.hasNext(); ) {
-                Object o = it.next();
-                if (o != null) {
-                    if (o instanceof CallerContext) { // In the case nextAccessTime is unique
-                        CallerContext c = ((CallerContext) o);
-                        String key = c.getId();
-                        String role = c.getRoleId();
-                        if (key != null) {
-                            if (dataHolder != null && keyPrefix != null) {
-                                c = dataHolder.getCallerContext(key);
-                            }
-                            if (c != null) {
-                                c.cleanUpCallers(
-                                        this.throttleConfiguration.getCallerConfiguration(role), this, time);
-                            }
-                        }
-                    }
-                    if (o instanceof LinkedList) { //In the case nextAccessTime of callers are same
-                        LinkedList callers = (LinkedList) o;
-                        Iterator ite = callers.iterator();
-                        while (ite.hasNext()) {
-                            CallerContext c = (CallerContext) ite.next();
-                            String key = c.getId();
-                            String role = c.getRoleId();
-                            if (key != null) {
-                                if (dataHolder != null && keyPrefix != null) {
-                                    c = (CallerContext) dataHolder.getCallerContext(key);
-                                }
-                                if (c != null) {
-                                    c.cleanUpCallers(
-                                            this.throttleConfiguration.getCallerConfiguration(role), this, time);
-                                }
-                            }
-                        }
-                    }
+        cleanupExpiredCallers(time);
+        if (log.isDebugEnabled()) {
+            log.debug("CallerMap Size after cleanup process : " + callerStore.size());
+        }
+    }
+
+    /**
+     * Cleans up the callers which have expired so far. A caller which is still in use when it expires, for example
+     * because it is prohibited, is checked again after a unit time.
+     *
+     * @param time to clean up the caller contexts
+     */
+    private void cleanupExpiredCallers(long time) {
+        CallerContextStore.Registration registration;
+        while ((registration = callerStore.pollExpired()) != null) {
+            CallerContext c = registration.getCallerContext();
+            String key = c.getId();
+            String role = c.getRoleId();
+            if (key != null) {
+                if (dataHolder != null && keyPrefix != null) {
+                    c = dataHolder.getCallerContext(key);
+                }
+                if (c != null) {
+                    c.cleanUpCallers(this.throttleConfiguration.getCallerConfiguration(role), this, time);
                 }
             }
-        }
-        if (log.isDebugEnabled()) {
-            log.debug("CallerMap Size after cleanup process : " + map.size());
+            long unitTime = registration.getCallerContext().getUnitTime();
+            callerStore.reschedule(registration,
+                    unitTime > 0 ? unitTime : ThrottleConstants.DEFAULT_THROTTLE_CLEAN_PERIOD);
         }
     }
 }
@@ -26,6 +26,7 @@ import org.apache.neethi.PolicyEngine;
 import org.apache.neethi.builders.xml.XmlPrimtiveAssertion;
 import org.apache.synapse.commons.resolvers.ResolverFactory;
 import org.apache.synapse.commons.throttle.core.factory.CallerConfigurationFactory;
+import org.apache.synapse.commons.throttle.core.factory.RateLimiterFactory;
 import org.apache.synapse.commons.throttle.core.factory.ThrottleConfigurationFactory;
 import org.apache.synapse.commons.throttle.core.factory.ThrottleContextFactory;
 import javax.xml.namespace.QName;
@@ -243,6 +244,7 @@ public class ThrottleFactory {
                 if (callerConfiguration != null) {
                     if (policy != null) {
                         fillCallerConfiguration(policy, callerConfiguration);
+                        RateLimiterFactory.validate(callerConfiguration);
                         configuration.addCallerConfiguration(callerConfiguration);
                     }
 
@@ -512,6 +514,27 @@ public class ThrottleFactory {
                                                     " number for prohibit time ",
                                             ignored);
                                 }
+                            } else if (name.equals(
+                                    ThrottleConstants.
+                                            ALGORITHM_PARAMETER_NAME)) {
+                                callerConfiguration.setAlgorithm(
+                                        RateLimiterFactory.getAlgorithm(resolvedValue));
+                            } else if (name.equals(
+                                    ThrottleConstants.
+                                            BURST_PARAMETER_NAME)) {
+                                int burst = 0;
+                                try {
+                                    burst = Integer.parseInt(resolvedValue);
+                                } catch (NumberFormatException ignored) {
+                                    log.error("Error occurred - Invalid" +
+                                                    " number for burst ",
+                                            ignored);
+                                }
+                                if (burst < 0) {
+                                    handleException("Burst cannot be negative " +
+                                            "- invalid throttle policy configuration");
+                                }
+                                callerConfiguration.setBurst(burst);
                             } else {
                                 handleException("Undefined Policy" +
                                         " property for Throttle Policy");
@@ -519,7 +542,9 @@ public class ThrottleFactory {
                         } else {
                             if (!name.equals(
                                     ThrottleConstants.
-                                            PROHIBIT_TIME_PERIOD_PARAMETER_NAME)) {
+                                            PROHIBIT_TIME_PERIOD_PARAMETER_NAME)
+                                    && !name.equals(ThrottleConstants.ALGORITHM_PARAMETER_NAME)
+                                    && !name.equals(ThrottleConstants.BURST_PARAMETER_NAME)) {
                                 handleException("The policy which have " +
                                         " defined as optional " +
                                         "should have value ");
@@ -23,11 +23,16 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
 
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /* Runs a scheduled task, which replicates CallerContexts through the cluster.
- * Frequency of the job can be controlled
+ * Frequency of the job can be controlled. The requests counted locally since the last run are sent to the
+ * distributed counters in batches, a batch is also sent before the next run once enough callers are waiting.
  */
 
 public class ThrottleReplicator {
@@ -40,8 +45,19 @@ public class ThrottleReplicator {
     private ConfigurationContext configContext;
     private ThrottleProperties throttleProperties;
     private int replicatorCount;
+    private ScheduledExecutorService executor;
 
-    private Set<String> set = new ConcurrentSkipListSet<String>();
+    /* Keys waiting for replication, against the time they were added */
+    private final Map<String, Long> pendingKeys = new ConcurrentHashMap<String, Long>();
+    private final AtomicInteger pendingKeyCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /* Replication metrics */
+    private final AtomicLong flushCount = new AtomicLong();
+    private volatile long lastFlushLag;
+    private final AtomicLong maxFlushLag = new AtomicLong();
+    private volatile long lastAccuracyDrift;
+    private final AtomicLong maxAccuracyDrift = new AtomicLong();
 
     public ThrottleReplicator() {
         throttleProperties = ThrottleServiceDataHolder.getInstance().getThrottleProperties();
@@ -57,7 +73,7 @@ public class ThrottleReplicator {
             }
             return;
         }
-        ScheduledExecutorService executor = Executors.newScheduledThreadPool(replicatorPoolSize,
+        executor = Executors.newScheduledThreadPool(replicatorPoolSize,
                 new ThreadFactory() {
                     @Override
                     public Thread newThread(
@@ -88,23 +104,67 @@ public class ThrottleReplicator {
         if (configContext == null) {
             throw new IllegalStateException("ConfigurationContext has not been set");
         }
+        boolean added;
         synchronized (key.intern()) {
-            set.add(key);
+            added = pendingKeys.putIfAbsent(key, System.currentTimeMillis()) == null;
         }
         if (log.isDebugEnabled()) {
             log.trace("Adding key " + key + " to replication list");
         }
+        // do not wait for the next run if a full batch is waiting
+        if (added && pendingKeyCount.incrementAndGet() >= keysToReplicate && executor != null
+                && flushRequested.compareAndSet(false, true)) {
+            executor.execute(new ReplicatorTask());
+        }
+    }
+
+    /**
+     * @return number of batches sent to the distributed counters
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * @return time in milliseconds the oldest caller of the last batch waited for replication
+     */
+    public long getLastFlushLag() {
+        return lastFlushLag;
+    }
+
+    /**
+     * @return longest time in milliseconds a caller waited for replication
+     */
+    public long getMaxFlushLag() {
+        return maxFlushLag.get();
+    }
+
+    /**
+     * @return number of requests of the last batch, which other nodes had not seen until the batch was sent
+     */
+    public long getLastAccuracyDrift() {
+        return lastAccuracyDrift;
+    }
+
+    /**
+     * @return largest number of requests of a batch, which other nodes had not seen until the batch was sent
+     */
+    public long getMaxAccuracyDrift() {
+        return maxAccuracyDrift.get();
     }
 
     private class ReplicatorTask implements Runnable {
         public void run() {
             log.debug("Start running ThrottleReplicatorTask.");
+            flushRequested.set(false);
             try {
-                if (!set.isEmpty()) {
-                    for (String key : set) {
+                if (!pendingKeys.isEmpty()) {
+                    ThrottleDataHolder dataHolder = (ThrottleDataHolder)
+                            configContext.getProperty(ThrottleConstants.THROTTLE_INFO_KEY);
+                    Batch batch = new Batch();
+                    for (Map.Entry<String, Long> entry : pendingKeys.entrySet()) {
+                        String key = entry.getKey();
                         synchronized (key.intern()) {
-                            ThrottleDataHolder dataHolder = (ThrottleDataHolder)
-                                    configContext.getProperty(ThrottleConstants.THROTTLE_INFO_KEY);
                             CallerContext callerContext = dataHolder.getCallerContext(key);
                             //get distributed map instance and update counters
                             //If both global and local counters are 0 then that means cleanup caller
@@ -113,27 +173,24 @@ public class ThrottleReplicator {
                                 //Otherwise we do not need to do replication.
                                 if (callerContext.getLocalCounter() > 0 &&
                                         callerContext.getNextTimeWindow() > System.currentTimeMillis()) {
-	                                String id = callerContext.getId();
-	                                //First put local counter to variable and reset it just after it because
-	                                //if there are incoming requests coming. the local counter will be updated
-	                                //if that happen, reset will cause to miss the additional requests come after
-	                                //local counter value taken into the consideration
-	                                long localCounter = callerContext.getLocalCounter();
-	                                callerContext.resetLocalCounter();
-	                                Long distributedCounter = SharedParamManager.asyncGetAndAddDistributedCounter(id, localCounter);
-	                                //Update instance global counter with distributed counter
-                                    callerContext.setGlobalCounter(distributedCounter + localCounter);
-                                    if(log.isDebugEnabled()) {
-                                        log.debug("Increasing counters of context :" + callerContext.getId() + " "
-                                                  + "Replicated Count After  Update : distributedCounter =" +distributedCounter
-                                                  + " localCounter=" + localCounter + " total=" + (distributedCounter + localCounter));
-                                    }
+                                    //Take and reset the local counter at once, so that the requests coming in
+                                    //meanwhile are counted for the next batch. They are added to the global
+                                    //counter until the batch is sent, so that this node does not lose them
+                                    long localCounter = callerContext.getAndResetLocalCounter();
+                                    callerContext.setGlobalCounter(callerContext.getGlobalCounter() + localCounter);
+                                    batch.add(key, callerContext, localCounter, entry.getValue());
                                 }
                             }
-	                        set.remove(key);
+                            if (pendingKeys.remove(key) != null) {
+                                pendingKeyCount.decrementAndGet();
+                            }
+                        }
+                        if (batch.size() >= keysToReplicate) {
+                            batch.flush();
+                            batch = new Batch();
                         }
-
                     }
+                    batch.flush();
                 }
             } catch (Throwable t) {
                 log.error("Could not replicate throttle data", t);
@@ -141,4 +198,82 @@ public class ThrottleReplicator {
         }
     }
 
+    /**
+     * Local counters of callers, sent to the distributed counters at once.
+     */
+    private class Batch {
+
+        private final Map<String, Long> localCounters = new HashMap<String, Long>();
+        private final Map<String, CallerContext> callerContexts = new HashMap<String, CallerContext>();
+        private final Map<String, String> keys = new HashMap<String, String>();
+        private final Map<String, Long> windowStarts = new HashMap<String, Long>();
+        private long oldestAddTime = Long.MAX_VALUE;
+        private long requestCount;
+
+        /**
+         * Must be called holding the lock of the key, the window start of the caller is recorded along with the
+         * drained counter.
+         */
+        void add(String key, CallerContext callerContext, long localCounter, long addTime) {
+            String id = callerContext.getId();
+            Long counter = localCounters.get(id);
+            localCounters.put(id, counter != null ? counter + localCounter : localCounter);
+            callerContexts.put(id, callerContext);
+            keys.put(id, key);
+            windowStarts.put(id, callerContext.getFirstAccessTime());
+            oldestAddTime = Math.min(oldestAddTime, addTime);
+            requestCount += localCounter;
+        }
+
+        int size() {
+            return localCounters.size();
+        }
+
+        void flush() {
+            if (localCounters.isEmpty()) {
+                return;
+            }
+            Map<String, Long> distributedCounters =
+                    SharedParamManager.asyncGetAndAddDistributedCounters(localCounters);
+            for (Map.Entry<String, Long> entry : localCounters.entrySet()) {
+                String id = entry.getKey();
+                Long distributedCounter = distributedCounters.get(id);
+                if (distributedCounter == null) {
+                    continue;
+                }
+                synchronized (keys.get(id).intern()) {
+                    CallerContext callerContext = callerContexts.get(id);
+                    //The window replicator may have moved the caller to a new time window while the counters were
+                    //sent, the result belongs to the old window then
+                    if (callerContext.getFirstAccessTime() != windowStarts.get(id)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Time window of caller " + id + " changed during replication, the "
+                                    + "distributed counter is not applied");
+                        }
+                        continue;
+                    }
+                    //Update instance global counter with distributed counter
+                    callerContext.setGlobalCounter(distributedCounter + entry.getValue());
+                }
+            }
+            long lag = Math.max(0, System.currentTimeMillis() - oldestAddTime);
+            flushCount.incrementAndGet();
+            lastFlushLag = lag;
+            lastAccuracyDrift = requestCount;
+            updateMax(maxFlushLag, lag);
+            updateMax(maxAccuracyDrift, requestCount);
+            if (log.isDebugEnabled()) {
+                log.debug("Replicated counters of " + localCounters.size() + " callers, " + requestCount
+                        + " requests, waited " + lag + " ms");
+            }
+        }
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
 }
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core.factory;
+
+import org.apache.synapse.commons.throttle.core.CallerConfiguration;
+import org.apache.synapse.commons.throttle.core.ThrottleConstants;
+import org.apache.synapse.commons.throttle.core.ThrottleException;
+import org.apache.synapse.commons.throttle.core.ratelimit.GcraRateLimiter;
+import org.apache.synapse.commons.throttle.core.ratelimit.RateLimiter;
+import org.apache.synapse.commons.throttle.core.ratelimit.SlidingWindowRateLimiter;
+import org.apache.synapse.commons.throttle.core.ratelimit.TokenBucketRateLimiter;
+
+/**
+ * Factory for creating the RateLimiter of a caller
+ */
+public class RateLimiterFactory {
+
+    /**
+     * To create the rate limiter for the algorithm of the given caller configuration
+     *
+     * @param configuration - The configuration of the caller
+     * @param currentTime   - The current time in milliseconds
+     * @return the rate limiter, null for the fixed window algorithm which is implemented by the caller context
+     * @throws ThrottleException - Throws if the algorithm is unknown or the configuration is not valid for it
+     */
+    public static RateLimiter createRateLimiter(CallerConfiguration configuration, long currentTime)
+            throws ThrottleException {
+        int algorithm = configuration.getAlgorithm();
+        if (algorithm == ThrottleConstants.FIXED_WINDOW_ALGORITHM) {
+            return null;
+        }
+        // policies are validated when they are built, this only guards configurations created in code
+        validate(configuration);
+        int maxRequest = configuration.getMaximumRequestPerUnitTime();
+        long unitTime = configuration.getUnitTime();
+        int burst = configuration.getBurst();
+        if (algorithm == ThrottleConstants.TOKEN_BUCKET_ALGORITHM) {
+            return new TokenBucketRateLimiter(maxRequest, unitTime, burst, currentTime);
+        } else if (algorithm == ThrottleConstants.GCRA_ALGORITHM) {
+            return new GcraRateLimiter(maxRequest, unitTime, burst, currentTime);
+        } else {
+            return new SlidingWindowRateLimiter(maxRequest, unitTime, currentTime);
+        }
+    }
+
+    /**
+     * To validate the rate limiting settings of a caller configuration, so that an invalid throttle policy is
+     * rejected when it is built instead of failing the first request of the caller
+     *
+     * @param configuration - The configuration of the caller
+     * @throws ThrottleException - Throws if the algorithm is unknown or the counts are out of its range
+     */
+    public static void validate(CallerConfiguration configuration) throws ThrottleException {
+        int algorithm = configuration.getAlgorithm();
+        if (algorithm == ThrottleConstants.FIXED_WINDOW_ALGORITHM
+                || configuration.getAccessState() != ThrottleConstants.ACCESS_CONTROLLED) {
+            return;
+        }
+        if (algorithm != ThrottleConstants.TOKEN_BUCKET_ALGORITHM && algorithm != ThrottleConstants.GCRA_ALGORITHM
+                && algorithm != ThrottleConstants.SLIDING_WINDOW_ALGORITHM) {
+            throw new ThrottleException("Unknown rate limiting algorithm : " + algorithm);
+        }
+        int maxRequest = configuration.getMaximumRequestPerUnitTime();
+        if (maxRequest < 0) {
+            throw new ThrottleException("The maximum count of a rate limited caller cannot be negative");
+        }
+        if (maxRequest > 0 && configuration.getUnitTime() <= 0) {
+            throw new ThrottleException("The unit time of a rate limited caller must be positive");
+        }
+        if (algorithm == ThrottleConstants.TOKEN_BUCKET_ALGORITHM
+                && configuration.getBurst() > TokenBucketRateLimiter.MAX_BURST) {
+            throw new ThrottleException("The burst of a token bucket cannot exceed "
+                    + TokenBucketRateLimiter.MAX_BURST);
+        }
+        if (algorithm == ThrottleConstants.SLIDING_WINDOW_ALGORITHM
+                && maxRequest > SlidingWindowRateLimiter.MAX_COUNT) {
+            throw new ThrottleException("The maximum count of a sliding window cannot exceed "
+                    + SlidingWindowRateLimiter.MAX_COUNT);
+        }
+    }
+
+    /**
+     * To get the algorithm with the given name, as used in a throttle policy
+     *
+     * @param name - The name of the algorithm
+     * @return one of the algorithm constants of {@link ThrottleConstants}
+     * @throws ThrottleException - Throws if the algorithm is unknown
+     */
+    public static int getAlgorithm(String name) throws ThrottleException {
+        if (ThrottleConstants.FIXED_WINDOW_ALGORITHM_NAME.equalsIgnoreCase(name)) {
+            return ThrottleConstants.FIXED_WINDOW_ALGORITHM;
+        } else if (ThrottleConstants.TOKEN_BUCKET_ALGORITHM_NAME.equalsIgnoreCase(name)) {
+            return ThrottleConstants.TOKEN_BUCKET_ALGORITHM;
+        } else if (ThrottleConstants.GCRA_ALGORITHM_NAME.equalsIgnoreCase(name)) {
+            return ThrottleConstants.GCRA_ALGORITHM;
+        } else if (ThrottleConstants.SLIDING_WINDOW_ALGORITHM_NAME.equalsIgnoreCase(name)) {
+            return ThrottleConstants.SLIDING_WINDOW_ALGORITHM;
+        } else {
+            throw new ThrottleException("Unknown rate limiting algorithm : " + name);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generic cell rate algorithm (GCRA), the virtual scheduling form of a leaky bucket. The only state is the
+ * theoretical arrival time of the next request, requests are spaced by the emission interval of the policy rate, and
+ * a request may arrive early by up to a burst of emission intervals.
+ * <p>
+ * Unlike the token bucket the burst is not bounded by the size of a packed field, and the spacing of the requests is
+ * kept in nanoseconds.
+ */
+public class GcraRateLimiter implements RateLimiter {
+
+    private final long origin;
+
+    /** Time in nanoseconds between two requests at the policy rate */
+    private final long emissionInterval;
+
+    /** Time in nanoseconds a request may arrive before its theoretical arrival time */
+    private final long tolerance;
+
+    /** Theoretical arrival time in nanoseconds from the origin */
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong();
+
+    /**
+     * @param maxRequest  number of requests per unit time
+     * @param unitTime    unit time in milliseconds
+     * @param burst       number of requests which may arrive at once
+     * @param currentTime current time in milliseconds
+     */
+    public GcraRateLimiter(int maxRequest, long unitTime, int burst, long currentTime) {
+        if (maxRequest <= 0 || unitTime <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Invalid GCRA - maximum request: " + maxRequest
+                    + ", unit time: " + unitTime + ", burst: " + burst);
+        }
+        this.origin = currentTime;
+        this.emissionInterval = Math.max(1, unitTime * 1000000 / maxRequest);
+        this.tolerance = saturatedMultiply(burst, emissionInterval);
+    }
+
+    @Override
+    public boolean tryAcquire(long permits, long currentTime) {
+        long now = saturatedMultiply(Math.max(0, currentTime - origin), 1000000);
+        long increment = saturatedMultiply(permits, emissionInterval);
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, now) + increment;
+            if (newTat < 0 || newTat - now > tolerance) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    private static long saturatedMultiply(long x, long y) {
+        try {
+            return Math.multiplyExact(x, y);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core.ratelimit;
+
+/**
+ * Limits the rate of requests of a single caller. Implementations keep their state in atomic primitives, so that
+ * checking a request neither locks nor allocates.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes the given number of permits if the rate limit allows it.
+     *
+     * @param permits     number of permits, the event count of the request
+     * @param currentTime current time in milliseconds
+     * @return true if the permits were taken, false if the request exceeds the rate limit
+     */
+    boolean tryAcquire(long permits, long currentTime);
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding window counter. The requests are counted per unit time as with a fixed window, but the count of the previous
+ * window is weighted by how much of it still overlaps the sliding window ending at the current time, so that a caller
+ * cannot send twice the maximum number of requests around the end of a window.
+ * <p>
+ * The window index and the counts of the current and the previous window are packed into a single long, which is
+ * updated with a compare and set. The window index is kept modulo 2<sup>22</sup>.
+ */
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    private static final int COUNT_BITS = 21;
+
+    /** Largest number of requests per unit time of a sliding window */
+    public static final int MAX_COUNT = (1 << COUNT_BITS) - 1;
+
+    private static final long WINDOW_MASK = (1L << (Long.SIZE - 2 * COUNT_BITS)) - 1;
+
+    private final long origin;
+
+    private final long unitTime;
+
+    private final long maxRequest;
+
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * @param maxRequest  number of requests per unit time, at most {@link #MAX_COUNT}
+     * @param unitTime    unit time in milliseconds
+     * @param currentTime current time in milliseconds, the first window starts at this time
+     */
+    public SlidingWindowRateLimiter(int maxRequest, long unitTime, long currentTime) {
+        if (maxRequest <= 0 || maxRequest > MAX_COUNT || unitTime <= 0) {
+            throw new IllegalArgumentException("Invalid sliding window - maximum request: " + maxRequest
+                    + ", unit time: " + unitTime);
+        }
+        this.origin = currentTime;
+        this.unitTime = unitTime;
+        this.maxRequest = maxRequest;
+    }
+
+    @Override
+    public boolean tryAcquire(long permits, long currentTime) {
+        long elapsed = Math.max(0, currentTime - origin);
+        long window = (elapsed / unitTime) & WINDOW_MASK;
+        long remaining = unitTime - elapsed % unitTime;
+        while (true) {
+            long current = state.get();
+            long previousCount;
+            long currentCount;
+            long windows = (window - (current >>> (2 * COUNT_BITS))) & WINDOW_MASK;
+            if (windows == 0) {
+                previousCount = (current >>> COUNT_BITS) & MAX_COUNT;
+                currentCount = current & MAX_COUNT;
+            } else if (windows == 1) {
+                previousCount = current & MAX_COUNT;
+                currentCount = 0;
+            } else {
+                previousCount = 0;
+                currentCount = 0;
+            }
+            long estimated = previousCount * remaining / unitTime + currentCount;
+            if (estimated + permits > maxRequest) {
+                return false;
+            }
+            long update = (window << (2 * COUNT_BITS)) | (previousCount << COUNT_BITS) | (currentCount + permits);
+            if (state.compareAndSet(current, update)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket holding up to a burst of tokens, refilled one token at a time at the rate of the policy. A request
+ * takes one token per event and is rejected if there are not enough tokens.
+ * <p>
+ * The number of tokens and the refill tick of the last request are packed into a single long, which is updated with
+ * a compare and set. The tick is kept modulo 2<sup>40</sup>, callers idle for that many refill intervals are cleaned
+ * up long before the tick wraps.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final int TOKEN_BITS = 24;
+
+    /** Largest burst of a token bucket */
+    public static final int MAX_BURST = (1 << TOKEN_BITS) - 1;
+
+    private static final long TICK_MASK = (1L << (Long.SIZE - TOKEN_BITS)) - 1;
+
+    private final long origin;
+
+    /** Time in nanoseconds to refill one token */
+    private final long refillInterval;
+
+    private final long burst;
+
+    private final AtomicLong state;
+
+    /**
+     * @param maxRequest  number of requests per unit time
+     * @param unitTime    unit time in milliseconds
+     * @param burst       number of tokens of a full bucket, at most {@link #MAX_BURST}
+     * @param currentTime current time in milliseconds, the bucket is full at this time
+     */
+    public TokenBucketRateLimiter(int maxRequest, long unitTime, int burst, long currentTime) {
+        if (maxRequest <= 0 || unitTime <= 0 || burst <= 0 || burst > MAX_BURST) {
+            throw new IllegalArgumentException("Invalid token bucket - maximum request: " + maxRequest
+                    + ", unit time: " + unitTime + ", burst: " + burst);
+        }
+        this.origin = currentTime;
+        this.refillInterval = Math.max(1, unitTime * 1000000 / maxRequest);
+        this.burst = burst;
+        this.state = new AtomicLong(burst);
+    }
+
+    @Override
+    public boolean tryAcquire(long permits, long currentTime) {
+        long tick = tick(currentTime) & TICK_MASK;
+        while (true) {
+            long current = state.get();
+            long lastTick = current >>> TOKEN_BITS;
+            long refilled = (tick - lastTick) & TICK_MASK;
+            long tokens = Math.min(burst, (current & MAX_BURST) + refilled);
+            if (tokens < permits) {
+                return false;
+            }
+            if (state.compareAndSet(current, (tick << TOKEN_BITS) | (tokens - permits))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param currentTime current time in milliseconds
+     * @return number of tokens in the bucket at the given time
+     */
+    public long getAvailableTokens(long currentTime) {
+        long current = state.get();
+        long refilled = ((tick(currentTime) & TICK_MASK) - (current >>> TOKEN_BITS)) & TICK_MASK;
+        return Math.min(burst, (current & MAX_BURST) + refilled);
+    }
+
+    private long tick(long currentTime) {
+        return Math.max(0, currentTime - origin) * 1000000 / refillInterval;
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A timer for a large number of short lived timeouts, most of which are cancelled before they expire.
+ * <p>
+ * Timeouts are kept in a wheel of buckets, each bucket covering one tick. Scheduling and cancelling a timeout are
+ * O(1) and lock free: both only enqueue the timeout, and the single worker thread moves it in to or out of its
+ * bucket on the next tick. On every tick the worker expires the timeouts of one bucket, hence a timeout fires at most
+ * one tick late. The tasks are run on the worker thread and must not block, long running work should be handed over
+ * to an executor.
+ * <p>
+ * The worker thread is a daemon thread started with the first scheduled timeout.
+ */
+public class HashedWheelTimer {
+
+    private static final Log log = LogFactory.getLog(HashedWheelTimer.class);
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_STOPPED = 2;
+
+    /** Maximum number of new timeouts moved to the wheel per tick, so that a burst does not delay the expiry */
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final CountDownLatch startLatch = new CountDownLatch(1);
+    private volatile long startTime;
+    private volatile Thread worker;
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder cancelledCount = new LongAdder();
+
+    // following statistics are only updated by the worker thread
+    private volatile long tickCount;
+    private volatile long totalTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long totalExpiryDelayNanos;
+    private volatile long maxExpiryDelayNanos;
+
+    /**
+     * Creates a timer.
+     *
+     * @param name          name of the worker thread
+     * @param tickDuration  duration of a tick, which is the precision of the timer
+     * @param unit          time unit of the tick duration
+     * @param ticksPerWheel number of buckets in the wheel, rounded up to a power of two
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive : " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("Ticks per wheel must be in (0, 2^30] : " + ticksPerWheel);
+        }
+        this.name = name;
+        this.tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Schedules the given task to run once after the given delay.
+     *
+     * @param task  task to run on expiry, it must not block
+     * @param delay delay after which the task is run
+     * @param unit  time unit of the delay
+     * @return a handle which can be used to cancel the timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task must not be null");
+        }
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the worker thread. Timeouts which have not expired yet are dropped without running their tasks.
+     */
+    public void stop() {
+        Thread workerThread = worker;
+        if (state.getAndSet(STATE_STOPPED) == STATE_STARTED && workerThread != null
+                && workerThread != Thread.currentThread()) {
+            workerThread.interrupt();
+        }
+    }
+
+    /**
+     * @return number of scheduled timeouts which have neither expired nor been cancelled
+     */
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return number of timeouts expired since the timer was created
+     */
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    /**
+     * @return number of timeouts cancelled since the timer was created
+     */
+    public long getCancelledCount() {
+        return cancelledCount.sum();
+    }
+
+    /**
+     * @return average time in milliseconds by which a timeout expired after its deadline
+     */
+    public double getAverageExpiryDelay() {
+        long expired = expiredCount.sum();
+        return expired == 0 ? 0 : toMillis(totalExpiryDelayNanos) / expired;
+    }
+
+    /**
+     * @return maximum time in milliseconds by which a timeout expired after its deadline
+     */
+    public double getMaxExpiryDelay() {
+        return toMillis(maxExpiryDelayNanos);
+    }
+
+    /**
+     * @return average time in milliseconds spent on a tick, including the tasks run on it
+     */
+    public double getAverageTickTime() {
+        long ticks = tickCount;
+        return ticks == 0 ? 0 : toMillis(totalTickNanos) / ticks;
+    }
+
+    /**
+     * @return maximum time in milliseconds spent on a tick, including the tasks run on it
+     */
+    public double getMaxTickTime() {
+        return toMillis(maxTickNanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000000.0;
+    }
+
+    private void recordTick(long nanos) {
+        if (nanos > maxTickNanos) {
+            maxTickNanos = nanos;
+        }
+        totalTickNanos += nanos;
+        tickCount++;
+    }
+
+    private void recordExpiryDelay(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        if (nanos > maxExpiryDelayNanos) {
+            maxExpiryDelayNanos = nanos;
+        }
+        totalExpiryDelayNanos += nanos;
+    }
+
+    private void start() {
+        int current = state.get();
+        if (current == STATE_INIT && state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+            worker = new Thread(this::runWorker, name);
+            worker.setDaemon(true);
+            worker.start();
+        } else if (current == STATE_STOPPED) {
+            throw new IllegalStateException("Timer " + name + " has already been stopped");
+        }
+        while (startTime == 0) {
+            try {
+                startLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for timer " + name + " to start");
+            }
+        }
+    }
+
+    private void runWorker() {
+        long now = System.nanoTime();
+        // zero is used to detect an uninitialized start time
+        startTime = now == 0 ? 1 : now;
+        startLatch.countDown();
+
+        long tick = 0;
+        while (state.get() == STATE_STARTED) {
+            long deadline = waitForNextTick(tick);
+            if (deadline < 0) {
+                break;
+            }
+            long tickStart = System.nanoTime();
+            removeCancelledTimeouts();
+            transferTimeoutsToBuckets(tick);
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            recordTick(System.nanoTime() - tickStart);
+            tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the end of the given tick.
+     *
+     * @return time elapsed since the start, or -1 if the timer was stopped
+     */
+    private long waitForNextTick(long tick) {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long elapsed = System.nanoTime() - startTime;
+            long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - elapsed + 999999);
+            if (sleepMillis <= 0) {
+                return elapsed;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (state.get() == STATE_STOPPED) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferTimeoutsToBuckets(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state.get() != Timeout.ST_INIT) {
+                // cancelled before it reached the wheel
+                continue;
+            }
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // a timeout which is already due goes in to the current bucket
+            long bucketTick = Math.max(expiryTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        // following fields are only accessed by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout. The task is not run if this method returns true.
+         *
+         * @return true if the timeout was cancelled, false if it has already expired or been cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingCount.decrementAndGet();
+            timer.cancelledCount.increment();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.recordExpiryDelay(System.nanoTime() - timer.startTime - deadline);
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("Error while running the task of timer " + timer.name, t);
+            } finally {
+                timer.expiredCount.increment();
+                timer.pendingCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts of a tick. Only accessed by the worker thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -138,6 +138,44 @@ public class JsonUtilTest extends TestCase {
         assertTrue("Json payload identified incorrectly", JsonUtil.cloneJsonPayload(sourceContext, targetContext));
     }
 
+    public void testClonesShareJsonPayload() throws AxisFault {
+        MessageContext sourceContext = Util.newMessageContext();
+        JsonUtil.getNewJsonPayload(sourceContext, "{\"name\":\"WSO2\"}", true, true);
+        MessageContext firstClone = Util.newMessageContext();
+        MessageContext secondClone = Util.newMessageContext();
+        assertTrue(JsonUtil.cloneJsonPayload(sourceContext, firstClone));
+        assertTrue(JsonUtil.cloneJsonPayload(sourceContext, secondClone));
+
+        InputStream firstPayload = JsonUtil.getJsonPayload(firstClone);
+        assertSame("The payload of a clone should not be copied again", firstPayload,
+                JsonUtil.toReadOnlyStream(firstPayload));
+        assertEquals("{\"name\":\"WSO2\"}", JsonUtil.jsonPayloadToString(firstClone));
+        assertEquals("{\"name\":\"WSO2\"}", JsonUtil.jsonPayloadToString(secondClone));
+
+        // a new payload of one clone must not be visible to the others
+        JsonUtil.getNewJsonPayload(firstClone, "{\"name\":\"Synapse\"}", true, true);
+        assertEquals("{\"name\":\"Synapse\"}", JsonUtil.jsonPayloadToString(firstClone));
+        assertEquals("{\"name\":\"WSO2\"}", JsonUtil.jsonPayloadToString(secondClone));
+        assertEquals("{\"name\":\"WSO2\"}", JsonUtil.jsonPayloadToString(sourceContext));
+
+        MessageContext cloneOfClone = Util.newMessageContext();
+        assertTrue(JsonUtil.cloneJsonPayload(secondClone, cloneOfClone));
+        assertEquals("{\"name\":\"WSO2\"}", JsonUtil.jsonPayloadToString(cloneOfClone));
+    }
+
+    public void testCloneAfterPayloadChange() throws AxisFault {
+        MessageContext sourceContext = Util.newMessageContext();
+        JsonUtil.getNewJsonPayload(sourceContext, "{\"name\":\"WSO2\"}", true, true);
+        MessageContext firstClone = Util.newMessageContext();
+        assertTrue(JsonUtil.cloneJsonPayload(sourceContext, firstClone));
+
+        JsonUtil.getNewJsonPayload(sourceContext, "{\"name\":\"Synapse\"}", true, true);
+        MessageContext secondClone = Util.newMessageContext();
+        assertTrue(JsonUtil.cloneJsonPayload(sourceContext, secondClone));
+        assertEquals("{\"name\":\"WSO2\"}", JsonUtil.jsonPayloadToString(firstClone));
+        assertEquals("{\"name\":\"Synapse\"}", JsonUtil.jsonPayloadToString(secondClone));
+    }
+
     public void testJsonPayloadToByteArray() throws AxisFault, XMLStreamException {
         MessageContext messageContext = Util.newMessageContext("<jsonArray><jsonElement>10</jsonElement><jsonElement>20</jsonElement></jsonArray>");
         OMElement element = AXIOMUtil.stringToOM("<name>WSO2</name>");
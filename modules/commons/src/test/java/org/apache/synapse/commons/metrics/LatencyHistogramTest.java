@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.commons.metrics;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test cases for LatencyHistogram and MetricsRegistry
+ */
+public class LatencyHistogramTest extends TestCase {
+
+    /**
+     * Bucket bounds must be contiguous and every value must fall in a bucket covering it
+     */
+    public void testBucketBounds() {
+        long previous = -1;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long upper = LatencyHistogram.bucketUpperBound(i);
+            assertTrue("Bucket bounds must grow", upper > previous);
+            assertEquals(i, LatencyHistogram.bucketIndex(previous + 1));
+            assertEquals(i, LatencyHistogram.bucketIndex(upper));
+            previous = upper;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, previous);
+    }
+
+    /**
+     * Percentiles are reported within the relative error of a bucket
+     */
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000000L, snapshot.getMax());
+        assertEquals(500500.0, snapshot.getMean(), 0.001);
+        assertWithinBucket(500000L, snapshot.getValueAtPercentile(50));
+        assertWithinBucket(990000L, snapshot.getValueAtPercentile(99));
+        assertEquals(1000000L, snapshot.getValueAtPercentile(100));
+        assertEquals(0, new LatencyHistogram().snapshot().getValueAtPercentile(99));
+    }
+
+    /**
+     * Concurrent recording must not lose updates
+     */
+    public void testConcurrentRecording() throws Exception {
+        final ComponentMetrics metrics = new ComponentMetrics();
+        final int threads = 8;
+        final int iterations = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < iterations; j++) {
+                    metrics.record(j * 1000L, j % 10 == 0);
+                }
+            });
+            workers[i].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * iterations, metrics.getRequestCount());
+        assertEquals(threads * iterations / 10, metrics.getFaultCount());
+        assertEquals(threads * iterations, metrics.getLatency().snapshot().getCount());
+    }
+
+    /**
+     * The Prometheus output exposes counters and cumulative histogram buckets
+     */
+    public void testPrometheusText() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.record(MetricsRegistry.PROXY, "TestProxy", 2000000L, false);
+        registry.record(MetricsRegistry.PROXY, "TestProxy", 20000000L, true);
+        registry.registerCounter("test_requests_total", "Test counter", () -> 42L);
+
+        String text = registry.toPrometheusText();
+        assertTrue(text.contains("test_requests_total 42"));
+        assertTrue(text.contains("synapse_component_requests_total{type=\"proxy\",name=\"TestProxy\"} 2"));
+        assertTrue(text.contains("synapse_component_faults_total{type=\"proxy\",name=\"TestProxy\"} 1"));
+        assertTrue(text.contains("synapse_component_latency_seconds_bucket{type=\"proxy\",name=\"TestProxy\",le=\"0.005\"} 1"));
+        assertTrue(text.contains("synapse_component_latency_seconds_bucket{type=\"proxy\",name=\"TestProxy\",le=\"+Inf\"} 2"));
+        registry.remove(MetricsRegistry.PROXY, "TestProxy");
+        assertFalse(registry.getComponents(MetricsRegistry.PROXY).containsKey("TestProxy"));
+    }
+
+    private void assertWithinBucket(long expected, long actual) {
+        assertTrue("Expected about " + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 8);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core;
+
+import junit.framework.TestCase;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseCallerConfiguration;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseCallerContext;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseThrottleConfiguration;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseThrottleContext;
+
+/**
+ * Tests the callers kept by a {@link ThrottleContext}.
+ */
+public class CallerContextStoreTest extends TestCase {
+
+    private static final long UNIT_TIME = 100;
+
+    private ThrottleContext throttleContext;
+
+    @Override
+    protected void setUp() throws Exception {
+        IPBaseThrottleConfiguration configuration = new IPBaseThrottleConfiguration();
+        configuration.addCallerConfiguration(new IPBaseCallerConfiguration(UNIT_TIME, 10, 0,
+                ThrottleConstants.KEY_OF_DEFAULT_CONFIGURATION_FOR_OTHER));
+        throttleContext = new IPBaseThrottleContext(configuration, null);
+    }
+
+    public void testCallersSharingTimeWindow() {
+        long nextTimeWindow = System.currentTimeMillis() + 60000;
+        CallerContext caller1 = createCaller("10.0.0.1", nextTimeWindow);
+        CallerContext caller2 = createCaller("10.0.0.2", nextTimeWindow);
+        throttleContext.addCallerContext(caller1, caller1.getId());
+        throttleContext.addCallerContext(caller2, caller2.getId());
+
+        assertSame(caller1, throttleContext.getCallerContext("10.0.0.1"));
+        assertSame(caller2, throttleContext.getCallerContext("10.0.0.2"));
+
+        throttleContext.removeCallerContext("10.0.0.1");
+        assertNull(throttleContext.getCallerContext("10.0.0.1"));
+        assertSame("Removing a caller must not remove the other callers of the same time window",
+                caller2, throttleContext.getCallerContext("10.0.0.2"));
+    }
+
+    public void testReplaceCaller() {
+        long nextTimeWindow = System.currentTimeMillis() + 60000;
+        CallerContext caller = createCaller("10.0.0.1", nextTimeWindow);
+        CallerContext replacement = createCaller("10.0.0.1", nextTimeWindow + UNIT_TIME);
+        throttleContext.addCallerContext(caller, caller.getId());
+        throttleContext.addCallerContext(replacement, replacement.getId());
+        assertSame(replacement, throttleContext.getCallerContext("10.0.0.1"));
+    }
+
+    public void testExpiredCallersCleanedUp() throws Exception {
+        long now = System.currentTimeMillis();
+        CallerContext expired = createCaller("10.0.0.1", now - 10 * UNIT_TIME);
+        CallerContext active = createCaller("10.0.0.2", now + 60000);
+        throttleContext.addCallerContext(expired, expired.getId());
+        throttleContext.addCallerContext(active, active.getId());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (throttleContext.getCallerContext("10.0.0.1") != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            throttleContext.cleanupCallers(System.currentTimeMillis());
+        }
+        assertNull("Expired caller is not cleaned up", throttleContext.getCallerContext("10.0.0.1"));
+        assertSame(active, throttleContext.getCallerContext("10.0.0.2"));
+    }
+
+    public void testRemovedCallerNotCleanedUpAgain() throws Exception {
+        CallerContext expired = createCaller("10.0.0.1", System.currentTimeMillis() - 10 * UNIT_TIME);
+        throttleContext.addCallerContext(expired, expired.getId());
+        throttleContext.removeCallerContext("10.0.0.1");
+        CallerContext active = createCaller("10.0.0.1", System.currentTimeMillis() + 60000);
+        throttleContext.addCallerContext(active, active.getId());
+
+        Thread.sleep(4 * UNIT_TIME);
+        throttleContext.cleanupCallers(System.currentTimeMillis());
+        assertSame("The caller added again must not be cleaned up with the removed one",
+                active, throttleContext.getCallerContext("10.0.0.1"));
+    }
+
+    private static CallerContext createCaller(String id, long nextTimeWindow) {
+        CallerContext callerContext = new IPBaseCallerContext(id);
+        callerContext.setRoleId(ThrottleConstants.KEY_OF_DEFAULT_CONFIGURATION_FOR_OTHER);
+        callerContext.setUnitTime(UNIT_TIME);
+        callerContext.setNextTimeWindow(nextTimeWindow);
+        return callerContext;
+    }
+}
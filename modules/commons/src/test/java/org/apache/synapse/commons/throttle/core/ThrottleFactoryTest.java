@@ -23,6 +23,8 @@ import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.impl.builder.StAXOMBuilder;
 import org.apache.neethi.Policy;
 import org.apache.neethi.PolicyEngine;
+import org.apache.synapse.commons.throttle.core.ratelimit.SlidingWindowRateLimiter;
+import org.apache.synapse.commons.throttle.core.ratelimit.TokenBucketRateLimiter;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -232,6 +234,26 @@ public class ThrottleFactoryTest extends TestCase {
             "        </wsp:ExactlyOne>\n" +
             "    </wsp:Policy>\n" +
             "</wsp:Policy>";
+    private String tokenBucketPolicy = "<wsp:Policy xmlns:wsp=\"http://schemas.xmlsoap.org/ws/" +
+            "2004/09/policy\"\n" +
+            "            xmlns:throttle=\"http://www.wso2.org/products/wso2commons/throttle\">\n" +
+            "<throttle:MediatorThrottleAssertion>\n" +
+            "    <wsp:Policy>\n" +
+            "        <throttle:ID throttle:type=\"IP\">other</throttle:ID>\n" +
+            "        <wsp:Policy>\n" +
+            "            <throttle:Control>\n" +
+            "                <wsp:Policy>\n" +
+            "                    <throttle:MaximumCount>10</throttle:MaximumCount>\n" +
+            "                    <throttle:UnitTime>60000</throttle:UnitTime>\n" +
+            "                    <throttle:Algorithm>TokenBucket</throttle:Algorithm>\n" +
+            "                    <throttle:Burst>3</throttle:Burst>\n" +
+            "                </wsp:Policy>\n" +
+            "            </throttle:Control>\n" +
+            "        </wsp:Policy>\n" +
+            "    </wsp:Policy>\n" +
+            "</throttle:MediatorThrottleAssertion>\n" +
+            "</wsp:Policy>";
+
     private boolean errorOccured;
 
     public void testModuleThrottleAssertBuilder() throws Exception {
@@ -334,6 +356,47 @@ public class ThrottleFactoryTest extends TestCase {
 
     }
 
+    public void testRateLimitingAlgorithm() throws Exception {
+        Throttle throttle = ThrottleFactory.createMediatorThrottle(
+                PolicyEngine.getPolicy(createOMElement(tokenBucketPolicy)));
+        ThrottleConfiguration configuration =
+                throttle.getThrottleConfiguration(ThrottleConstants.IP_BASED_THROTTLE_KEY);
+        CallerConfiguration callerConfiguration = configuration.getCallerConfiguration("10.0.0.1");
+
+        assertEquals(ThrottleConstants.TOKEN_BUCKET_ALGORITHM, callerConfiguration.getAlgorithm());
+        assertEquals(3, callerConfiguration.getBurst());
+
+        AccessRateController controller = new AccessRateController();
+        ThrottleContext throttleContext = throttle.getThrottleContext(ThrottleConstants.IP_BASED_THROTTLE_KEY);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(controller.canAccess(throttleContext, "10.0.0.1", ThrottleConstants.IP_BASE).isAccessAllowed());
+        }
+        assertFalse("Burst of the token bucket is exceeded",
+                controller.canAccess(throttleContext, "10.0.0.1", ThrottleConstants.IP_BASE).isAccessAllowed());
+        assertTrue(controller.canAccess(throttleContext, "10.0.0.2", ThrottleConstants.IP_BASE).isAccessAllowed());
+    }
+
+    public void testInvalidRateLimitingPolicy() throws Exception {
+        String policy = tokenBucketPolicy.replace("<throttle:Burst>3</throttle:Burst>",
+                "<throttle:Burst>" + (TokenBucketRateLimiter.MAX_BURST + 1) + "</throttle:Burst>");
+        try {
+            ThrottleFactory.createMediatorThrottle(PolicyEngine.getPolicy(createOMElement(policy)));
+            fail("A burst exceeding the token bucket capacity should be rejected when the policy is built");
+        } catch (ThrottleException expected) {
+            // expected
+        }
+
+        policy = tokenBucketPolicy.replace("TokenBucket", "SlidingWindow").replace(
+                "<throttle:MaximumCount>10</throttle:MaximumCount>",
+                "<throttle:MaximumCount>" + (SlidingWindowRateLimiter.MAX_COUNT + 1) + "</throttle:MaximumCount>");
+        try {
+            ThrottleFactory.createMediatorThrottle(PolicyEngine.getPolicy(createOMElement(policy)));
+            fail("A count exceeding the sliding window capacity should be rejected when the policy is built");
+        } catch (ThrottleException expected) {
+            // expected
+        }
+    }
+
     public void testModuleThrottleForConcurrentModification() throws Exception {
         OMElement policyOM = createOMElement(modulePolicy);
         Policy policy = PolicyEngine.getPolicy(policyOM);
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core;
+
+import junit.framework.TestCase;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.synapse.commons.throttle.core.impl.ipbase.IPBaseCallerContext;
+import org.apache.synapse.commons.throttle.core.internal.ThrottleServiceDataHolder;
+
+import java.util.Map;
+
+/**
+ * Tests the batched replication of the local counters of callers to the distributed counters.
+ */
+public class ThrottleReplicatorTest extends TestCase {
+
+    private ThrottleProperties throttleProperties;
+
+    private InMemoryDistributedCounterManager counterManager;
+
+    private ThrottleDataHolder dataHolder;
+
+    private ThrottleReplicator replicator;
+
+    @Override
+    protected void setUp() throws Exception {
+        ThrottleServiceDataHolder serviceDataHolder = ThrottleServiceDataHolder.getInstance();
+        throttleProperties = serviceDataHolder.getThrottleProperties();
+        ThrottleProperties properties = new ThrottleProperties();
+        // only full batches are sent during the test
+        properties.setThrottlingReplicationFrequency("3600000");
+        properties.setThrottlingKeysToReplicates("2");
+        properties.setThrottlingPoolSize("1");
+        properties.setDistributedCounterType(InMemoryDistributedCounterManager.TYPE);
+        serviceDataHolder.setThrottleProperties(properties);
+        counterManager = new InMemoryDistributedCounterManager();
+        serviceDataHolder.addDistributedCounterManager(counterManager);
+
+        ConfigurationContext configContext = new ConfigurationContext(new AxisConfiguration());
+        dataHolder = new ThrottleDataHolder();
+        configContext.setProperty(ThrottleConstants.THROTTLE_INFO_KEY, dataHolder);
+        replicator = new ThrottleReplicator();
+        replicator.setConfigContext(configContext);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        ThrottleServiceDataHolder.getInstance().removeDistributedCounterManager(counterManager);
+        ThrottleServiceDataHolder.getInstance().setThrottleProperties(throttleProperties);
+    }
+
+    public void testFullBatchReplicated() throws Exception {
+        CallerContext caller1 = addCaller("10.0.0.1", 3);
+        CallerContext caller2 = addCaller("10.0.0.2", 5);
+        counterManager.setCounter(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + "10.0.0.1", 10);
+
+        replicator.add("10.0.0.1");
+        assertEquals("Replication must wait for a full batch", 0, replicator.getFlushCount());
+        replicator.add("10.0.0.2");
+        waitForFlush(1);
+
+        assertEquals(1, counterManager.getBatchCount());
+        assertEquals(13, counterManager.getCounter(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + "10.0.0.1"));
+        assertEquals(5, counterManager.getCounter(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + "10.0.0.2"));
+        assertEquals(0, caller1.getLocalCounter());
+        assertEquals(13, caller1.getGlobalCounter());
+        assertEquals(0, caller2.getLocalCounter());
+        assertEquals(5, caller2.getGlobalCounter());
+        assertEquals(8, replicator.getLastAccuracyDrift());
+        assertTrue(replicator.getMaxFlushLag() >= replicator.getLastFlushLag());
+    }
+
+    public void testCallerAddedTwiceReplicatedOnce() throws Exception {
+        CallerContext caller = addCaller("10.0.0.1", 2);
+        replicator.add("10.0.0.1");
+        replicator.add("10.0.0.1");
+        caller.incrementLocalCounter();
+        addCaller("10.0.0.2", 1);
+        replicator.add("10.0.0.2");
+        waitForFlush(1);
+
+        assertEquals(3, counterManager.getCounter(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + "10.0.0.1"));
+        assertEquals(3, caller.getGlobalCounter());
+    }
+
+    public void testCounterNotAppliedToNewTimeWindow() throws Exception {
+        final CallerContext caller1 = addCaller("10.0.0.1", 3);
+        CallerContext caller2 = addCaller("10.0.0.2", 1);
+        ThrottleServiceDataHolder.getInstance().removeDistributedCounterManager(counterManager);
+        counterManager = new InMemoryDistributedCounterManager() {
+            @Override
+            public Map<String, Long> asyncGetAndAddCounters(Map<String, Long> values) {
+                // the window replicator starts a new time window while the counters are being sent
+                synchronized ("10.0.0.1".intern()) {
+                    caller1.setFirstAccessTime(caller1.getFirstAccessTime() + 60000);
+                    caller1.resetGlobalCounter();
+                }
+                return super.asyncGetAndAddCounters(values);
+            }
+        };
+        ThrottleServiceDataHolder.getInstance().addDistributedCounterManager(counterManager);
+        counterManager.setCounter(ThrottleConstants.THROTTLE_SHARED_COUNTER_KEY + "10.0.0.1", 10);
+
+        replicator.add("10.0.0.1");
+        replicator.add("10.0.0.2");
+        waitForFlush(1);
+
+        assertEquals("Counter of the old window must not be applied to the new one", 0, caller1.getGlobalCounter());
+        assertEquals(1, caller2.getGlobalCounter());
+    }
+
+    private CallerContext addCaller(String id, long localCounter) {
+        CallerContext callerContext = new IPBaseCallerContext(id);
+        callerContext.setNextTimeWindow(System.currentTimeMillis() + 60000);
+        callerContext.setLocalCounter(localCounter);
+        dataHolder.addCallerContext(id, callerContext);
+        return callerContext;
+    }
+
+    private void waitForFlush(long flushCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (replicator.getFlushCount() < flushCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(flushCount, replicator.getFlushCount());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.throttle.core.ratelimit;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the rate limiting algorithms.
+ */
+public class RateLimiterTest extends TestCase {
+
+    private static final long START = 1000000;
+
+    public void testTokenBucketBurstAndRefill() {
+        // 10 requests per second, one token every 100 ms
+        RateLimiter limiter = new TokenBucketRateLimiter(10, 1000, 5, START);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(1, START));
+        }
+        assertFalse("Burst is exceeded", limiter.tryAcquire(1, START));
+        assertFalse(limiter.tryAcquire(1, START + 99));
+        assertTrue("A token is refilled after 100 ms", limiter.tryAcquire(1, START + 100));
+        assertFalse(limiter.tryAcquire(1, START + 150));
+
+        // idle for a long time, the bucket holds no more than the burst
+        assertTrue(limiter.tryAcquire(5, START + 60000));
+        assertFalse(limiter.tryAcquire(1, START + 60000));
+    }
+
+    public void testTokenBucketRate() {
+        RateLimiter limiter = new TokenBucketRateLimiter(3, 10, 1, START);
+        int allowed = 0;
+        for (long time = START; time < START + 10000; time++) {
+            if (limiter.tryAcquire(1, time)) {
+                allowed++;
+            }
+        }
+        // 3 requests per 10 ms over 10 seconds, the interval of 3.33 ms is not rounded down
+        assertTrue("Allowed " + allowed, allowed >= 2999 && allowed <= 3001);
+    }
+
+    public void testTokenBucketEventCount() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 1000, 10, START);
+        assertTrue(limiter.tryAcquire(7, START));
+        assertFalse(limiter.tryAcquire(4, START));
+        assertEquals(3, limiter.getAvailableTokens(START));
+        assertTrue(limiter.tryAcquire(3, START));
+    }
+
+    public void testGcraBurstAndSpacing() {
+        // 10 requests per second, one request every 100 ms after a burst of 5
+        RateLimiter limiter = new GcraRateLimiter(10, 1000, 5, START);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(1, START));
+        }
+        assertFalse(limiter.tryAcquire(1, START));
+        assertFalse(limiter.tryAcquire(1, START + 99));
+        assertTrue(limiter.tryAcquire(1, START + 100));
+        assertFalse(limiter.tryAcquire(1, START + 150));
+        assertTrue(limiter.tryAcquire(1, START + 200));
+
+        // a denied request does not move the theoretical arrival time
+        assertTrue(limiter.tryAcquire(5, START + 60000));
+        assertFalse(limiter.tryAcquire(1, START + 60000));
+    }
+
+    public void testGcraLargeBurst() {
+        RateLimiter limiter = new GcraRateLimiter(1, 86400000, Integer.MAX_VALUE, START);
+        assertTrue(limiter.tryAcquire(1000, START));
+    }
+
+    public void testSlidingWindowBoundary() {
+        // 10 requests per second
+        RateLimiter limiter = new SlidingWindowRateLimiter(10, 1000, START);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(1, START + 900));
+        }
+        assertFalse(limiter.tryAcquire(1, START + 999));
+        // a fixed window would allow 10 more requests here
+        assertFalse("The previous window still counts in full", limiter.tryAcquire(1, START + 1000));
+        // half of the previous window overlaps the sliding window
+        assertTrue(limiter.tryAcquire(5, START + 1500));
+        assertFalse(limiter.tryAcquire(1, START + 1500));
+        // the previous window no longer overlaps
+        assertTrue(limiter.tryAcquire(5, START + 2999));
+        assertTrue(limiter.tryAcquire(10, START + 5000));
+    }
+
+    public void testInvalidConfiguration() {
+        try {
+            new TokenBucketRateLimiter(10, 1000, TokenBucketRateLimiter.MAX_BURST + 1, START);
+            fail("Burst of a token bucket is limited");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            new SlidingWindowRateLimiter(10, 0, START);
+            fail("Unit time must be positive");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.commons.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the {@link HashedWheelTimer}.
+ */
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        timer = new HashedWheelTimer("test-timer", 5, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void testTimeoutExpires() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue("Timeout did not expire", latch.await(5, TimeUnit.SECONDS));
+        awaitNoPendingTimeouts();
+        Assert.assertTrue("Timeout expired too early",
+                System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertTrue(timeout.isExpired());
+        Assert.assertFalse("An expired timeout can not be cancelled", timeout.cancel());
+        Assert.assertEquals(1, timer.getExpiredCount());
+        Assert.assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    public void testTimeoutSpanningManyRounds() throws Exception {
+        // the wheel of 8 ticks of 5ms rotates every 40ms
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timer.schedule(latch::countDown, 130, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue("Timeout did not expire", latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue("Timeout expired in an earlier round",
+                System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(130));
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotExpire() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(1);
+        timer.schedule(latch::countDown, 60, TimeUnit.MILLISECONDS);
+
+        Assert.assertTrue(timeout.cancel());
+        Assert.assertTrue(timeout.isCancelled());
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        awaitNoPendingTimeouts();
+        Assert.assertEquals(0, runs.get());
+        Assert.assertEquals(1, timer.getCancelledCount());
+        Assert.assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    public void testManyTimeouts() throws Exception {
+        int count = 10000;
+        AtomicInteger runs = new AtomicInteger();
+        HashedWheelTimer.Timeout[] timeouts = new HashedWheelTimer.Timeout[count];
+        for (int i = 0; i < count; i++) {
+            timeouts[i] = timer.schedule(runs::incrementAndGet, i % 100, TimeUnit.MILLISECONDS);
+        }
+        int cancelled = 0;
+        for (int i = 0; i < count; i += 2) {
+            if (timeouts[i].cancel()) {
+                cancelled++;
+            }
+        }
+
+        awaitNoPendingTimeouts();
+        Assert.assertEquals("Cancelled timeouts must not run", count - cancelled, runs.get());
+        Assert.assertEquals(cancelled, timer.getCancelledCount());
+    }
+
+    @Test
+    public void testExpiryStatistics() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        for (int i = 1; i <= 3; i++) {
+            timer.schedule(latch::countDown, i * 10, TimeUnit.MILLISECONDS);
+        }
+
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        awaitNoPendingTimeouts();
+        Assert.assertTrue(timer.getMaxExpiryDelay() >= timer.getAverageExpiryDelay());
+        Assert.assertTrue(timer.getAverageExpiryDelay() >= 0);
+        Assert.assertTrue(timer.getMaxTickTime() >= timer.getAverageTickTime());
+        Assert.assertTrue(timer.getAverageTickTime() > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScheduleAfterStop() {
+        timer.stop();
+        timer.schedule(() -> { }, 10, TimeUnit.MILLISECONDS);
+    }
+
+    private void awaitNoPendingTimeouts() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (timer.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals(0, timer.getPendingCount());
+    }
+}
@@ -204,6 +204,12 @@ public class Axis2SynapseController implements SynapseController {
                     configurationContext.terminate();
                 }
             }
+
+            // stop the callback timeout handler, the timer of the configuration is cancelled when it is destroyed
+            SynapseCallbackReceiver callbackReceiver = serverContextInformation.getSynapseCallbackReceiver();
+            if (callbackReceiver != null) {
+                callbackReceiver.destroy();
+            }
             initialized = false;
         } catch (Exception e) {
             log.error("Error stopping the Axis2 Based Server Environment", e);
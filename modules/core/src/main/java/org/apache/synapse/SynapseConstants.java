@@ -296,6 +296,15 @@ public final class SynapseConstants {
          */
         public static final long DEFAULT_TIMEOUT_HANDLER_INTERVAL = 15000;
 
+        /** The System property that states the precision at which the callback timeouts expire */
+        public static final String TIMEOUT_HANDLER_TICK = "synapse.timeout_handler_tick";
+
+        /**
+         * Callback timeouts are kept in a timing wheel, and expire at most one tick after the
+         * timeout of the callback.
+         */
+        public static final long DEFAULT_TIMEOUT_HANDLER_TICK = 100;
+
         /**
          * The default endpoint suspend duration on failure (i hour)
          */
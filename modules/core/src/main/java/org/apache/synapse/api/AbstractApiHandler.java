@@ -25,6 +25,8 @@ import org.apache.synapse.aspects.ComponentType;
 import org.apache.synapse.aspects.flow.statistics.collectors.CloseEventCollector;
 import org.apache.synapse.aspects.flow.statistics.collectors.OpenEventCollector;
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
+import org.apache.synapse.config.SynapseConfiguration;
 import org.apache.synapse.rest.RESTConstants;
 import org.apache.synapse.api.version.ContextVersionStrategy;
 import org.apache.synapse.api.version.DefaultStrategy;
@@ -32,6 +34,7 @@ import org.apache.synapse.api.version.URLBasedVersionStrategy;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -84,15 +87,36 @@ public abstract class AbstractApiHandler {
         return false;
     }
 
+    /**
+     * Returns the APIs bound to the given endpoint which may process the message. Requests are looked up in the
+     * routing index of the configuration, so only the APIs whose context matches the request path are returned.
+     *
+     * @param synCtx MessageContext to be dispatched
+     * @param bindTo name of the inbound endpoint the APIs are bound to
+     * @return APIs to try in dispatch order
+     */
+    protected Collection<API> getCandidateAPIs(MessageContext synCtx, String bindTo) {
+        SynapseConfiguration synapseConfig = synCtx.getEnvironment().getSynapseConfiguration();
+        // the context of the API is not matched for responses and for the prometheus API
+        if (synCtx.isResponse() || synCtx.getProperty(RESTConstants.IS_PROMETHEUS_ENGAGED) != null) {
+            return synapseConfig.getAPIs(bindTo);
+        }
+        ApiRoutingIndex routingIndex = synapseConfig.getAPIRoutingIndex(bindTo);
+        if (routingIndex == null || routingIndex.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return routingIndex.getCandidates(ApiUtils.getFullRequestPath(synCtx));
+    }
+
     protected void apiProcess(MessageContext synCtx, API api) {
         Integer statisticReportingIndex = 0;
         if (RuntimeStatisticCollector.isStatisticsEnabled()) {
             statisticReportingIndex = OpenEventCollector
                     .reportEntryEvent(synCtx, api.getAPIName(), api.getAspectConfiguration(), ComponentType.API);
-            api.process(synCtx);
+            processAndRecord(synCtx, api);
             CloseEventCollector.tryEndFlow(synCtx, api.getAPIName(), ComponentType.API, statisticReportingIndex, true);
         } else {
-            api.process(synCtx);
+            processAndRecord(synCtx, api);
         }
     }
 
@@ -103,10 +127,26 @@ public abstract class AbstractApiHandler {
             statisticReportingIndex = OpenEventCollector
                     .reportEntryEvent(synCtx, api.getAPIName() + "_" + api.getVersion(), api.getAspectConfiguration(),
                             ComponentType.API);
-            api.process(synCtx);
+            processAndRecord(synCtx, api);
             CloseEventCollector.tryEndFlow(synCtx, api.getAPIName(), ComponentType.API, statisticReportingIndex, true);
         } else {
+            processAndRecord(synCtx, api);
+        }
+    }
+
+    private void processAndRecord(MessageContext synCtx, API api) {
+        if (synCtx.isResponse()) {
+            api.process(synCtx);
+            return;
+        }
+        long startTime = System.nanoTime();
+        boolean faulted = true;
+        try {
             api.process(synCtx);
+            faulted = false;
+        } finally {
+            MetricsRegistry.getInstance().record(MetricsRegistry.API, api.getName(),
+                    System.nanoTime() - startTime, faulted);
         }
     }
 
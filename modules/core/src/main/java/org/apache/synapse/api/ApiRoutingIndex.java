@@ -0,0 +1,219 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Segment trie over the contexts of the APIs bound to an endpoint. Every API is kept at the node of its context path,
+ * so the APIs whose context matches a request path (see {@link ApiUtils#matchApiPath(String, String)}) are the ones
+ * found while walking the segments of that path, regardless of how many APIs are deployed.
+ * <p>
+ * The candidates are returned in the order of the API table of the configuration, longest context first and in the
+ * order of deployment otherwise, and still have to be checked through {@link API#canProcess} for the version, host,
+ * port and protocol. The index is updated as APIs are added and removed, lookups do not lock.
+ */
+public class ApiRoutingIndex {
+
+    private static final Comparator<Route> DISPATCH_ORDER = new Comparator<Route>() {
+        @Override
+        public int compare(Route route1, Route route2) {
+            if (route1.context.length() != route2.context.length()) {
+                return route2.context.length() - route1.context.length();
+            }
+            return Long.compare(route1.sequence, route2.sequence);
+        }
+    };
+
+    private final Node root = new Node(null, null);
+
+    /** Node holding each API of the index */
+    private final Map<API, Node> nodes = new IdentityHashMap<API, Node>();
+
+    private long sequence;
+
+    /**
+     * Adds an API to the index. An API added again is ordered after the APIs already in the index, as in the API
+     * table of the configuration.
+     *
+     * @param api API to add
+     */
+    public synchronized void add(API api) {
+        remove(api);
+        String context = api.getContext();
+        Node node = root;
+        for (String segment : segments(context)) {
+            Node child = node.children.get(segment);
+            if (child == null) {
+                child = new Node(node, segment);
+                node.children.put(segment, child);
+            }
+            node = child;
+        }
+        Route[] routes = node.routes;
+        Route[] newRoutes = new Route[routes.length + 1];
+        System.arraycopy(routes, 0, newRoutes, 0, routes.length);
+        newRoutes[routes.length] = new Route(api, context, sequence++);
+        node.routes = newRoutes;
+        nodes.put(api, node);
+    }
+
+    /**
+     * Removes an API from the index.
+     *
+     * @param api API to remove
+     * @return true if the API was in the index
+     */
+    public synchronized boolean remove(API api) {
+        Node node = nodes.remove(api);
+        if (node == null) {
+            return false;
+        }
+        Route[] routes = node.routes;
+        Route[] newRoutes = new Route[routes.length - 1];
+        for (int i = 0, j = 0; i < routes.length; i++) {
+            if (routes[i].api != api) {
+                newRoutes[j++] = routes[i];
+            }
+        }
+        node.routes = newRoutes;
+        // drop the branch if no API is left on it
+        while (node.parent != null && node.routes.length == 0 && node.children.isEmpty()) {
+            node.parent.children.remove(node.segment);
+            node = node.parent;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the APIs whose context matches the given request path, in dispatch order.
+     *
+     * @param path full request path, including the query string
+     * @return matching APIs, empty if there are none
+     */
+    public List<API> getCandidates(String path) {
+        Node node = root;
+        List<Route> matches = collect(node, null);
+        if (path.startsWith("/")) {
+            int length = path.length();
+            int start = 1;
+            while (node != null) {
+                int end = start;
+                while (end < length && path.charAt(end) != '/' && path.charAt(end) != '?') {
+                    end++;
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node != null) {
+                    matches = collect(node, matches);
+                }
+                if (end == length || path.charAt(end) == '?') {
+                    break;
+                }
+                start = end + 1;
+            }
+        }
+        if (matches == null) {
+            return Collections.emptyList();
+        }
+        if (matches.size() > 1) {
+            Collections.sort(matches, DISPATCH_ORDER);
+        }
+        List<API> candidates = new ArrayList<API>(matches.size());
+        for (Route route : matches) {
+            candidates.add(route.api);
+        }
+        return candidates;
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    private static List<Route> collect(Node node, List<Route> matches) {
+        Route[] routes = node.routes;
+        if (routes.length == 0) {
+            return matches;
+        }
+        if (matches == null) {
+            matches = new ArrayList<Route>(4);
+        }
+        Collections.addAll(matches, routes);
+        return matches;
+    }
+
+    /**
+     * Splits a context into the segments matched against the request path. The root context, and contexts which
+     * cannot be matched segment by segment, are kept at the root so that they are always checked.
+     */
+    private static List<String> segments(String context) {
+        if (context == null || !context.startsWith("/") || context.length() == 1 || context.indexOf('?') != -1) {
+            return Collections.emptyList();
+        }
+        List<String> segments = new ArrayList<String>();
+        int start = 1;
+        int end;
+        while ((end = context.indexOf('/', start)) != -1) {
+            segments.add(context.substring(start, end));
+            start = end + 1;
+        }
+        segments.add(context.substring(start));
+        return segments;
+    }
+
+    private static final class Node {
+
+        private final Node parent;
+
+        private final String segment;
+
+        private final Map<String, Node> children = new ConcurrentHashMap<String, Node>();
+
+        private volatile Route[] routes = new Route[0];
+
+        private Node(Node parent, String segment) {
+            this.parent = parent;
+            this.segment = segment;
+        }
+    }
+
+    private static final class Route {
+
+        private final API api;
+
+        private final String context;
+
+        private final long sequence;
+
+        private Route(API api, String context, long sequence) {
+            this.api = api;
+            this.context = context;
+            this.sequence = sequence;
+        }
+    }
+}
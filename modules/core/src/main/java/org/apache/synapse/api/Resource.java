@@ -35,6 +35,7 @@ import org.apache.synapse.aspects.flow.statistics.collectors.CloseEventCollector
 import org.apache.synapse.aspects.flow.statistics.collectors.OpenEventCollector;
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
 import org.apache.synapse.aspects.flow.statistics.data.artifact.ArtifactHolder;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.core.axis2.Axis2Sender;
@@ -191,6 +192,14 @@ public class Resource extends AbstractRequestProcessor implements ManagedLifecyc
         this.dispatcherHelper = dispatcherHelper;
     }
 
+    /**
+     * @param apiContext context of the API this resource belongs to
+     * @return name this resource records its {@link MetricsRegistry#RESOURCE} metrics under
+     */
+    public String getMetricsName(String apiContext) {
+        return dispatcherHelper != null ? apiContext + dispatcherHelper.getString() : apiContext;
+    }
+
     public String getContentType() {
         return contentType;
     }
@@ -304,6 +313,22 @@ public class Resource extends AbstractRequestProcessor implements ManagedLifecyc
     }
 
     void process(MessageContext synCtx, OpenAPI openAPI) {
+        if (synCtx.isResponse()) {
+            doProcess(synCtx, openAPI);
+            return;
+        }
+        long startTime = System.nanoTime();
+        boolean faulted = true;
+        try {
+            doProcess(synCtx, openAPI);
+            faulted = false;
+        } finally {
+            MetricsRegistry.getInstance().record(MetricsRegistry.RESOURCE, getResourceName(synCtx, name),
+                    System.nanoTime() - startTime, faulted);
+        }
+    }
+
+    private void doProcess(MessageContext synCtx, OpenAPI openAPI) {
         Integer statisticReportingIndex = null;
         boolean isStatisticsEnabled = RuntimeStatisticCollector.isStatisticsEnabled();
         if (!synCtx.isResponse()) {
@@ -31,11 +31,20 @@ public class URITemplateBasedDispatcher implements RESTDispatcher {
 
     public Resource findResource(MessageContext synCtx, Collection<Resource> resources) {
         String url = ApiUtils.getSubRequestPath(synCtx);
+        Map<String, String> variables = null;
         for (Resource r : resources) {
             DispatcherHelper helper = r.getDispatcherHelper();
             if (helper instanceof URITemplateHelper) {
                 URITemplateHelper templateHelper = (URITemplateHelper) helper;
-                Map<String, String> variables = new HashMap<String, String>();
+                if (!templateHelper.canMatch(url)) {
+                    continue;
+                }
+                // a failed match may leave some of the variables behind
+                if (variables == null) {
+                    variables = new HashMap<String, String>();
+                } else {
+                    variables.clear();
+                }
                 if (templateHelper.getUriTemplate().matches(url, variables)) {
                     for (Map.Entry<String, String> entry : variables.entrySet()) {
                         synCtx.setProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + entry.getKey(),
@@ -19,6 +19,7 @@
 package org.apache.synapse.api.dispatch;
 
 import org.apache.synapse.SynapseException;
+import org.apache.synapse.api.ApiUtils;
 import org.apache.synapse.commons.templates.uri.URITemplate;
 import org.apache.synapse.commons.templates.uri.URITemplateException;
 
@@ -28,6 +29,11 @@ public class URITemplateHelper implements DispatcherHelper {
 
     private URITemplate uriTemplate;
 
+    /**
+     * Literal characters the template starts with, which every matching URL starts with as well
+     */
+    private String literalPrefix;
+
     public URITemplateHelper(String templateString) {
         this.templateString = templateString;
         try {
@@ -35,6 +41,30 @@ public class URITemplateHelper implements DispatcherHelper {
         } catch (URITemplateException e) {
             throw new SynapseException("Error while parsing the URI template", e);
         }
+        this.literalPrefix = getLiteralPrefix(templateString);
+    }
+
+    /**
+     * Checks whether the given URL could match the template, without evaluating the template. Used to skip the
+     * templates which cannot match before trying them.
+     *
+     * @param url sub request path
+     * @return false if the URL cannot match the template
+     */
+    public boolean canMatch(String url) {
+        return url.startsWith(literalPrefix);
+    }
+
+    private static String getLiteralPrefix(String template) {
+        // the template parser drops trailing slashes
+        template = ApiUtils.trimTrailingSlashes(template);
+        int index = template.indexOf('{');
+        String prefix = index == -1 ? template : template.substring(0, index);
+        if (prefix.endsWith("*")) {
+            // a trailing wildcard matches the rest of the URL
+            prefix = prefix.substring(0, prefix.length() - 1);
+        }
+        return prefix;
     }
 
     public URITemplate getUriTemplate() {
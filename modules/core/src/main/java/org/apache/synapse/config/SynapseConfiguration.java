@@ -34,12 +34,15 @@ import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.SynapseException;
 import org.apache.synapse.api.API;
 import org.apache.synapse.api.ApiConstants;
+import org.apache.synapse.api.ApiRoutingIndex;
+import org.apache.synapse.api.Resource;
 import org.apache.synapse.api.inbound.InboundApiUtils;
 import org.apache.synapse.aspects.flow.statistics.store.CompletedStructureStore;
 import org.apache.synapse.carbonext.TenantInfoConfigProvider;
 import org.apache.synapse.carbonext.TenantInfoConfigurator;
 import org.apache.synapse.commons.datasource.DataSourceRepositoryHolder;
 import org.apache.synapse.commons.executors.PriorityExecutor;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 import org.apache.synapse.commons.util.ext.TenantInfoInitiator;
 import org.apache.synapse.commons.util.ext.TenantInfoInitiatorProvider;
 import org.apache.synapse.config.xml.FactoryUtils;
@@ -217,6 +220,11 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
     private Map<String, Map<String, API>> apiTableWithBindsTo =
             Collections.synchronizedMap(new LinkedHashMap<String, Map<String, API>>());
 
+    /**
+     * Routing index over the contexts of the APIs in {@link #apiTableWithBindsTo}, per inbound endpoint name.
+     */
+    private Map<String, ApiRoutingIndex> apiRoutingIndexes = new ConcurrentHashMap<String, ApiRoutingIndex>();
+
     /**
      * Description/documentation of the configuration
      */
@@ -466,6 +474,12 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
     private void addBindsToMappings(String name, API api) {
         InboundApiUtils.populateBindsTo(api);
         for (String inboundEndpointName : api.getBindsTo()) {
+            ApiRoutingIndex routingIndex = apiRoutingIndexes.get(inboundEndpointName);
+            if (routingIndex == null) {
+                routingIndex = new ApiRoutingIndex();
+                apiRoutingIndexes.put(inboundEndpointName, routingIndex);
+            }
+            routingIndex.add(api);
             if (apiTableWithBindsTo.containsKey(inboundEndpointName)) {
                 apiTableWithBindsTo.get(inboundEndpointName).put(name, api);
             } else {
@@ -560,6 +574,17 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         return apis != null ? apis.values() : Collections.emptyList();
     }
 
+    /**
+     * Get the routing index over the APIs specifying the binds to option. Unlike {@link #getAPIs(String)}, the index
+     * can be used without locking the configuration.
+     *
+     * @param bindTo Name of inbound/binds-to
+     * @return routing index of the APIs bound to the specified inbound, or null if there are none
+     */
+    public ApiRoutingIndex getAPIRoutingIndex(String bindTo) {
+        return apiRoutingIndexes.get(bindTo);
+    }
+
     public synchronized API getAPI(String name) {
         return apiTable.get(name);
     }
@@ -569,6 +594,11 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         if (api != null) {
             apiTable.remove(name);
             removeBindsToMappings(name);
+            MetricsRegistry.getInstance().remove(MetricsRegistry.API, name);
+            for (Resource resource : api.getResources()) {
+                MetricsRegistry.getInstance().remove(MetricsRegistry.RESOURCE,
+                        resource.getMetricsName(api.getContext()));
+            }
             for (SynapseObserver o : observers) {
                 o.apiRemoved(api);
             }
@@ -582,9 +612,14 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         while (iterator.hasNext()) {
             Map.Entry<String, Map<String, API>> mappings = iterator.next();
             Map<String, API> apis = mappings.getValue();
-            apis.remove(apiName);
+            API api = apis.remove(apiName);
+            ApiRoutingIndex routingIndex = apiRoutingIndexes.get(mappings.getKey());
+            if (api != null && routingIndex != null) {
+                routingIndex.remove(api);
+            }
             if (apis.isEmpty()) {
                 iterator.remove(); // Clean-up if empty map is left after removal
+                apiRoutingIndexes.remove(mappings.getKey());
             }
         }
     }
@@ -800,6 +835,7 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         Object sequence = localRegistry.get(key);
         if (sequence instanceof Mediator) {
             localRegistry.remove(key);
+            MetricsRegistry.getInstance().remove(MetricsRegistry.SEQUENCE, key);
             for (SynapseObserver o : observers) {
                 o.sequenceRemoved((Mediator) sequence);
             }
@@ -1235,6 +1271,7 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
         Object endpoint = localRegistry.get(key);
         if (endpoint instanceof Endpoint) {
             localRegistry.remove(key);
+            MetricsRegistry.getInstance().remove(MetricsRegistry.ENDPOINT, key);
             for (SynapseObserver o : observers) {
                 o.endpointRemoved((Endpoint) endpoint);
             }
@@ -1295,6 +1332,7 @@ public class SynapseConfiguration implements ManagedLifecycle, SynapseArtifact {
                         getAxisConfiguration().removeService(name);
                     }
                     proxyServices.remove(name);
+                    MetricsRegistry.getInstance().remove(MetricsRegistry.PROXY, name);
                     for (SynapseObserver o : observers) {
                         o.proxyServiceRemoved(proxy);
                     }
@@ -0,0 +1,161 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.config.xml;
+
+import org.apache.axiom.om.OMAttribute;
+import org.apache.axiom.om.OMElement;
+import org.apache.synapse.Mediator;
+import org.apache.synapse.mediators.cache.CacheMediator;
+import org.apache.synapse.mediators.cache.ResponseCache;
+
+import javax.xml.namespace.QName;
+import java.util.Properties;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Builds the {@link org.apache.synapse.mediators.cache.CacheMediator} instance by looking at the
+ * following configuration</p>
+ *
+ * <pre>&lt;cache [id="string"] [collector="true|false"] [timeout="seconds"] [maxSize="bytes"]
+ *        [maxEntrySize="bytes"] [evictionPolicy="LRU|LFU"] [methods="GET,..."]
+ *        [headers="Accept,..."] [hashPayload="true|false"] [responseCodes="regex"]&gt;
+ *   &lt;onCacheHit&gt;
+ *     mediator+
+ *   &lt;/onCacheHit&gt;?
+ * &lt;/cache&gt;
+ * </pre>
+ *
+ * @see org.apache.synapse.config.xml.AbstractMediatorFactory
+ */
+public class CacheMediatorFactory extends AbstractMediatorFactory {
+
+    private static final QName CACHE_Q = new QName(XMLConfigConstants.SYNAPSE_NAMESPACE, "cache");
+    private static final QName ON_CACHE_HIT_Q = new QName(XMLConfigConstants.SYNAPSE_NAMESPACE, "onCacheHit");
+    private static final QName ID_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "id");
+    private static final QName COLLECTOR_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "collector");
+    private static final QName TIMEOUT_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "timeout");
+    private static final QName MAX_SIZE_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "maxSize");
+    private static final QName MAX_ENTRY_SIZE_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "maxEntrySize");
+    private static final QName EVICTION_POLICY_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "evictionPolicy");
+    private static final QName METHODS_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "methods");
+    private static final QName HEADERS_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "headers");
+    private static final QName HASH_PAYLOAD_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "hashPayload");
+    private static final QName RESPONSE_CODES_ATTR = new QName(XMLConfigConstants.NULL_NAMESPACE, "responseCodes");
+
+    public Mediator createSpecificMediator(OMElement elem, Properties properties) {
+
+        CacheMediator cacheMediator = new CacheMediator();
+        processAuditStatus(cacheMediator, elem);
+
+        OMAttribute idAttr = elem.getAttribute(ID_ATTR);
+        if (idAttr != null) {
+            cacheMediator.setId(idAttr.getAttributeValue());
+        }
+
+        OMAttribute collectorAttr = elem.getAttribute(COLLECTOR_ATTR);
+        if (collectorAttr != null) {
+            cacheMediator.setCollector(Boolean.parseBoolean(collectorAttr.getAttributeValue()));
+        }
+
+        OMAttribute timeoutAttr = elem.getAttribute(TIMEOUT_ATTR);
+        if (timeoutAttr != null) {
+            cacheMediator.setTimeout(parseLong(timeoutAttr));
+        }
+
+        OMAttribute maxSizeAttr = elem.getAttribute(MAX_SIZE_ATTR);
+        if (maxSizeAttr != null) {
+            cacheMediator.setMaxSize(parseLong(maxSizeAttr));
+        }
+
+        OMAttribute maxEntrySizeAttr = elem.getAttribute(MAX_ENTRY_SIZE_ATTR);
+        if (maxEntrySizeAttr != null) {
+            long maxEntrySize = parseLong(maxEntrySizeAttr);
+            if (maxEntrySize > Integer.MAX_VALUE) {
+                handleException("Cache maxEntrySize is too large : " + maxEntrySize);
+            }
+            cacheMediator.setMaxEntrySize((int) maxEntrySize);
+        }
+
+        OMAttribute evictionPolicyAttr = elem.getAttribute(EVICTION_POLICY_ATTR);
+        if (evictionPolicyAttr != null) {
+            String policy = evictionPolicyAttr.getAttributeValue().trim();
+            if ("LRU".equalsIgnoreCase(policy)) {
+                cacheMediator.setEvictionPolicy(ResponseCache.LRU);
+            } else if ("LFU".equalsIgnoreCase(policy)) {
+                cacheMediator.setEvictionPolicy(ResponseCache.LFU);
+            } else {
+                handleException("Unknown cache eviction policy : " + policy + ", expected LRU or LFU");
+            }
+        }
+
+        OMAttribute methodsAttr = elem.getAttribute(METHODS_ATTR);
+        if (methodsAttr != null) {
+            cacheMediator.setMethods(methodsAttr.getAttributeValue());
+        }
+
+        OMAttribute headersAttr = elem.getAttribute(HEADERS_ATTR);
+        if (headersAttr != null) {
+            cacheMediator.setHeadersToHash(headersAttr.getAttributeValue());
+        }
+
+        OMAttribute hashPayloadAttr = elem.getAttribute(HASH_PAYLOAD_ATTR);
+        if (hashPayloadAttr != null) {
+            cacheMediator.setHashPayload(Boolean.parseBoolean(hashPayloadAttr.getAttributeValue()));
+        }
+
+        OMAttribute responseCodesAttr = elem.getAttribute(RESPONSE_CODES_ATTR);
+        if (responseCodesAttr != null) {
+            try {
+                cacheMediator.setResponseCodes(responseCodesAttr.getAttributeValue());
+            } catch (PatternSyntaxException e) {
+                handleException("Invalid cache responseCodes expression : "
+                        + responseCodesAttr.getAttributeValue(), e);
+            }
+        }
+
+        OMElement onCacheHitElem = elem.getFirstChildWithName(ON_CACHE_HIT_Q);
+        if (onCacheHitElem != null) {
+            cacheMediator.setOnCacheHit(
+                    AnonymousListMediatorFactory.createAnonymousListMediator(onCacheHitElem, properties));
+        }
+
+        addAllCommentChildrenToList(elem, cacheMediator.getCommentsList());
+
+        return cacheMediator;
+    }
+
+    private long parseLong(OMAttribute attr) {
+        try {
+            long value = Long.parseLong(attr.getAttributeValue().trim());
+            if (value < 0) {
+                handleException("Cache " + attr.getLocalName() + " can not be negative : " + value);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            handleException("Cache " + attr.getLocalName() + " has to be a long value, but found : "
+                    + attr.getAttributeValue());
+        }
+        return 0;
+    }
+
+    public QName getTagQName() {
+        return CACHE_Q;
+    }
+}
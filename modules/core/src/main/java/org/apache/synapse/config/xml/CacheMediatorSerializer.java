@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.config.xml;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.synapse.Mediator;
+import org.apache.synapse.mediators.cache.CacheMediator;
+import org.apache.synapse.mediators.cache.ResponseCache;
+
+/**
+ * Serializes the {@link org.apache.synapse.mediators.cache.CacheMediator} instance into the
+ * configuration read by the {@link CacheMediatorFactory}, leaving out attributes that hold their
+ * default values.
+ *
+ * @see org.apache.synapse.config.xml.AbstractMediatorSerializer
+ */
+public class CacheMediatorSerializer extends AbstractMediatorSerializer {
+
+    public OMElement serializeSpecificMediator(Mediator m) {
+        if (!(m instanceof CacheMediator)) {
+            handleException("Unsupported mediator passed in for serialization : " + m.getType());
+        }
+
+        CacheMediator mediator = (CacheMediator) m;
+        OMElement cache = fac.createOMElement("cache", synNS);
+        saveTracingState(cache, mediator);
+
+        if (mediator.getId() != null) {
+            cache.addAttribute("id", mediator.getId(), nullNS);
+        }
+        if (mediator.isCollector()) {
+            cache.addAttribute("collector", "true", nullNS);
+        }
+        if (mediator.getTimeout() != CacheMediator.DEFAULT_TIMEOUT) {
+            cache.addAttribute("timeout", Long.toString(mediator.getTimeout()), nullNS);
+        }
+        if (mediator.getMaxSize() != CacheMediator.DEFAULT_MAX_SIZE) {
+            cache.addAttribute("maxSize", Long.toString(mediator.getMaxSize()), nullNS);
+        }
+        if (mediator.getMaxEntrySize() != CacheMediator.DEFAULT_MAX_ENTRY_SIZE) {
+            cache.addAttribute("maxEntrySize", Integer.toString(mediator.getMaxEntrySize()), nullNS);
+        }
+        if (mediator.getEvictionPolicy() == ResponseCache.LFU) {
+            cache.addAttribute("evictionPolicy", "LFU", nullNS);
+        }
+        if (!CacheMediator.DEFAULT_METHODS.equals(mediator.getMethods())) {
+            cache.addAttribute("methods", mediator.getMethods(), nullNS);
+        }
+        if (!mediator.getHeadersToHash().isEmpty()) {
+            cache.addAttribute("headers", mediator.getHeadersToHash(), nullNS);
+        }
+        if (mediator.isHashPayload()) {
+            cache.addAttribute("hashPayload", "true", nullNS);
+        }
+        if (!CacheMediator.DEFAULT_RESPONSE_CODES.equals(mediator.getResponseCodes())) {
+            cache.addAttribute("responseCodes", mediator.getResponseCodes(), nullNS);
+        }
+
+        if (mediator.getOnCacheHit() != null) {
+            OMElement onCacheHit = fac.createOMElement("onCacheHit", synNS);
+            new AnonymousListMediatorSerializer().serializeMediator(onCacheHit, mediator.getOnCacheHit());
+            cache.addChild(onCacheHit);
+        }
+
+        serializeComments(cache, mediator.getCommentsList());
+
+        return cache;
+    }
+
+    public String getMediatorClassName() {
+        return CacheMediator.class.getName();
+    }
+}
@@ -19,6 +19,7 @@
 
 package org.apache.synapse.config.xml;
 
+import org.apache.axiom.om.OMAttribute;
 import org.apache.axiom.om.OMElement;
 import org.apache.synapse.Mediator;
 import org.apache.synapse.SynapseConstants;
@@ -55,6 +56,7 @@ import java.util.Properties;
  *     &lt;parameter [value="" | expression=""] type="int|string"/&gt;*
  *     &lt;result name="string" column="int|string"/&gt;*
  *   &lt;/statement&gt;+
+ *   &lt;cache timeout="seconds" [maxSize="entries"]/&gt;?
  * &lt;/dblookup&gt;
  * </pre>
  */
@@ -62,6 +64,10 @@ public class DBLookupMediatorFactory extends AbstractDBMediatorFactory {
 
     private static final QName DBLOOKUP_Q =
         new QName(SynapseConstants.SYNAPSE_NAMESPACE, "dblookup");
+    private static final QName CACHE_Q =
+        new QName(SynapseConstants.SYNAPSE_NAMESPACE, "cache");
+    private static final QName ATT_TIMEOUT = new QName("timeout");
+    private static final QName ATT_MAX_SIZE = new QName("maxSize");
 
     public Mediator createSpecificMediator(OMElement elem, Properties properties) {
 
@@ -69,10 +75,45 @@ public class DBLookupMediatorFactory extends AbstractDBMediatorFactory {
         processAuditStatus(mediator, elem);
         buildDataSource(elem, mediator);
         processStatements(elem, mediator);
+        processCache(elem, mediator);
         addAllCommentChildrenToList(elem, mediator.getCommentsList());
         return mediator;
     }
 
+    private void processCache(OMElement elem, DBLookupMediator mediator) {
+        OMElement cacheElt = elem.getFirstChildWithName(CACHE_Q);
+        if (cacheElt == null) {
+            return;
+        }
+        OMAttribute timeout = cacheElt.getAttribute(ATT_TIMEOUT);
+        if (timeout == null) {
+            handleException("The timeout attribute is required for the cache of the [DBLookup] mediator");
+        }
+        mediator.setCacheTimeout(parsePositive(timeout) * 1000);
+        OMAttribute maxSize = cacheElt.getAttribute(ATT_MAX_SIZE);
+        if (maxSize != null) {
+            long value = parsePositive(maxSize);
+            if (value > Integer.MAX_VALUE) {
+                handleException("DBLookup cache maxSize is too large : " + value);
+            }
+            mediator.setCacheMaxSize((int) value);
+        }
+    }
+
+    private long parsePositive(OMAttribute attr) {
+        try {
+            long value = Long.parseLong(attr.getAttributeValue().trim());
+            if (value <= 0) {
+                handleException("DBLookup cache " + attr.getLocalName() + " has to be positive : " + value);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            handleException("DBLookup cache " + attr.getLocalName() + " has to be a long value, but found : "
+                    + attr.getAttributeValue());
+        }
+        return -1;
+    }
+
     public QName getTagQName() {
         return DBLOOKUP_Q;
     }
@@ -40,6 +40,17 @@ public class DBLookupMediatorSerializer extends AbstractDBMediatorSerializer {
         OMElement dbLookup = fac.createOMElement("dblookup", synNS);
         saveTracingState(dbLookup,mediator);
         serializeDBInformation(mediator, dbLookup);
+
+        if (mediator.getCacheTimeout() > 0) {
+            OMElement cache = fac.createOMElement("cache", synNS);
+            cache.addAttribute(fac.createOMAttribute("timeout", nullNS,
+                    Long.toString(mediator.getCacheTimeout() / 1000)));
+            if (mediator.getCacheMaxSize() != DBLookupMediator.DEFAULT_CACHE_MAX_SIZE) {
+                cache.addAttribute(fac.createOMAttribute("maxSize", nullNS,
+                        Integer.toString(mediator.getCacheMaxSize())));
+            }
+            dbLookup.addChild(cache);
+        }
         serializeComments(dbLookup, mediator.getCommentsList());
 
         return dbLookup;
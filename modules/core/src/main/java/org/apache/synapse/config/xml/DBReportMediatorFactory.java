@@ -31,7 +31,7 @@ import java.util.Properties;
 /**
  * Factory for {@link DBReportMediator} instances.
  * <pre>
- * &lt;dbreport useTransaction="true|false"&gt;
+ * &lt;dbreport useTransaction="true|false" [batchSize="rows" [batchInterval="milliseconds"]]&gt;
  *   &lt;connection&gt;
  *     &lt;pool&gt;
  *      (
@@ -61,6 +61,8 @@ public class DBReportMediatorFactory extends AbstractDBMediatorFactory {
     private static final QName DBREPORT_Q =
             new QName(SynapseConstants.SYNAPSE_NAMESPACE, "dbreport");
     private static final QName DBREPORT_USE_TX = new QName("useTransaction");
+    private static final QName DBREPORT_BATCH_SIZE = new QName("batchSize");
+    private static final QName DBREPORT_BATCH_INTERVAL = new QName("batchInterval");
 
     public Mediator createSpecificMediator(OMElement elem, Properties properties) {
         DBReportMediator mediator = new DBReportMediator();
@@ -75,12 +77,36 @@ public class DBReportMediatorFactory extends AbstractDBMediatorFactory {
                 mediator.setUseTransaction(false);
             }
         }
+        String batchSize = getAttribute(elem, DBREPORT_BATCH_SIZE);
+        if (batchSize != null) {
+            mediator.setBatchSize((int) parsePositive(DBREPORT_BATCH_SIZE, batchSize, Integer.MAX_VALUE));
+            if (mediator.getBatchSize() > 1 && mediator.isUseTransaction()) {
+                handleException("batchSize can not be combined with useTransaction in the [DBReport] mediator");
+            }
+        }
+        String batchInterval = getAttribute(elem, DBREPORT_BATCH_INTERVAL);
+        if (batchInterval != null) {
+            mediator.setBatchInterval(parsePositive(DBREPORT_BATCH_INTERVAL, batchInterval, Long.MAX_VALUE));
+        }
         buildDataSource(elem, mediator);
         processStatements(elem, mediator);
         addAllCommentChildrenToList(elem, mediator.getCommentsList());
         return mediator;
     }
 
+    private long parsePositive(QName name, String value, long max) {
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed <= 0 || parsed > max) {
+                handleException("Invalid " + name.getLocalPart() + " for the [DBReport] mediator : " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            handleException("Invalid " + name.getLocalPart() + " for the [DBReport] mediator : " + value);
+        }
+        return -1;
+    }
+
     public QName getTagQName() {
         return DBREPORT_Q;
     }
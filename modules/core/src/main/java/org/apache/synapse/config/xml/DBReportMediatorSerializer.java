@@ -41,6 +41,14 @@ public class DBReportMediatorSerializer extends AbstractDBMediatorSerializer {
         if (mediator.isUseTransaction()) {
             dbReport.addAttribute(fac.createOMAttribute("useTransaction", nullNS, "true"));
         }
+        if (mediator.getBatchSize() > 1) {
+            dbReport.addAttribute(fac.createOMAttribute("batchSize", nullNS,
+                    Integer.toString(mediator.getBatchSize())));
+            if (mediator.getBatchInterval() != DBReportMediator.DEFAULT_BATCH_INTERVAL) {
+                dbReport.addAttribute(fac.createOMAttribute("batchInterval", nullNS,
+                        Long.toString(mediator.getBatchInterval())));
+            }
+        }
         saveTracingState(dbReport, mediator);
         serializeDBInformation(mediator, dbReport);
 
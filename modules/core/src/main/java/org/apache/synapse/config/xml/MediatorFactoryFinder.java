@@ -107,7 +107,8 @@ public class MediatorFactoryFinder implements XMLToObjectMapper {
             NTLMMediatorFactory.class,
             VariableMediatorFactory.class,
             ScatterGatherMediatorFactory.class,
-            ThrowErrorMediatorFactory.class
+            ThrowErrorMediatorFactory.class,
+            CacheMediatorFactory.class
     };
 
     private final static MediatorFactoryFinder instance  = new MediatorFactoryFinder();
@@ -80,7 +80,8 @@ public class MediatorSerializerFinder {
             NTLMMediatorSerializer.class,
             VariableMediatorSerializer.class,
             ScatterGatherMediatorSerializer.class,
-            ThrowErrorMediatorSerializer.class
+            ThrowErrorMediatorSerializer.class,
+            CacheMediatorSerializer.class
     };
 
     private final static MediatorSerializerFinder instance = new MediatorSerializerFinder();
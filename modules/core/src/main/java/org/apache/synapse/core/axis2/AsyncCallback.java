@@ -26,6 +26,7 @@ import org.apache.synapse.FaultHandler;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.SynapseException;
+import org.apache.synapse.commons.util.HashedWheelTimer;
 
 /**
  * This class only "holds" the Synapse out message context for the Synapse callback message
@@ -53,6 +54,9 @@ public class AsyncCallback implements AxisCallback {
 
     private SynapseConstants.ENDPOINT_TIMEOUT_TYPE timeoutType;
 
+    /** Handle of the timeout scheduled by the TimeoutHandler, cancelled when the response arrives */
+    private volatile HashedWheelTimer.Timeout timeoutHandle;
+
     public AsyncCallback( org.apache.axis2.context.MessageContext messageContext,MessageContext synapseOutMsgCtx) {
         this.synapseOutMsgCtx = synapseOutMsgCtx;
         this.axis2OutMsgCtx = messageContext;
@@ -135,4 +139,12 @@ public class AsyncCallback implements AxisCallback {
     public void setMarkedForRemoval() {
         this.markedForRemoval = true;
     }
+
+    public HashedWheelTimer.Timeout getTimeoutHandle() {
+        return timeoutHandle;
+    }
+
+    public void setTimeoutHandle(HashedWheelTimer.Timeout timeoutHandle) {
+        this.timeoutHandle = timeoutHandle;
+    }
 }
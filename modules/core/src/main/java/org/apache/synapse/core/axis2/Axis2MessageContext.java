@@ -42,6 +42,7 @@ import org.apache.synapse.endpoints.Endpoint;
 import org.apache.synapse.mediators.base.SequenceMediator;
 import org.apache.synapse.mediators.template.TemplateMediator;
 import org.apache.synapse.rest.RESTConstants;
+import org.apache.synapse.util.synapse.expression.context.JsonDocumentCache;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -129,6 +130,11 @@ public class Axis2MessageContext implements MessageContext {
      */
     private int messageFlowTracingState = SynapseConstants.TRACING_UNSET;
 
+    /**
+     * Parsed JSON documents re-used by the Synapse Expressions evaluated on this message
+     */
+    private JsonDocumentCache jsonDocumentCache = null;
+
     public SynapseConfiguration getConfiguration() {
         return synCfg;
     }
@@ -754,6 +760,18 @@ public class Axis2MessageContext implements MessageContext {
         return variables.keySet();
     }
 
+    /**
+     * Returns the cache of parsed JSON documents used when evaluating Synapse Expressions on this message.
+     *
+     * @return the JSON document cache of this message context
+     */
+    public JsonDocumentCache getJsonDocumentCache() {
+        if (jsonDocumentCache == null) {
+            jsonDocumentCache = new JsonDocumentCache();
+        }
+        return jsonDocumentCache;
+    }
+
     /**
      * Get a read-only view of all the variables currently set on this
      * message context
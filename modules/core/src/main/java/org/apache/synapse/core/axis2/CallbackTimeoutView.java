@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.core.axis2;
+
+import org.apache.synapse.commons.util.HashedWheelTimer;
+
+public class CallbackTimeoutView implements CallbackTimeoutViewMBean {
+
+    private final SynapseCallbackReceiver callbackReceiver;
+
+    private final HashedWheelTimer timeoutWheel;
+
+    public CallbackTimeoutView(SynapseCallbackReceiver callbackReceiver, HashedWheelTimer timeoutWheel) {
+        this.callbackReceiver = callbackReceiver;
+        this.timeoutWheel = timeoutWheel;
+    }
+
+    @Override
+    public int getPendingCallbacks() {
+        return callbackReceiver.getCallbackCount();
+    }
+
+    @Override
+    public long getScheduledTimeouts() {
+        return timeoutWheel.getPendingCount();
+    }
+
+    @Override
+    public long getExpiredTimeouts() {
+        return timeoutWheel.getExpiredCount();
+    }
+
+    @Override
+    public long getCancelledTimeouts() {
+        return timeoutWheel.getCancelledCount();
+    }
+
+    @Override
+    public double getAverageExpiryDelay() {
+        return timeoutWheel.getAverageExpiryDelay();
+    }
+
+    @Override
+    public double getMaxExpiryDelay() {
+        return timeoutWheel.getMaxExpiryDelay();
+    }
+
+    @Override
+    public double getAverageTickTime() {
+        return timeoutWheel.getAverageTickTime();
+    }
+
+    @Override
+    public double getMaxTickTime() {
+        return timeoutWheel.getMaxTickTime();
+    }
+}
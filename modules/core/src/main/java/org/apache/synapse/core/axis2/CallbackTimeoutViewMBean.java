@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.core.axis2;
+
+/**
+ * JMX view of the callback timeouts handled by the {@link TimeoutHandler}.
+ */
+public interface CallbackTimeoutViewMBean {
+
+    int getPendingCallbacks();
+
+    long getScheduledTimeouts();
+
+    long getExpiredTimeouts();
+
+    long getCancelledTimeouts();
+
+    /**
+     * @return average time in milliseconds by which a callback expired after its timeout
+     */
+    double getAverageExpiryDelay();
+
+    /**
+     * @return maximum time in milliseconds by which a callback expired after its timeout
+     */
+    double getMaxExpiryDelay();
+
+    /**
+     * @return average time in milliseconds spent on a tick of the timing wheel, including the timeout actions
+     */
+    double getAverageTickTime();
+
+    /**
+     * @return maximum time in milliseconds spent on a tick of the timing wheel, including the timeout actions
+     */
+    double getMaxTickTime();
+}
@@ -34,6 +34,7 @@ import org.apache.synapse.aspects.flow.statistics.collectors.CloseEventCollector
 import org.apache.synapse.aspects.flow.statistics.collectors.OpenEventCollector;
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
 import org.apache.synapse.commons.CorrelationConstants;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 import org.apache.synapse.rest.RESTConstants;
 import org.apache.synapse.transport.customlogsetter.CustomLogSetter;
 import org.apache.synapse.aspects.ComponentType;
@@ -172,6 +173,9 @@ public class ProxyServiceMessageReceiver extends SynapseMessageReceiver {
         synCtx.setProperty(SynapseConstants.IS_CLIENT_DOING_SOAP11, mc.isSOAP11());
         synCtx.setProperty(CorrelationConstants.CORRELATION_ID, mc.getProperty(CorrelationConstants.CORRELATION_ID));
 
+        long startTime = System.nanoTime();
+        // cleared once the message is mediated or dropped without an error
+        boolean faulted = true;
         try {
             if(synCtx.getEnvironment().isDebuggerEnabled()) {
                 SynapseDebugManager debugManager = synCtx.getEnvironment().getSynapseDebugManager();
@@ -195,6 +199,7 @@ public class ProxyServiceMessageReceiver extends SynapseMessageReceiver {
             while (iterator.hasNext()) {
                 SynapseHandler handler = iterator.next();
                 if (!handler.handleRequestInFlow(synCtx)) {
+                    faulted = false;
                     return;
                 }
             }
@@ -211,6 +216,7 @@ public class ProxyServiceMessageReceiver extends SynapseMessageReceiver {
                         log.debug("Request message for the proxy service " + name + " dropped in " +
                                 "the pre-mediation state by the mandatory sequence : \n" + synCtx);
                     }
+                    faulted = false;
                     return;
                 }
             }
@@ -261,6 +267,7 @@ public class ProxyServiceMessageReceiver extends SynapseMessageReceiver {
                     proxy.getTargetInLineEndpoint().send(synCtx);
                 }
             }
+            faulted = false;
 
         } catch (SynapseException syne) {
 
@@ -273,6 +280,7 @@ public class ProxyServiceMessageReceiver extends SynapseMessageReceiver {
                     "message dropped", synCtx);
             }
         } finally {
+            MetricsRegistry.getInstance().record(MetricsRegistry.PROXY, name, System.nanoTime() - startTime, faulted);
             //Statistic reporting
             if (isStatisticsEnabled) {
                 CloseEventCollector.tryEndFlow(synCtx, this.name, ComponentType.PROXYSERVICE,
@@ -44,6 +44,7 @@ import org.apache.synapse.aspects.flow.statistics.collectors.CallbackStatisticCo
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
 import org.apache.synapse.carbonext.TenantInfoConfigurator;
 import org.apache.synapse.commons.CorrelationConstants;
+import org.apache.synapse.commons.jmx.MBeanRegistrar;
 import org.apache.synapse.commons.throttle.core.ConcurrentAccessController;
 import org.apache.synapse.commons.throttle.core.ConcurrentAccessReplicator;
 import org.apache.synapse.config.SynapseConfigUtils;
@@ -86,6 +87,7 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
     private static final Log log = LogFactory.getLog(SynapseCallbackReceiver.class);
     private final boolean isCallbackControlledAckEnabled;
     private final boolean isClientApiNonBlockingModeEnabled;
+    private final TimeoutHandler timeoutHandler;
 
     /**
      * Create the *single* instance of this class that would be used by all anonymous services
@@ -97,14 +99,24 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
                                    ServerContextInformation contextInformation) {
 
         // create the Timer object and a TimeoutHandler task
-        TimeoutHandler timeoutHandler = new TimeoutHandler(callbackStore, contextInformation);
+        timeoutHandler = new TimeoutHandler(callbackStore, contextInformation);
         isCallbackControlledAckEnabled = CallbackAckConfigUtil.isCallbackControlledAckEnabled();
         isClientApiNonBlockingModeEnabled = CallbackAckConfigUtil.isClientApiNonBlockingModeEnabled();
         Timer timeOutTimer = synCfg.getSynapseTimer();
         long timeoutHandlerInterval = SynapseConfigUtils.getTimeoutHandlerInterval();
 
-        // schedule timeout handler to run every n seconds (n : specified or defaults to 15s)
+        // schedule timeout handler to clear the expired sessions every n seconds (n : specified or defaults to 15s)
+        // callback timeouts are scheduled individually as the callbacks are added
         timeOutTimer.schedule(timeoutHandler, 0, timeoutHandlerInterval);
+        MBeanRegistrar.getInstance().registerMBean(new CallbackTimeoutView(this, timeoutHandler.getTimeoutWheel()),
+                "ESB-Callbacks", "CallbackTimeouts");
+    }
+
+    /**
+     * Stops the timeout handling of the callbacks, on shutting down the server.
+     */
+    public void destroy() {
+        timeoutHandler.cancel();
     }
 
     public int getCallbackCount() {
@@ -113,6 +125,7 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
 
     public void addCallback(String MsgID, AxisCallback callback) {
         callbackStore.put(MsgID, callback);
+        timeoutHandler.scheduleTimeout(MsgID, (AsyncCallback) callback);
         if (log.isDebugEnabled()) {
             log.debug("Callback added. Total callbacks waiting for : " + callbackStore.size());
         }
@@ -168,6 +181,9 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
                 messageCtx.getProperty(NhttpConstants.HTTP_202_RECEIVED))) {
             if (callbackStore.containsKey(messageCtx.getMessageID())) {
                 AsyncCallback callback = (AsyncCallback) callbackStore.remove(messageCtx.getMessageID());
+                if (callback != null) {
+                    timeoutHandler.cancelTimeout(callback);
+                }
                 if (RuntimeStatisticCollector.isStatisticsEnabled()) {
                     CallbackStatisticCollector.callbackCompletionEvent(callback.getSynapseOutMsgCtx(),
                             messageCtx.getMessageID());
@@ -216,6 +232,9 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
                         callback.setMarkedForRemoval();
                     }
                 }
+                if (!isMarkedForRemoval) {
+                    timeoutHandler.cancelTimeout(callback);
+                }
                 //callback expired by timeout handler, hence dropping the message without proceed further
                 if (isMarkedForRemoval) {
                     handleNoCallback(messageID, messageCtx);
@@ -622,6 +641,9 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
                     }
                     return;
                 } else {
+                    if (successfulEndpoint instanceof AbstractEndpoint) {
+                        ((AbstractEndpoint) successfulEndpoint).recordMetrics(synapseOutMsgCtx, false);
+                    }
                     successfulEndpoint.onSuccess();
                     if(failOver) {
                         popFailOverEPFromFaultStack(synapseOutMsgCtx);
@@ -632,6 +654,9 @@ public class SynapseCallbackReceiver extends CallbackReceiver {
                 }
 
             } else if(successfulEndpoint != null) {
+                if (successfulEndpoint instanceof AbstractEndpoint) {
+                    ((AbstractEndpoint) successfulEndpoint).recordMetrics(synapseOutMsgCtx, false);
+                }
                 successfulEndpoint.onSuccess();
                 if(failOver) {
                     popFailOverEPFromFaultStack(synapseOutMsgCtx);
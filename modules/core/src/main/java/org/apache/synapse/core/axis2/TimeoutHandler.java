@@ -33,6 +33,7 @@ import org.apache.synapse.SynapseConstants;
 import org.apache.synapse.aspects.flow.statistics.collectors.CallbackStatisticCollector;
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
 import org.apache.synapse.commons.CorrelationConstants;
+import org.apache.synapse.commons.util.HashedWheelTimer;
 import org.apache.synapse.config.SynapseConfigUtils;
 import org.apache.synapse.endpoints.dispatch.SALSessions;
 import org.apache.synapse.commons.logger.ContextAwareLogger;
@@ -45,33 +46,34 @@ import org.apache.synapse.transport.passthru.config.PassThroughConfiguration;
 import org.apache.synapse.util.ConcurrencyThrottlingUtils;
 import org.wso2.config.mapper.ConfigParser;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
 /**
- * An object of this class is registered to be invoked in some predefined time intervals. This
- * checks the timeouts of callbacks stored in the SynapseCallbackReceiver and removes all expired
- * callbacks. Timeouts of the callbacks are stored as the time, not the duration. So that the
- * time or the interval of invoking this class does not affect the correctness of the timeouts,
- * although longer intervals would introduce larger error between the actual timeout and the
- * specified timeout.
+ * Expires the callbacks stored in the SynapseCallbackReceiver whose responses do not arrive in time. The timeout of
+ * each callback is scheduled on a timing wheel when the callback is added and cancelled when the response arrives,
+ * hence the outstanding callbacks are never scanned. A timeout expires at most one tick
+ * (synapse.timeout_handler_tick) after the timeout of the callback. On expiry the callback is removed and, if
+ * specified, a fault message is sent to the client about the timeout.
  *
- * For each invocation this gets a time value to be compared against the timeouts of the callback
- * objects. This time is the System.currentTimeMillis() for Java 1.4 and System.nanoTime() for
- * Java 1.5 and later.
+ * An object of this class is also registered to be invoked in predefined time intervals to clear the expired SAL
+ * sessions.
  */
 public class TimeoutHandler extends TimerTask {
 
     private static final Log log = LogFactory.getLog(TimeoutHandler.class);
 
+    /** Number of ticks of the timing wheel, a rotation covers a bit less than 7 minutes with the default tick */
+    private static final int TICKS_PER_WHEEL = 4096;
+
     /** The callback map - already a Collections.synchronized() hash map */
     private final Map callbackStore;
-    /** a lock to prevent concurrent execution while ensuring least overhead */
-    private final Object lock = new Object();
-    private boolean alreadyExecuting = false;
+    /** Timing wheel holding the timeouts of the outstanding callbacks */
+    private final HashedWheelTimer timeoutWheel;
+    /** Delay after which callbacks without a timeout are expired */
+    private final long timeoutHandlerInterval;
     /*This is the timeout for otherwise non-expiring callbacks to ensure system stability over time */
     private long globalTimeout = SynapseConstants.DEFAULT_GLOBAL_TIMEOUT;
     private static final String SEND_TIMEOUT_MESSAGE = "Send timeout";
@@ -82,6 +84,9 @@ public class TimeoutHandler extends TimerTask {
         this.callbackStore = callbacks;
         this.contextInfo = contextInfo;
         this.globalTimeout = SynapseConfigUtils.getGlobalTimeoutInterval();
+        this.timeoutHandlerInterval = SynapseConfigUtils.getTimeoutHandlerInterval();
+        this.timeoutWheel = new HashedWheelTimer("SynapseCallbackTimeoutHandler",
+                SynapseConfigUtils.getTimeoutHandlerTick(), TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
         log.info("This engine will expire all callbacks after " +
                 SynapseConstants.ENDPOINT_TIMEOUT_TYPE.GLOBAL_TIMEOUT.toString() + ": " + (globalTimeout / 1000) +
                 " seconds, irrespective of the timeout action," +
@@ -89,228 +94,242 @@ public class TimeoutHandler extends TimerTask {
     }
 
     /**
-     * Checks if the timeout has expired for each callback in the callback store. If expired, removes
-     * the callback. If specified sends a fault message to the client about the timeout.
+     * Schedules the timeout of a callback added to the callback store.
+     *
+     * @param messageId message ID the callback is stored against
+     * @param callback  the callback
      */
-    public void run() {
-        if (alreadyExecuting) return;
-
-        synchronized (lock) {
-            alreadyExecuting = true;
-            try {
-                processCallbacks();
-            } catch (Exception ex) {
-                log.warn("Exception occurred while processing callbacks", ex);
-            } catch (Error ex) {
-                log.warn("Error occurred while processing callbacks", ex);
-            } finally {
-                alreadyExecuting = false;
-            }
-        }
+    public void scheduleTimeout(String messageId, AsyncCallback callback) {
+        long timeOutOn = callback.getTimeOutOn();
+        // callbacks without a timeout used to be expired by the next periodic run of this handler
+        long delay = timeOutOn > 0 ? timeOutOn - System.currentTimeMillis() : timeoutHandlerInterval;
+        callback.setTimeoutHandle(timeoutWheel.schedule(
+                () -> expireCallback(messageId, callback), delay, TimeUnit.MILLISECONDS));
     }
 
-    private void processCallbacks() {
-
-        //clear all the expired sessions
-        SALSessions.getInstance().clearSessions();
+    /**
+     * Cancels the timeout of a callback removed from the callback store on receiving the response.
+     *
+     * @param callback the callback
+     */
+    public void cancelTimeout(AsyncCallback callback) {
+        HashedWheelTimer.Timeout timeout = callback.getTimeoutHandle();
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
 
-        // checks if callback store contains at least one entry before proceeding. otherwise getting
-        // the time for doing nothing would be a inefficient task.
+    /**
+     * @return the timing wheel holding the timeouts of the outstanding callbacks
+     */
+    public HashedWheelTimer getTimeoutWheel() {
+        return timeoutWheel;
+    }
 
-        // we have to synchronize this on the callbackStore as iterators of thread safe collections
-        // are not thread safe. callbackStore can be modified
-        // concurrently by the SynapseCallbackReceiver.
-        synchronized(callbackStore) {
+    /**
+     * Cancels the periodic clearing of the SAL sessions and stops the worker thread of the timing wheel.
+     *
+     * @return true if the periodic task was prevented from running again
+     */
+    @Override
+    public boolean cancel() {
+        timeoutWheel.stop();
+        return super.cancel();
+    }
 
-            if (callbackStore.size() > 0) {
+    /**
+     * Clears the expired SAL sessions.
+     */
+    public void run() {
+        try {
+            SALSessions.getInstance().clearSessions();
+        } catch (Exception ex) {
+            log.warn("Exception occurred while clearing the expired sessions", ex);
+        } catch (Error ex) {
+            log.warn("Error occurred while clearing the expired sessions", ex);
+        }
+    }
 
-                long currentTime = currentTime();
-                boolean closeSocketOnEndpointTimeout = false;
-                List toRemove = new ArrayList();
+    /**
+     * Expires a callback, unless its response has been received in the meantime.
+     *
+     * @param key      message ID the callback is stored against
+     * @param callback the callback
+     */
+    private void expireCallback(String key, AsyncCallback callback) {
+        synchronized (callback) {
+            if (callback.isMarkedForRemoval()) {
+                return;
+            }
+            callback.setMarkedForRemoval();
+        }
 
-                for (Object key : callbackStore.keySet()) {
+        boolean closeSocketOnEndpointTimeout = false;
+        try {
+            closeSocketOnEndpointTimeout = executeTimeoutAction(key, callback);
+        } catch (Exception ex) {
+            log.warn("Exception occurred while processing callbacks", ex);
+        } catch (Error ex) {
+            log.warn("Error occurred while processing callbacks", ex);
+        }
+        removeCallback(key, callback, closeSocketOnEndpointTimeout);
+    }
 
-                    AsyncCallback callback = (AsyncCallback) callbackStore.get(key);
-                    if (callback == null) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("There is no callback for key :" + key);
-                        }
-                        continue;
-                    }
+    /**
+     * Logs the timeout and executes the timeout action of the callback.
+     *
+     * @return whether the target connection has to be closed
+     */
+    private boolean executeTimeoutAction(String key, AsyncCallback callback) {
+        boolean closeSocketOnEndpointTimeout = false;
+        if (!"true".equals(callback.getSynapseOutMsgCtx().getProperty(SynapseConstants.OUT_ONLY))) {
+            org.apache.axis2.context.MessageContext axis2MessageContext = callback.getAxis2OutMsgCtx();
+            String timeoutWarnLog = "Expiring message ID : " + key + "; dropping message after "
+                    + callback.getTimeoutType().toString() + " of : "
+                    + (callback.getTimeoutDuration() / 1000) + " seconds for "
+                    + getEndpointLogMessage(callback.getSynapseOutMsgCtx(),
+                    callback.getAxis2OutMsgCtx()) + ", "
+                    + getServiceLogMessage(callback.getSynapseOutMsgCtx())
+                    + "Correlation ID : " + callback.getAxis2OutMsgCtx().getProperty(
+                    CorrelationConstants.CORRELATION_ID);
+            if (conf.isCloseSocketOnEndpointTimeout()) {
+                ContextAwareLogger.getLogger(axis2MessageContext, log, true)
+                        .warn(timeoutWarnLog + ", Closing the Target Connection");
+            } else {
+                ContextAwareLogger.getLogger(axis2MessageContext, log, true)
+                        .warn(timeoutWarnLog);
+            }
+        }
 
-                    if (callback.getTimeOutOn() <= currentTime) {
-
-                        synchronized (callback) {
-                            if (callback.isMarkedForRemoval()) {
-                                continue;
-                            }
-                            callback.setMarkedForRemoval();
-                            toRemove.add(key);
-                        }
-                        if (!"true".equals(callback.getSynapseOutMsgCtx().getProperty(SynapseConstants.OUT_ONLY))) {
-                            org.apache.axis2.context.MessageContext axis2MessageContext = callback.getAxis2OutMsgCtx();
-                            String timeoutWarnLog = "Expiring message ID : " + key + "; dropping message after "
-                                    + callback.getTimeoutType().toString() + " of : "
-                                    + (callback.getTimeoutDuration() / 1000) + " seconds for "
-                                    + getEndpointLogMessage(callback.getSynapseOutMsgCtx(),
-                                    callback.getAxis2OutMsgCtx()) + ", "
-                                    + getServiceLogMessage(callback.getSynapseOutMsgCtx())
-                                    + "Correlation ID : " + callback.getAxis2OutMsgCtx().getProperty(
-                                    CorrelationConstants.CORRELATION_ID);
-                            if (conf.isCloseSocketOnEndpointTimeout()) {
-                                ContextAwareLogger.getLogger(axis2MessageContext, log, true)
-                                        .warn(timeoutWarnLog + ", Closing the Target Connection");
-                            } else {
-                                ContextAwareLogger.getLogger(axis2MessageContext, log, true)
-                                        .warn(timeoutWarnLog);
-                            }
-                        }
-
-                        if (callback.getTimeOutAction() != SynapseConstants.NONE) {
-
-                            // activate the fault sequence of the current sequence mediator
-                            MessageContext msgContext = callback.getSynapseOutMsgCtx();
-                            org.apache.axis2.context.MessageContext axis2MessageContext = callback.getAxis2OutMsgCtx();
-
-                            // Callback-controlled ack: for RabbitMQ timeouts we:
-                            // 1. Set CLIENT_API_NON_BLOCKING so Timer Thread Does not get blocked in any scenario.
-                            // 2. Log and explicitly invoke onAppError to close channel / release resources early
-                            //    preventing connection / buffer leaks since the message has already timed out.
-                            if (CallbackAckConfigUtil.isCallbackControlledAckEnabled()) {
-                                if (CallbackAckConfigUtil.isRabbitMQTransport(axis2MessageContext)) {
-                                    TransportOutDescription transportOut =
-                                            callback.getAxis2OutMsgCtx().getTransportOut();
-
-                                    ((Axis2MessageContext) msgContext).getAxis2MessageContext().setProperty
-                                            (SynapseConstants.CLIENT_API_NON_BLOCKING, Boolean.TRUE);
-                                    log.warn("Callback Controlled ack is enabled. " +
-                                            "Closing the RabbitMQ Channel for the timed out message : " + key);
-                                    transportOut.getSender().onAppError(callback.getAxis2OutMsgCtx());
-                                }
-                            }
-
-                            /* Clear the pipe to prevent release of the associated writer buffer
-                               to the buffer factory.
-                               This is to prevent same buffer is getting released to both source
-                               and target buffer factories. Otherwise when a late response arrives,
-                               buffer is released to both factories and makes system unstable
-                            */
-                            ((Axis2MessageContext) msgContext).getAxis2MessageContext().
-                                    removeProperty(PassThroughConstants.PASS_THROUGH_PIPE);
-
-                            // add an error code to the message context, so that error sequences
-                            // can identify the cause of error
-                            msgContext.setProperty(SynapseConstants.ERROR_CODE,
-                                                   SynapseConstants.HANDLER_TIME_OUT);
-                            msgContext.setProperty(SynapseConstants.ERROR_MESSAGE,
-                                                   SEND_TIMEOUT_MESSAGE);
-                            NHttpServerConnection sourceConn = (NHttpServerConnection) axis2MessageContext.
-                                    getProperty(PassThroughConstants.PASS_THROUGH_SOURCE_CONNECTION);
-                            if (sourceConn != null && SourceContext.get(sourceConn).getState()
-                                    != ProtocolState.REQUEST_DONE) {
-                                //Suspend input to avoid invoking input ready method and set this property here
-                                //to avoid invoking the input ready method, while fault response is mediating through
-                                //the mediation since we have set REQUEST_DONE state in SourceHandler responseReady
-                                // method
-                                sourceConn.suspendInput();
-                                SourceContext sourceContext = (SourceContext) sourceConn.getContext().getAttribute
-                                        (TargetContext.CONNECTION_INFORMATION);
-                                if (sourceContext != null) {
-                                    sourceContext.setIsSourceRequestMarkedToBeDiscarded(true);
-                                }
-                                // This is to gurantee that the connection is closed after the response is sent and
-                                // not to release the buffer to the factory
-                                SourceContext.get(sourceConn).setShutDown(true);
-
-                                // We have to close the target connection since the request is invalid
-                                closeSocketOnEndpointTimeout = true;
-                            }
-
-                            /* Clear the NO_KEEPALIVE property to prevent closing response connection when going through
-                               the fault sequence due to end point time out. Since the axis2 message context used here
-                               is the same axis2 message context used in request path and the intention of this property
-                               is to Disable HTTP keep alive for outgoing requests. If it is required this can be put
-                               in fault sequence.
-                            */
-                            ((Axis2MessageContext) msgContext).getAxis2MessageContext().
-                                    removeProperty(PassThroughConstants.NO_KEEPALIVE);
-
-                            if (!CallbackAckConfigUtil.isPreservePayloadOnTimeout()) {
-                                SOAPEnvelope soapEnvelope;
-                                if (msgContext.isSOAP11()) {
-                                    soapEnvelope = OMAbstractFactory.
-                                            getSOAP11Factory().createSOAPEnvelope();
-                                    soapEnvelope.addChild(
-                                            OMAbstractFactory.getSOAP11Factory().createSOAPBody());
-                                } else {
-                                    soapEnvelope = OMAbstractFactory.
-                                            getSOAP12Factory().createSOAPEnvelope();
-                                    soapEnvelope.addChild(
-                                            OMAbstractFactory.getSOAP12Factory().createSOAPBody());
-                                }
-                                try {
-                                    msgContext.setEnvelope(soapEnvelope);
-                                } catch (Throwable ex) {
-                                    ContextAwareLogger.getLogger(axis2MessageContext, log, true)
-                                            .error("Exception or Error occurred resetting SOAP Envelope", ex);
-                                    continue;
-                                }
-                            }
-
-                            Stack<FaultHandler> faultStack = msgContext.getFaultStack();
-                            if (!faultStack.isEmpty()) {
-                                FaultHandler faultHandler = faultStack.pop();
-                                if (faultHandler != null) {
-                                    try {
-                                        faultHandler.handleFault(msgContext);
-                                    } catch (Throwable ex) {
-                                        ContextAwareLogger.getLogger(axis2MessageContext, log, true)
-                                                .warn("Exception or Error occurred while "
-                                                        + "executing the fault handler", ex);
-                                        continue;
-                                    }
-                                }
-                            }
-                        }
-                    }
+        if (callback.getTimeOutAction() != SynapseConstants.NONE) {
+
+            // activate the fault sequence of the current sequence mediator
+            MessageContext msgContext = callback.getSynapseOutMsgCtx();
+            org.apache.axis2.context.MessageContext axis2MessageContext = callback.getAxis2OutMsgCtx();
+
+            // Callback-controlled ack: for RabbitMQ timeouts we:
+            // 1. Set CLIENT_API_NON_BLOCKING so Timer Thread Does not get blocked in any scenario.
+            // 2. Log and explicitly invoke onAppError to close channel / release resources early
+            //    preventing connection / buffer leaks since the message has already timed out.
+            if (CallbackAckConfigUtil.isCallbackControlledAckEnabled()) {
+                if (CallbackAckConfigUtil.isRabbitMQTransport(axis2MessageContext)) {
+                    TransportOutDescription transportOut =
+                            callback.getAxis2OutMsgCtx().getTransportOut();
+
+                    ((Axis2MessageContext) msgContext).getAxis2MessageContext().setProperty
+                            (SynapseConstants.CLIENT_API_NON_BLOCKING, Boolean.TRUE);
+                    log.warn("Callback Controlled ack is enabled. " +
+                            "Closing the RabbitMQ Channel for the timed out message : " + key);
+                    transportOut.getSender().onAppError(callback.getAxis2OutMsgCtx());
                 }
+            }
 
-                for(Object key : toRemove) {
+            /* Clear the pipe to prevent release of the associated writer buffer
+               to the buffer factory.
+               This is to prevent same buffer is getting released to both source
+               and target buffer factories. Otherwise when a late response arrives,
+               buffer is released to both factories and makes system unstable
+            */
+            ((Axis2MessageContext) msgContext).getAxis2MessageContext().
+                    removeProperty(PassThroughConstants.PASS_THROUGH_PIPE);
+
+            // add an error code to the message context, so that error sequences
+            // can identify the cause of error
+            msgContext.setProperty(SynapseConstants.ERROR_CODE,
+                                   SynapseConstants.HANDLER_TIME_OUT);
+            msgContext.setProperty(SynapseConstants.ERROR_MESSAGE,
+                                   SEND_TIMEOUT_MESSAGE);
+            NHttpServerConnection sourceConn = (NHttpServerConnection) axis2MessageContext.
+                    getProperty(PassThroughConstants.PASS_THROUGH_SOURCE_CONNECTION);
+            if (sourceConn != null && SourceContext.get(sourceConn).getState()
+                    != ProtocolState.REQUEST_DONE) {
+                //Suspend input to avoid invoking input ready method and set this property here
+                //to avoid invoking the input ready method, while fault response is mediating through
+                //the mediation since we have set REQUEST_DONE state in SourceHandler responseReady
+                // method
+                sourceConn.suspendInput();
+                SourceContext sourceContext = (SourceContext) sourceConn.getContext().getAttribute
+                        (TargetContext.CONNECTION_INFORMATION);
+                if (sourceContext != null) {
+                    sourceContext.setIsSourceRequestMarkedToBeDiscarded(true);
+                }
+                // This is to gurantee that the connection is closed after the response is sent and
+                // not to release the buffer to the factory
+                SourceContext.get(sourceConn).setShutDown(true);
 
-                    AsyncCallback callback = (AsyncCallback) callbackStore.get(key);
-                    if (callback == null) {
-                        // we will get here if we get a response from the Backend while clearing callbacks
-                        continue;
-                    }
+                // We have to close the target connection since the request is invalid
+                closeSocketOnEndpointTimeout = true;
+            }
 
-                    org.apache.synapse.MessageContext synapseOutMsgCtx = callback.getSynapseOutMsgCtx();
-                    ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(synapseOutMsgCtx);
-                    callbackStore.remove(key);
-                    if (RuntimeStatisticCollector.isStatisticsEnabled()) {
-                        CallbackStatisticCollector.callbackCompletionEvent(callback.getSynapseOutMsgCtx(), (String) key);
-                    }
+            /* Clear the NO_KEEPALIVE property to prevent closing response connection when going through
+               the fault sequence due to end point time out. Since the axis2 message context used here
+               is the same axis2 message context used in request path and the intention of this property
+               is to Disable HTTP keep alive for outgoing requests. If it is required this can be put
+               in fault sequence.
+            */
+            ((Axis2MessageContext) msgContext).getAxis2MessageContext().
+                    removeProperty(PassThroughConstants.NO_KEEPALIVE);
+
+            if (!CallbackAckConfigUtil.isPreservePayloadOnTimeout()) {
+                SOAPEnvelope soapEnvelope;
+                if (msgContext.isSOAP11()) {
+                    soapEnvelope = OMAbstractFactory.
+                            getSOAP11Factory().createSOAPEnvelope();
+                    soapEnvelope.addChild(
+                            OMAbstractFactory.getSOAP11Factory().createSOAPBody());
+                } else {
+                    soapEnvelope = OMAbstractFactory.
+                            getSOAP12Factory().createSOAPEnvelope();
+                    soapEnvelope.addChild(
+                            OMAbstractFactory.getSOAP12Factory().createSOAPBody());
+                }
+                try {
+                    msgContext.setEnvelope(soapEnvelope);
+                } catch (Throwable ex) {
+                    ContextAwareLogger.getLogger(axis2MessageContext, log, true)
+                            .error("Exception or Error occurred resetting SOAP Envelope", ex);
+                    return closeSocketOnEndpointTimeout;
+                }
+            }
 
-                    if (closeSocketOnEndpointTimeout || conf.isCloseSocketOnEndpointTimeout() ) {                        TransportOutDescription transportOut = callback.getAxis2OutMsgCtx().getTransportOut();
-                        if (transportOut != null && transportOut.getSender() != null) {
-                            // Call the TransportSender's onAppError method to release any resources
-                            transportOut.getSender().onAppError(callback.getAxis2OutMsgCtx());
-                        }
+            Stack<FaultHandler> faultStack = msgContext.getFaultStack();
+            if (!faultStack.isEmpty()) {
+                FaultHandler faultHandler = faultStack.pop();
+                if (faultHandler != null) {
+                    try {
+                        faultHandler.handleFault(msgContext);
+                    } catch (Throwable ex) {
+                        ContextAwareLogger.getLogger(axis2MessageContext, log, true)
+                                .warn("Exception or Error occurred while "
+                                        + "executing the fault handler", ex);
+                        return closeSocketOnEndpointTimeout;
                     }
                 }
             }
         }
+        return closeSocketOnEndpointTimeout;
     }
 
-    /**
-     * Returns the current time.
-     *
-     * @return  System.currentTimeMillis() on Java 1.4
-     *          System.nanoTime() on Java 1.5 (todo: implement)
-     */
-    private long currentTime() {
-        return System.currentTimeMillis();
-    }
+    private void removeCallback(String key, AsyncCallback callback, boolean closeSocketOnEndpointTimeout) {
+        if (!callbackStore.remove(key, callback)) {
+            // we will get here if we get a response from the Backend while clearing the callback
+            return;
+        }
+
+        org.apache.synapse.MessageContext synapseOutMsgCtx = callback.getSynapseOutMsgCtx();
+        ConcurrencyThrottlingUtils.decrementConcurrencyThrottleAccessController(synapseOutMsgCtx);
+        if (RuntimeStatisticCollector.isStatisticsEnabled()) {
+            CallbackStatisticCollector.callbackCompletionEvent(callback.getSynapseOutMsgCtx(), key);
+        }
 
+        if (closeSocketOnEndpointTimeout || conf.isCloseSocketOnEndpointTimeout()) {
+            TransportOutDescription transportOut = callback.getAxis2OutMsgCtx().getTransportOut();
+            if (transportOut != null && transportOut.getSender() != null) {
+                // Call the TransportSender's onAppError method to release any resources
+                transportOut.getSender().onAppError(callback.getAxis2OutMsgCtx());
+            }
+        }
+    }
 
     private String getEndpointLogMessage(MessageContext synCtx,
                                                 org.apache.axis2.context.MessageContext axisCtx) {
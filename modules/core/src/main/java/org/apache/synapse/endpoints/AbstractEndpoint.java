@@ -38,6 +38,7 @@ import org.apache.synapse.aspects.flow.statistics.collectors.OpenEventCollector;
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
 import org.apache.synapse.aspects.flow.statistics.data.artifact.ArtifactHolder;
 import org.apache.synapse.commons.jmx.JmxConfigurationConstants;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 import org.apache.synapse.commons.throttle.core.ConcurrentAccessController;
 import org.apache.synapse.commons.throttle.core.ConcurrentAccessReplicator;
 import org.apache.synapse.commons.util.MiscellaneousUtil;
@@ -52,6 +53,7 @@ import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
 import org.apache.synapse.mediators.MediatorFaultHandler;
 import org.apache.synapse.mediators.MediatorProperty;
+import org.apache.synapse.metrics.MetricsConstants;
 import org.apache.synapse.transport.passthru.util.RelayConstants;
 import org.apache.synapse.util.logging.LoggingUtils;
 import org.json.JSONArray;
@@ -357,6 +359,9 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
         }
 
         prepareForEndpointStatistics(synCtx);
+        if (MetricsRegistry.isEnabled()) {
+            synCtx.setProperty(MetricsConstants.ENDPOINT_SEND_TIME, System.nanoTime());
+        }
 
         if (traceOrDebugOn) {
             String address = definition.getAddress();
@@ -574,6 +579,7 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
      * @param synCtx the message at hand
      */
     public void onFault(MessageContext synCtx) {
+        recordMetrics(synCtx, true);
         EndpointDefinition endpointDefinition = getDefinition();
         if (endpointDefinition != null && endpointDefinition.getTimeoutAction() == SynapseConstants.DISCARD) {
             log.info("Ignoring fault handlers since the timeout action is set to DISCARD");
@@ -918,6 +924,22 @@ public abstract class AbstractEndpoint extends FaultHandler implements Endpoint,
         }
     }
 
+    /**
+     * Records the time taken from sending the given message through this endpoint until its
+     * response or fault arrived. The send time is cleared so that each send is recorded once.
+     *
+     * @param synCtx the message at hand
+     * @param fault  whether the endpoint call failed
+     */
+    public void recordMetrics(MessageContext synCtx, boolean fault) {
+        Object sendTime = synCtx.getProperty(MetricsConstants.ENDPOINT_SEND_TIME);
+        if (sendTime instanceof Long) {
+            synCtx.getPropertyKeySet().remove(MetricsConstants.ENDPOINT_SEND_TIME);
+            MetricsRegistry.getInstance().record(MetricsRegistry.ENDPOINT, getReportingName(),
+                    System.nanoTime() - (Long) sendTime, fault);
+        }
+    }
+
     private boolean isStatisticCollected() {
         return (definition.getAspectConfiguration() != null &&
                 definition.getAspectConfiguration().isStatisticsEnable() && this.endpointName != null);
@@ -32,6 +32,7 @@ import org.apache.synapse.aspects.flow.statistics.collectors.CloseEventCollector
 import org.apache.synapse.aspects.flow.statistics.collectors.OpenEventCollector;
 import org.apache.synapse.aspects.flow.statistics.collectors.RuntimeStatisticCollector;
 import org.apache.synapse.aspects.flow.statistics.data.artifact.ArtifactHolder;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 import org.apache.synapse.transport.customlogsetter.CustomLogSetter;
 import org.apache.synapse.aspects.ComponentType;
 import org.apache.synapse.continuation.ContinuationStackManager;
@@ -126,6 +127,8 @@ public class SequenceMediator extends AbstractListMediator implements Nameable,
                 statisticReportingIndex = reportOpenStatistics(synCtx, false);
             }
             // Setting Required property to reportForComponent the sequence aspects
+            long startTime = System.nanoTime();
+            boolean faulted = true;
 
             try {
                 // push the errorHandler sequence into the current message as the fault handler
@@ -185,7 +188,7 @@ public class SequenceMediator extends AbstractListMediator implements Nameable,
                             "End : Sequence <" + (name == null ? "anonymous" : name) + ">");
                 }
 
-
+                faulted = false;
                 return result;
 
             } finally {
@@ -193,6 +196,10 @@ public class SequenceMediator extends AbstractListMediator implements Nameable,
                 if (RuntimeStatisticCollector.isStatisticsEnabled()) {
                     reportCloseStatistics(synCtx, statisticReportingIndex);
                 }
+                if (sequenceType == SequenceType.NAMED) {
+                    MetricsRegistry.getInstance().record(MetricsRegistry.SEQUENCE, name,
+                            System.nanoTime() - startTime, faulted);
+                }
             }
 
         } else {
@@ -0,0 +1,707 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.cache;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMOutputFormat;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.Constants;
+import org.apache.axis2.context.OperationContext;
+import org.apache.axis2.transport.MessageFormatter;
+import org.apache.http.HttpHeaders;
+import org.apache.synapse.ManagedLifecycle;
+import org.apache.synapse.Mediator;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseLog;
+import org.apache.synapse.api.ApiUtils;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.config.xml.AnonymousListMediator;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.Axis2Sender;
+import org.apache.synapse.debug.constructs.EnclosedInlinedSequence;
+import org.apache.synapse.mediators.AbstractMediator;
+import org.apache.synapse.transport.nhttp.util.MessageFormatterDecoratorFactory;
+import org.apache.synapse.transport.passthru.PassThroughConstants;
+import org.apache.synapse.transport.passthru.util.PassThroughTransportUtils;
+import org.apache.synapse.transport.passthru.util.RelayUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Caches HTTP responses and serves repeated requests from the cache instead of the backend.
+ * <p/>
+ * A cache mediator in the request flow computes a key from the HTTP method, the request URL,
+ * the configured headers and optionally a digest of the payload. On a hit the serialized
+ * response is handed to the pass-through transport as it is, without building a message, and
+ * the <code>onCacheHit</code> sequence, if any, runs before it is sent back. On a miss the key
+ * is remembered on the message and a cache mediator marked as collector in the response flow
+ * stores the response.
+ * <p/>
+ * <code>Cache-Control</code> is honoured in both directions: <code>no-store</code> and
+ * <code>no-cache</code> requests bypass the cache, responses marked <code>no-store</code>,
+ * <code>no-cache</code> or <code>private</code> are not stored and <code>max-age</code> shortens
+ * the configured timeout. Cached responses carry an <code>ETag</code>, and a request whose
+ * <code>If-None-Match</code> matches it is answered with a 304 without a body.
+ * <p/>
+ * As the cache is shared by all clients, a request carrying <code>Authorization</code> is only
+ * served from, and its response only stored in, the cache if the response is marked
+ * <code>public</code>, <code>s-maxage</code> or <code>must-revalidate</code>. The request headers
+ * named by the <code>Vary</code> header of a response take part in its key, and responses that
+ * vary on <code>*</code> are not stored.
+ */
+public class CacheMediator extends AbstractMediator implements ManagedLifecycle, EnclosedInlinedSequence {
+
+    /** Message property holding the cache key of a request whose response should be stored */
+    public static final String CACHE_KEY = "_SYNAPSE_CACHE_KEY_";
+    /** Message property holding the cache mediator that looked up the request */
+    public static final String CACHE_MEDIATOR = "_SYNAPSE_CACHE_MEDIATOR_";
+    /** Message property holding the headers of a request whose response should be stored */
+    public static final String CACHE_REQUEST_HEADERS = "_SYNAPSE_CACHE_REQUEST_HEADERS_";
+
+    public static final long DEFAULT_TIMEOUT = 60;
+    public static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+    public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+    public static final String DEFAULT_METHODS = "GET";
+    public static final String DEFAULT_RESPONSE_CODES = "2[0-9][0-9]";
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String PRIVATE = "private";
+    private static final String PUBLIC = "public";
+    private static final String MUST_REVALIDATE = "must-revalidate";
+    private static final String MAX_AGE = "max-age";
+    private static final String S_MAX_AGE = "s-maxage";
+
+    /** Headers describing the connection rather than the response, never stored */
+    private static final Set<String> HOP_BY_HOP_HEADERS;
+
+    static {
+        Set<String> headers = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+        headers.addAll(Arrays.asList(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.CONTENT_LENGTH, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE,
+                HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION, "Set-Cookie",
+                HttpHeaders.AGE, HttpHeaders.DATE));
+        HOP_BY_HOP_HEADERS = Collections.unmodifiableSet(headers);
+    }
+
+    private String id;
+    private boolean collector;
+    /** Time to live of a cached response in seconds */
+    private long timeout = DEFAULT_TIMEOUT;
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+    private int evictionPolicy = ResponseCache.LRU;
+    private Set<String> methods = parseList(DEFAULT_METHODS, true);
+    private Set<String> headersToHash = Collections.emptySet();
+    private boolean hashPayload;
+    private Pattern responseCodes = Pattern.compile(DEFAULT_RESPONSE_CODES);
+    private AnonymousListMediator onCacheHit;
+
+    private ResponseCache cache;
+    /** Request headers named by the Vary header of the last response stored for a key, sorted */
+    private final Map<String, String[]> varyHeaders = new ConcurrentHashMap<String, String[]>();
+
+    public void init(SynapseEnvironment se) {
+        if (!collector) {
+            cache = new ResponseCache(maxSize, maxEntrySize, evictionPolicy);
+        }
+        if (onCacheHit != null) {
+            onCacheHit.init(se);
+        }
+    }
+
+    public void destroy() {
+        if (cache != null) {
+            cache.clear();
+        }
+        varyHeaders.clear();
+        if (onCacheHit != null) {
+            onCacheHit.destroy();
+        }
+    }
+
+    public boolean mediate(MessageContext synCtx) {
+
+        if (synCtx.getEnvironment().isDebuggerEnabled()) {
+            if (super.divertMediationRoute(synCtx)) {
+                return true;
+            }
+        }
+
+        SynapseLog synLog = getLog(synCtx);
+        if (synLog.isTraceOrDebugEnabled()) {
+            synLog.traceOrDebug("Start : Cache mediator");
+
+            if (synLog.isTraceTraceEnabled()) {
+                synLog.traceTrace("Message : " + synCtx.getEnvelope());
+            }
+        }
+
+        boolean result;
+        if (collector) {
+            Object owner = synCtx.getProperty(CACHE_MEDIATOR);
+            if (owner instanceof CacheMediator) {
+                ((CacheMediator) owner).store(synCtx, synLog);
+            }
+            result = true;
+        } else {
+            result = lookup(synCtx, synLog);
+        }
+
+        if (synLog.isTraceOrDebugEnabled()) {
+            synLog.traceOrDebug("End : Cache mediator");
+        }
+        return result;
+    }
+
+    private boolean lookup(MessageContext synCtx, SynapseLog synLog) {
+        org.apache.axis2.context.MessageContext msgCtx = ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+        String method = (String) msgCtx.getProperty(Constants.Configuration.HTTP_METHOD);
+        if (method == null || !methods.contains(method.toUpperCase()) || !isPassThrough(msgCtx)) {
+            return true;
+        }
+
+        Map headers = (Map) msgCtx.getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
+        String cacheControl = getHeader(headers, HttpHeaders.CACHE_CONTROL);
+        if (hasDirective(cacheControl, NO_STORE)) {
+            return true;
+        }
+
+        String key = generateKey(synCtx, msgCtx, method, headers);
+        Map<String, String> requestHeaders = copyHeaders(headers);
+        boolean authorized = requestHeaders.containsKey(HttpHeaders.AUTHORIZATION);
+        if (!hasDirective(cacheControl, NO_CACHE)) {
+            CachedResponse response = cache.get(getVariantKey(key, varyHeaders.get(key), requestHeaders));
+            if (response != null
+                    && (!authorized || isShared(response.getHeaders().get(HttpHeaders.CACHE_CONTROL)))) {
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("Serving the response from the cache for key : " + key);
+                }
+                setResponse(synCtx, msgCtx, response, getHeader(headers, HttpHeaders.IF_NONE_MATCH));
+                if (onCacheHit != null) {
+                    onCacheHit.mediate(synCtx);
+                } else {
+                    Axis2Sender.sendBack(synCtx);
+                }
+                return false;
+            }
+        }
+
+        synCtx.setProperty(CACHE_KEY, key);
+        synCtx.setProperty(CACHE_MEDIATOR, this);
+        synCtx.setProperty(CACHE_REQUEST_HEADERS, requestHeaders);
+        return true;
+    }
+
+    /**
+     * Turn the request into the cached response, leaving the payload serialized for the transport
+     */
+    private void setResponse(MessageContext synCtx, org.apache.axis2.context.MessageContext msgCtx,
+                             CachedResponse response, String ifNoneMatch) {
+        try {
+            RelayUtils.discardRequestMessage(msgCtx);
+        } catch (AxisFault e) {
+            handleException("Error while discarding the request served from the cache", e, synCtx);
+        }
+        msgCtx.removeProperty(PassThroughConstants.PASS_THROUGH_PIPE);
+
+        Map<String, String> headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.getHeaders());
+        headers.put(HttpHeaders.AGE, Long.toString(response.getAge(System.currentTimeMillis())));
+        msgCtx.setProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS, headers);
+        msgCtx.setProperty(Constants.Configuration.CONTENT_TYPE, response.getContentType());
+        msgCtx.setProperty(Constants.Configuration.MESSAGE_TYPE, response.getMessageType());
+        msgCtx.setProperty(PassThroughConstants.MESSAGE_BUILDER_INVOKED, Boolean.TRUE);
+
+        if (response.getETag() != null && matchesETag(ifNoneMatch, response.getETag())) {
+            msgCtx.setProperty(PassThroughConstants.HTTP_SC, 304);
+            msgCtx.setProperty(PassThroughConstants.NO_ENTITY_BODY, Boolean.TRUE);
+            msgCtx.removeProperty(PassThroughConstants.CACHED_RESPONSE_PAYLOAD);
+        } else {
+            msgCtx.setProperty(PassThroughConstants.HTTP_SC, response.getStatusCode());
+            msgCtx.removeProperty(PassThroughConstants.NO_ENTITY_BODY);
+            msgCtx.setProperty(PassThroughConstants.CACHED_RESPONSE_PAYLOAD, response.getPayload());
+        }
+
+        synCtx.setTo(null);
+        synCtx.setResponse(true);
+        OperationContext opCtx = msgCtx.getOperationContext();
+        if (opCtx != null) {
+            opCtx.setProperty(Constants.RESPONSE_WRITTEN, "SKIP");
+        }
+    }
+
+    /**
+     * Store the response to a request this mediator looked up, if it may be cached
+     */
+    private void store(MessageContext synCtx, SynapseLog synLog) {
+        String key = (String) synCtx.getProperty(CACHE_KEY);
+        Map<String, String> requestHeaders = (Map<String, String>) synCtx.getProperty(CACHE_REQUEST_HEADERS);
+        Set keySet = synCtx.getPropertyKeySet();
+        keySet.remove(CACHE_KEY);
+        keySet.remove(CACHE_MEDIATOR);
+        keySet.remove(CACHE_REQUEST_HEADERS);
+        if (key == null || requestHeaders == null) {
+            return;
+        }
+
+        org.apache.axis2.context.MessageContext msgCtx = ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+        int statusCode = getStatusCode(msgCtx);
+        if (!responseCodes.matcher(Integer.toString(statusCode)).matches()) {
+            return;
+        }
+
+        Map headers = (Map) msgCtx.getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
+        String cacheControl = getHeader(headers, HttpHeaders.CACHE_CONTROL);
+        if (hasDirective(cacheControl, NO_STORE) || hasDirective(cacheControl, NO_CACHE)
+                || hasDirective(cacheControl, PRIVATE)) {
+            return;
+        }
+        if (requestHeaders.containsKey(HttpHeaders.AUTHORIZATION) && !isShared(cacheControl)) {
+            // the response may be specific to the credentials of the request
+            return;
+        }
+        String[] vary = parseVary(getHeader(headers, HttpHeaders.VARY));
+        if (vary != null && Arrays.asList(vary).contains("*")) {
+            return;
+        }
+        long timeToLive = timeout * 1000;
+        long maxAge = getMaxAge(cacheControl);
+        if (maxAge >= 0) {
+            timeToLive = Math.min(timeToLive, maxAge * 1000);
+        }
+        if (timeToLive <= 0) {
+            return;
+        }
+
+        byte[] payload;
+        String contentType;
+        try {
+            RelayUtils.buildMessage(msgCtx);
+            MessageFormatter formatter = MessageFormatterDecoratorFactory.createMessageFormatterDecorator(msgCtx);
+            OMOutputFormat format = PassThroughTransportUtils.getOMOutputFormat(msgCtx);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            formatter.writeTo(msgCtx, format, out, true);
+            payload = out.toByteArray();
+            contentType = (String) msgCtx.getProperty(Constants.Configuration.CONTENT_TYPE);
+            if (contentType == null) {
+                contentType = formatter.getContentType(msgCtx, format, msgCtx.getSoapAction());
+            }
+        } catch (IOException e) {
+            handleException("Error while serializing the response to be cached", e, synCtx);
+            return;
+        } catch (XMLStreamException e) {
+            handleException("Error while building the response to be cached", e, synCtx);
+            return;
+        }
+        if (payload.length > maxEntrySize) {
+            return;
+        }
+
+        Map<String, String> stored = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            for (Object entryObj : headers.entrySet()) {
+                Map.Entry entry = (Map.Entry) entryObj;
+                if (entry.getKey() instanceof String && entry.getValue() instanceof String
+                        && !HOP_BY_HOP_HEADERS.contains(entry.getKey())) {
+                    stored.put((String) entry.getKey(), (String) entry.getValue());
+                }
+            }
+        }
+        String eTag = stored.get(HttpHeaders.ETAG);
+        if (eTag == null) {
+            eTag = "\"" + toHex(digest().digest(payload)) + "\"";
+            stored.put(HttpHeaders.ETAG, eTag);
+            if (headers != null) {
+                headers.put(HttpHeaders.ETAG, eTag);
+            }
+        }
+
+        CachedResponse response = new CachedResponse(statusCode, stored, contentType,
+                (String) msgCtx.getProperty(Constants.Configuration.MESSAGE_TYPE), eTag, payload, timeToLive);
+        if (vary == null) {
+            varyHeaders.remove(key);
+        } else {
+            varyHeaders.put(key, vary);
+        }
+        String variantKey = getVariantKey(key, vary, requestHeaders);
+        if (cache.put(variantKey, response) && synLog.isTraceOrDebugEnabled()) {
+            synLog.traceOrDebug("Cached the response for key : " + variantKey);
+        }
+    }
+
+    /**
+     * @return the key of the response to a request, extended with the values of the request headers the
+     * response varies on
+     */
+    private static String getVariantKey(String key, String[] vary, Map<String, String> requestHeaders) {
+        if (vary == null) {
+            return key;
+        }
+        MessageDigest digest = digest();
+        update(digest, key);
+        for (String header : vary) {
+            update(digest, header);
+            update(digest, requestHeaders.get(header));
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return the lower cased, sorted header names of a Vary header, null if there are none
+     */
+    static String[] parseVary(String vary) {
+        if (vary == null) {
+            return null;
+        }
+        Set<String> names = new TreeSet<String>();
+        for (String name : vary.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                names.add(trimmed.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return names.isEmpty() ? null : names.toArray(new String[names.size()]);
+    }
+
+    /**
+     * @return whether a response may be served to requests with other credentials than the one it was
+     * returned for
+     */
+    static boolean isShared(String cacheControl) {
+        return hasDirective(cacheControl, PUBLIC) || hasDirective(cacheControl, S_MAX_AGE)
+                || hasDirective(cacheControl, MUST_REVALIDATE);
+    }
+
+    private static Map<String, String> copyHeaders(Map headers) {
+        Map<String, String> copy = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            for (Object entryObj : headers.entrySet()) {
+                Map.Entry entry = (Map.Entry) entryObj;
+                if (entry.getKey() instanceof String && entry.getValue() instanceof String) {
+                    copy.put((String) entry.getKey(), (String) entry.getValue());
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * @return hex encoded digest of the method, URL, configured headers and, if enabled, the payload
+     */
+    private String generateKey(MessageContext synCtx, org.apache.axis2.context.MessageContext msgCtx,
+                               String method, Map headers) {
+        MessageDigest digest = digest();
+        update(digest, method);
+        update(digest, ApiUtils.getFullRequestPath(synCtx));
+        for (String header : headersToHash) {
+            update(digest, header);
+            update(digest, getHeader(headers, header));
+        }
+        if (hashPayload) {
+            try {
+                RelayUtils.buildMessage(msgCtx);
+            } catch (IOException e) {
+                handleException("Error while building the request to compute the cache key", e, synCtx);
+            } catch (XMLStreamException e) {
+                handleException("Error while building the request to compute the cache key", e, synCtx);
+            }
+            if (JsonUtil.hasAJsonPayload(msgCtx)) {
+                digest.update(JsonUtil.jsonPayloadToByteArray(msgCtx));
+            } else if (synCtx.getEnvelope() != null) {
+                OMElement body = synCtx.getEnvelope().getBody().getFirstElement();
+                if (body != null) {
+                    update(digest, body.toString());
+                }
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            hex[2 * i + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+
+    private static boolean isPassThrough(org.apache.axis2.context.MessageContext msgCtx) {
+        return msgCtx.getProperty(PassThroughConstants.PASS_THROUGH_SOURCE_CONNECTION) != null;
+    }
+
+    private static int getStatusCode(org.apache.axis2.context.MessageContext msgCtx) {
+        Object statusCode = msgCtx.getProperty(PassThroughConstants.HTTP_SC);
+        if (statusCode instanceof Integer) {
+            return (Integer) statusCode;
+        }
+        if (statusCode instanceof String) {
+            try {
+                return Integer.parseInt((String) statusCode);
+            } catch (NumberFormatException ignore) {
+                // treated as a response that must not be cached
+                return -1;
+            }
+        }
+        return 200;
+    }
+
+    private static String getHeader(Map headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        Object value = headers.get(name);
+        return value instanceof String ? (String) value : null;
+    }
+
+    static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String token : cacheControl.split(",")) {
+            String name = token.trim();
+            int eq = name.indexOf('=');
+            if (eq != -1) {
+                name = name.substring(0, eq).trim();
+            }
+            if (name.equalsIgnoreCase(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the shared or plain max-age of the response in seconds, -1 if neither is given
+     */
+    static long getMaxAge(String cacheControl) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        for (String token : cacheControl.split(",")) {
+            String[] pair = token.trim().split("=", 2);
+            if (pair.length != 2) {
+                continue;
+            }
+            if (pair[0].trim().equalsIgnoreCase(S_MAX_AGE)) {
+                sharedMaxAge = parseSeconds(pair[1]);
+            } else if (pair[0].trim().equalsIgnoreCase(MAX_AGE)) {
+                maxAge = parseSeconds(pair[1]);
+            }
+        }
+        return sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim().replace("\"", "")));
+        } catch (NumberFormatException ignore) {
+            // an invalid age means the response is stale already
+            return 0;
+        }
+    }
+
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> parseList(String value, boolean upperCase) {
+        Set<String> items = new LinkedHashSet<String>();
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (!trimmed.isEmpty()) {
+                items.add(upperCase ? trimmed.toUpperCase() : trimmed);
+            }
+        }
+        return Collections.unmodifiableSet(items);
+    }
+
+    private static String joinList(Set<String> items) {
+        StringBuilder joined = new StringBuilder();
+        for (String item : items) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(item);
+        }
+        return joined.toString();
+    }
+
+    public Mediator getInlineSequence(SynapseConfiguration synCfg, int inlineSeqIdentifier) {
+        return onCacheHit;
+    }
+
+    @Override
+    public boolean isContentAware() {
+        return hashPayload;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public boolean isCollector() {
+        return collector;
+    }
+
+    public void setCollector(boolean collector) {
+        this.collector = collector;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(int maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public int getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public void setEvictionPolicy(int evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    public String getMethods() {
+        return joinList(methods);
+    }
+
+    /**
+     * @param methods comma separated HTTP methods whose responses are cached
+     */
+    public void setMethods(String methods) {
+        this.methods = parseList(methods, true);
+    }
+
+    public String getHeadersToHash() {
+        return joinList(headersToHash);
+    }
+
+    /**
+     * @param headers comma separated request headers that take part in the cache key
+     */
+    public void setHeadersToHash(String headers) {
+        this.headersToHash = parseList(headers, false);
+    }
+
+    public boolean isHashPayload() {
+        return hashPayload;
+    }
+
+    public void setHashPayload(boolean hashPayload) {
+        this.hashPayload = hashPayload;
+    }
+
+    public String getResponseCodes() {
+        return responseCodes.pattern();
+    }
+
+    public void setResponseCodes(String responseCodes) {
+        this.responseCodes = Pattern.compile(responseCodes);
+    }
+
+    public AnonymousListMediator getOnCacheHit() {
+        return onCacheHit;
+    }
+
+    public void setOnCacheHit(AnonymousListMediator onCacheHit) {
+        this.onCacheHit = onCacheHit;
+    }
+
+    /**
+     * @return the responses cached by this mediator, null for a collector
+     */
+    public ResponseCache getCache() {
+        return cache;
+    }
+}
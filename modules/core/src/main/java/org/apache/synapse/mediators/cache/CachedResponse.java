@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A response held by the {@link ResponseCache}. The payload is kept serialized in a direct
+ * buffer so that it can be written back to a client without rebuilding the message.
+ */
+public class CachedResponse {
+
+    private final int statusCode;
+    private final Map<String, String> headers;
+    private final String contentType;
+    private final String messageType;
+    private final String eTag;
+    private final ByteBuffer payload;
+    private final long createdTime;
+    private final long expiryTime;
+    /** Number of times this response was served, guarded by the owning cache */
+    private long hits;
+
+    public CachedResponse(int statusCode, Map<String, String> headers, String contentType,
+                          String messageType, String eTag, byte[] payload, long timeToLive) {
+        this.statusCode = statusCode;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.contentType = contentType;
+        this.messageType = messageType;
+        this.eTag = eTag;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length);
+        buffer.put(payload);
+        buffer.flip();
+        this.payload = buffer.asReadOnlyBuffer();
+        this.createdTime = System.currentTimeMillis();
+        this.expiryTime = createdTime + timeToLive;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return a read only view of the payload with its own position, safe to hand to a writer
+     */
+    public ByteBuffer getPayload() {
+        return payload.duplicate();
+    }
+
+    public int getPayloadLength() {
+        return payload.capacity();
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiryTime;
+    }
+
+    /**
+     * @return age of the response in seconds, as reported in the Age header
+     */
+    public long getAge(long now) {
+        return Math.max(0, (now - createdTime) / 1000);
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    void hit() {
+        hits++;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded store of serialized responses. Payloads live outside the heap, in the direct buffers
+ * of the {@link CachedResponse}s, and their total size is kept within a byte budget by evicting
+ * either the least recently used or the least frequently used entries.
+ */
+public class ResponseCache {
+
+    public static final int LRU = 0;
+    public static final int LFU = 1;
+
+    private final long maxSize;
+    private final int maxEntrySize;
+    private final int evictionPolicy;
+
+    /** Entries in access order, the eldest first */
+    private final LinkedHashMap<String, CachedResponse> entries =
+            new LinkedHashMap<String, CachedResponse>(16, 0.75f, true);
+    /** Total payload size of the entries, guarded by the entries map */
+    private long size;
+
+    public ResponseCache(long maxSize, int maxEntrySize, int evictionPolicy) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * @return the response stored under the key, or null if there is none or it has expired
+     */
+    public CachedResponse get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedResponse response = entries.get(key);
+            if (response == null) {
+                return null;
+            }
+            if (response.isExpired(now)) {
+                entries.remove(key);
+                size -= response.getPayloadLength();
+                return null;
+            }
+            response.hit();
+            return response;
+        }
+    }
+
+    /**
+     * Store a response, evicting other entries if the byte budget is exceeded
+     *
+     * @return false if the response is too large to be cached
+     */
+    public boolean put(String key, CachedResponse response) {
+        int length = response.getPayloadLength();
+        if (length > maxEntrySize || length > maxSize) {
+            return false;
+        }
+        synchronized (entries) {
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                size -= previous.getPayloadLength();
+            }
+            size += length;
+            while (size > maxSize) {
+                evict(key);
+            }
+        }
+        return true;
+    }
+
+    public void remove(String key) {
+        synchronized (entries) {
+            CachedResponse response = entries.remove(key);
+            if (response != null) {
+                size -= response.getPayloadLength();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * @return total payload size of the cached responses in bytes
+     */
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Remove one entry other than the one just stored. Expired entries go first, then the eldest
+     * for LRU or the least served, eldest on a tie, for LFU.
+     */
+    private void evict(String keep) {
+        long now = System.currentTimeMillis();
+        Map.Entry<String, CachedResponse> victim = null;
+        for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            if (entry.getValue().isExpired(now)) {
+                victim = entry;
+                break;
+            }
+            if (victim == null) {
+                victim = entry;
+                if (evictionPolicy == LRU) {
+                    break;
+                }
+            } else if (entry.getValue().getHits() < victim.getValue().getHits()) {
+                victim = entry;
+            }
+        }
+        if (victim == null) {
+            return;
+        }
+        size -= victim.getValue().getPayloadLength();
+        entries.remove(victim.getKey());
+    }
+}
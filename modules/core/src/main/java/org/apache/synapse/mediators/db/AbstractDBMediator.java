@@ -338,6 +338,22 @@ public abstract class AbstractDBMediator extends AbstractMediator implements Man
      */
     protected PreparedStatement getPreparedStatement(Statement stmnt, Connection con,
                                                      MessageContext msgCtx) throws SQLException {
+        return getPreparedStatement(stmnt, con, getParameterValues(stmnt, msgCtx), msgCtx);
+    }
+
+    /**
+     * Return a Prepared statement for the given Statement object and parameter values, which is ready to be
+     * executed
+     *
+     * @param stmnt  SQL stataement to be executed
+     * @param con    The connection to be used
+     * @param values parameter values resolved with {@link #getParameterValues(Statement, MessageContext)}
+     * @param msgCtx Current message context
+     * @return a PreparedStatement
+     * @throws SQLException on error
+     */
+    protected PreparedStatement getPreparedStatement(Statement stmnt, Connection con, List<String> values,
+                                                     MessageContext msgCtx) throws SQLException {
 
         SynapseLog synLog = getLog(msgCtx);
 
@@ -376,12 +392,35 @@ public abstract class AbstractDBMediator extends AbstractMediator implements Man
         }
 
         PreparedStatement ps = con.prepareStatement(stmnt.getRawStatement());
+        try {
+            setParameters(ps, stmnt, values, msgCtx);
+        } catch (SQLException | RuntimeException e) {
+            // hand the statement back, it may be pooled by the data source
+            ps.close();
+            throw e;
+        }
+
+        if (synLog.isTraceOrDebugEnabled()) {
+            synLog.traceOrDebug("Successfully prepared statement : " + stmnt.getRawStatement() +
+                    " against DataSource : " + getDSName());
+        }
+        return ps;
+    }
+
+    /**
+     * Resolve the values of the statement parameters against the given message
+     *
+     * @param stmnt  SQL statement
+     * @param msgCtx Current message context
+     * @return the parameter values, in the order of the statement parameters
+     */
+    protected List<String> getParameterValues(Statement stmnt, MessageContext msgCtx) {
 
-        // set parameters if any
-        List<Statement.Parameter> params = stmnt.getParameters();
+        SynapseLog synLog = getLog(msgCtx);
+        List<String> values = new ArrayList<String>();
         int column = 1;
 
-        for (Statement.Parameter param : params) {
+        for (Statement.Parameter param : stmnt.getParameters()) {
             if (param == null) {
                 continue;
             }
@@ -393,6 +432,30 @@ public abstract class AbstractDBMediator extends AbstractMediator implements Man
                         " as JDBC Type : " + param.getType() + "(see java.sql.Types for valid " +
                         "types)");
             }
+            values.add(value);
+            column++;
+        }
+        return values;
+    }
+
+    /**
+     * Bind resolved parameter values to a prepared statement
+     *
+     * @param ps     statement prepared from the SQL of stmnt
+     * @param stmnt  SQL statement
+     * @param values parameter values resolved with {@link #getParameterValues(Statement, MessageContext)}
+     * @param msgCtx Current message context, or null when values are bound outside of mediation
+     * @throws SQLException on error
+     */
+    protected void setParameters(PreparedStatement ps, Statement stmnt, List<String> values,
+                                 MessageContext msgCtx) throws SQLException {
+
+        int column = 1;
+        for (Statement.Parameter param : stmnt.getParameters()) {
+            if (param == null) {
+                continue;
+            }
+            String value = values.get(column - 1);
 
             switch (param.getType()) {
                 // according to J2SE 1.5 /docs/guide/jdbc/getstart/mapping.html
@@ -511,16 +574,14 @@ public abstract class AbstractDBMediator extends AbstractMediator implements Man
                             stmnt.getRawStatement() +
                             " used by a DB mediator against DataSource : " + getDSName() +
                             " (see java.sql.Types for valid type values)";
-                    handleException(msg, msgCtx);
+                    if (msgCtx != null) {
+                        handleException(msg, msgCtx);
+                    } else {
+                        handleException(msg);
+                    }
                 }
             }
         }
-
-        if (synLog.isTraceOrDebugEnabled()) {
-            synLog.traceOrDebug("Successfully prepared statement : " + stmnt.getRawStatement() +
-                    " against DataSource : " + getDSName());
-        }
-        return ps;
     }
 
     /**
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.db;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of a DB lookup mediator, keyed by the SQL statement and its bound parameter values. Entries expire after
+ * the configured timeout and the least recently used entry is evicted once the cache is full.
+ */
+class DBLookupCache {
+
+    private final long timeoutNanos;
+    private final int maxSize;
+    private final LinkedHashMap<List<String>, CachedResult> entries;
+
+    DBLookupCache(long timeoutMillis, int maxSize) {
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<List<String>, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, CachedResult> eldest) {
+                return size() > DBLookupCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the properties set by the first row of the statement, an empty map if the statement returned no
+     * rows, or null if the statement has not been cached or the entry expired
+     */
+    synchronized Map<String, String> get(List<String> key) {
+        CachedResult result = entries.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (System.nanoTime() - result.created > timeoutNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return result.properties;
+    }
+
+    synchronized void put(List<String> key, Map<String, String> properties) {
+        entries.put(key, new CachedResult(Collections.unmodifiableMap(properties)));
+    }
+
+    /**
+     * Drop the cached results of the given SQL statement
+     */
+    synchronized void invalidate(String sql) {
+        for (Iterator<List<String>> it = entries.keySet().iterator(); it.hasNext(); ) {
+            if (sql.equals(it.next().get(0))) {
+                it.remove();
+            }
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class CachedResult {
+
+        private final Map<String, String> properties;
+        private final long created = System.nanoTime();
+
+        private CachedResult(Map<String, String> properties) {
+            this.properties = properties;
+        }
+    }
+}
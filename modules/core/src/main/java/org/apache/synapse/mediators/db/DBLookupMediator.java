@@ -22,21 +22,52 @@ package org.apache.synapse.mediators.db;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseLog;
 import org.apache.synapse.commons.transaction.TranscationManger;
+import org.apache.synapse.core.SynapseEnvironment;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Simple database table lookup mediator. Designed only for read/lookup
+ * <p>
+ * Results can optionally be cached, keyed by the SQL statement and its parameter values, which avoids a
+ * database round trip per message for reference data that rarely changes. Lookups made within a distributed
+ * transaction always go to the database.
  */
 public class DBLookupMediator extends AbstractDBMediator {
-	
+
+    public static final int DEFAULT_CACHE_MAX_SIZE = 1000;
+
+    /**
+     * Time in milliseconds a cached result stays valid, caching is disabled when not positive
+     */
+    private long cacheTimeout = -1;
+
+    private int cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+
+    private DBLookupCache resultCache;
+
+    @Override
+    public void init(SynapseEnvironment se) {
+        super.init(se);
+        if (cacheTimeout > 0) {
+            resultCache = new DBLookupCache(cacheTimeout, cacheMaxSize);
+        }
+    }
+
     protected void processStatement(Statement stmnt, MessageContext msgCtx) {
 
         SynapseLog synLog = getLog(msgCtx);
 
+        List<String> cacheKey = null;
+        Map<String, String> results = new LinkedHashMap<String, String>();
+
         // execute the prepared statement, and extract the first result row and
         // set as message context properties, any results that have been specified
         Connection con = null;
@@ -44,6 +75,23 @@ public class DBLookupMediator extends AbstractDBMediator {
         PreparedStatement ps = null;
         boolean threadInTx = false;
         try {
+            List<String> values = getParameterValues(stmnt, msgCtx);
+            if (resultCache != null && !TranscationManger.isThreadHasEnlistment()) {
+                cacheKey = new ArrayList<String>(values.size() + 1);
+                cacheKey.add(stmnt.getRawStatement());
+                cacheKey.addAll(values);
+                Map<String, String> cached = resultCache.get(cacheKey);
+                if (cached != null) {
+                    if (synLog.isTraceOrDebugEnabled()) {
+                        synLog.traceOrDebug("Using the cached result of statement : " + stmnt.getRawStatement());
+                    }
+                    for (Map.Entry<String, String> property : cached.entrySet()) {
+                        msgCtx.setProperty(property.getKey(), property.getValue());
+                    }
+                    return;
+                }
+            }
+
         	if(TranscationManger.isThreadHasEnlistment()){
         		threadInTx = true;
         		try {            	
@@ -59,7 +107,7 @@ public class DBLookupMediator extends AbstractDBMediator {
         	}
         	
         	 
-            ps = getPreparedStatement(stmnt, con, msgCtx);
+            ps = getPreparedStatement(stmnt, con, values, msgCtx);
             rs = ps.executeQuery();
 
             if (rs.next()) {
@@ -85,6 +133,7 @@ public class DBLookupMediator extends AbstractDBMediator {
                                     " returned value : " + obj +
                                     " Setting this as the message property : " + propName);
                         }
+                        results.put(propName, obj.toString());
                         msgCtx.setProperty(propName, obj.toString());
                     } else {
                         if (synLog.isTraceOrDebugEnabled()) {
@@ -99,6 +148,10 @@ public class DBLookupMediator extends AbstractDBMediator {
                         + stmnt.getRawStatement() + " returned 0 rows");
                 }
             }
+
+            if (cacheKey != null) {
+                resultCache.put(cacheKey, results);
+            }
             
         } catch (SQLException e) {
             handleException("SQL Exception occurred while executing statement : " +
@@ -126,6 +179,42 @@ public class DBLookupMediator extends AbstractDBMediator {
         }
     }
 
+    /**
+     * Drop all cached results, for example after the underlying reference data has been updated
+     */
+    public void invalidateCache() {
+        if (resultCache != null) {
+            resultCache.clear();
+        }
+    }
+
+    /**
+     * Drop the cached results of a single SQL statement of this mediator
+     *
+     * @param sql the SQL of the statement, as configured
+     */
+    public void invalidateCache(String sql) {
+        if (resultCache != null) {
+            resultCache.invalidate(sql);
+        }
+    }
+
+    public long getCacheTimeout() {
+        return cacheTimeout;
+    }
+
+    public void setCacheTimeout(long cacheTimeout) {
+        this.cacheTimeout = cacheTimeout;
+    }
+
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
     @Override
     public boolean isContentAltering() {
         return true;
@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.db;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects the rows written by a DB report mediator across messages and writes them as JDBC batches. A batch is
+ * written once it is full or when the batch interval elapses, whichever comes first, so a row never waits longer
+ * than the interval. When the database can not keep up and the backlog reaches a few batches, the mediating
+ * thread writes a batch itself instead of queueing more rows.
+ */
+class DBReportBatcher {
+
+    private static final Log log = LogFactory.getLog(DBReportBatcher.class);
+
+    /**
+     * Number of batches that may be queued before mediation threads start writing
+     */
+    private static final int MAX_PENDING_BATCHES = 4;
+
+    private final DBReportMediator mediator;
+    private final int batchSize;
+    private final BlockingQueue<Row> pending;
+    private final ScheduledExecutorService flushExecutor;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Error while writing batched rows against DataSource : " + mediator.getDSName(), e);
+            }
+        }
+    };
+
+    DBReportBatcher(DBReportMediator mediator, int batchSize, long batchInterval) {
+        this.mediator = mediator;
+        this.batchSize = batchSize;
+        this.pending = new LinkedBlockingQueue<Row>(batchSize * MAX_PENDING_BATCHES);
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "DBReportBatcher-" + DBReportBatcher.this.mediator.getDSName());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        flushExecutor.scheduleWithFixedDelay(flushTask, batchInterval, batchInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a row to be written
+     *
+     * @param statement the statement to execute
+     * @param values    parameter values resolved against the message
+     */
+    void add(Statement statement, List<String> values) {
+        Row row = new Row(statement, values);
+        while (!pending.offer(row)) {
+            flush();
+        }
+        if (pending.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(flushTask);
+        }
+    }
+
+    /**
+     * Write all queued rows
+     */
+    synchronized void flush() {
+        List<Row> rows = new ArrayList<Row>(batchSize);
+        while (pending.drainTo(rows, batchSize) > 0) {
+            write(rows);
+            rows.clear();
+        }
+    }
+
+    /**
+     * Stop the periodic flush and write the rows still queued
+     */
+    void close() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    private void write(List<Row> rows) {
+        Connection con = null;
+        try {
+            con = mediator.getDataSource().getConnection();
+            int start = 0;
+            while (start < rows.size()) {
+                // consecutive rows of the same statement share a JDBC batch, keeping the order of the messages
+                Statement statement = rows.get(start).statement;
+                int end = start + 1;
+                while (end < rows.size() && rows.get(end).statement == statement) {
+                    end++;
+                }
+                executeBatch(con, statement, rows.subList(start, end));
+                start = end;
+            }
+            if (!con.getAutoCommit()) {
+                con.commit();
+            }
+        } catch (SQLException e) {
+            log.error("SQL Error while writing a batch of " + rows.size() + " row/s against DataSource : "
+                    + mediator.getDSName(), e);
+        } finally {
+            if (con != null) {
+                try {
+                    con.close();
+                } catch (SQLException ignore) {
+                }
+            }
+        }
+    }
+
+    private void executeBatch(Connection con, Statement statement, List<Row> rows) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(statement.getRawStatement());
+        try {
+            int added = 0;
+            for (Row row : rows) {
+                try {
+                    mediator.setParameters(ps, statement, row.values, null);
+                    ps.addBatch();
+                    added++;
+                } catch (RuntimeException e) {
+                    // a malformed value must not take the rest of the batch down with it
+                    log.error("Dropping a row with parameter values " + row.values + " for statement : "
+                            + statement.getRawStatement(), e);
+                    ps.clearParameters();
+                }
+            }
+            if (added > 0) {
+                ps.executeBatch();
+                if (log.isDebugEnabled()) {
+                    log.debug("Wrote a batch of " + added + " row/s using statement : "
+                            + statement.getRawStatement());
+                }
+            }
+        } finally {
+            ps.close();
+        }
+    }
+
+    private static final class Row {
+
+        private final Statement statement;
+        private final List<String> values;
+
+        private Row(Statement statement, List<String> values) {
+            this.statement = statement;
+            this.values = values;
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.apache.synapse.mediators.db;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseLog;
 import org.apache.synapse.commons.transaction.TranscationManger;
+import org.apache.synapse.core.SynapseEnvironment;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -29,11 +30,17 @@ import java.sql.Connection;
 
 /**
  * A mediator that writes (i.e. inserts one row) to a table using message information
+ * <p>
+ * With a batch size larger than one, rows are queued and written as JDBC batches across messages, at the latest
+ * after the batch interval. Batched writes happen after the message has moved on, so failures are only logged and
+ * the modified row count property is not set. Messages mediated within a transaction are always written directly.
  */
 public class DBReportMediator extends AbstractDBMediator {
 
     public static final String MODIFIED_ROW_COUNT_PROP_NAME = "DBREPORT_MODIFIED_RAW_COUNT";
 
+    public static final long DEFAULT_BATCH_INTERVAL = 1000;
+
     public boolean isUseTransaction() {
         return useTransaction;
     }
@@ -46,10 +53,54 @@ public class DBReportMediator extends AbstractDBMediator {
     // default do not participate in a distribute tx
     boolean useTransaction = false;
 
+    /**
+     * Number of rows written per batch, rows are written one message at a time when not larger than one
+     */
+    private int batchSize = 1;
+
+    /**
+     * Maximum time in milliseconds a row waits in an incomplete batch
+     */
+    private long batchInterval = DEFAULT_BATCH_INTERVAL;
+
+    private DBReportBatcher batcher;
+
+    @Override
+    public void init(SynapseEnvironment se) {
+        super.init(se);
+        if (batchSize > 1 && !useTransaction) {
+            batcher = new DBReportBatcher(this, batchSize, batchInterval);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (batcher != null) {
+            batcher.close();
+            batcher = null;
+        }
+        super.destroy();
+    }
+
     protected void processStatement(Statement stmnt, MessageContext msgCtx) {
 
 
         SynapseLog synLog = getLog(msgCtx);
+
+        if (batcher != null && !TranscationManger.isThreadHasEnlistment()) {
+            try {
+                batcher.add(stmnt, getParameterValues(stmnt, msgCtx));
+            } catch (Exception e) {
+                handleException("Error while queueing a row for statement : " + stmnt.getRawStatement() +
+                                " against DataSource : " + getDSName(), e, msgCtx);
+            }
+            if (synLog.isTraceOrDebugEnabled()) {
+                synLog.traceOrDebug("Queued a row for batched statement : " + stmnt.getRawStatement());
+            }
+            return;
+        }
+
+        PreparedStatement ps = null;
         Connection con = null;
         boolean threadInTx = false;
         try {
@@ -71,7 +122,7 @@ public class DBReportMediator extends AbstractDBMediator {
         	}
            
 
-            PreparedStatement ps = getPreparedStatement(stmnt, con, msgCtx);
+            ps = getPreparedStatement(stmnt, con, msgCtx);
             int count = ps.executeUpdate();
 
             if (count > 0) {
@@ -103,6 +154,12 @@ public class DBReportMediator extends AbstractDBMediator {
             handleException("Error while executing insert statement : " + stmnt.getRawStatement() +
                             " against DataSource : " + getDSName(), e, msgCtx);
         } finally {
+            if (ps != null) {
+                try {
+                    ps.close();
+                } catch (SQLException ignore) {
+                }
+            }
             if (con != null && !(threadInTx || useTransaction)) {
                 try {
                     con.close();
@@ -112,6 +169,31 @@ public class DBReportMediator extends AbstractDBMediator {
         }
     }
 
+    /**
+     * Write the rows queued for batching right away
+     */
+    public void flushBatch() {
+        if (batcher != null) {
+            batcher.flush();
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchInterval() {
+        return batchInterval;
+    }
+
+    public void setBatchInterval(long batchInterval) {
+        this.batchInterval = batchInterval;
+    }
+
     protected void closeConnection(long key) {
         TranscationManger.removeConnectionUsed(key);
     }
@@ -24,13 +24,14 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.FaultHandler;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseLog;
+import org.apache.synapse.commons.util.HashedWheelTimer;
 import org.apache.synapse.core.SynapseEnvironment;
 import org.apache.synapse.mediators.eip.EIPConstants;
 import org.apache.synapse.mediators.v2.ScatterGather;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -38,10 +39,13 @@ import java.util.concurrent.locks.ReentrantLock;
  * the aggregation properties and the messages collected during aggregation. This class also
  * times out itself after the timeout expires it
  */
-public class Aggregate extends TimerTask {
+public class Aggregate implements Runnable {
 
     private static final Log log = LogFactory.getLog(Aggregate.class);
 
+    /** Delay before the timeout retries to acquire the lock of an aggregate which is collecting a message */
+    private static final long LOCK_RETRY_MILLIS = 1;
+
     private long timeoutMillis = 0;
     /** The time in millis at which this aggregation should be considered as expired */
     private long expiryTimeMillis = 0;
@@ -55,8 +59,10 @@ public class Aggregate extends TimerTask {
     private ScatterGather scatterGatherMediator = null;
     private List<MessageContext> messages = new ArrayList<MessageContext>();
     private ReentrantLock lock = new ReentrantLock();
-    private boolean completed = false;
+    private volatile boolean completed = false;
     private SynapseEnvironment synEnv = null;
+    /** Handle of the timeout, when scheduled on the shared aggregate timeout scheduler */
+    private volatile HashedWheelTimer.Timeout timeout;
 
     /**
      * Fault handler for the aggregate mediator
@@ -253,23 +259,45 @@ public class Aggregate extends TimerTask {
         this.expiryTimeMillis = expiryTimeMillis;
     }
 
+    /**
+     * Schedules the timeout of this aggregation on the shared aggregate timeout scheduler.
+     *
+     * @param delayMillis timeout of the aggregation
+     */
+    public void scheduleTimeout(long delayMillis) {
+        timeout = AggregateRegistry.getTimeoutScheduler().schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels the scheduled timeout of this aggregation.
+     *
+     * @return true if the timeout was cancelled before it expired
+     */
+    public boolean cancel() {
+        HashedWheelTimer.Timeout scheduledTimeout = timeout;
+        return scheduledTimeout != null && scheduledTimeout.cancel();
+    }
+
+    /**
+     * Times out this aggregation, invoked by the shared aggregate timeout scheduler.
+     */
     public void run() {
-        while (true) {
-            if (completed) {
-                break;
-            }
-            if (getLock()) {
-                try {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Time : " + System.currentTimeMillis() + " and this aggregator " +
-                                "expired at : " + expiryTimeMillis);
-                    }
-                    synEnv.getExecutorService().execute(new AggregateTimeout(this));
-                    break;
-                } finally {
-                    releaseLock();
+        if (completed) {
+            return;
+        }
+        if (getLock()) {
+            try {
+                if (log.isDebugEnabled()) {
+                    log.debug("Time : " + System.currentTimeMillis() + " and this aggregator " +
+                            "expired at : " + expiryTimeMillis);
                 }
+                synEnv.getExecutorService().execute(new AggregateTimeout(this));
+            } finally {
+                releaseLock();
             }
+        } else {
+            // the timeout scheduler thread is shared by all aggregates, retry later instead of spinning on the lock
+            scheduleTimeout(LOCK_RETRY_MILLIS);
         }
     }
 
@@ -297,9 +325,11 @@ public class Aggregate extends TimerTask {
             try {
                 if (aggregateMediator != null) {
                     log.warn("Aggregate mediator timeout occurred.");
+                    aggregateMediator.getAggregateRegistry().recordTimeout();
                     aggregateMediator.completeAggregate(aggregate);
                 } else {
                     log.warn("Scatter Gather mediator timeout occurred.");
+                    scatterGatherMediator.getAggregateRegistry().recordTimeout();
                     scatterGatherMediator.completeAggregate(aggregate);
                 }
             } catch (Exception ex) {
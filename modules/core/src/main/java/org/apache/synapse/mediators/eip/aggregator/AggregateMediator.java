@@ -114,17 +114,13 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
     private SequenceMediator onCompleteSequence = null;
 
     /** The active aggregates currently being processd */
-    private Map<String, Aggregate> activeAggregates =
-        Collections.synchronizedMap(new HashMap<String, Aggregate>());
+    private final AggregateRegistry<Aggregate> activeAggregates = new AggregateRegistry<>();
 
     private String id = null;
 
     /** Property which contains the Enclosing element of the aggregated message */
     private String enclosingElementPropertyName = null;
 
-    /** Lock object to provide the synchronized access to the activeAggregates on checking */
-    private final Object lock = new Object();
-
     /** Reference to the synapse environment */
     private SynapseEnvironment synapseEnv;
 
@@ -223,49 +219,36 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
             }
             if (result != null) {
 
+                String correlation = correlateExpression.toString();
                 while (aggregate == null) {
 
-                    synchronized (lock) {
-
-                        if (activeAggregates.containsKey(correlateExpression.toString())) {
+                    aggregate = activeAggregates.get(correlation);
+                    if (aggregate != null) {
+                        if (!aggregate.getLock()) {
+                            aggregate = null;
+                        }
+                        continue;
+                    }
 
-                            aggregate = activeAggregates.get(correlateExpression.toString());
-                            if (aggregate != null) {
-                                if (!aggregate.getLock()) {
-                                    aggregate = null;
-                                }
-                            }
+                    if (synLog.isTraceOrDebugEnabled()) {
+                        synLog.traceOrDebug("Creating new Aggregator - " +
+                                (completionTimeoutMillis > 0 ? "expires in : "
+                                        + (completionTimeoutMillis / 1000) + "secs" :
+                                        "without expiry time"));
+                    }
+                    if (isAggregationCompleted(synCtx)) {
+                        return false;
+                    }
 
-                        } else {
+                    Double minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
+                    Double maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
 
-                            if (synLog.isTraceOrDebugEnabled()) {
-                                synLog.traceOrDebug("Creating new Aggregator - " +
-                                        (completionTimeoutMillis > 0 ? "expires in : "
-                                                + (completionTimeoutMillis / 1000) + "secs" :
-                                                "without expiry time"));
-                            }
-                            if (isAggregationCompleted(synCtx)) {
-                                return false;
-                            }
-
-                            Double minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
-                            Double maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
-                    
-                            aggregate = new Aggregate(
-                                    synCtx.getEnvironment(),
-                                    correlateExpression.toString(),
-                                    completionTimeoutMillis,
-                                    minMsg.intValue(),
-                                    maxMsg.intValue(), this, synCtx.getFaultStack().peek());
-
-                            if (completionTimeoutMillis > 0) {
-                                synCtx.getConfiguration().getSynapseTimer().
-                                        schedule(aggregate, completionTimeoutMillis);
-                            }
-                            aggregate.getLock();
-                            activeAggregates.put(correlateExpression.toString(), aggregate);
-                        }
-                    }
+                    aggregate = registerAggregate(new Aggregate(
+                            synCtx.getEnvironment(),
+                            correlation,
+                            completionTimeoutMillis,
+                            minMsg.intValue(),
+                            maxMsg.intValue(), this, synCtx.getFaultStack().peek()));
                 }
 
             } else if (synCtx.getProperty(correlationIdName) != null) {
@@ -280,65 +263,42 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
                 if (o != null && o instanceof String) {
                     correlation = (String) o;
                     while (aggregate == null) {
-                        synchronized (lock) {
-                            if (activeAggregates.containsKey(correlation)) {
-                                aggregate = activeAggregates.get(correlation);
-                                if (aggregate != null) {
-                                    if (!aggregate.getLock()) {
-                                        aggregate = null;
-                                    }
-                                } else {
-                                    break;
-                                }
-                            } else {
-                                if (synLog.isTraceOrDebugEnabled()) {
-                                    synLog.traceOrDebug("Creating new Aggregator - " +
-                                            (completionTimeoutMillis > 0 ? "expires in : "
-                                                    + (completionTimeoutMillis / 1000) + "secs" :
-                                                    "without expiry time"));
-                                }
+                        aggregate = activeAggregates.get(correlation);
+                        if (aggregate != null) {
+                            if (!aggregate.getLock()) {
+                                aggregate = null;
+                            }
+                            continue;
+                        }
 
-                                if (isAggregationCompleted(synCtx)) {
-                                    return false;
-                                }
+                        if (synLog.isTraceOrDebugEnabled()) {
+                            synLog.traceOrDebug("Creating new Aggregator - " +
+                                    (completionTimeoutMillis > 0 ? "expires in : "
+                                            + (completionTimeoutMillis / 1000) + "secs" :
+                                            "without expiry time"));
+                        }
 
-                                Double minMsg = -1.0;
-                                if (minMessagesToComplete != null) {
-                                    minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
-                                }
-                                Double maxMsg = -1.0;
-                                if (maxMessagesToComplete != null) {
-                                    maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
-                                }
+                        if (isAggregationCompleted(synCtx)) {
+                            return false;
+                        }
 
-                                aggregate = new Aggregate(
-                                        synCtx.getEnvironment(),
-                                        correlation,
-                                        completionTimeoutMillis,
-                                        minMsg.intValue(),
-                                        maxMsg.intValue(), this, synCtx.getFaultStack().peek());
-
-                                if (completionTimeoutMillis > 0) {
-                                    synchronized(aggregate) {
-                                        if (!aggregate.isCompleted()) {
-                                            try {
-                                                synCtx.getConfiguration().getSynapseTimer().
-                                                        schedule(aggregate, completionTimeoutMillis);
-                                            } catch (IllegalStateException e) {
-                                                log.warn("Synapse timer already cancelled. Resetting Synapse timer");
-                                                synCtx.getConfiguration().setSynapseTimer(new Timer(true));
-                                                synCtx.getConfiguration().getSynapseTimer().
-                                                        schedule(aggregate, completionTimeoutMillis);
-                                            }
-                                        }
-                                    }
-                                }
-                                aggregate.getLock();
-                                activeAggregates.put(correlation, aggregate);
-                            }
+                        Double minMsg = -1.0;
+                        if (minMessagesToComplete != null) {
+                            minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
+                        }
+                        Double maxMsg = -1.0;
+                        if (maxMessagesToComplete != null) {
+                            maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
                         }
+
+                        aggregate = registerAggregate(new Aggregate(
+                                synCtx.getEnvironment(),
+                                correlation,
+                                completionTimeoutMillis,
+                                minMsg.intValue(),
+                                maxMsg.intValue(), this, synCtx.getFaultStack().peek()));
                     }
-                    
+
                 } else {
                     synLog.traceOrDebug("Unable to find aggrgation correlation property");
                     return true;
@@ -393,6 +353,24 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
         return false;
     }
 
+    /**
+     * Registers a new aggregate locked by the current thread and schedules its timeout.
+     *
+     * @param aggregate the new aggregate
+     * @return the registered aggregate, or null if another message registered an aggregate for the correlation first
+     */
+    private Aggregate registerAggregate(Aggregate aggregate) {
+        aggregate.getLock();
+        if (activeAggregates.register(aggregate.getCorrelation(), aggregate) != null) {
+            aggregate.releaseLock();
+            return null;
+        }
+        if (completionTimeoutMillis > 0) {
+            aggregate.scheduleTimeout(completionTimeoutMillis);
+        }
+        return aggregate;
+    }
+
     /*
      * Check whether aggregation is already completed by time-out/receiving required number of min/max messages,
       * and we are receiving a message after the aggregation is completed.
@@ -463,7 +441,7 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
         }
 
         // cancel the timer
-        synchronized(this) {
+        synchronized(aggregate) {
             if (!aggregate.isCompleted()) {
                 aggregate.cancel();
                 aggregate.setCompleted(true);
@@ -517,7 +495,7 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
         }
 
         aggregate.clear();
-        activeAggregates.remove(aggregate.getCorrelation());
+        activeAggregates.complete(aggregate.getCorrelation(), aggregate);
 
         if ((correlateExpression != null &&
             correlateExpression.toString().equals(aggregate.getCorrelation())) ||
@@ -783,6 +761,10 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
     }
 
     public Map getActiveAggregates() {
+        return activeAggregates.asMap();
+    }
+
+    public AggregateRegistry<Aggregate> getAggregateRegistry() {
         return activeAggregates;
     }
 
@@ -858,7 +840,7 @@ public class AggregateMediator extends AbstractMediator implements ManagedLifecy
     
     private void handleException(Aggregate aggregate, String msg, Exception exception, MessageContext msgContext) {
         aggregate.clear();
-        activeAggregates.remove(aggregate.getCorrelation());
+        activeAggregates.remove(aggregate.getCorrelation(), aggregate);
         if (exception != null) {
             super.handleException(msg, exception, msgContext);
         } else {
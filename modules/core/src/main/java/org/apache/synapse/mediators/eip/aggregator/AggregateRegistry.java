@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.mediators.eip.aggregator;
+
+import org.apache.synapse.commons.util.HashedWheelTimer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the active aggregates of an aggregating mediator (Aggregate, Scatter Gather and ForEach), keyed by their
+ * correlation.
+ * <p>
+ * The aggregates are kept in a {@link ConcurrentHashMap}, which locks per hash bin, so messages of different
+ * aggregations never contend with each other. Creating an aggregate is a {@link #register(String, Object)} call
+ * which only succeeds for the first message of the correlation, replacing the mediator wide lock used before.
+ * <p>
+ * Aggregation timeouts of all mediators are scheduled on a shared {@link HashedWheelTimer}, see
+ * {@link #getTimeoutScheduler()}.
+ *
+ * @param <A> type of the aggregate
+ */
+public class AggregateRegistry<A> {
+
+    /** Tick of the shared timeout wheel, which is the precision of the aggregation timeouts */
+    private static final long TIMEOUT_TICK_MILLIS = 10;
+
+    /** Buckets of the shared timeout wheel, one rotation covers a bit more than 40 seconds */
+    private static final int TIMEOUT_TICKS_PER_WHEEL = 4096;
+
+    private final ConcurrentHashMap<String, Registration<A>> activeAggregates = new ConcurrentHashMap<>();
+
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder totalCompletionTimeNanos = new LongAdder();
+
+    private static class TimeoutSchedulerHolder {
+        private static final HashedWheelTimer INSTANCE = new HashedWheelTimer("AggregateTimeoutScheduler",
+                TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS, TIMEOUT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * @return the timer on which the aggregation timeouts are scheduled
+     */
+    public static HashedWheelTimer getTimeoutScheduler() {
+        return TimeoutSchedulerHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the active aggregate of the given correlation.
+     *
+     * @param correlation correlation of the aggregate
+     * @return the aggregate or null if there is no active aggregate for the correlation
+     */
+    public A get(String correlation) {
+        Registration<A> registration = activeAggregates.get(correlation);
+        return registration != null ? registration.aggregate : null;
+    }
+
+    /**
+     * Registers a new aggregate unless there already is an active aggregate for the correlation.
+     *
+     * @param correlation correlation of the aggregate
+     * @param aggregate   the new aggregate
+     * @return the already active aggregate, or null if the given aggregate was registered
+     */
+    public A register(String correlation, A aggregate) {
+        Registration<A> existing = activeAggregates.putIfAbsent(correlation, new Registration<>(aggregate));
+        if (existing == null) {
+            createdCount.increment();
+            return null;
+        }
+        return existing.aggregate;
+    }
+
+    /**
+     * Removes a completed aggregate and records its completion time.
+     *
+     * @param correlation correlation of the aggregate
+     * @param aggregate   the completed aggregate
+     */
+    public void complete(String correlation, A aggregate) {
+        Registration<A> registration = unregister(correlation, aggregate);
+        if (registration != null) {
+            completedCount.increment();
+            totalCompletionTimeNanos.add(System.nanoTime() - registration.startTime);
+        }
+    }
+
+    /**
+     * Removes an aggregate which failed without completing.
+     *
+     * @param correlation correlation of the aggregate
+     * @param aggregate   the failed aggregate
+     */
+    public void remove(String correlation, A aggregate) {
+        unregister(correlation, aggregate);
+    }
+
+    /**
+     * Removes the registration of the given aggregate, leaving a newer aggregate of the same correlation in place.
+     */
+    private Registration<A> unregister(String correlation, A aggregate) {
+        Registration<A> registration = activeAggregates.get(correlation);
+        if (registration != null && registration.aggregate == aggregate
+                && activeAggregates.remove(correlation, registration)) {
+            return registration;
+        }
+        return null;
+    }
+
+    /**
+     * Records an aggregation timeout.
+     */
+    public void recordTimeout() {
+        timeoutCount.increment();
+    }
+
+    /**
+     * @return a snapshot of the active aggregates
+     */
+    public Map<String, A> asMap() {
+        Map<String, A> aggregates = new HashMap<>();
+        for (Map.Entry<String, Registration<A>> entry : activeAggregates.entrySet()) {
+            aggregates.put(entry.getKey(), entry.getValue().aggregate);
+        }
+        return aggregates;
+    }
+
+    public int getActiveCount() {
+        return activeAggregates.size();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    /**
+     * @return average time in milliseconds from the creation of an aggregate to its completion
+     */
+    public double getAverageCompletionTime() {
+        long completed = completedCount.sum();
+        if (completed == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMicros(totalCompletionTimeNanos.sum()) / 1000.0 / completed;
+    }
+
+    private static class Registration<A> {
+
+        private final A aggregate;
+        private final long startTime = System.nanoTime();
+
+        private Registration(A aggregate) {
+            this.aggregate = aggregate;
+        }
+    }
+}
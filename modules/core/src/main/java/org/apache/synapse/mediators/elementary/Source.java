@@ -21,6 +21,7 @@ package org.apache.synapse.mediators.elementary;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import org.apache.axiom.om.*;
 import org.apache.axiom.om.impl.llom.OMTextImpl;
@@ -39,6 +40,7 @@ import org.apache.synapse.config.xml.SynapsePath;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.util.InlineExpressionUtil;
 import org.apache.synapse.util.MessageHelper;
+import org.apache.synapse.util.synapse.expression.context.JsonDocumentCache;
 import org.apache.synapse.util.xpath.SynapseJsonPath;
 import org.jaxen.JaxenException;
 import java.util.ArrayList;
@@ -313,13 +315,19 @@ public class Source {
         switch (sourceType) {
             case EnrichMediator.CUSTOM: {
                 assert jsonPath != null : "JSONPath should be non null in case of CUSTOM";
-                String jsonString = JsonUtil.jsonPayloadToString(context);
-                object = JsonPath.parse(jsonString).read(jsonPath);
+                JsonDocumentCache documentCache = ((Axis2MessageContext) synCtx).getJsonDocumentCache();
+                DocumentContext document = documentCache.parsePayload(JsonUtil.getJsonPayload(context));
+                object = (JsonElement) JsonDocumentCache.detach(document.read(JsonDocumentCache.compile(jsonPath)));
                 if (!clone) {
                     // when cloning is false, remove the element in JSON path from payload
-                    String modifiedJsonString = JsonPath.parse(jsonString).delete(jsonPath).jsonString();
                     try {
-                        JsonUtil.getNewJsonPayload(context, modifiedJsonString, true, true);
+                        document.delete(JsonDocumentCache.compile(jsonPath));
+                    } catch (RuntimeException e) {
+                        documentCache.invalidatePayload();
+                        throw e;
+                    }
+                    try {
+                        documentCache.setPayloadDocument(context, document, document.jsonString());
                     } catch (Exception ex) {
                         synLog.error("Error while setting json payload, when cloning is false");
                     }
@@ -55,6 +55,7 @@ import org.apache.synapse.mediators.Value;
 import org.apache.synapse.mediators.eip.EIPUtils;
 import org.apache.synapse.util.MediatorEnrichUtil;
 import org.apache.synapse.util.InlineExpressionUtil;
+import org.apache.synapse.util.synapse.expression.context.JsonDocumentCache;
 import org.apache.synapse.util.synapse.expression.constants.ExpressionConstants;
 import org.apache.synapse.util.xpath.SynapseJsonPath;
 import org.apache.synapse.util.xpath.SynapseXPath;
@@ -620,9 +621,16 @@ public class Target {
 
         org.apache.axis2.context.MessageContext axis2MessageCtx =
                 ((Axis2MessageContext) synapseContext).getAxis2MessageContext();
-        String payload = JsonUtil.jsonPayloadToString(((Axis2MessageContext) synapseContext).getAxis2MessageContext());
-        DocumentContext doc = JsonPath.parse(payload).renameKey(jsonPath, keyName, newKeyName);
-        JsonUtil.getNewJsonPayload(axis2MessageCtx, doc.jsonString(), true, true);
+        JsonDocumentCache documentCache = ((Axis2MessageContext) synapseContext).getJsonDocumentCache();
+        try {
+            DocumentContext doc = documentCache.parsePayload(JsonUtil.getJsonPayload(axis2MessageCtx))
+                    .renameKey(jsonPath, keyName, newKeyName);
+            documentCache.setPayloadDocument(axis2MessageCtx, doc, doc.jsonString());
+        } catch (RuntimeException e) {
+            // the shared document may have been changed partially
+            documentCache.invalidatePayload();
+            throw e;
+        }
     }
 
     /**
@@ -661,22 +669,39 @@ public class Target {
 
         assert JsonUtil.hasAJsonPayload(context) : "Message Context does not contain a JSON payload";
 
-        String jsonString = JsonUtil.jsonPayloadToString(context);
+        // the payload is changed in its parsed form, which is handed over to the next reader of the payload
+        JsonDocumentCache documentCache = ((Axis2MessageContext) synapseContext).getJsonDocumentCache();
+        DocumentContext document = null;
         String newJsonString = "";
 
-        if (action.equalsIgnoreCase(ACTION_REPLACE)) {
-            newJsonString = JsonPath.parse(jsonString).set(expression, sourceNode).jsonString();
-        } else if (action.equalsIgnoreCase(ACTION_ADD_CHILD)) {
-            newJsonString = getNewJSONString(sourceNode, expression, jsonString, isRootPath);
-        } else if (action.equalsIgnoreCase(ACTION_ADD_SIBLING)) {
-            log.error("Action sibling is not supported. Please use child action instead");
-        } else {
-            // invalid action
-            log.error("Invalid action set: " + action);
+        try {
+            if (action.equalsIgnoreCase(ACTION_REPLACE)) {
+                document = documentCache.parsePayload(JsonUtil.getJsonPayload(context))
+                        .set(expression, JsonDocumentCache.detach(sourceNode));
+                newJsonString = document.jsonString();
+            } else if (action.equalsIgnoreCase(ACTION_ADD_CHILD)) {
+                document = documentCache.parsePayload(JsonUtil.getJsonPayload(context));
+                JsonElement receivingElement = addChild(sourceNode, expression, document, isRootPath);
+                if (isRootPath) {
+                    newJsonString = receivingElement.toString();
+                    document = JsonPath.parse(receivingElement);
+                } else {
+                    newJsonString = document.json().toString();
+                }
+            } else if (action.equalsIgnoreCase(ACTION_ADD_SIBLING)) {
+                log.error("Action sibling is not supported. Please use child action instead");
+            } else {
+                // invalid action
+                log.error("Invalid action set: " + action);
+            }
+        } catch (RuntimeException e) {
+            // the shared document may have been changed partially
+            documentCache.invalidatePayload();
+            throw e;
         }
         try {
             if (!newJsonString.trim().isEmpty()) {
-                JsonUtil.getNewJsonPayload(context, newJsonString, true, true);
+                documentCache.setPayloadDocument(context, document, newJsonString);
             }
         } catch (AxisFault axisFault) {
             log.error("Error occurred while setting new JSON payload", axisFault);
@@ -684,19 +709,17 @@ public class Target {
     }
 
     /**
-     * This method will add the sourceNode to location pointed by expression in the jsonString.
+     * This method will add the sourceNode to location pointed by expression in the payload document.
      *
      * @param sourceNode JsonElement which needs to be inserted.
      * @param expression Json-path which points the location to be inserted.
-     * @param jsonString Target payload as a string.
+     * @param document   Target payload document, updated in place.
      * @param isRootPath Flag which indicates expression is root or not
-     * @return formatted string.
+     * @return the element the source node was added to.
      */
-    private String getNewJSONString(Object sourceNode, String expression, String jsonString,
-                                    boolean isRootPath) {
-        String newJsonString;
-        DocumentContext documentContext = JsonPath.parse(jsonString);
-        JsonElement receivingElement = documentContext.read(expression);
+    private JsonElement addChild(Object sourceNode, String expression, DocumentContext document,
+                                 boolean isRootPath) {
+        JsonElement receivingElement = document.read(expression);
         JsonElement sourceElement = EIPUtils.tryParseJsonString(jsonParser, sourceNode.toString());
         if (receivingElement.isJsonArray()) {
             receivingElement.getAsJsonArray().add(sourceElement);
@@ -706,14 +729,10 @@ public class Target {
             log.error("Cannot append since the target element is not a JSON array or JSONObject: " +
                     receivingElement.toString());
         }
-        if (isRootPath) {
-            newJsonString = receivingElement.toString();
-        } else {
-            documentContext.set(expression, receivingElement);
-            newJsonString = documentContext.json().toString();
+        if (!isRootPath) {
+            document.set(expression, receivingElement);
         }
-
-        return newJsonString;
+        return receivingElement;
     }
 
     /**
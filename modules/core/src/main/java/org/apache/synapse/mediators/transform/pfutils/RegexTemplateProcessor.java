@@ -37,8 +37,10 @@ import org.apache.synapse.util.InlineExpressionUtil;
 import org.apache.synapse.util.xpath.SynapseExpression;
 import org.jaxen.JaxenException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
@@ -57,11 +59,18 @@ public class RegexTemplateProcessor extends TemplateProcessor {
     private final Gson gson = new Gson();
     private final Map<String, SynapseExpression> inlineExpressionCache = new ConcurrentHashMap<>();
 
+    // last compiled template, the format of a mediator rarely changes between messages
+    private volatile CompiledTemplate compiledTemplate;
+    // length of the last result, used to size the output buffer of the next one
+    private volatile int resultLength;
+
     @Override
     public String processTemplate(String template, String mediaType, MessageContext synCtx) {
 
-        StringBuffer result = new StringBuffer();
-        replace(template, result, mediaType, synCtx);
+        CompiledTemplate compiled = compile(template, mediaType);
+        StringBuilder result = new StringBuilder(Math.max(resultLength, compiled.source.length()));
+        replace(compiled, result, mediaType, synCtx);
+        resultLength = result.length();
         return result.toString();
     }
 
@@ -80,37 +89,56 @@ public class RegexTemplateProcessor extends TemplateProcessor {
     }
 
     /**
-     * Replaces the payload format with SynapsePath arguments which are evaluated using getArgValues().
+     * Returns the segments of the given template, scanning it only if it differs from the last compiled one.
+     *
+     * @param template  payload format
+     * @param mediaType media type of the payload
+     * @return compiled template
+     */
+    private CompiledTemplate compile(String template, String mediaType) {
+
+        boolean padded = !(JSON_TYPE.equals(mediaType) || TEXT_TYPE.equals(mediaType));
+        CompiledTemplate compiled = compiledTemplate;
+        if (compiled == null || compiled.padded != padded || !compiled.template.equals(template)) {
+            compiled = new CompiledTemplate(template, padded, pattern);
+            compiledTemplate = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * Replaces the placeholders of the compiled payload format with the evaluated inline expressions and the
+     * SynapsePath arguments which are evaluated using getArgValues(). The values are escaped for the payload only
+     * and are appended as they are.
      *
-     * @param format
-     * @param result
-     * @param synCtx
+     * @param template  compiled payload format
+     * @param result    buffer to write the payload to
+     * @param mediaType media type of the payload
+     * @param synCtx    message context
      */
-    private void replace(String format, StringBuffer result, String mediaType, MessageContext synCtx) {
+    private void replace(CompiledTemplate template, StringBuilder result, String mediaType,
+                         MessageContext synCtx) {
 
-        Map<String, Object> inlineExpressionResults = new ConcurrentHashMap<>();
-        HashMap<String, ArgumentDetails>[] argValues = getArgValues(mediaType, synCtx);
+        Object[] inlineExpressionResults = new Object[template.expressionCount];
+        HashMap<String, ArgumentDetails>[] argValues = getArgValues(mediaType, synCtx, false);
         HashMap<String, ArgumentDetails> replacement;
         Map.Entry<String, ArgumentDetails> replacementEntry;
         String replacementValue;
-        Matcher matcher;
+        String source = template.source;
+        int tail = template.tail;
 
-        if (JSON_TYPE.equals(mediaType) || TEXT_TYPE.equals(mediaType)) {
-            matcher = pattern.matcher(format);
-        } else {
-            matcher = pattern.matcher("<pfPadding>" + format + "</pfPadding>");
-        }
         try {
-            while (matcher.find()) {
-                if (matcher.group(1) != null) {
+            for (Placeholder placeholder : template.placeholders) {
+                // where the remainder of the format starts if this placeholder can not be replaced
+                tail = placeholder.literalStart;
+                if (placeholder.kind == Placeholder.QUOTED_EXPRESSION) {
                     // Handle "${...}" pattern (with quotes)
-                    String expression = matcher.group(1);
-                    Object expressionResult = evaluateExpression(expression, synCtx, inlineExpressionResults);
+                    Object expressionResult = evaluateExpression(placeholder, synCtx, inlineExpressionResults);
                     if (expressionResult instanceof JsonPrimitive) {
                         replacementValue = prepareJSONPrimitiveReplacementValue(expressionResult, mediaType);
                     } else if (expressionResult instanceof JsonElement) {
                         // Escape JSON object and Arrays since we need to consider it as
-                        replacementValue = escapeJson(Matcher.quoteReplacement(gson.toJson(expressionResult)));
+                        replacementValue = escapeJsonSpecialChars(gson.toJson(expressionResult));
                         if (XML_TYPE.equals(mediaType)) {
                             replacementValue = convertJsonToXML(replacementValue);
                         }
@@ -121,59 +149,51 @@ public class RegexTemplateProcessor extends TemplateProcessor {
                         } else if (JSON_TYPE.equals(mediaType)) {
                             if (isXML(replacementValue)) {
                                 // consider the replacement value as a literal XML
-                                replacementValue = escapeSpecialChars(Matcher.quoteReplacement(replacementValue));
-                            } else {
-                                replacementValue = escapeSpecialCharactersOfJson(replacementValue);
+                                replacementValue = escapeJsonSpecialChars(replacementValue);
                             }
                         }
                     }
-                    matcher.appendReplacement(result, "\"" + replacementValue + "\"");
-                } else if (matcher.group(2) != null) {
+                    replacementValue = "\"" + replacementValue + "\"";
+                } else if (placeholder.kind == Placeholder.EXPRESSION) {
                     // Handle ${...} pattern (without quotes)
-                    String expression = matcher.group(2);
-                    Object expressionResult = evaluateExpression(expression, synCtx, inlineExpressionResults);
+                    Object expressionResult = evaluateExpression(placeholder, synCtx, inlineExpressionResults);
                     replacementValue = expressionResult.toString();
                     if (expressionResult instanceof JsonPrimitive) {
                         replacementValue = prepareJSONPrimitiveReplacementValue(expressionResult, mediaType);
                     } else if (expressionResult instanceof JsonElement) {
                         if (XML_TYPE.equals(mediaType)) {
                             replacementValue = convertJsonToXML(replacementValue);
-                            replacementValue = Matcher.quoteReplacement(replacementValue);
                         } else {
-                            replacementValue = Matcher.quoteReplacement(gson.toJson(expressionResult));
+                            replacementValue = gson.toJson(expressionResult);
                         }
                     } else {
                         if (JSON_TYPE.equals(mediaType) && isXML(replacementValue)) {
                             replacementValue = convertXMLToJSON(replacementValue);
-                        } else {
-                            if (XML_TYPE.equals(mediaType) && !isXML(replacementValue)) {
-                                replacementValue = StringEscapeUtils.escapeXml10(replacementValue);
-                            }
-                            replacementValue = Matcher.quoteReplacement(replacementValue);
+                        } else if (XML_TYPE.equals(mediaType) && !isXML(replacementValue)) {
+                            replacementValue = StringEscapeUtils.escapeXml10(replacementValue);
                         }
                     }
-                    matcher.appendReplacement(result, replacementValue);
-                } else if (matcher.group(3) != null) {
+                } else {
                     // Handle $n pattern
-                    String matchSeq = matcher.group(3);
-                    replacement = getReplacementValue(argValues, matchSeq);
+                    replacement = getReplacementValue(argValues, placeholder.value);
                     replacementEntry = replacement.entrySet().iterator().next();
-                    replacementValue = prepareReplacementValue(mediaType, synCtx, replacementEntry);
-                    matcher.appendReplacement(result, replacementValue);
+                    replacementValue = prepareReplacementValue(mediaType, synCtx, replacementEntry, false);
                 }
+                result.append(source, placeholder.literalStart, placeholder.start).append(replacementValue);
             }
+            tail = template.tail;
         } catch (ArrayIndexOutOfBoundsException e) {
             log.error("#replace. Mis-match detected between number of formatters and arguments", e);
         } catch (JaxenException e) {
             throw new SynapseException("Error evaluating expression" , e);
         }
-        matcher.appendTail(result);
+        result.append(source, tail, source.length());
     }
 
     private String prepareJSONPrimitiveReplacementValue(Object expressionResult, String mediaType) {
 
         String replacementValue = ((JsonPrimitive) expressionResult).getAsString();
-        replacementValue = escapeSpecialChars(Matcher.quoteReplacement(replacementValue));
+        replacementValue = escapeJsonSpecialChars(replacementValue);
         if (XML_TYPE.equals(mediaType)) {
             replacementValue = StringEscapeUtils.escapeXml10(replacementValue);
         }
@@ -184,50 +204,45 @@ public class RegexTemplateProcessor extends TemplateProcessor {
      * Evaluates the expression and returns the result as a string or an object.
      * If the expression contains "xpath(", we meed to evaluate it as a string.
      *
-     * @param expression expression to evaluate
-     * @param synCtx     message context
+     * @param placeholder             placeholder of the expression to evaluate
+     * @param synCtx                  message context
+     * @param inlineExpressionResults results of the expressions already evaluated for this message
      * @return evaluated result
      * @throws JaxenException if an error occurs while evaluating the expression
      */
-    private Object evaluateExpression(String expression, MessageContext synCtx,
-                                      Map<String, Object> inlineExpressionResults) throws JaxenException {
+    private Object evaluateExpression(Placeholder placeholder, MessageContext synCtx,
+                                      Object[] inlineExpressionResults) throws JaxenException {
 
+        Object result = inlineExpressionResults[placeholder.slot];
+        if (result != null) {
+            return result;
+        }
+        String expression = placeholder.value;
         SynapseExpression expressionObj = inlineExpressionCache.get(expression);
         if (expressionObj == null) {
             expressionObj = new SynapseExpression(expression);
             inlineExpressionCache.put(expression, expressionObj);
         }
-        if (inlineExpressionResults.containsKey(expression)) {
-            return inlineExpressionResults.get(expression);
+        if (expression.contains("xpath(")) {
+            result = expressionObj.stringValueOf(synCtx);
         } else {
-            Object result;
-            if (expression.contains("xpath(")) {
-                result = expressionObj.stringValueOf(synCtx);
-            } else {
-                result = expressionObj.objectValueOf(synCtx);
-            }
-            inlineExpressionResults.put(expression, result);
-            return result;
+            result = expressionObj.objectValueOf(synCtx);
         }
-    }
-
-    private String escapeJson(String value) {
-        // Manual escape for JSON: escaping double quotes and backslashes
-        return value.replace("\"", "\\\"").replace("\\", "\\\\");
+        inlineExpressionResults[placeholder.slot] = result;
+        return result;
     }
 
     private String convertJsonToXML(String replacementValue) {
 
         try {
-//            replacementValue = Matcher.quoteReplacement(replacementValue);
             OMElement omXML = JsonUtil.toXml(IOUtils.toInputStream(replacementValue), false);
             if (JsonUtil.isAJsonPayloadElement(omXML)) { // remove <jsonObject/> from result.
                 Iterator children = omXML.getChildElements();
-                String childrenStr = "";
+                StringBuilder childrenStr = new StringBuilder();
                 while (children.hasNext()) {
-                    childrenStr += (children.next()).toString().trim();
+                    childrenStr.append((children.next()).toString().trim());
                 }
-                replacementValue = childrenStr;
+                replacementValue = childrenStr.toString();
             } else {
                 replacementValue = omXML.toString();
             }
@@ -235,7 +250,7 @@ public class RegexTemplateProcessor extends TemplateProcessor {
             handleException(
                     "Error converting JSON to XML, please check your expressions return valid JSON: ");
         }
-        return escapeSpecialCharactersOfXml(replacementValue);
+        return replacementValue;
     }
 
     private String convertXMLToJSON(String replacementValue) {
@@ -244,7 +259,6 @@ public class RegexTemplateProcessor extends TemplateProcessor {
             replacementValue = "<jsonObject>" + replacementValue + "</jsonObject>";
             OMElement omXML = convertStringToOM(replacementValue);
             replacementValue = JsonUtil.toJsonString(omXML).toString();
-            replacementValue = escapeSpecialCharactersOfJson(replacementValue);
         } catch (XMLStreamException e) {
             handleException(
                     "Error parsing XML for JSON conversion, please check your expressions return valid XML: ");
@@ -254,7 +268,7 @@ public class RegexTemplateProcessor extends TemplateProcessor {
             // if the logic comes to this means, it was tried as a XML, which means it has
             // "<" as starting element and ">" as end element, so basically if the logic comes here, that means
             // value is a string value, that means No conversion required, as path evaluates to regular String.
-            replacementValue = escapeSpecialChars(replacementValue);
+            replacementValue = escapeJsonSpecialChars(replacementValue);
 
         }
         return replacementValue;
@@ -284,4 +298,87 @@ public class RegexTemplateProcessor extends TemplateProcessor {
         return true;
     }
 
+    /**
+     * Payload format split into the literal text and the placeholders found by the template pattern.
+     */
+    private static final class CompiledTemplate {
+
+        private final String template;
+        private final boolean padded;
+        // text the placeholder offsets refer to, the format wrapped in <pfPadding/> for XML
+        private final String source;
+        private final Placeholder[] placeholders;
+        // start of the literal text after the last placeholder
+        private final int tail;
+        // number of distinct inline expressions
+        private final int expressionCount;
+
+        private CompiledTemplate(String template, boolean padded, Pattern pattern) {
+
+            this.template = template;
+            this.padded = padded;
+            this.source = padded ? "<pfPadding>" + template + "</pfPadding>" : template;
+            List<Placeholder> placeholderList = new ArrayList<>();
+            Map<String, Integer> slots = new HashMap<>();
+            Matcher matcher = pattern.matcher(source);
+            int literalStart = 0;
+            while (matcher.find()) {
+                int kind;
+                String value;
+                if (matcher.group(1) != null) {
+                    kind = Placeholder.QUOTED_EXPRESSION;
+                    value = matcher.group(1);
+                } else if (matcher.group(2) != null) {
+                    kind = Placeholder.EXPRESSION;
+                    value = matcher.group(2);
+                } else {
+                    kind = Placeholder.ARGUMENT;
+                    value = matcher.group(3);
+                }
+                int slot = -1;
+                if (kind != Placeholder.ARGUMENT) {
+                    Integer existing = slots.get(value);
+                    if (existing == null) {
+                        existing = slots.size();
+                        slots.put(value, existing);
+                    }
+                    slot = existing;
+                }
+                placeholderList.add(new Placeholder(kind, value, slot, literalStart, matcher.start()));
+                literalStart = matcher.end();
+            }
+            this.placeholders = placeholderList.toArray(new Placeholder[0]);
+            this.tail = literalStart;
+            this.expressionCount = slots.size();
+        }
+    }
+
+    /**
+     * A "${...}", ${...} or $n placeholder of a compiled template.
+     */
+    private static final class Placeholder {
+
+        private static final int QUOTED_EXPRESSION = 0;
+        private static final int EXPRESSION = 1;
+        private static final int ARGUMENT = 2;
+
+        private final int kind;
+        // inline expression, or the argument index for $n
+        private final String value;
+        // index of the expression result in the per message results
+        private final int slot;
+        // start of the literal text preceding the placeholder
+        private final int literalStart;
+        // start of the placeholder itself
+        private final int start;
+
+        private Placeholder(int kind, String value, int slot, int literalStart, int start) {
+
+            this.kind = kind;
+            this.value = value;
+            this.slot = slot;
+            this.literalStart = literalStart;
+            this.start = start;
+        }
+    }
 }
@@ -102,6 +102,20 @@ public abstract class TemplateProcessor {
      */
     protected HashMap<String, ArgumentDetails>[] getArgValues(String mediaType, MessageContext synCtx) {
 
+        return getArgValues(mediaType, synCtx, true);
+    }
+
+    /**
+     * Evaluates the SynapsePath arguments as {@link #getArgValues(String, MessageContext)} does.
+     *
+     * @param mediaType        Output media type
+     * @param synCtx           MessageContext
+     * @param quoteReplacement whether the values are escaped for {@link Matcher#appendReplacement}
+     * @return evaluated arguments
+     */
+    protected HashMap<String, ArgumentDetails>[] getArgValues(String mediaType, MessageContext synCtx,
+                                                              boolean quoteReplacement) {
+
         HashMap<String, ArgumentDetails>[] argValues = new HashMap[pathArgumentList.size()];
         HashMap<String, ArgumentDetails> valueMap;
         String value = "";
@@ -114,7 +128,9 @@ public abstract class TemplateProcessor {
                 if (!details.isXml()) {
                     value = escapeXml10(value);
                 }
-                value = Matcher.quoteReplacement(value);
+                if (quoteReplacement) {
+                    value = Matcher.quoteReplacement(value);
+                }
             } else if (arg.getExpression() != null) {
                 value = arg.getExpression().stringValueOf(synCtx);
                 details.setLiteral(arg.isLiteral());
@@ -125,7 +141,9 @@ public abstract class TemplateProcessor {
                     if (!details.isXml() && XML_TYPE.equals(mediaType) && !isJson(value.trim(), arg.getExpression())) {
                         value = escapeXml10(value);
                     }
-                    value = Matcher.quoteReplacement(value);
+                    if (quoteReplacement) {
+                        value = Matcher.quoteReplacement(value);
+                    }
                 } else {
                     value = "";
                 }
@@ -157,14 +175,31 @@ public abstract class TemplateProcessor {
     protected String prepareReplacementValue(String mediaType, MessageContext synCtx,
                                              Map.Entry<String, ArgumentDetails> replacementEntry) {
 
+        return prepareReplacementValue(mediaType, synCtx, replacementEntry, true);
+    }
+
+    /**
+     * Preprocess and convert types of the given arg value.
+     *
+     * @param mediaType        Output media type
+     * @param synCtx           Message context
+     * @param replacementEntry Argument, evaluated with the same quoteReplacement setting
+     * @param quoteReplacement whether the value is escaped for {@link Matcher#appendReplacement}, rather than being
+     *                         the text to write as it is
+     * @return Preprocessed value
+     */
+    protected String prepareReplacementValue(String mediaType, MessageContext synCtx,
+                                             Map.Entry<String, ArgumentDetails> replacementEntry,
+                                             boolean quoteReplacement) {
+
         String replacementValue = null;
 
         if (mediaType.equals(JSON_TYPE) && inferReplacementType(replacementEntry).equals(XML_TYPE)) {
             // XML to JSON conversion here
-            replacementValue = convertXmlArgumentToJson(replacementEntry, replacementValue);
+            replacementValue = convertXmlArgumentToJson(replacementEntry, replacementValue, quoteReplacement);
         } else if (mediaType.equals(XML_TYPE) && inferReplacementType(replacementEntry).equals(JSON_TYPE)) {
             // JSON to XML conversion here
-            replacementValue = convertJsonArgumentToXml(replacementEntry, replacementValue);
+            replacementValue = convertJsonArgumentToXml(replacementEntry, replacementValue, quoteReplacement);
         } else {
             // No conversion required, as path evaluates to regular String.
             replacementValue = replacementEntry.getKey();
@@ -176,13 +211,15 @@ public abstract class TemplateProcessor {
                 //checks whether the escapeXmlChars attribute is true when media-type and evaluator is json and
                 //escapes xml chars. otherwise json messages with non escaped xml characters will fail to build
                 //in content aware mediators.
-                replacementValue = escapeXMLSpecialChars(replacementValue);
+                replacementValue = quoteReplacement ? escapeXMLSpecialChars(replacementValue)
+                        : escapeControlChars(replacementValue);
             } else if (mediaType.equals(JSON_TYPE)
                     && (replacementEntry.getValue().isLiteral()
                     || (inferReplacementType(replacementEntry).equals(STRING_TYPE)
                     && (!trimmedReplacementValue.startsWith("{")
                     && !trimmedReplacementValue.startsWith("["))))) {
-                replacementValue = escapeSpecialChars(replacementValue);
+                replacementValue = quoteReplacement ? escapeSpecialChars(replacementValue)
+                        : escapeJsonSpecialChars(replacementValue);
                 Object force_string_quote = synCtx.getProperty(QUOTE_STRING_IN_PAYLOAD_FACTORY_JSON);
                 // skip double quotes if replacement is boolean or null or valid json number
                 if (force_string_quote != null && ((String) force_string_quote).equalsIgnoreCase("true")
@@ -229,14 +266,17 @@ public abstract class TemplateProcessor {
      *
      * @param replacementEntry Argument
      * @param replacementValue Replacement Value
+     * @param quoteReplacement whether the argument is escaped for {@link Matcher#appendReplacement}
      * @return
      */
     private String convertJsonArgumentToXml(Map.Entry<String, ArgumentDetails> replacementEntry,
-                                            String replacementValue) {
+                                            String replacementValue, boolean quoteReplacement) {
 
         try {
             replacementValue = replacementEntry.getKey();
-            replacementValue = escapeSpecialCharactersOfXml(replacementValue);
+            if (quoteReplacement) {
+                replacementValue = escapeSpecialCharactersOfXml(replacementValue);
+            }
             OMElement omXML = JsonUtil.toXml(IOUtils.toInputStream(replacementValue), false);
             if (JsonUtil.isAJsonPayloadElement(omXML)) { // remove <jsonObject/> from result.
                 Iterator children = omXML.getChildElements();
@@ -261,16 +301,19 @@ public abstract class TemplateProcessor {
      *
      * @param replacementEntry Entity
      * @param replacementValue Replacement value
+     * @param quoteReplacement whether the argument is escaped for {@link Matcher#appendReplacement}
      * @return Converted value
      */
     private String convertXmlArgumentToJson(Map.Entry<String, ArgumentDetails> replacementEntry,
-                                            String replacementValue) {
+                                            String replacementValue, boolean quoteReplacement) {
 
         try {
             replacementValue = "<jsonObject>" + replacementEntry.getKey() + "</jsonObject>";
             OMElement omXML = convertStringToOM(replacementValue);
             replacementValue = JsonUtil.toJsonString(omXML).toString();
-            replacementValue = escapeSpecialCharactersOfJson(replacementValue);
+            if (quoteReplacement) {
+                replacementValue = escapeSpecialCharactersOfJson(replacementValue);
+            }
         } catch (XMLStreamException e) {
             handleException(
                     "Error parsing XML for JSON conversion, please check your xPath expressions return valid XML: ");
@@ -284,7 +327,8 @@ public abstract class TemplateProcessor {
 
             // This is to replace " with \" and \\ with \\\\
             //replacing other json special characters i.e \b, \f, \n \r, \t
-            replacementValue = escapeSpecialChars(replacementValue);
+            replacementValue = quoteReplacement ? escapeSpecialChars(replacementValue)
+                    : escapeJsonSpecialChars(replacementValue);
 
         }
         return replacementValue;
@@ -481,6 +525,74 @@ public abstract class TemplateProcessor {
                 .replaceAll("\t", ESCAPE_TAB_WITH_EIGHT_BACK_SLASHES);
     }
 
+    /**
+     * Escapes backslashes, double quotes and the \b, \f, \n, \r, \t control characters so the value can be
+     * written as it is inside a JSON string. This is what {@link #escapeSpecialChars(String)} produces once
+     * unescaped by {@link Matcher#appendReplacement}.
+     *
+     * @param value value to escape
+     * @return escaped value
+     */
+    protected String escapeJsonSpecialChars(String value) {
+
+        return escapeChars(value, true);
+    }
+
+    /**
+     * Escapes the \b, \f, \n, \r, \t control characters so the value can be written as it is. This is what
+     * {@link #escapeXMLSpecialChars(String)} produces once unescaped by {@link Matcher#appendReplacement}.
+     *
+     * @param value value to escape
+     * @return escaped value
+     */
+    protected String escapeControlChars(String value) {
+
+        return escapeChars(value, false);
+    }
+
+    private static String escapeChars(String value, boolean escapeQuotes) {
+
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            char escape;
+            switch (c) {
+                case '\b':
+                    escape = 'b';
+                    break;
+                case '\f':
+                    escape = 'f';
+                    break;
+                case '\n':
+                    escape = 'n';
+                    break;
+                case '\r':
+                    escape = 'r';
+                    break;
+                case '\t':
+                    escape = 't';
+                    break;
+                case '"':
+                case '\\':
+                    escape = escapeQuotes ? c : 0;
+                    break;
+                default:
+                    escape = 0;
+            }
+            if (escape == 0) {
+                if (escaped != null) {
+                    escaped.append(c);
+                }
+                continue;
+            }
+            if (escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            escaped.append('\\').append(escape);
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+
     protected boolean isEscapeXmlChars() {
 
         return escapeXmlChars;
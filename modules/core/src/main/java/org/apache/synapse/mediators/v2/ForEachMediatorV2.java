@@ -60,6 +60,7 @@ import org.apache.synapse.mediators.base.SequenceMediator;
 import org.apache.synapse.mediators.eip.EIPConstants;
 import org.apache.synapse.mediators.eip.SharedDataHolder;
 import org.apache.synapse.mediators.eip.Target;
+import org.apache.synapse.mediators.eip.aggregator.AggregateRegistry;
 import org.apache.synapse.mediators.eip.aggregator.ForEachAggregate;
 import org.apache.synapse.transport.passthru.util.RelayUtils;
 import org.apache.synapse.util.MessageHelper;
@@ -72,9 +73,7 @@ import org.jaxen.JaxenException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import javax.xml.namespace.QName;
@@ -85,8 +84,7 @@ public class ForEachMediatorV2 extends AbstractMediator implements ManagedLifecy
     public static final String VARIABLE_DOT = ExpressionConstants.VARIABLES + ".";
     public static final String JSON_TYPE = "JSON";
     public static final String XML_TYPE = "XML";
-    private final Object lock = new Object();
-    private final Map<String, ForEachAggregate> activeAggregates = Collections.synchronizedMap(new HashMap<>());
+    private final AggregateRegistry<ForEachAggregate> activeAggregates = new AggregateRegistry<>();
     private final String id;
     private SynapsePath collectionExpression = null;
     private Target target;
@@ -318,25 +316,22 @@ public class ForEachMediatorV2 extends AbstractMediator implements ManagedLifecy
             correlation = (String) correlationID;
             synLog.traceOrDebug("Aggregating messages started for correlation : " + correlation);
             while (aggregate == null) {
-                synchronized (lock) {
-                    if (activeAggregates.containsKey(correlation)) {
-                        aggregate = activeAggregates.get(correlation);
-                        if (aggregate != null) {
-                            if (!aggregate.getLock()) {
-                                aggregate = null;
-                            }
-                        } else {
-                            break;
-                        }
-                    } else {
-                        if (isAggregationCompleted(synCtx)) {
-                            return false;
-                        }
-                        synLog.traceOrDebug("Creating new ForeachAggregator");
-                        aggregate = new ForEachAggregate(correlation, id);
-                        aggregate.getLock();
-                        activeAggregates.put(correlation, aggregate);
+                aggregate = activeAggregates.get(correlation);
+                if (aggregate != null) {
+                    if (!aggregate.getLock()) {
+                        aggregate = null;
                     }
+                    continue;
+                }
+                if (isAggregationCompleted(synCtx)) {
+                    return false;
+                }
+                synLog.traceOrDebug("Creating new ForeachAggregator");
+                aggregate = new ForEachAggregate(correlation, id);
+                aggregate.getLock();
+                if (activeAggregates.register(correlation, aggregate) != null) {
+                    aggregate.releaseLock();
+                    aggregate = null;
                 }
             }
         } else {
@@ -394,7 +389,7 @@ public class ForEachMediatorV2 extends AbstractMediator implements ManagedLifecy
                     " in the ForEach mediator");
         }
 
-        synchronized (this) {
+        synchronized (aggregate) {
             if (!aggregate.isCompleted()) {
                 aggregate.setCompleted(true);
                 MessageContext lastMessage = aggregate.getLastMessage();
@@ -423,7 +418,7 @@ public class ForEachMediatorV2 extends AbstractMediator implements ManagedLifecy
             }
             StatisticDataCollectionHelper.collectAggregatedParents(aggregate.getMessages(), originalMessageContext);
             aggregate.clear();
-            activeAggregates.remove(aggregate.getCorrelation());
+            activeAggregates.complete(aggregate.getCorrelation(), aggregate);
             // Update the continuation state to current mediator position as we are using the original message context
             ContinuationStackManager.updateSeqContinuationState(originalMessageContext, getMediatorPosition());
 
@@ -658,7 +653,7 @@ public class ForEachMediatorV2 extends AbstractMediator implements ManagedLifecy
     private void handleException(ForEachAggregate aggregate, String msg, Exception exception, MessageContext msgContext) {
 
         aggregate.clear();
-        activeAggregates.remove(aggregate.getCorrelation());
+        activeAggregates.remove(aggregate.getCorrelation(), aggregate);
         if (exception != null) {
             super.handleException(msg, exception, msgContext);
         } else {
@@ -696,6 +691,11 @@ public class ForEachMediatorV2 extends AbstractMediator implements ManagedLifecy
         this.parallelExecution = parallelExecution;
     }
 
+    public AggregateRegistry<ForEachAggregate> getAggregateRegistry() {
+
+        return activeAggregates;
+    }
+
     public String getId() {
 
         return id;
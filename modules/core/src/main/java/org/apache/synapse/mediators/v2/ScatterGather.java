@@ -60,21 +60,19 @@ import org.apache.synapse.mediators.eip.EIPConstants;
 import org.apache.synapse.mediators.eip.SharedDataHolder;
 import org.apache.synapse.mediators.eip.Target;
 import org.apache.synapse.mediators.eip.aggregator.Aggregate;
+import org.apache.synapse.mediators.eip.aggregator.AggregateRegistry;
 import org.apache.synapse.transport.passthru.util.RelayUtils;
 import org.apache.synapse.util.MessageHelper;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Stack;
-import java.util.Timer;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 
@@ -85,8 +83,7 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
 
     public static final String JSON_TYPE = "JSON";
     public static final String XML_TYPE = "XML";
-    private final Object lock = new Object();
-    private final Map<String, Aggregate> activeAggregates = Collections.synchronizedMap(new HashMap<>());
+    private final AggregateRegistry<Aggregate> activeAggregates = new AggregateRegistry<>();
     private String id;
     private List<Target> targets = new ArrayList<>();
     private long completionTimeoutMillis = 0;
@@ -117,6 +114,11 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         return this.parallelExecution;
     }
 
+    public AggregateRegistry<Aggregate> getAggregateRegistry() {
+
+        return activeAggregates;
+    }
+
     public String getId() {
 
         return id;
@@ -333,59 +335,37 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         }
         if (correlateExpression == null || isAggregationConditionMet) {
             while (aggregate == null) {
-                synchronized (lock) {
-                    if (activeAggregates.containsKey(correlation)) {
-                        aggregate = activeAggregates.get(correlation);
-                        if (aggregate != null) {
-                            if (!aggregate.getLock()) {
-                                aggregate = null;
-                            }
-                        }
-                    } else {
-                        if (synLog.isTraceOrDebugEnabled()) {
-                            synLog.traceOrDebug("Creating new Aggregator - " +
-                                    (completionTimeoutMillis > 0 ? "expires in : "
-                                            + (completionTimeoutMillis / 1000) + "secs" :
-                                            "without expiry time"));
-                        }
-                        if (isAggregationCompleted(synCtx)) {
-                            return false;
-                        }
-
-                        Double minMsg = -1.0;
-                        if (minMessagesToComplete != null) {
-                            minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
-                        }
-                        Double maxMsg = -1.0;
-                        if (maxMessagesToComplete != null) {
-                            maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
-                        }
-                        aggregate = new Aggregate(
-                                synCtx.getEnvironment(),
-                                correlation,
-                                completionTimeoutMillis,
-                                minMsg.intValue(),
-                                maxMsg.intValue(), this, synCtx.getFaultStack().peek());
-
-                        if (completionTimeoutMillis > 0) {
-                            synchronized (aggregate) {
-                                if (!aggregate.isCompleted()) {
-                                    try {
-                                        synCtx.getConfiguration().getSynapseTimer().
-                                                schedule(aggregate, completionTimeoutMillis);
-                                    } catch (IllegalStateException e) {
-                                        log.warn("Synapse timer already cancelled. Resetting Synapse timer");
-                                        synCtx.getConfiguration().setSynapseTimer(new Timer(true));
-                                        synCtx.getConfiguration().getSynapseTimer().
-                                                schedule(aggregate, completionTimeoutMillis);
-                                    }
-                                }
-                            }
-                        }
-                        aggregate.getLock();
-                        activeAggregates.put(correlation, aggregate);
+                aggregate = activeAggregates.get(correlation);
+                if (aggregate != null) {
+                    if (!aggregate.getLock()) {
+                        aggregate = null;
                     }
+                    continue;
+                }
+                if (synLog.isTraceOrDebugEnabled()) {
+                    synLog.traceOrDebug("Creating new Aggregator - " +
+                            (completionTimeoutMillis > 0 ? "expires in : "
+                                    + (completionTimeoutMillis / 1000) + "secs" :
+                                    "without expiry time"));
+                }
+                if (isAggregationCompleted(synCtx)) {
+                    return false;
+                }
+
+                Double minMsg = -1.0;
+                if (minMessagesToComplete != null) {
+                    minMsg = Double.parseDouble(minMessagesToComplete.evaluateValue(synCtx));
+                }
+                Double maxMsg = -1.0;
+                if (maxMessagesToComplete != null) {
+                    maxMsg = Double.parseDouble(maxMessagesToComplete.evaluateValue(synCtx));
                 }
+                aggregate = registerAggregate(new Aggregate(
+                        synCtx.getEnvironment(),
+                        correlation,
+                        completionTimeoutMillis,
+                        minMsg.intValue(),
+                        maxMsg.intValue(), this, synCtx.getFaultStack().peek()));
             }
         }
         // if there is an aggregate continue on aggregation
@@ -411,6 +391,25 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         return false;
     }
 
+    /**
+     * Registers a new aggregate locked by the current thread and schedules its timeout.
+     *
+     * @param aggregate the new aggregate
+     * @return the registered aggregate, or null if another message registered an aggregate for the correlation first
+     */
+    private Aggregate registerAggregate(Aggregate aggregate) {
+
+        aggregate.getLock();
+        if (activeAggregates.register(aggregate.getCorrelation(), aggregate) != null) {
+            aggregate.releaseLock();
+            return null;
+        }
+        if (completionTimeoutMillis > 0) {
+            aggregate.scheduleTimeout(completionTimeoutMillis);
+        }
+        return aggregate;
+    }
+
     private boolean isAggregationCompleted(MessageContext synCtx) {
 
         Object aggregateTimeoutHolderObj = synCtx.getProperty(EIPConstants.EIP_SHARED_DATA_HOLDER + "." + id);
@@ -435,7 +434,7 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
         log.debug("Aggregation completed or timed out");
 
         // cancel the timer
-        synchronized (this) {
+        synchronized (aggregate) {
             if (!aggregate.isCompleted()) {
                 aggregate.cancel();
                 aggregate.setCompleted(true);
@@ -480,7 +479,7 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
             return false;
         }
         aggregate.clear();
-        activeAggregates.remove(aggregate.getCorrelation());
+        activeAggregates.complete(aggregate.getCorrelation(), aggregate);
 
         if (Utils.isTargetBody(resultTarget)) {
             // Set content type to the aggregated message
@@ -760,7 +759,7 @@ public class ScatterGather extends AbstractMediator implements ManagedLifecycle,
     private void handleException(Aggregate aggregate, String msg, Exception exception, MessageContext msgContext) {
 
         aggregate.clear();
-        activeAggregates.remove(aggregate.getCorrelation());
+        activeAggregates.remove(aggregate.getCorrelation(), aggregate);
         if (exception != null) {
             super.handleException(msg, exception, msgContext);
         } else {
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.message.processor.impl.forwarder;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hands out sequence numbers to the messages a forwarding window receives, and lets a message be
+ * acknowledged only after every message received before it has been acknowledged or given up.
+ */
+class AckSequencer {
+
+    /** Sequence of the next received message */
+    private long next;
+
+    /** Oldest message that is not finished yet */
+    private long head;
+
+    /** Finished messages newer than the head */
+    private final Set<Long> finished = new HashSet<Long>();
+
+    /**
+     * @return sequence of a newly received message
+     */
+    synchronized long next() {
+        return next++;
+    }
+
+    /**
+     * Wait until all messages older than the given one are finished
+     *
+     * @param sequence  sequence of the message to acknowledge
+     * @param timeoutMs maximum time to wait
+     * @return true if it is the turn of the message
+     * @throws InterruptedException if interrupted while waiting
+     */
+    synchronized boolean awaitTurn(long sequence, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (head < sequence) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Mark a message as finished, whether or not it was acknowledged
+     *
+     * @param sequence sequence of the message
+     */
+    synchronized void finish(long sequence) {
+        finished.add(sequence);
+        while (finished.remove(head)) {
+            head++;
+        }
+        notifyAll();
+    }
+}
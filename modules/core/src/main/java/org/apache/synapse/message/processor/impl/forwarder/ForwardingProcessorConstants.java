@@ -81,4 +81,17 @@ public final class ForwardingProcessorConstants {
      * Message store to keep un-processable messages of message processor
      */
     public static final String FAIL_MESSAGES_STORE = "message.processor.failMessagesStore";
+
+    /**
+     * Maximum number of messages forwarded concurrently by a processor. Each in-flight message uses
+     * its own consumer of the message store, so the store must hand out distinct messages to
+     * concurrent consumers
+     */
+    public static final String WINDOW_SIZE = "forwarding.window.size";
+
+    /**
+     * Whether messages forwarded concurrently are acknowledged to the store in the order they were
+     * received. Defaults to true
+     */
+    public static final String WINDOW_ORDERED_ACK = "forwarding.window.ordered.ack";
 }
@@ -59,6 +59,7 @@ import org.apache.synapse.message.processor.MessageProcessorUtils;
 import org.apache.synapse.message.processor.impl.ScheduledMessageProcessor;
 import org.apache.synapse.message.senders.blocking.BlockingMsgSender;
 import org.apache.synapse.message.store.MessageStore;
+import org.apache.synapse.message.store.impl.memory.InMemoryStore;
 import org.apache.synapse.rest.RESTConstants;
 import org.apache.synapse.task.Task;
 import org.apache.synapse.util.MessageHelper;
@@ -77,14 +78,22 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * This task is responsible for forwarding a request to a given endpoint. This
- * is based on a blocking implementation and can send only one message at a
- * time. Also this supports Throttling and reliable messaging.
+ * is based on a blocking implementation and sends one message at a time, unless
+ * a forwarding window is configured, in which case up to the window size of
+ * messages are in flight concurrently, each forwarded by a window slot with its
+ * own consumer. Also this supports Throttling and reliable messaging.
  */
 public class ForwardingService implements Task, ManagedLifecycle {
 	private static final Log log = LogFactory.getLog(ForwardingService.class);
@@ -193,7 +202,35 @@ public class ForwardingService implements Task, ManagedLifecycle {
     /**
      * Lock for store message operation
      */
-    private final Object storeMessageLock = new Object();
+    private Object storeMessageLock = new Object();
+
+	/*
+	 * Time (in milliseconds) between checks for termination while a message waits for
+	 * its turn to be acknowledged
+	 */
+	private static final long ACK_TURN_POLL_INTERVAL = 500;
+
+	/*
+	 * Number of messages forwarded concurrently. This service forwards one of them and
+	 * the window slots forward the rest
+	 */
+	private int windowSize = 1;
+
+	private final List<ForwardingService> windowSlots = new ArrayList<ForwardingService>();
+
+	private ThreadPoolExecutor windowExecutor = null;
+
+	// Whether this service forwards messages on behalf of another one
+	private boolean isWindowSlot = false;
+
+	// Orders the acknowledgements of the window, null if messages are acknowledged as they complete
+	private AckSequencer ackSequencer = null;
+
+	// Position of the message being forwarded in the acknowledgement order
+	private long currentSequence = -1;
+
+	// Held while receiving a message and taking its position, so that the window acknowledges in receive order
+	private Object receiveLock = new Object();
 
 	public ForwardingService(MessageProcessor messageProcessor, BlockingMsgSender sender,
 							 SynapseEnvironment synapseEnvironment, long threshouldInterval) {
@@ -214,6 +251,19 @@ public class ForwardingService implements Task, ManagedLifecycle {
 		this.isDeactivatedAtStartup = isDeactivatedAtStartup;
 	}
 
+	/**
+	 * Creates a window slot forwarding messages alongside the given service.
+	 *
+	 * @param owner service owning the forwarding window
+	 */
+	private ForwardingService(ForwardingService owner) {
+		this(owner.messageProcessor, owner.sender, owner.synapseEnvironment, owner.interval);
+		this.isWindowSlot = true;
+		this.ackSequencer = owner.ackSequencer;
+		this.storeMessageLock = owner.storeMessageLock;
+		this.receiveLock = owner.receiveLock;
+	}
+
 	/**
 	 * Starts the execution of this task which grabs a message from the message
 	 * queue and dispatch it to a given endpoint.
@@ -244,12 +294,13 @@ public class ForwardingService implements Task, ManagedLifecycle {
 				deactivateMessageProcessor(null);
 			}
 		}
+		List<Future<?>> slotRuns = startWindowSlots();
 		do {
 			resetService();
 			MessageContext messageContext = null;
 			try {
 				if (!this.messageProcessor.isDeactivated() && !this.messageProcessor.isServerShuttingDown()) {
-					messageContext = fetch();
+					messageContext = receive();
 					if (messageContext != null) {
 
 						Set proSet = messageContext.getPropertyKeySet();
@@ -260,7 +311,11 @@ public class ForwardingService implements Task, ManagedLifecycle {
 						}
 						// Now it is NOT terminated anymore.
 						isTerminated = messageProcessor.isDeactivated();
-						dispatch(messageContext);
+						try {
+							dispatch(messageContext);
+						} finally {
+							finishSequence();
+						}
 					} else {
 						// either the connection is broken or there are no new
 						// massages.
@@ -349,6 +404,8 @@ public class ForwardingService implements Task, ManagedLifecycle {
 			}
 		} while ((isThrottling || isRunningUnderCronExpression()) && !isTerminated);
 
+		awaitWindowSlots(slotRuns);
+
 		if (log.isDebugEnabled()) {
 			log.debug("Exiting service thread of message processor ["
 					+ this.messageProcessor.getName() + "]");
@@ -434,6 +491,10 @@ public class ForwardingService implements Task, ManagedLifecycle {
 		if (StringUtils.isNotBlank(intervalParameter)) {
 			interval = Long.parseLong(intervalParameter);
 		}
+
+		if (!isWindowSlot) {
+			initWindow(se, parametersMap);
+		}
 		/*
 		 * Make sure to set the isInitialized flag to TRUE in order to avoid
 		 * re-initialization.
@@ -441,6 +502,92 @@ public class ForwardingService implements Task, ManagedLifecycle {
 		initialized = true;
 	}
 
+	/**
+	 * Creates the window slots when more than one message may be in flight. Each slot is a
+	 * service of its own, with a separate consumer of the message store.
+	 */
+	private void initWindow(SynapseEnvironment se, Map<String, Object> parametersMap) {
+		Object size = parametersMap.get(ForwardingProcessorConstants.WINDOW_SIZE);
+		if (size == null || Integer.parseInt(size.toString().trim()) <= 1) {
+			return;
+		}
+		MessageStore store = se.getSynapseConfiguration().getMessageStore(messageProcessor.getMessageStoreName());
+		if (!isConcurrentlyConsumable(store)) {
+			log.warn("Message store of message processor [" + messageProcessor.getName() + "] cannot hand out "
+					+ "distinct messages to concurrent consumers, hence ignoring "
+					+ ForwardingProcessorConstants.WINDOW_SIZE + " and forwarding one message at a time");
+			return;
+		}
+		windowSize = Integer.parseInt(size.toString().trim());
+
+		// Default to TRUE.
+		Object orderedAck = parametersMap.get(ForwardingProcessorConstants.WINDOW_ORDERED_ACK);
+		if (orderedAck == null || Boolean.parseBoolean(orderedAck.toString().trim())) {
+			ackSequencer = new AckSequencer();
+		}
+
+		final String processorName = messageProcessor.getName();
+		windowExecutor = new ThreadPoolExecutor(windowSize - 1, windowSize - 1, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "MessageProcessor-" + processorName + "-window-"
+						+ count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		windowExecutor.allowCoreThreadTimeOut(true);
+		for (int i = 1; i < windowSize; i++) {
+			ForwardingService slot = new ForwardingService(this);
+			slot.init(se);
+			windowSlots.add(slot);
+		}
+	}
+
+	/**
+	 * Whether concurrent consumers of the store receive distinct messages, which is what a
+	 * forwarding window relies on.
+	 */
+	private static boolean isConcurrentlyConsumable(MessageStore store) {
+		if (store == null) {
+			return false;
+		}
+		int type = store.getType();
+		if (type == org.apache.synapse.message.store.Constants.JMS_MS
+				|| type == org.apache.synapse.message.store.Constants.RABBIT_MS) {
+			return true;
+		}
+		return store instanceof InMemoryStore && !((InMemoryStore) store).isOrdered();
+	}
+
+	private List<Future<?>> startWindowSlots() {
+		List<Future<?>> slotRuns = new ArrayList<Future<?>>();
+		for (final ForwardingService slot : windowSlots) {
+			slotRuns.add(windowExecutor.submit(new Runnable() {
+				public void run() {
+					slot.execute();
+				}
+			}));
+		}
+		return slotRuns;
+	}
+
+	private void awaitWindowSlots(List<Future<?>> slotRuns) {
+		for (Future<?> slotRun : slotRuns) {
+			try {
+				slotRun.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				log.error("Forwarding window of message processor [" + messageProcessor.getName() + "] failed",
+						e.getCause());
+			}
+		}
+	}
+
 	private Set<Integer> getNonRetryStatusCodes() {
 		Set<Integer> nonRetryCodes = new HashSet<Integer>();
 		if (nonRetryStatusCodes != null) {
@@ -499,6 +646,26 @@ public class ForwardingService implements Task, ManagedLifecycle {
 		return fetchedMessage;
 	}
 
+	/**
+	 * Receives the next message from the message store. When the window acknowledges in order,
+	 * the message takes its position in the acknowledgement order as it is received.
+	 *
+	 * @return the message received, or null if there is none
+	 * @throws StoreForwardException on an issue fetching a message from store
+	 */
+	private MessageContext receive() throws StoreForwardException {
+		if (ackSequencer == null) {
+			return fetch();
+		}
+		synchronized (receiveLock) {
+			MessageContext messageContext = fetch();
+			if (messageContext != null) {
+				currentSequence = ackSequencer.next();
+			}
+			return messageContext;
+		}
+	}
+
 	/**
 	 * Sends the message to a given endpoint.
 	 *
@@ -783,7 +950,7 @@ public class ForwardingService implements Task, ManagedLifecycle {
 	 * @param endpoint
 	 */
 	private void onForwardSuccess(Endpoint endpoint) {
-		messageConsumer.ack();
+		acknowledge();
 		attemptCount = 0;
 		isSuccessful = true;
 
@@ -945,6 +1112,9 @@ public class ForwardingService implements Task, ManagedLifecycle {
 	public boolean terminate() {
 		try {
 			isTerminated = true;
+			for (ForwardingService slot : windowSlots) {
+				slot.terminate();
+			}
 			// Thread.currentThread().interrupt();
 
 			if (log.isDebugEnabled()) {
@@ -1034,6 +1204,35 @@ public class ForwardingService implements Task, ManagedLifecycle {
 		}
 	}
 
+	/**
+	 * Acknowledge the message being forwarded. When the forwarding window acknowledges in order,
+	 * this waits until every message received before it is finished.
+	 */
+	private void acknowledge() {
+		if (currentSequence >= 0) {
+			try {
+				while (!ackSequencer.awaitTurn(currentSequence, ACK_TURN_POLL_INTERVAL)) {
+					if (isTerminated || messageProcessor.isDeactivated()) {
+						log.warn("Message processor [" + messageProcessor.getName() + "] stopped while a "
+								+ "forwarded message waited for an earlier one. Leaving it unacknowledged.");
+						return;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+		messageConsumer.ack();
+	}
+
+	private void finishSequence() {
+		if (currentSequence >= 0) {
+			ackSequencer.finish(currentSequence);
+			currentSequence = -1;
+		}
+	}
+
 	private void resetService() {
 		isSuccessful = false;
 		attemptCount = 0;
@@ -1060,7 +1259,7 @@ public class ForwardingService implements Task, ManagedLifecycle {
 	 * Acknowledge current message and reset message processor for next message
 	 */
 	private void dropMessageAndContinueMessageProcessor() {
-		messageConsumer.ack();
+		acknowledge();
 		attemptCount = 0;
 		isSuccessful = true;
 	}
@@ -1084,7 +1283,7 @@ public class ForwardingService implements Task, ManagedLifecycle {
             produceStatus = messageStore.getProducer().storeMessage(forwardFailedMessage);
         }
 		if (produceStatus) {
-			messageConsumer.ack();
+			acknowledge();
 			attemptCount = 0;
 			isSuccessful = true;
 			log.info("Message processor [" + messageProcessor.getName()
@@ -1140,6 +1339,9 @@ public class ForwardingService implements Task, ManagedLifecycle {
 
 	public void destroy() {
 		terminate();
+		if (windowExecutor != null) {
+			windowExecutor.shutdown();
+		}
 
 	}
 
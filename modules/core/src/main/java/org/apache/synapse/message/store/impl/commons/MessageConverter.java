@@ -54,6 +54,7 @@ import org.apache.synapse.rest.RESTConstants;
 import org.apache.synapse.util.UUIDGenerator;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -344,6 +345,28 @@ public final class MessageConverter {
         return message;
     }
 
+    /**
+     * Converts a message to be saved in the message store to bytes.
+     * @param message Message to be saved in the message store
+     * @return The message encoded with {@link StorableMessageCodec}
+     * @throws IOException if the message could not be encoded
+     */
+    public static byte[] toBytes(StorableMessage message) throws IOException {
+        return StorableMessageCodec.toBytes(message);
+    }
+
+    /**
+     * Converts bytes read from the message store back to a message. Messages saved with Java
+     * serialization by earlier versions are read as well.
+     * @param data Bytes read from the message store
+     * @return The decoded message, or null if the bytes do not hold a message
+     * @throws IOException if the bytes could not be decoded
+     * @throws ClassNotFoundException if a class of a Java serialized message could not be found
+     */
+    public static StorableMessage fromBytes(byte[] data) throws IOException, ClassNotFoundException {
+        return StorableMessageCodec.fromBytes(data);
+    }
+
     /**
      * Check the given property is an excluded message store property
      *
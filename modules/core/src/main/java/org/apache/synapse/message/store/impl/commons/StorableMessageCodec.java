@@ -0,0 +1,558 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.commons;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Versioned binary format for {@link StorableMessage}, used by the message stores in place of Java
+ * serialization.
+ * <p>
+ * A message starts with a four byte header: the magic bytes {@code 'S' 'M'}, the format version and
+ * a flags byte. Every field follows in a fixed order, strings and byte arrays are length prefixed,
+ * and payloads are written as their raw bytes. Property keys are written once and referred to by
+ * index afterwards. Messages larger than the compression threshold are deflated when that makes them
+ * smaller.
+ * <p>
+ * Messages written with Java serialization are recognised by their stream header and still read, so
+ * messages stored before an upgrade can be consumed afterwards. Setting the system property
+ * {@value #CODEC_PROPERTY} to {@value #JAVA_CODEC} keeps writing Java serialization, which allows
+ * nodes of older versions to read messages during a rolling upgrade.
+ */
+public final class StorableMessageCodec {
+
+    /**
+     * System property selecting the format written, {@value #BINARY_CODEC} (default) or {@value #JAVA_CODEC}
+     */
+    public static final String CODEC_PROPERTY = "synapse.message.store.codec";
+
+    public static final String BINARY_CODEC = "binary";
+
+    public static final String JAVA_CODEC = "java";
+
+    /**
+     * System property holding the size in bytes above which messages are compressed, 0 to disable
+     */
+    public static final String COMPRESSION_THRESHOLD_PROPERTY = "synapse.message.store.codec.compressionThreshold";
+
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 16 * 1024;
+
+    private static final byte MAGIC_0 = 'S';
+
+    private static final byte MAGIC_1 = 'M';
+
+    private static final byte VERSION = 1;
+
+    private static final int FLAG_DEFLATED = 1;
+
+    private static final int HEADER_LENGTH = 4;
+
+    // Java serialization stream magic, ObjectStreamConstants.STREAM_MAGIC
+    private static final byte JAVA_MAGIC_0 = (byte) 0xAC;
+
+    private static final byte JAVA_MAGIC_1 = (byte) 0xED;
+
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_BOOLEAN = 2;
+    private static final int TYPE_INTEGER = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_DOUBLE = 5;
+    private static final int TYPE_CHARACTER = 6;
+    private static final int TYPE_BYTES = 7;
+    private static final int TYPE_MAP = 8;
+    private static final int TYPE_SORTED_MAP = 9;
+    private static final int TYPE_SERIALIZED = 10;
+
+    private static final int AXIS2_MTOM = 1;
+    private static final int AXIS2_SWA = 1 << 1;
+    private static final int AXIS2_POX = 1 << 2;
+    private static final int AXIS2_GET = 1 << 3;
+
+    private static final int SYNAPSE_RESPONSE = 1;
+    private static final int SYNAPSE_FAULT_RESPONSE = 1 << 1;
+
+    private static final boolean JAVA_CODEC_ENABLED =
+            JAVA_CODEC.equalsIgnoreCase(System.getProperty(CODEC_PROPERTY, BINARY_CODEC).trim());
+
+    private static final int COMPRESSION_THRESHOLD =
+            Integer.getInteger(COMPRESSION_THRESHOLD_PROPERTY, DEFAULT_COMPRESSION_THRESHOLD);
+
+    private StorableMessageCodec() {}
+
+    /**
+     * @return true if messages are written with Java serialization instead of the binary format
+     */
+    public static boolean isJavaCodecEnabled() {
+        return JAVA_CODEC_ENABLED;
+    }
+
+    /**
+     * Convert the message to bytes in the configured format.
+     *
+     * @param message message to convert
+     * @return the encoded message
+     * @throws IOException if the message could not be written
+     */
+    public static byte[] toBytes(StorableMessage message) throws IOException {
+        if (JAVA_CODEC_ENABLED) {
+            return javaSerialize(message);
+        }
+        return encode(message, COMPRESSION_THRESHOLD);
+    }
+
+    /**
+     * Encode the message in the binary format.
+     *
+     * @param message              message to encode
+     * @param compressionThreshold size in bytes above which the message is compressed, 0 to disable
+     * @return the encoded message
+     * @throws IOException if the message could not be written
+     */
+    public static byte[] encode(StorableMessage message, int compressionThreshold) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        bytes.write(MAGIC_0);
+        bytes.write(MAGIC_1);
+        bytes.write(VERSION);
+        bytes.write(0);
+        new Encoder(bytes).writeMessage(message);
+        byte[] encoded = bytes.toByteArray();
+        if (compressionThreshold <= 0 || encoded.length < compressionThreshold) {
+            return encoded;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(encoded.length / 2);
+        compressed.write(encoded, 0, HEADER_LENGTH - 1);
+        compressed.write(FLAG_DEFLATED);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater);
+            out.write(encoded, HEADER_LENGTH, encoded.length - HEADER_LENGTH);
+            out.finish();
+        } finally {
+            deflater.end();
+        }
+        return compressed.size() < encoded.length ? compressed.toByteArray() : encoded;
+    }
+
+    /**
+     * Read a message written either in the binary format or with Java serialization.
+     *
+     * @param data the encoded message
+     * @return the message, or null if the data holds a Java serialized object of another type
+     * @throws IOException            if the data is not a valid message
+     * @throws ClassNotFoundException if a Java serialized class could not be found
+     */
+    public static StorableMessage fromBytes(byte[] data) throws IOException, ClassNotFoundException {
+        if (data.length >= 2 && data[0] == JAVA_MAGIC_0 && data[1] == JAVA_MAGIC_1) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                Object msg = in.readObject();
+                return msg instanceof StorableMessage ? (StorableMessage) msg : null;
+            }
+        }
+        if (data.length < HEADER_LENGTH || data[0] != MAGIC_0 || data[1] != MAGIC_1) {
+            throw new IOException("Not a stored message");
+        }
+        if (data[2] > VERSION) {
+            throw new IOException("Unsupported stored message format version " + data[2]);
+        }
+        InputStream in = new ByteArrayInputStream(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+        if ((data[3] & FLAG_DEFLATED) != 0) {
+            in = new InflaterInputStream(in);
+        }
+        try {
+            return new Decoder(in).readMessage();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static byte[] javaSerialize(Object obj) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(obj);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class Encoder {
+
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> keys = new HashMap<String, Integer>();
+
+        private Encoder(ByteArrayOutputStream bytes) {
+            this.out = new DataOutputStream(bytes);
+        }
+
+        private void writeMessage(StorableMessage message) throws IOException {
+            out.writeInt(message.getPriority());
+            Axis2Message axis2Message = message.getAxis2message();
+            out.writeBoolean(axis2Message != null);
+            if (axis2Message != null) {
+                writeAxis2Message(axis2Message);
+            }
+            SynapseMessage synapseMessage = message.getSynapseMessage();
+            out.writeBoolean(synapseMessage != null);
+            if (synapseMessage != null) {
+                writeSynapseMessage(synapseMessage);
+            }
+            out.flush();
+        }
+
+        private void writeAxis2Message(Axis2Message message) throws IOException {
+            writeString(message.getMessageID());
+            writeString(message.getOperationAction());
+            QName operationName = message.getOperationName();
+            out.writeBoolean(operationName != null);
+            if (operationName != null) {
+                writeString(operationName.getNamespaceURI());
+                writeString(operationName.getLocalPart());
+                writeString(operationName.getPrefix());
+            }
+            writeString(message.getAction());
+            writeString(message.getService());
+            writeString(message.getRelatesToMessageId());
+            writeString(message.getReplyToAddress());
+            writeString(message.getFaultToAddress());
+            writeString(message.getFromAddress());
+            writeString(message.getToAddress());
+            writeString(message.getTransportInName());
+            writeString(message.getTransportOutName());
+            int flags = 0;
+            if (message.isDoingMTOM()) {
+                flags |= AXIS2_MTOM;
+            }
+            if (message.isDoingSWA()) {
+                flags |= AXIS2_SWA;
+            }
+            if (message.isDoingPOX()) {
+                flags |= AXIS2_POX;
+            }
+            if (message.isDoingGET()) {
+                flags |= AXIS2_GET;
+            }
+            out.writeByte(flags);
+            writeString(message.getSoapEnvelope());
+            writeBytes(message.getJsonStream());
+            out.writeInt(message.getFLOW());
+            writeMapEntries(message.getProperties());
+        }
+
+        private void writeSynapseMessage(SynapseMessage message) throws IOException {
+            List<String> localEntries = message.getLocalEntries();
+            writeVarInt(localEntries.size());
+            for (String localEntry : localEntries) {
+                writeKey(localEntry);
+            }
+            writeVarInt(message.getProperties().size());
+            for (Map.Entry<String, String> property : message.getProperties().entrySet()) {
+                writeKey(property.getKey());
+                writeString(property.getValue());
+            }
+            writeVarInt(message.getPropertyObjects().size());
+            for (Map.Entry<String, byte[]> property : message.getPropertyObjects().entrySet()) {
+                writeKey(property.getKey());
+                writeBytes(property.getValue());
+            }
+            int flags = 0;
+            if (message.isResponse()) {
+                flags |= SYNAPSE_RESPONSE;
+            }
+            if (message.isFaultResponse()) {
+                flags |= SYNAPSE_FAULT_RESPONSE;
+            }
+            out.writeByte(flags);
+            out.writeInt(message.getTracingState());
+            out.writeInt(message.getMessageFlowTracingState());
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof String) {
+                out.writeByte(TYPE_STRING);
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Character) {
+                out.writeByte(TYPE_CHARACTER);
+                out.writeChar((Character) value);
+            } else if (value instanceof byte[]) {
+                out.writeByte(TYPE_BYTES);
+                writeBytes((byte[]) value);
+            } else if (value instanceof HashMap && hasStringKeys((Map<?, ?>) value)) {
+                out.writeByte(TYPE_MAP);
+                writeMapEntries((Map<?, ?>) value);
+            } else if (value instanceof TreeMap && ((TreeMap<?, ?>) value).comparator() == null
+                    && hasStringKeys((Map<?, ?>) value)) {
+                out.writeByte(TYPE_SORTED_MAP);
+                writeMapEntries((Map<?, ?>) value);
+            } else if (value instanceof Map && ((Map<?, ?>) value).isEmpty()) {
+                out.writeByte(TYPE_MAP);
+                writeVarInt(0);
+            } else if (value instanceof Serializable) {
+                out.writeByte(TYPE_SERIALIZED);
+                writeBytes(javaSerialize(value));
+            } else {
+                throw new IOException("Cannot store property value of type " + value.getClass().getName());
+            }
+        }
+
+        private boolean hasStringKeys(Map<?, ?> map) {
+            for (Object key : map.keySet()) {
+                if (!(key instanceof String)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void writeMapEntries(Map<?, ?> map) throws IOException {
+            writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeKey((String) entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+
+        /**
+         * Keys are written in full the first time and as a reference to the first occurrence afterwards
+         */
+        private void writeKey(String key) throws IOException {
+            Integer index = keys.get(key);
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            keys.put(key, keys.size());
+            writeVarInt(0);
+            writeString(key);
+        }
+
+        private void writeString(String value) throws IOException {
+            writeBytes(value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+        }
+
+        private void writeBytes(byte[] value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(value.length + 1);
+            out.write(value);
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+
+    private static final class Decoder {
+
+        private final DataInputStream in;
+
+        private final List<String> keys = new ArrayList<String>();
+
+        private Decoder(InputStream in) {
+            this.in = new DataInputStream(in);
+        }
+
+        private StorableMessage readMessage() throws IOException, ClassNotFoundException {
+            StorableMessage message = new StorableMessage();
+            message.setPriority(in.readInt());
+            if (in.readBoolean()) {
+                message.setAxis2message(readAxis2Message());
+            }
+            if (in.readBoolean()) {
+                message.setSynapseMessage(readSynapseMessage());
+            }
+            return message;
+        }
+
+        private Axis2Message readAxis2Message() throws IOException, ClassNotFoundException {
+            Axis2Message message = new Axis2Message();
+            message.setMessageID(readString());
+            message.setOperationAction(readString());
+            if (in.readBoolean()) {
+                String namespace = readString();
+                String localPart = readString();
+                String prefix = readString();
+                message.setOperationName(new QName(namespace, localPart, prefix));
+            }
+            message.setAction(readString());
+            message.setService(readString());
+            message.setRelatesToMessageId(readString());
+            message.setReplyToAddress(readString());
+            message.setFaultToAddress(readString());
+            message.setFromAddress(readString());
+            message.setToAddress(readString());
+            message.setTransportInName(readString());
+            message.setTransportOutName(readString());
+            int flags = in.readByte();
+            message.setDoingMTOM((flags & AXIS2_MTOM) != 0);
+            message.setDoingSWA((flags & AXIS2_SWA) != 0);
+            message.setDoingPOX((flags & AXIS2_POX) != 0);
+            message.setDoingGET((flags & AXIS2_GET) != 0);
+            message.setSoapEnvelope(readString());
+            message.setJsonStream(readBytes());
+            message.setFLOW(in.readInt());
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                message.addProperty(readKey(), readValue());
+            }
+            return message;
+        }
+
+        private SynapseMessage readSynapseMessage() throws IOException {
+            SynapseMessage message = new SynapseMessage();
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                message.addLocalEntry(readKey());
+            }
+            size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                message.addProperty(readKey(), readString());
+            }
+            size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                message.addPropertyObject(readKey(), readBytes());
+            }
+            int flags = in.readByte();
+            message.setResponse((flags & SYNAPSE_RESPONSE) != 0);
+            message.setFaultResponse((flags & SYNAPSE_FAULT_RESPONSE) != 0);
+            message.setTracingState(in.readInt());
+            message.setMessageFlowTracingState(in.readInt());
+            return message;
+        }
+
+        private Object readValue() throws IOException, ClassNotFoundException {
+            int type = in.readByte();
+            switch (type) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_STRING:
+                    return readString();
+                case TYPE_BOOLEAN:
+                    return in.readBoolean();
+                case TYPE_INTEGER:
+                    return in.readInt();
+                case TYPE_LONG:
+                    return in.readLong();
+                case TYPE_DOUBLE:
+                    return in.readDouble();
+                case TYPE_CHARACTER:
+                    return in.readChar();
+                case TYPE_BYTES:
+                    return readBytes();
+                case TYPE_MAP:
+                    return readMapEntries(new HashMap<String, Object>());
+                case TYPE_SORTED_MAP:
+                    return readMapEntries(new TreeMap<String, Object>());
+                case TYPE_SERIALIZED:
+                    try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(readBytes()))) {
+                        return objectIn.readObject();
+                    }
+                default:
+                    throw new IOException("Unknown property type " + type);
+            }
+        }
+
+        private Map<String, Object> readMapEntries(Map<String, Object> map)
+                throws IOException, ClassNotFoundException {
+            int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                map.put(readKey(), readValue());
+            }
+            return map;
+        }
+
+        private String readKey() throws IOException {
+            int index = readVarInt();
+            if (index > 0) {
+                if (index > keys.size()) {
+                    throw new IOException("Invalid key reference " + index);
+                }
+                return keys.get(index - 1);
+            }
+            String key = readString();
+            keys.add(key);
+            return key;
+        }
+
+        private String readString() throws IOException {
+            byte[] bytes = readBytes();
+            return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+        }
+
+        private byte[] readBytes() throws IOException {
+            int length = readVarInt();
+            if (length == 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length - 1];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed length");
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
+import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.MessageProducer;
+import org.apache.synapse.message.store.AbstractMessageStore;
+import org.apache.synapse.message.store.Constants;
+import org.apache.synapse.message.store.impl.commons.MessageConverter;
+import org.apache.synapse.message.store.impl.commons.StorableMessage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Message store persisting messages in a local write-ahead log of memory-mapped segment files,
+ * giving durable store and forward without an external broker or database.
+ *
+ * @see MessageLog
+ */
+public class FileMessageStore extends AbstractMessageStore {
+
+    private static final Log logger = LogFactory.getLog(FileMessageStore.class.getName());
+
+    private volatile MessageLog messageLog;
+
+    @Override
+    public void init(SynapseEnvironment se) {
+        super.init(se);
+        File directory = getDirectory();
+        int segmentSize = FileMessageStoreConstants.DEFAULT_SEGMENT_SIZE;
+        int syncPolicy = FileMessageStoreConstants.SYNC_GROUP;
+        long syncInterval = FileMessageStoreConstants.DEFAULT_FSYNC_INTERVAL_MILLIS;
+        try {
+            Object value = parameters.get(FileMessageStoreConstants.SEGMENT_SIZE);
+            if (value != null) {
+                segmentSize = Integer.parseInt(value.toString().trim());
+            }
+            value = parameters.get(FileMessageStoreConstants.FSYNC_INTERVAL_MILLIS);
+            if (value != null) {
+                syncInterval = Long.parseLong(value.toString().trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new SynapseException(nameString() + " has an invalid numeric parameter", e);
+        }
+        Object fsync = parameters.get(FileMessageStoreConstants.FSYNC);
+        if (fsync != null) {
+            syncPolicy = getSyncPolicy(fsync.toString().trim());
+        }
+        if (segmentSize <= 0 || syncInterval <= 0) {
+            throw new SynapseException(nameString() + " segment size and fsync interval must be positive");
+        }
+        try {
+            messageLog = new MessageLog(directory, segmentSize, syncPolicy, syncInterval);
+        } catch (IOException e) {
+            throw new SynapseException("Cannot open " + nameString() + " at " + directory, e);
+        }
+        logger.info("Initialized " + nameString() + " at " + directory + " with " + messageLog.size()
+                + " messages");
+    }
+
+    private File getDirectory() {
+        Object directory = parameters.get(FileMessageStoreConstants.DIRECTORY);
+        if (directory != null) {
+            return new File(directory.toString().trim());
+        }
+        return new File(FileMessageStoreConstants.DEFAULT_DIRECTORY, getName());
+    }
+
+    private int getSyncPolicy(String fsync) {
+        if (FileMessageStoreConstants.FSYNC_MESSAGE.equalsIgnoreCase(fsync)) {
+            return FileMessageStoreConstants.SYNC_PER_MESSAGE;
+        } else if (FileMessageStoreConstants.FSYNC_GROUP.equalsIgnoreCase(fsync)) {
+            return FileMessageStoreConstants.SYNC_GROUP;
+        } else if (FileMessageStoreConstants.FSYNC_INTERVAL.equalsIgnoreCase(fsync)) {
+            return FileMessageStoreConstants.SYNC_INTERVAL;
+        }
+        throw new SynapseException(nameString() + " has an invalid " + FileMessageStoreConstants.FSYNC
+                + " value " + fsync + ", expected " + FileMessageStoreConstants.FSYNC_MESSAGE + ", "
+                + FileMessageStoreConstants.FSYNC_GROUP + " or " + FileMessageStoreConstants.FSYNC_INTERVAL);
+    }
+
+    @Override
+    public void destroy() {
+        if (messageLog != null) {
+            messageLog.close();
+            messageLog = null;
+        }
+        super.destroy();
+    }
+
+    public MessageProducer getProducer() {
+        FileProducer producer = new FileProducer(this);
+        producer.setId(nextProducerId());
+        if (logger.isDebugEnabled()) {
+            logger.debug(nameString() + " created a new File Message Producer.");
+        }
+        return producer;
+    }
+
+    public MessageConsumer getConsumer() {
+        FileConsumer consumer = new FileConsumer(this);
+        consumer.setId(nextConsumerId());
+        if (logger.isDebugEnabled()) {
+            logger.debug(nameString() + " created a new File Message Consumer.");
+        }
+        return consumer;
+    }
+
+    @Override
+    public int getType() {
+        return Constants.FILE_MS;
+    }
+
+    /**
+     * Append a message to the log
+     *
+     * @param synCtx message to store
+     * @return true if the message was written
+     */
+    boolean store(MessageContext synCtx) {
+        StorableMessage message = MessageConverter.toStorableMessage(synCtx);
+        try {
+            getLog().append(synCtx.getMessageID(), MessageConverter.toBytes(message));
+            return true;
+        } catch (IOException e) {
+            logger.error(nameString() + " could not store MessageID: " + synCtx.getMessageID(), e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the oldest message in the log, null if the store is empty
+     */
+    MessageLog.Entry peekEntry() {
+        return getLog().peek();
+    }
+
+    /**
+     * Read a message from the log
+     *
+     * @param entry message in the log
+     * @return the message, null if it has been removed meanwhile
+     */
+    MessageContext read(MessageLog.Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        byte[] bytes = getLog().read(entry);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            StorableMessage message = MessageConverter.fromBytes(bytes);
+            org.apache.axis2.context.MessageContext axis2Mc = newAxis2Mc();
+            return MessageConverter.toMessageContext(message, axis2Mc, newSynapseMc(axis2Mc));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SynapseException(nameString() + " could not read MessageID: " + entry.getMessageId(), e);
+        }
+    }
+
+    /**
+     * Remove a message from the log
+     *
+     * @param entry message in the log
+     * @return false if the message had already been removed
+     */
+    boolean remove(MessageLog.Entry entry) {
+        try {
+            return getLog().remove(entry);
+        } catch (IOException e) {
+            throw new SynapseException(nameString() + " could not remove MessageID: " + entry.getMessageId(), e);
+        }
+    }
+
+    public int size() {
+        return getLog().size();
+    }
+
+    public MessageContext remove() throws NoSuchElementException {
+        MessageLog.Entry entry = peekEntry();
+        if (entry == null) {
+            throw new NoSuchElementException(nameString() + " is empty");
+        }
+        MessageContext message = read(entry);
+        if (remove(entry)) {
+            dequeued();
+        }
+        return message;
+    }
+
+    public MessageContext remove(String messageID) {
+        MessageLog.Entry entry = getLog().get(messageID);
+        if (entry == null) {
+            return null;
+        }
+        MessageContext message = read(entry);
+        if (remove(entry)) {
+            dequeued();
+        }
+        return message;
+    }
+
+    public void clear() {
+        try {
+            getLog().clear();
+        } catch (IOException e) {
+            throw new SynapseException("Clearing " + nameString() + " failed", e);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(nameString() + " cleared.");
+        }
+    }
+
+    public MessageContext get(int index) {
+        return read(getLog().get(index));
+    }
+
+    public MessageContext get(String messageId) {
+        return read(getLog().get(messageId));
+    }
+
+    public List<MessageContext> getAll() {
+        List<MessageContext> messages = new ArrayList<MessageContext>();
+        for (MessageLog.Entry entry : getLog().getAll()) {
+            MessageContext message = read(entry);
+            if (message != null) {
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    private MessageLog getLog() {
+        MessageLog log = messageLog;
+        if (log == null) {
+            throw new SynapseException(nameString() + " is not initialized");
+        }
+        return log;
+    }
+
+    private org.apache.axis2.context.MessageContext newAxis2Mc() {
+        return ((Axis2SynapseEnvironment) synapseEnvironment)
+                .getAxis2ConfigurationContext().createMessageContext();
+    }
+
+    private MessageContext newSynapseMc(org.apache.axis2.context.MessageContext msgCtx) {
+        SynapseConfiguration configuration = synapseEnvironment.getSynapseConfiguration();
+        return new Axis2MessageContext(msgCtx, configuration, synapseEnvironment);
+    }
+
+    String nameString() {
+        return "Store [" + getName() + "]";
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import java.io.File;
+
+public final class FileMessageStoreConstants {
+
+    private FileMessageStoreConstants() {}
+
+    /**
+     * Directory holding the segment files and the checkpoint of the store
+     */
+    public static final String DIRECTORY = "store.file.directory";
+
+    /**
+     * Size in bytes of each memory-mapped segment file
+     */
+    public static final String SEGMENT_SIZE = "store.file.segment.size";
+
+    /**
+     * When written messages are forced to disk, one of {@link #FSYNC_MESSAGE}, {@link #FSYNC_GROUP}
+     * or {@link #FSYNC_INTERVAL}
+     */
+    public static final String FSYNC = "store.file.fsync";
+
+    /**
+     * Interval in milliseconds between forcing writes to disk when the fsync policy is interval
+     */
+    public static final String FSYNC_INTERVAL_MILLIS = "store.file.fsync.interval";
+
+    /** Force every write to disk before returning */
+    public static final String FSYNC_MESSAGE = "message";
+
+    /** Force writes to disk before returning, sharing one fsync among concurrent writers */
+    public static final String FSYNC_GROUP = "group";
+
+    /** Force writes to disk periodically in the background */
+    public static final String FSYNC_INTERVAL = "interval";
+
+    public static final int SYNC_PER_MESSAGE = 0;
+
+    public static final int SYNC_GROUP = 1;
+
+    public static final int SYNC_INTERVAL = 2;
+
+    /**
+     * Default directory of the stores, relative to the working directory. Each store uses a
+     * sub directory named after the store
+     */
+    public static final String DEFAULT_DIRECTORY = "repository" + File.separator + "data"
+            + File.separator + "message-stores";
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    public static final long DEFAULT_FSYNC_INTERVAL_MILLIS = 1000;
+}
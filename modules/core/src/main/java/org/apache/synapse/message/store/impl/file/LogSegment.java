@@ -0,0 +1,246 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * A memory-mapped segment file of a {@link MessageLog}. The file is allocated to its full size up
+ * front and records are appended one after the other:
+ * <pre>
+ *   int   length of the body
+ *   int   CRC32 of the body
+ *   body: byte type, long sequence, int id length, id (UTF-8), message bytes
+ * </pre>
+ * A zero length marks the end of the written records. Segments are not thread safe, the owning
+ * log serializes access to them.
+ */
+class LogSegment {
+
+    static final byte MESSAGE = 1;
+
+    static final byte TOMBSTONE = 2;
+
+    static final String SUFFIX = ".log";
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final int BODY_PREFIX_SIZE = 1 + 8 + 4;
+
+    private final File file;
+
+    private final long baseSequence;
+
+    private final MappedByteBuffer buffer;
+
+    private int writePosition;
+
+    private long lastSequence = -1;
+
+    private LogSegment(File file, long baseSequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.baseSequence = baseSequence;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Create a new segment file
+     *
+     * @param directory    directory of the log
+     * @param baseSequence sequence of the first record, used to name the file
+     * @param capacity     size of the file in bytes
+     */
+    static LogSegment create(File directory, long baseSequence, int capacity) throws IOException {
+        File file = new File(directory, fileName(baseSequence));
+        return new LogSegment(file, baseSequence, map(file, capacity));
+    }
+
+    /**
+     * Open an existing segment file. Records have to be read with {@link #recover(Visitor)} before
+     * appending to it.
+     */
+    static LogSegment open(File file) throws IOException {
+        String name = file.getName();
+        long baseSequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        return new LogSegment(file, baseSequence, map(file, (int) file.length()));
+    }
+
+    static String fileName(long baseSequence) {
+        return String.format("%020d", baseSequence) + SUFFIX;
+    }
+
+    static int recordSize(byte[] id, byte[] message) {
+        return HEADER_SIZE + BODY_PREFIX_SIZE + id.length + message.length;
+    }
+
+    private static MappedByteBuffer map(File file, int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() < capacity) {
+                raf.setLength(capacity);
+            }
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    /**
+     * Receives the valid records of a segment during recovery
+     */
+    interface Visitor {
+        void visit(LogSegment segment, byte type, long sequence, String messageId, int offset);
+    }
+
+    /**
+     * Read every valid record, and position the segment for appending after the last one. Reading
+     * stops at the first record that is incomplete or fails its checksum, as left behind by a
+     * crash in the middle of a write.
+     *
+     * @return true if the segment ended cleanly
+     */
+    boolean recover(Visitor visitor) {
+        int position = 0;
+        boolean clean = true;
+        CRC32 crc = new CRC32();
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < BODY_PREFIX_SIZE || length > buffer.capacity() - position - HEADER_SIZE) {
+                clean = false;
+                break;
+            }
+            int checksum = buffer.getInt(position + 4);
+            ByteBuffer body = slice(position + HEADER_SIZE, length);
+            crc.reset();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                clean = false;
+                break;
+            }
+            int bodyStart = position + HEADER_SIZE;
+            byte type = buffer.get(bodyStart);
+            long sequence = buffer.getLong(bodyStart + 1);
+            int idLength = buffer.getInt(bodyStart + 9);
+            if (idLength < 0 || idLength > length - BODY_PREFIX_SIZE) {
+                clean = false;
+                break;
+            }
+            byte[] id = new byte[idLength];
+            slice(bodyStart + BODY_PREFIX_SIZE, idLength).get(id);
+            if (type == MESSAGE) {
+                lastSequence = Math.max(lastSequence, sequence);
+            }
+            visitor.visit(this, type, sequence, new String(id, StandardCharsets.UTF_8), position);
+            position += HEADER_SIZE + length;
+        }
+        writePosition = position;
+        if (!clean) {
+            // wipe the torn record so that it is not mistaken for data after the next append
+            for (int i = position; i < Math.min(buffer.capacity(), position + HEADER_SIZE); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return clean;
+    }
+
+    boolean hasRoom(int recordSize) {
+        // keep room for the zero length marking the end of the records
+        return writePosition + recordSize + 4 <= buffer.capacity()
+                || writePosition + recordSize == buffer.capacity();
+    }
+
+    /**
+     * Append a record
+     *
+     * @return offset of the record in the segment
+     */
+    int append(byte type, long sequence, byte[] id, byte[] message) {
+        int offset = writePosition;
+        int length = BODY_PREFIX_SIZE + id.length + message.length;
+        int bodyStart = offset + HEADER_SIZE;
+        buffer.put(bodyStart, type);
+        buffer.putLong(bodyStart + 1, sequence);
+        buffer.putInt(bodyStart + 9, id.length);
+        ByteBuffer body = slice(bodyStart + BODY_PREFIX_SIZE, id.length + message.length);
+        body.put(id);
+        body.put(message);
+        CRC32 crc = new CRC32();
+        crc.update(slice(bodyStart, length));
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        // the length is written last, a record is only visible once it is complete
+        buffer.putInt(offset, length);
+        writePosition = offset + HEADER_SIZE + length;
+        if (type == MESSAGE) {
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+        return offset;
+    }
+
+    /**
+     * Read the message bytes of the record at the given offset
+     */
+    byte[] readMessage(int offset) {
+        int length = buffer.getInt(offset);
+        int idLength = buffer.getInt(offset + HEADER_SIZE + 9);
+        byte[] message = new byte[length - BODY_PREFIX_SIZE - idLength];
+        slice(offset + HEADER_SIZE + BODY_PREFIX_SIZE + idLength, message.length).get(message);
+        return message;
+    }
+
+    private ByteBuffer slice(int position, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(position + length);
+        slice.position(position);
+        return slice;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    boolean delete() {
+        return file.delete();
+    }
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    /**
+     * @return highest message sequence in the segment, -1 if it holds none
+     */
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,551 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of messages, kept in memory-mapped {@link LogSegment} files.
+ * <p>
+ * Each message gets an increasing sequence number. Messages are consumed in sequence order and the
+ * sequence below which every message has been removed is the consumer cursor, kept in a checkpoint
+ * file. Removing a message that is not at the head writes a tombstone record instead. Segments that
+ * only hold messages below the cursor are deleted, which compacts the log as messages are
+ * acknowledged.
+ * <p>
+ * When writes reach the disk is decided by the fsync policy: before every write returns, before every
+ * write returns but sharing one fsync among concurrent writers, or periodically in the background.
+ * <p>
+ * All methods are thread safe.
+ */
+public class MessageLog implements Closeable {
+
+    private static final Log log = LogFactory.getLog(MessageLog.class);
+
+    private static final String CHECKPOINT_FILE = "cursor.checkpoint";
+
+    private static final byte[] NO_MESSAGE = new byte[0];
+
+    private final File directory;
+
+    private final int segmentSize;
+
+    private final int syncPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Guards forcing writes to disk, so that concurrent writers share one fsync
+     */
+    private final Object syncLock = new Object();
+
+    private final Deque<LogSegment> segments = new ArrayDeque<LogSegment>();
+
+    /**
+     * Messages that have not been removed, by sequence
+     */
+    private final TreeMap<Long, Entry> entries = new TreeMap<Long, Entry>();
+
+    private final Map<String, Entry> entriesById = new HashMap<String, Entry>();
+
+    private final MappedByteBuffer checkpoint;
+
+    private ScheduledExecutorService syncExecutor;
+
+    private long nextSequence;
+
+    /**
+     * Every message below the cursor has been removed
+     */
+    private long cursor;
+
+    /**
+     * Count of records and checkpoints written, and the count known to be on disk
+     */
+    private long writeCount;
+
+    private volatile long syncedCount;
+
+    private boolean closed;
+
+    /**
+     * Open the log in the given directory, recovering the messages it holds.
+     *
+     * @param directory      directory of the log, created if missing
+     * @param segmentSize    size of each segment file in bytes
+     * @param syncPolicy     one of the {@code SYNC_} constants of {@link FileMessageStoreConstants}
+     * @param syncIntervalMs interval between background syncs, for the interval policy
+     * @throws IOException if the log could not be opened
+     */
+    public MessageLog(File directory, int segmentSize, int syncPolicy, long syncIntervalMs) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create message log directory " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncPolicy = syncPolicy;
+        this.checkpoint = mapCheckpoint(new File(directory, CHECKPOINT_FILE));
+        recover();
+        if (syncPolicy == FileMessageStoreConstants.SYNC_INTERVAL) {
+            syncExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "MessageLogSync-" + MessageLog.this.directory.getName());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            syncExecutor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        sync();
+                    } catch (RuntimeException e) {
+                        log.error("Error while syncing message log " + MessageLog.this.directory, e);
+                    }
+                }
+            }, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static MappedByteBuffer mapCheckpoint(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, 16);
+        }
+    }
+
+    private void recover() throws IOException {
+        long savedCursor = checkpoint.getLong(0);
+        if (checkpoint.getLong(8) != checksum(savedCursor)) {
+            if (savedCursor != 0 || checkpoint.getLong(8) != 0) {
+                log.warn("Ignoring corrupt checkpoint of message log " + directory
+                        + ", unacknowledged state is recovered from the segments");
+            }
+            savedCursor = 0;
+        }
+        cursor = savedCursor;
+        nextSequence = savedCursor;
+
+        File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(LogSegment.SUFFIX);
+            }
+        });
+        if (files == null) {
+            throw new IOException("Cannot list message log directory " + directory);
+        }
+        Arrays.sort(files);
+        LogSegment.Visitor visitor = new LogSegment.Visitor() {
+            @Override
+            public void visit(LogSegment segment, byte type, long sequence, String messageId, int offset) {
+                if (type == LogSegment.MESSAGE) {
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                    if (sequence >= cursor) {
+                        Entry entry = new Entry(sequence, messageId, segment, offset);
+                        entries.put(sequence, entry);
+                        entriesById.put(messageId, entry);
+                    }
+                } else if (type == LogSegment.TOMBSTONE) {
+                    Entry entry = entries.remove(sequence);
+                    if (entry != null) {
+                        entriesById.remove(entry.messageId);
+                    }
+                }
+            }
+        };
+        for (int i = 0; i < files.length; i++) {
+            LogSegment segment = LogSegment.open(files[i]);
+            if (!segment.recover(visitor)) {
+                log.warn("Message log segment " + files[i] + " ends with an incomplete record at offset "
+                        + segment.getWritePosition() + ", the record is discarded");
+            }
+            segments.addLast(segment);
+        }
+        advanceCursor();
+        if (log.isDebugEnabled()) {
+            log.debug("Recovered " + entries.size() + " messages from " + segments.size()
+                    + " segments in " + directory);
+        }
+    }
+
+    /**
+     * Append a message to the log
+     *
+     * @param messageId id of the message
+     * @param message   message bytes
+     * @return sequence of the message
+     * @throws IOException if the message could not be written
+     */
+    public long append(String messageId, byte[] message) throws IOException {
+        byte[] id = messageId.getBytes(StandardCharsets.UTF_8);
+        long sequence;
+        long count;
+        lock.lock();
+        try {
+            ensureOpen();
+            sequence = nextSequence++;
+            LogSegment segment = segmentFor(LogSegment.recordSize(id, message), sequence);
+            int offset = segment.append(LogSegment.MESSAGE, sequence, id, message);
+            Entry entry = new Entry(sequence, messageId, segment, offset);
+            entries.put(sequence, entry);
+            entriesById.put(messageId, entry);
+            count = ++writeCount;
+            forceWrite(segment);
+        } finally {
+            lock.unlock();
+        }
+        syncWrite(count);
+        return sequence;
+    }
+
+    /**
+     * @return the oldest message that has not been removed, null if there is none
+     */
+    public Entry peek() {
+        lock.lock();
+        try {
+            Map.Entry<Long, Entry> first = entries.firstEntry();
+            return first != null ? first.getValue() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the message with the given id, null if there is none
+     */
+    public Entry get(String messageId) {
+        lock.lock();
+        try {
+            return entriesById.get(messageId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the message at the given position from the head, null if there is none
+     */
+    public Entry get(int index) {
+        lock.lock();
+        try {
+            if (index < 0 || index >= entries.size()) {
+                return null;
+            }
+            Iterator<Entry> iterator = entries.values().iterator();
+            for (int i = 0; i < index; i++) {
+                iterator.next();
+            }
+            return iterator.next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return every message that has not been removed, oldest first
+     */
+    public List<Entry> getAll() {
+        lock.lock();
+        try {
+            return new ArrayList<Entry>(entries.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the bytes of a message
+     *
+     * @param entry message returned by this log
+     * @return the message bytes, null if the message has been removed meanwhile
+     */
+    public byte[] read(Entry entry) {
+        lock.lock();
+        try {
+            if (closed || entries.get(entry.sequence) != entry) {
+                return null;
+            }
+            return entry.segment.readMessage(entry.offset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a message. Removing the oldest message moves the cursor, any other message is removed
+     * by writing a tombstone.
+     *
+     * @param entry message returned by this log
+     * @return false if the message had already been removed
+     * @throws IOException if the removal could not be written
+     */
+    public boolean remove(Entry entry) throws IOException {
+        long count;
+        lock.lock();
+        try {
+            ensureOpen();
+            if (entries.get(entry.sequence) != entry) {
+                return false;
+            }
+            entries.remove(entry.sequence);
+            if (entriesById.get(entry.messageId) == entry) {
+                entriesById.remove(entry.messageId);
+            }
+            LogSegment segment = null;
+            if (entry.sequence > cursor) {
+                byte[] id = entry.messageId.getBytes(StandardCharsets.UTF_8);
+                segment = segmentFor(LogSegment.recordSize(id, NO_MESSAGE), nextSequence);
+                segment.append(LogSegment.TOMBSTONE, entry.sequence, id, NO_MESSAGE);
+            }
+            advanceCursor();
+            count = ++writeCount;
+            forceWrite(segment);
+        } finally {
+            lock.unlock();
+        }
+        syncWrite(count);
+        return true;
+    }
+
+    /**
+     * Remove every message
+     *
+     * @throws IOException if the removal could not be written
+     */
+    public void clear() throws IOException {
+        long count;
+        lock.lock();
+        try {
+            ensureOpen();
+            entries.clear();
+            entriesById.clear();
+            advanceCursor();
+            count = ++writeCount;
+            forceWrite(null);
+        } finally {
+            lock.unlock();
+        }
+        syncWrite(count);
+    }
+
+    /**
+     * Force everything written so far to disk
+     */
+    public void sync() {
+        synchronized (syncLock) {
+            long count;
+            LogSegment active;
+            lock.lock();
+            try {
+                if (closed || syncedCount == writeCount) {
+                    return;
+                }
+                count = writeCount;
+                active = segments.peekLast();
+            } finally {
+                lock.unlock();
+            }
+            // segments other than the active one were forced when the log rolled over them
+            if (active != null) {
+                active.force();
+            }
+            checkpoint.force();
+            syncedCount = count;
+        }
+    }
+
+    /**
+     * Force the writes made under the lock to disk, when every write has to be forced on its own.
+     * Must be called holding the lock.
+     */
+    private void forceWrite(LogSegment segment) {
+        if (syncPolicy == FileMessageStoreConstants.SYNC_PER_MESSAGE) {
+            if (segment != null) {
+                segment.force();
+            }
+            checkpoint.force();
+            syncedCount = writeCount;
+        }
+    }
+
+    /**
+     * Wait until the given write is on disk, when writes are forced in groups. A writer finding
+     * the sync lock taken waits for the ongoing fsync, which usually covers its write as well.
+     */
+    private void syncWrite(long count) {
+        if (syncPolicy == FileMessageStoreConstants.SYNC_GROUP && syncedCount < count) {
+            sync();
+        }
+    }
+
+    /**
+     * Returns the segment to append a record to, rolling over to a new segment if the active one
+     * has no room. Must be called holding the lock.
+     */
+    private LogSegment segmentFor(int recordSize, long sequence) throws IOException {
+        LogSegment active = segments.peekLast();
+        if (active != null && active.hasRoom(recordSize)) {
+            return active;
+        }
+        long baseSequence = sequence;
+        if (active != null) {
+            active.force();
+            // a segment may hold only tombstones, keep the file names unique and ordered regardless
+            baseSequence = Math.max(sequence, active.getBaseSequence() + 1);
+        }
+        LogSegment segment = LogSegment.create(directory, baseSequence, Math.max(segmentSize, recordSize + 4));
+        segments.addLast(segment);
+        return segment;
+    }
+
+    /**
+     * Move the cursor to the oldest remaining message, save it and delete the segments that only hold
+     * messages below it. Must be called holding the lock.
+     */
+    private void advanceCursor() {
+        long newCursor = entries.isEmpty() ? nextSequence : entries.firstKey();
+        if (newCursor != cursor) {
+            cursor = newCursor;
+            checkpoint.putLong(0, cursor);
+            checkpoint.putLong(8, checksum(cursor));
+        }
+        // the active segment is kept even when it holds no messages, appends continue in it
+        while (segments.size() > 1 && segments.peekFirst().getLastSequence() < cursor) {
+            LogSegment head = segments.pollFirst();
+            if (!head.delete()) {
+                log.warn("Could not delete message log segment " + head.getFile());
+            } else if (log.isDebugEnabled()) {
+                log.debug("Deleted message log segment " + head.getFile());
+            }
+        }
+    }
+
+    private static long checksum(long value) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < 8; i++) {
+            crc.update((int) (value >>> (i * 8)));
+        }
+        // never matches an all zero checkpoint file
+        return crc.getValue() | (1L << 32);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Message log " + directory + " is closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+        sync();
+        lock.lock();
+        try {
+            closed = true;
+            segments.clear();
+            entries.clear();
+            entriesById.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return number of segment files of the log
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A message held in the log
+     */
+    public static final class Entry {
+
+        private final long sequence;
+
+        private final String messageId;
+
+        private final LogSegment segment;
+
+        private final int offset;
+
+        private Entry(long sequence, String messageId, LogSegment segment, int offset) {
+            this.sequence = sequence;
+            this.messageId = messageId;
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+    }
+}
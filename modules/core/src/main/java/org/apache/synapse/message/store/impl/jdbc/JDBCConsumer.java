@@ -23,6 +23,11 @@ import org.apache.synapse.MessageContext;
 import org.apache.synapse.SynapseException;
 import org.apache.synapse.message.MessageConsumer;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
 /**
  * JDBC Store Consumer
  */
@@ -53,6 +58,16 @@ public class JDBCConsumer implements MessageConsumer {
      */
     private boolean isAlive;
 
+    /**
+     * Messages fetched from the table but not yet acknowledged, the head being the current message
+     */
+    private final Deque<MessageContext> prefetched = new ArrayDeque<>();
+
+    /**
+     * Ids of acknowledged messages that are yet to be deleted from the table
+     */
+    private final List<String> pendingAcks = new ArrayList<>();
+
     /**
      * Initialize consumer
      *
@@ -64,7 +79,9 @@ public class JDBCConsumer implements MessageConsumer {
     }
 
     /**
-     * Select and return the first element in current table
+     * Select and return the first element in current table. When prefetching is enabled the
+     * next messages are served from a local buffer, which is refilled with a single query once
+     * every buffered message has been acknowledged.
      *
      * @return - Select and return the first element from the table
      */
@@ -72,9 +89,16 @@ public class JDBCConsumer implements MessageConsumer {
     public MessageContext receive() {
         if (isAlive()) {
             // Message will get peeked from the table
-            MessageContext msg = null;
+            MessageContext msg = prefetched.peekFirst();
+            if (msg != null) {
+                currentMessageId = msg.getMessageID();
+                return msg;
+            }
             try {
-                msg = store.peek();
+                // deletes must reach the table before refilling, or acknowledged messages would be read again
+                flushAcks();
+                prefetched.addAll(store.peek(store.getPrefetchSize()));
+                msg = prefetched.peekFirst();
                 if (msg != null) {
                     currentMessageId = msg.getMessageID();
                 }
@@ -96,12 +120,28 @@ public class JDBCConsumer implements MessageConsumer {
     }
 
     /**
-     * Ack on success message sending by processor
+     * Ack on success message sending by processor. When ack batching is enabled the delete is
+     * deferred until the batch is full or the prefetched messages run out, and only then is the
+     * outcome of the delete returned. If a batched delete fails, every message of the batch is
+     * delivered again.
      *
-     * @return Success of removing
+     * @return Success of removing, or true if the delete was deferred to the current batch
      */
     @Override
     public boolean ack() {
+        MessageContext head = prefetched.peekFirst();
+        if (head != null && head.getMessageID().equals(currentMessageId)) {
+            prefetched.pollFirst();
+        }
+        if (store.getAckBatchSize() > 1 && currentMessageId != null) {
+            // Message will be removed along with the rest of the batch
+            pendingAcks.add(currentMessageId);
+            currentMessageId = null;
+            if (pendingAcks.size() >= store.getAckBatchSize() || prefetched.isEmpty()) {
+                return flushAcks();
+            }
+            return true;
+        }
         // Message will be removed at this point
         MessageContext msg = store.remove(currentMessageId);
         if (msg != null) {
@@ -112,6 +152,34 @@ public class JDBCConsumer implements MessageConsumer {
         }
     }
 
+    /**
+     * Delete the acknowledged messages that are still pending in one transaction. On failure the
+     * pending and prefetched messages are dropped, so that the next receive reads the messages
+     * left in the table again.
+     *
+     * @return true if the pending messages were removed
+     */
+    private boolean flushAcks() {
+        if (pendingAcks.isEmpty()) {
+            return true;
+        }
+        int count = pendingAcks.size();
+        try {
+            store.remove(pendingAcks);
+        } catch (SynapseException e) {
+            logger.error(getId() + " failed to remove " + count + " acknowledged messages, "
+                    + "they will be delivered again", e);
+            pendingAcks.clear();
+            prefetched.clear();
+            return false;
+        }
+        pendingAcks.clear();
+        for (int i = 0; i < count; i++) {
+            store.dequeued();
+        }
+        return true;
+    }
+
     /**
      * Cleanup the consumer
      *
@@ -119,8 +187,10 @@ public class JDBCConsumer implements MessageConsumer {
      */
     @Override
     public boolean cleanup() {
+        boolean flushed = flushAcks();
+        prefetched.clear();
         currentMessageId = null;
-        return true;
+        return flushed;
     }
 
 
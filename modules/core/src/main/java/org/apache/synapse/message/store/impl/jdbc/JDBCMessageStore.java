@@ -31,18 +31,18 @@ import org.apache.synapse.message.store.AbstractMessageStore;
 import org.apache.synapse.message.store.impl.commons.MessageConverter;
 import org.apache.synapse.message.store.impl.commons.StorableMessage;
 import org.apache.synapse.message.store.impl.jdbc.util.JDBCConfiguration;
+import org.apache.synapse.message.store.impl.jdbc.util.JDBCGroupCommitter;
 import org.apache.synapse.message.store.impl.jdbc.util.Statement;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +72,21 @@ public class JDBCMessageStore extends AbstractMessageStore {
     private final AtomicBoolean cleaningFlag = new AtomicBoolean(false);
     protected static final String MESSAGE_COLUMN_NAME = "message";
 
+    /**
+     * Coalesces concurrent store requests into shared transactions, null if group commit is disabled
+     */
+    private JDBCGroupCommitter groupCommitter;
+
+    /**
+     * Number of messages a consumer fetches in one query
+     */
+    private int prefetchSize = 1;
+
+    /**
+     * Number of acknowledged messages a consumer deletes in one transaction
+     */
+    private int ackBatchSize = 1;
+
     /**
      * Initializes the JDBC Message Store
      *
@@ -91,9 +106,71 @@ public class JDBCMessageStore extends AbstractMessageStore {
         jdbcConfiguration.setSynapseEnvironment(synapseEnvironment);
         jdbcConfiguration.buildDataSource(parameters);
 
+        prefetchSize = getIntParameter(JDBCMessageStoreConstants.JDBC_PREFETCH_SIZE, 1);
+        ackBatchSize = getIntParameter(JDBCMessageStoreConstants.JDBC_ACK_BATCH_SIZE, 1);
+        int batchSize = getIntParameter(JDBCMessageStoreConstants.JDBC_BATCH_SIZE, 1);
+        if (batchSize > 1) {
+            long batchWait = JDBCMessageStoreConstants.JDBC_DEFAULT_BATCH_WAIT;
+            Object wait = parameters.get(JDBCMessageStoreConstants.JDBC_BATCH_WAIT);
+            if (wait != null) {
+                try {
+                    batchWait = Long.parseLong(wait.toString().trim());
+                } catch (NumberFormatException e) {
+                    logger.warn(getNameString() + " invalid value " + wait + " for "
+                            + JDBCMessageStoreConstants.JDBC_BATCH_WAIT + ", using " + batchWait);
+                }
+            }
+            groupCommitter = new JDBCGroupCommitter("JDBCGroupCommitter-" + getName(), batchSize, batchWait,
+                    new JDBCGroupCommitter.BatchExecutor() {
+                        @Override
+                        public void execute(List<Statement> statements) throws SynapseException {
+                            processNonResultingStatement(statements);
+                        }
+                    });
+            groupCommitter.start();
+            if (logger.isDebugEnabled()) {
+                logger.debug(getNameString() + " group commit enabled with batch size " + batchSize
+                        + " and maximum wait " + batchWait + "ms");
+            }
+        }
+
 //        JDBCMessageConverter.setSynapseEnvironment(synapseEnvironment);
     }
 
+    /**
+     * Read a positive integer store parameter
+     *
+     * @param name         name of the parameter
+     * @param defaultValue value used if the parameter is absent or invalid
+     * @return value of the parameter
+     */
+    private int getIntParameter(String name, int defaultValue) {
+        Object value = parameters != null ? parameters.get(name) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.toString().trim()));
+        } catch (NumberFormatException e) {
+            logger.warn(getNameString() + " invalid value " + value + " for " + name + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @return number of messages a consumer of this store fetches in one query
+     */
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    /**
+     * @return number of acknowledged messages a consumer of this store deletes in one transaction
+     */
+    public int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
     protected JDBCConfiguration getJdbcConfiguration() {
         return jdbcConfiguration;
     }
@@ -168,6 +245,17 @@ public class JDBCMessageStore extends AbstractMessageStore {
      * @return the rows which contains the column data wrapped inside a map.
      */
     protected List<Map> getProcessedRows(Statement statement) {
+        return getProcessedRows(statement, 0);
+    }
+
+    /**
+     * Will return at most the given number of processed message rows.
+     *
+     * @param statement the statement executed in the DB.
+     * @param maxRows   maximum number of rows to read, 0 for no limit.
+     * @return the rows which contains the column data wrapped inside a map.
+     */
+    protected List<Map> getProcessedRows(Statement statement, int maxRows) {
         Connection con = null;
         ResultSet rs = null;
         PreparedStatement ps = null;
@@ -175,6 +263,7 @@ public class JDBCMessageStore extends AbstractMessageStore {
         try {
             con = jdbcConfiguration.getConnection();
             ps = con.prepareStatement(statement.getStatement());
+            ps.setMaxRows(maxRows);
             int index = 1;
             for (Object param : statement.getParameters()) {
                 if (param instanceof String) {
@@ -206,25 +295,18 @@ public class JDBCMessageStore extends AbstractMessageStore {
     protected MessageContext deserializeMessage(byte[] msgObj) {
         MessageContext messageContext = null;
         if (msgObj != null) {
-            ObjectInputStream ios = null;
             try {
                 // Convert back to MessageContext and add to list
-                ios = new ObjectInputStream(new ByteArrayInputStream(msgObj));
-                Object msg = ios.readObject();
-                if (msg instanceof StorableMessage) {
-                    StorableMessage jdbcMsg = (StorableMessage) msg;
+                StorableMessage jdbcMsg = MessageConverter.fromBytes(msgObj);
+                if (jdbcMsg != null) {
                     org.apache.axis2.context.MessageContext axis2Mc = this.newAxis2Mc();
                     MessageContext synapseMc = this.newSynapseMc(axis2Mc);
                     messageContext = MessageConverter.toMessageContext(jdbcMsg, axis2Mc, synapseMc);
                 }
             } catch (IOException e) {
-                throw new SynapseException("Error reading object input stream", e);
+                throw new SynapseException("Error reading stored message", e);
             } catch (ClassNotFoundException e) {
                 throw new SynapseException("Could not find the class", e);
-            } finally {
-                if (ios != null) {
-                    closeStream(ios);
-                }
             }
         } else {
             throw new SynapseException("Retrieved Object is null");
@@ -232,19 +314,6 @@ public class JDBCMessageStore extends AbstractMessageStore {
         return messageContext;
     }
 
-    /**
-     * Closes the object stream after completing the DB operations.
-     *
-     * @param ios stream which should be closed.
-     */
-    private void closeStream(ObjectInputStream ios) {
-        try {
-            ios.close();
-        } catch (IOException e) {
-            logger.error("Error while closing object input stream", e);
-        }
-    }
-
     private org.apache.axis2.context.MessageContext newAxis2Mc() {
         return ((Axis2SynapseEnvironment) synapseEnvironment)
                 .getAxis2ConfigurationContext().createMessageContext();
@@ -273,7 +342,9 @@ public class JDBCMessageStore extends AbstractMessageStore {
     }
 
     /**
-     * Process statements that do not give a ResultSet
+     * Process statements that do not give a ResultSet. All statements run in one transaction, in
+     * the order they were given; consecutive statements sharing the same SQL are sent to the
+     * database as a single batch.
      *
      * @param statements - Statement to process
      * @return - Success or Failure of the process
@@ -281,12 +352,50 @@ public class JDBCMessageStore extends AbstractMessageStore {
     private boolean processNonResultingStatement(List<Statement> statements) throws SynapseException {
         Connection connection = null;
         boolean result;
-        PreparedStatement preparedStatement = null;
         try {
             connection = jdbcConfiguration.getConnection();
             connection.setAutoCommit(false);
-            for(Statement statement : statements) {
-                preparedStatement = connection.prepareStatement(statement.getStatement());
+            int start = 0;
+            while (start < statements.size()) {
+                String sql = statements.get(start).getStatement();
+                int end = start + 1;
+                while (end < statements.size() && sql.equals(statements.get(end).getStatement())) {
+                    end++;
+                }
+                executeBatch(connection, sql, statements.subList(start, end));
+                start = end;
+            }
+            connection.commit();
+            result = true;
+        } catch (SQLException | IOException e) {
+            rollback(connection, "processing " + statements.size() + " statements");
+            throw new SynapseException("Processing Statement failed against DataSource : "
+                    + jdbcConfiguration.getDSName(), e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.error("Error while closing connection", e);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Execute statements sharing the same SQL through one prepared statement
+     *
+     * @param connection connection of the current transaction
+     * @param sql        SQL shared by the statements
+     * @param statements statements holding the parameters of each execution
+     */
+    private void executeBatch(Connection connection, String sql, List<Statement> statements)
+            throws SQLException, IOException {
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = connection.prepareStatement(sql);
+            for (Statement statement : statements) {
                 int index = 1;
                 for (Object param : statement.getParameters()) {
                     if (param instanceof String) {
@@ -299,17 +408,19 @@ public class JDBCMessageStore extends AbstractMessageStore {
                     }
                     index++;
                 }
-                if(logger.isDebugEnabled()){
-                    logger.debug("Executing statement:"+preparedStatement);
+                if (statements.size() > 1) {
+                    preparedStatement.addBatch();
                 }
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Executing statement:" + preparedStatement + " for " + statements.size()
+                        + " parameter sets");
+            }
+            if (statements.size() > 1) {
+                preparedStatement.executeBatch();
+            } else {
                 preparedStatement.execute();
             }
-            connection.commit();
-            result = true;
-        } catch (SQLException | IOException e) {
-            rollback(connection,"deleting message");
-            throw new SynapseException("Processing Statement failed against DataSource : "
-                    + jdbcConfiguration.getDSName(), e);
         } finally {
             if (preparedStatement != null) {
                 try {
@@ -318,18 +429,13 @@ public class JDBCMessageStore extends AbstractMessageStore {
                     logger.error("Error while closing prepared statement", e);
                 }
             }
-            if (connection != null) {
-                try {
-                    connection.close();
-                } catch (SQLException e) {
-                    logger.error("Error while closing connection", e);
-                }
-            }
         }
-        return result;
     }
 
     public byte[] serialize(Object obj) throws IOException {
+        if (obj instanceof StorableMessage) {
+            return MessageConverter.toBytes((StorableMessage) obj);
+        }
         ByteArrayOutputStream b = new ByteArrayOutputStream();
         ObjectOutputStream o = new ObjectOutputStream(b);
         o.writeObject(obj);
@@ -341,6 +447,10 @@ public class JDBCMessageStore extends AbstractMessageStore {
      */
     @Override
     public void destroy() {
+        if (groupCommitter != null) {
+            groupCommitter.stop();
+            groupCommitter = null;
+        }
         super.destroy();
         jdbcConfiguration = null;
     }
@@ -369,6 +479,11 @@ public class JDBCMessageStore extends AbstractMessageStore {
             ArrayList<Statement> statements = new ArrayList<>();
             Statement statement = getStoreMessageStatement(messageContext, null);
             statements.add(statement);
+            JDBCGroupCommitter committer = groupCommitter;
+            if (committer != null) {
+                committer.commit(statements);
+                return true;
+            }
             return processNonResultingStatement(statements);
         } catch (Exception e) {
             throw new SynapseException("Error while creating StorableMessage", e);
@@ -447,6 +562,36 @@ public class JDBCMessageStore extends AbstractMessageStore {
         return msg;
     }
 
+    /**
+     * Select and return up to the given number of messages from the head of the table, in the
+     * order they were stored.
+     *
+     * @param count maximum number of messages to return
+     * @return messages at the head of the table, empty if the table is empty
+     */
+    protected List<MessageContext> peek(int count) throws SynapseException {
+        if (count <= 1) {
+            MessageContext msg = peek();
+            return msg != null ? Collections.singletonList(msg) : Collections.<MessageContext>emptyList();
+        }
+        List<MessageContext> messages = new ArrayList<>(count);
+        try {
+            Statement statement = new Statement("SELECT message FROM " + jdbcConfiguration.getTableName()
+                    + " ORDER BY indexId ASC") {
+                @Override
+                public List<Map> getResult(ResultSet resultSet) throws SQLException {
+                    return messageContentResultSet(resultSet, this.getStatement());
+                }
+            };
+            for (Map row : getProcessedRows(statement, count)) {
+                messages.add((MessageContext) row.get(MESSAGE_COLUMN_NAME));
+            }
+        } catch (SynapseException se) {
+            throw new SynapseException("Error while peek the messages", se);
+        }
+        return messages;
+    }
+
     /**
      * Removes the first element from table
      *
@@ -496,6 +641,40 @@ public class JDBCMessageStore extends AbstractMessageStore {
         return result;
     }
 
+    /**
+     * Remove the messages with the given msg_ids in a single transaction
+     *
+     * @param msgIds - message IDs
+     * @return - Success or Failure of the removal
+     */
+    public boolean remove(List<String> msgIds) throws SynapseException {
+        if (msgIds.isEmpty()) {
+            return true;
+        }
+        boolean cleaningState = false;
+        try {
+            if (cleaningFlag.get()) {
+                try {
+                    removeLock.lock();
+                    cleaningState = true;
+                } catch (Exception ie) {
+                    logger.error("Message Cleanup lock released unexpectedly", ie);
+                }
+            }
+            List<Statement> statements = new ArrayList<>();
+            for (String msgId : msgIds) {
+                statements.addAll(removeMessageStatement(msgId));
+            }
+            return processNonResultingStatement(statements);
+        } catch (Exception e) {
+            throw new SynapseException("Removing " + msgIds.size() + " messages failed !", e);
+        } finally {
+            if (cleaningState) {
+                removeLock.unlock();
+            }
+        }
+    }
+
     /**
      * Statement to remove the message once a response is received.
      *
@@ -60,4 +60,30 @@ public class JDBCMessageStoreConstants {
      * Default name of the database table
      */
     public static final String JDBC_DEFAULT_TABLE_NAME = "jdbc_message_store";
+
+    /**
+     * Maximum number of concurrent store requests committed in one transaction. Group commit is
+     * disabled unless this is greater than one
+     */
+    public static final String JDBC_BATCH_SIZE = "store.jdbc.batch.size";
+
+    /**
+     * Maximum time in milliseconds a store request waits for others to join its transaction
+     */
+    public static final String JDBC_BATCH_WAIT = "store.jdbc.batch.wait";
+
+    /**
+     * Default group commit wait in milliseconds
+     */
+    public static final long JDBC_DEFAULT_BATCH_WAIT = 5;
+
+    /**
+     * Number of messages a consumer fetches into its local buffer in one query
+     */
+    public static final String JDBC_PREFETCH_SIZE = "store.jdbc.prefetch.size";
+
+    /**
+     * Number of acknowledged messages a consumer deletes in one transaction
+     */
+    public static final String JDBC_ACK_BATCH_SIZE = "store.jdbc.ack.batch.size";
 }
@@ -0,0 +1,243 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.jdbc.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.SynapseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces statements submitted concurrently by many threads into a single transaction. A
+ * writer thread takes the first pending request, waits at most the configured interval for
+ * more to arrive, and hands the whole group to the {@link BatchExecutor} in one call. Each
+ * submitting thread blocks until its group has been committed, so a successful return from
+ * {@link #commit(List)} still means the statements are durable.
+ * <p>
+ * When a group fails, its requests are retried one by one so that only the offending request
+ * sees the failure.
+ */
+public class JDBCGroupCommitter implements Runnable {
+
+    private static final Log log = LogFactory.getLog(JDBCGroupCommitter.class);
+
+    /**
+     * How long the writer blocks for the first request before re-checking whether it was stopped
+     */
+    private static final long IDLE_POLL_INTERVAL = 100;
+
+    /**
+     * Executes a list of statements within a single transaction.
+     */
+    public interface BatchExecutor {
+
+        /**
+         * @param statements statements to execute and commit together
+         * @throws SynapseException if the transaction failed and was rolled back
+         */
+        void execute(List<Statement> statements) throws SynapseException;
+    }
+
+    private final String name;
+
+    private final int maxBatchSize;
+
+    private final long maxWaitNanos;
+
+    private final BatchExecutor executor;
+
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<Request>();
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    /**
+     * @param name         name of the writer thread
+     * @param maxBatchSize maximum number of requests committed in one transaction
+     * @param maxWait      maximum time in milliseconds a request waits for others to join it
+     * @param executor     executes each group of statements
+     */
+    public JDBCGroupCommitter(String name, int maxBatchSize, long maxWait, BatchExecutor executor) {
+        this.name = name;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWait));
+        this.executor = executor;
+    }
+
+    /**
+     * Start the writer thread
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop the writer thread once every request already queued has been committed
+     */
+    public synchronized void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Commit the given statements together with those of concurrent callers. Blocks until the
+     * group containing them has been committed or has failed.
+     *
+     * @param statements statements to execute
+     * @throws SynapseException if the statements could not be committed
+     */
+    public void commit(List<Statement> statements) throws SynapseException {
+        if (!running) {
+            executor.execute(statements);
+            return;
+        }
+        Request request = new Request(statements);
+        queue.add(request);
+        try {
+            long timeout = Math.max(IDLE_POLL_INTERVAL, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            while (!request.done.await(timeout, TimeUnit.MILLISECONDS)) {
+                // the writer stopped before it could see this request, commit it here instead
+                if (!running && queue.remove(request)) {
+                    executor.execute(statements);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SynapseException("Interrupted while waiting for the group commit", e);
+        }
+        if (request.error != null) {
+            throw request.error;
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Request> batch = new ArrayList<Request>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(IDLE_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch, System.nanoTime() + maxWaitNanos);
+            } catch (InterruptedException e) {
+                // finish what was already collected and drain the rest before exiting
+                running = false;
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                commitBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Collect pending requests into the batch until it is full or the deadline passes.
+     */
+    private void fill(List<Request> batch, long deadline) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void commitBatch(List<Request> batch) {
+        if (batch.size() == 1) {
+            commitSingle(batch.get(0));
+            return;
+        }
+        List<Statement> statements = new ArrayList<Statement>();
+        for (Request request : batch) {
+            statements.addAll(request.statements);
+        }
+        try {
+            executor.execute(statements);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of " + batch.size() + " requests failed in " + name
+                    + ", retrying them individually", e);
+            for (Request request : batch) {
+                commitSingle(request);
+            }
+            return;
+        }
+        for (Request request : batch) {
+            request.done.countDown();
+        }
+    }
+
+    private void commitSingle(Request request) {
+        try {
+            executor.execute(request.statements);
+        } catch (SynapseException e) {
+            request.error = e;
+        } catch (RuntimeException e) {
+            request.error = new SynapseException("Error while committing statements", e);
+        } finally {
+            request.done.countDown();
+        }
+    }
+
+    /**
+     * Statements of one caller along with the outcome of committing them
+     */
+    private static class Request {
+
+        private final List<Statement> statements;
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private volatile SynapseException error;
+
+        private Request(List<Statement> statements) {
+            this.statements = statements;
+        }
+    }
+}
@@ -29,11 +29,13 @@ import org.apache.synapse.message.store.Constants;
 import org.apache.synapse.message.store.impl.commons.MessageConverter;
 import org.apache.synapse.message.store.impl.commons.StorableMessage;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.ObjectMessage;
 import javax.jms.Session;
+import java.io.IOException;
 
 public class JmsConsumer implements MessageConsumer {
 
@@ -94,22 +96,28 @@ public class JmsConsumer implements MessageConsumer {
                 if (message == null) {
                     return null;
                 }
-                if (!(message instanceof ObjectMessage)) {
-                    logger.warn("JMS Consumer " + getId() + " did not receive a javax.jms.ObjectMessage");
-                    //we just discard this message as we only store Object messages via JMS Message store
+                StorableMessage storableMessage;
+                if (message instanceof BytesMessage) {
+                    storableMessage = readStorableMessage((BytesMessage) message);
+                } else if (message instanceof ObjectMessage) {
+                    // messages stored with Java serialization
+                    Object object = ((ObjectMessage) message).getObject();
+                    storableMessage = object instanceof StorableMessage ? (StorableMessage) object : null;
+                } else {
+                    logger.warn("JMS Consumer " + getId()
+                            + " did not receive a javax.jms.BytesMessage or javax.jms.ObjectMessage");
+                    //we just discard this message as we only store Bytes or Object messages via JMS Message store
                     message.acknowledge();
                     return null;
                 }
-                ObjectMessage msg = (ObjectMessage) message;
-                String messageId = msg.getStringProperty(Constants.OriginalMessageID);
-                if (!(msg.getObject() instanceof StorableMessage)) {
+                String messageId = message.getStringProperty(Constants.OriginalMessageID);
+                if (storableMessage == null) {
                     logger.warn("JMS Consumer " + getId() + " did not receive a valid message.");
                     message.acknowledge();
                     return null;
                 }
 
                 //create a ,essage context back from the stored message
-                StorableMessage storableMessage = (StorableMessage) msg.getObject();
                 org.apache.axis2.context.MessageContext axis2Mc = store.newAxis2Mc();
                 MessageContext synapseMc = store.newSynapseMc(axis2Mc);
                 synapseMc = MessageConverter.toMessageContext(storableMessage, axis2Mc, synapseMc);
@@ -234,6 +242,23 @@ public class JmsConsumer implements MessageConsumer {
         return idString;
     }
 
+    /**
+     * Decode the stored message carried by the body of a bytes message
+     *
+     * @param message message received from the store
+     * @return the stored message, or null if the body does not hold a valid one
+     */
+    private StorableMessage readStorableMessage(BytesMessage message) throws JMSException {
+        byte[] body = new byte[(int) message.getBodyLength()];
+        message.readBytes(body);
+        try {
+            return MessageConverter.fromBytes(body);
+        } catch (IOException | ClassNotFoundException e) {
+            logger.error("JMS Consumer " + getId() + " could not read the stored message.", e);
+            return null;
+        }
+    }
+
     /**
      * Check if connection, session and consumer is created successfully, if not try to connect
      *
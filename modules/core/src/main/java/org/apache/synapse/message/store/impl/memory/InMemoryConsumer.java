@@ -28,47 +28,50 @@ import java.util.Queue;
 public class InMemoryConsumer implements MessageConsumer {
     private static final Log logger = LogFactory.getLog(InMemoryConsumer.class.getName());
     /** */
-    private Queue<MessageContext> queue;
-    /** */
     private final InMemoryStore store;
     /** ID of this message consumer instance */
     private String idString;
+    /** Shard this consumer claims messages from first when the store is unordered */
+    private int shard;
 
     private MessageContext lastMessage;
 
-    private final Object queueLock;
-
     public InMemoryConsumer(InMemoryStore store) {
         this.store = store;
-        this.queueLock = store.getQLock();
     }
 
     public MessageContext receive() {
         MessageContext message;
-        synchronized (queueLock) {
-            message = queue.peek();
-            if (logger.isDebugEnabled()) {
-                if (message != null) {
-                    logger.debug(getId() + " received MessageID : " + message.getMessageID());
-                }
+        if (store.isOrdered()) {
+            message = store.peek();
+        } else if (lastMessage != null) {
+            // the claimed message stays with this consumer until it is acked
+            message = lastMessage;
+        } else {
+            message = store.claim(shard);
+        }
+        if (logger.isDebugEnabled()) {
+            if (message != null) {
+                logger.debug(getId() + " received MessageID : " + message.getMessageID());
             }
-            lastMessage = message;
-
         }
+        lastMessage = message;
         return message;
     }
 
     public boolean ack() {
-        if (logger.isDebugEnabled() && lastMessage != null) {
+        MessageContext message = lastMessage;
+        if (logger.isDebugEnabled() && message != null) {
             logger.debug(getId() + " ack");
         }
-        synchronized (queueLock) {
-            Object o = queue.poll();
-            if (o != null) {
-                store.dequeued();
+        if (message != null) {
+            if (store.isOrdered()) {
+                store.removePeeked(message);
+            } else {
+                store.complete(message);
             }
-            lastMessage = null;
         }
+        lastMessage = null;
         return true;
     }
 
@@ -76,6 +79,11 @@ public class InMemoryConsumer implements MessageConsumer {
         if (logger.isDebugEnabled()) {
             logger.debug(getId() + " cleanup");
         }
+        MessageContext message = lastMessage;
+        if (message != null && !store.isOrdered()) {
+            store.unclaim(message, shard);
+        }
+        lastMessage = null;
         return true;
     }
 
@@ -88,14 +96,24 @@ public class InMemoryConsumer implements MessageConsumer {
 
     public void setId(int id) {
         idString = "[" + store.getName() + "-C-" + id + "]";
+        shard = id;
     }
 
     public String getId() {
         return idString;
     }
 
+    /**
+     * @param queue ignored
+     * @return this consumer
+     * @deprecated the consumer always takes messages from the queues of its store, which are split into shards for an
+     * unordered store, so a destination can no longer be set
+     */
+    @Deprecated
     public InMemoryConsumer setDestination(Queue<MessageContext> queue) {
-        this.queue = queue;
+        if (queue != null) {
+            logger.warn(getId() + " ignores the destination queue, messages always go through " + store.getName());
+        }
         return this;
     }
 
@@ -28,26 +28,19 @@ import java.util.Queue;
 public class InMemoryProducer implements MessageProducer {
     private static final Log logger = LogFactory.getLog(InMemoryProducer.class.getName());
     /** */
-    private Queue<MessageContext> queue;
-    /** */
     private final InMemoryStore store;
     /** */
     private String idString;
 
-    private final Object queueLock;
-
     public InMemoryProducer(InMemoryStore store) {
         this.store = store;
-        this.queueLock = store.getQLock();
     }
 
     public boolean storeMessage(MessageContext synCtx) {
         boolean result = false;
         if (synCtx != null) {
             synCtx.getEnvelope().buildWithAttachments();
-            synchronized (queueLock) {
-                result = queue.offer(synCtx);
-            }
+            result = store.offer(synCtx);
             if (!result) {
                 logger.warn(getId() + " ignored MessageID : " + synCtx.getMessageID());
             }
@@ -76,8 +69,17 @@ public class InMemoryProducer implements MessageProducer {
         return idString;
     }
 
+    /**
+     * @param queue ignored
+     * @return this producer
+     * @deprecated the producer always stores messages in the queues of its store, which are split into shards for an
+     * unordered store, so a destination can no longer be set
+     */
+    @Deprecated
     public InMemoryProducer setDestination(Queue<MessageContext> queue) {
-        this.queue = queue;
+        if (queue != null) {
+            logger.warn(getId() + " ignores the destination queue, messages always go through " + store.getName());
+        }
         return this;
     }
 }
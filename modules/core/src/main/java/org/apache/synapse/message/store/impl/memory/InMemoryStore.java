@@ -21,29 +21,79 @@ package org.apache.synapse.message.store.impl.memory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.config.SynapseConfiguration;
 import org.apache.synapse.core.SynapseEnvironment;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
 import org.apache.synapse.message.MessageConsumer;
 import org.apache.synapse.message.MessageProducer;
 import org.apache.synapse.message.store.AbstractMessageStore;
 import org.apache.synapse.message.store.Constants;
+import org.apache.synapse.message.store.impl.commons.MessageConverter;
+import org.apache.synapse.message.store.impl.commons.StorableMessage;
+import org.apache.synapse.message.store.impl.file.FileMessageStoreConstants;
+import org.apache.synapse.message.store.impl.file.MessageLog;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Message store keeping messages in lock-free queues in memory.
+ * <p>
+ * An ordered store (the default) delivers messages in the order they were stored: consumers peek
+ * at the head of a single queue and remove it on ack. An unordered store spreads messages over
+ * several shards; each consumer claims messages from its own shard and steals from the others when
+ * it runs dry, so several consumers drain the store in parallel. Claimed messages are not visible
+ * to {@link #get(int)}, {@link #get(String)} and {@link #getAll()} until they are acked or handed
+ * back.
+ * <p>
+ * The number of messages can be bounded with {@link InMemoryStoreConstants#CAPACITY}. A producer
+ * finding the store full either fails, waits for a consumer to make room or spills the message to a
+ * local {@link MessageLog}, as configured by {@link InMemoryStoreConstants#OVERFLOW_POLICY}. While
+ * the overflow log holds messages new messages go to the log as well, and consumers move them back
+ * to memory as room frees up.
+ */
 public class InMemoryStore extends AbstractMessageStore {
     private static final Log logger = LogFactory.getLog(InMemoryStore.class.getName());
 
-    private Queue<MessageContext> queue = new ConcurrentLinkedQueue<MessageContext>();
+    private volatile ConcurrentLinkedDeque<MessageContext>[] shards = newShards(1);
+
+    /** Messages held in memory, including those claimed by consumers */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    private volatile boolean ordered = true;
+
+    private int overflowPolicy = InMemoryStoreConstants.OVERFLOW_REJECT;
+
+    private long blockTimeout = InMemoryStoreConstants.DEFAULT_BLOCK_TIMEOUT_MILLIS;
+
+    /** Free capacity of a bounded store, null when the store is unbounded */
+    private volatile Semaphore permits;
 
+    private volatile MessageLog overflowLog;
+
+    /** Whether messages are being written to the overflow log instead of memory */
+    private volatile boolean spilling;
+
+    private final Object spillLock = new Object();
+
+    /** Lock handed out by {@link #getQLock()}, not used by the store itself */
     private final Object queueLock = new Object();
 
     public MessageProducer getProducer() {
         InMemoryProducer producer = new InMemoryProducer(this);
         producer.setId(nextProducerId());
-        producer.setDestination(queue);
         if (logger.isDebugEnabled()) {
             logger.debug(nameString() + " created a new In Memory Message Producer.");
         }
@@ -53,7 +103,6 @@ public class InMemoryStore extends AbstractMessageStore {
     public MessageConsumer getConsumer() {
         InMemoryConsumer consumer = new InMemoryConsumer(this);
         consumer.setId(nextConsumerId());
-        consumer.setDestination(queue);
         if (logger.isDebugEnabled()) {
             logger.debug(nameString() + " created a new In Memory Message Consumer.");
         }
@@ -65,29 +114,268 @@ public class InMemoryStore extends AbstractMessageStore {
     }
 
     public int size() {
-        synchronized (queueLock) {
-            return queue.size();
+        MessageLog log = overflowLog;
+        return count.get() + (log != null ? log.size() : 0);
+    }
+
+    /**
+     * Store a message, applying the overflow policy when the store is full
+     *
+     * @param synCtx message to store
+     * @return false if the message was rejected
+     */
+    boolean offer(MessageContext synCtx) {
+        if (spilling && spill(synCtx, false)) {
+            return true;
+        }
+        if (!acquire()) {
+            if (overflowLog != null) {
+                return spill(synCtx, true);
+            }
+            return false;
         }
+        ConcurrentLinkedDeque<MessageContext>[] queues = shards;
+        queues[shardIndex(nextShard.getAndIncrement(), queues.length)].offerLast(synCtx);
+        count.incrementAndGet();
+        return true;
     }
 
-    public MessageContext remove() throws NoSuchElementException {
-        MessageContext message;
-        synchronized (queueLock) {
-            message = queue.remove();
+    private boolean acquire() {
+        Semaphore free = permits;
+        if (free == null) {
+            return true;
+        }
+        if (overflowPolicy != InMemoryStoreConstants.OVERFLOW_BLOCK) {
+            return free.tryAcquire();
+        }
+        try {
+            return free.tryAcquire(blockTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void release() {
+        count.decrementAndGet();
+        Semaphore free = permits;
+        if (free != null) {
+            free.release();
+        }
+        dequeued();
+    }
+
+    /**
+     * Peek at the oldest message of an ordered store
+     *
+     * @return the oldest message, null if the store is empty
+     */
+    MessageContext peek() {
+        MessageContext message = shards[0].peekFirst();
+        if (message == null && spilling) {
+            refill();
+            message = shards[0].peekFirst();
+        }
+        return message;
+    }
+
+    /**
+     * Remove a message previously returned by {@link #peek()}
+     *
+     * @param message message to remove
+     * @return false if the message had already been removed
+     */
+    boolean removePeeked(MessageContext message) {
+        if (shards[0].removeFirstOccurrence(message)) {
+            release();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take a message out of the queues of an unordered store on behalf of a consumer. The message
+     * keeps its capacity until it is acked with {@link #complete(MessageContext)} or handed back with
+     * {@link #unclaim(MessageContext, int)}.
+     *
+     * @param home shard of the consumer, searched first
+     * @return the claimed message, null if the store is empty
+     */
+    MessageContext claim(int home) {
+        MessageContext message = poll(home);
+        if (message == null && spilling) {
+            refill();
+            message = poll(home);
+        }
+        return message;
+    }
+
+    void complete(MessageContext message) {
+        release();
+    }
+
+    void unclaim(MessageContext message, int home) {
+        ConcurrentLinkedDeque<MessageContext>[] queues = shards;
+        queues[shardIndex(home, queues.length)].offerFirst(message);
+    }
+
+    /**
+     * @return whether messages are delivered in the order they were stored
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    private MessageContext poll(int home) {
+        ConcurrentLinkedDeque<MessageContext>[] queues = shards;
+        for (int i = 0; i < queues.length; i++) {
+            MessageContext message = queues[shardIndex(home + i, queues.length)].pollFirst();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    private boolean spill(MessageContext synCtx, boolean overflow) {
+        synchronized (spillLock) {
+            if (!overflow && !spilling) {
+                return false;
+            }
+            StorableMessage message = MessageConverter.toStorableMessage(synCtx);
+            try {
+                overflowLog.append(synCtx.getMessageID(), MessageConverter.toBytes(message));
+            } catch (IOException e) {
+                logger.error(nameString() + " could not spill MessageID: " + synCtx.getMessageID(), e);
+                return false;
+            }
+            if (!spilling) {
+                spilling = true;
+                logger.warn(nameString() + " is full, spilling messages to " + overflowLog.getDirectory());
+            }
+            return true;
         }
-        if (message != null) {
-            dequeued();
-            if (logger.isDebugEnabled()) {
-                logger.debug(nameString() + " removed MessageID:" + message.getMessageID() + " => true");
+    }
+
+    /**
+     * Move spilled messages back to memory while there is room
+     */
+    private void refill() {
+        synchronized (spillLock) {
+            while (spilling) {
+                MessageLog.Entry entry = overflowLog.peek();
+                if (entry == null) {
+                    spilling = false;
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(nameString() + " drained its overflow log");
+                    }
+                    return;
+                }
+                Semaphore free = permits;
+                if (free != null && !free.tryAcquire()) {
+                    return;
+                }
+                boolean queued = false;
+                try {
+                    byte[] bytes = overflowLog.read(entry);
+                    MessageContext message = bytes != null ? decodeSpilled(bytes, entry) : null;
+                    // the record is only removed once its message is in memory or set aside
+                    removeSpilled(entry);
+                    if (message != null) {
+                        ConcurrentLinkedDeque<MessageContext>[] queues = shards;
+                        queues[shardIndex(nextShard.getAndIncrement(), queues.length)].offerLast(message);
+                        count.incrementAndGet();
+                        queued = true;
+                    }
+                } finally {
+                    if (!queued && free != null) {
+                        free.release();
+                    }
+                }
             }
         }
+    }
+
+    /**
+     * Decode a spilled message on its way back to memory. A message that can not be decoded would
+     * block the overflow log for good, so it is moved aside and skipped.
+     *
+     * @return the message, null if it could not be decoded
+     */
+    private MessageContext decodeSpilled(byte[] bytes, MessageLog.Entry entry) {
+        try {
+            return toMessageContext(bytes, entry);
+        } catch (SynapseException e) {
+            File directory = new File(overflowLog.getDirectory(), InMemoryStoreConstants.UNREADABLE_DIRECTORY);
+            File file = new File(directory, entry.getSequence() + "-" + entry.getMessageId().replaceAll("\\W", "_"));
+            try {
+                Files.createDirectories(directory.toPath());
+                Files.write(file.toPath(), bytes);
+                logger.error(nameString() + " moved unreadable spilled MessageID: " + entry.getMessageId()
+                        + " to " + file, e);
+            } catch (IOException ioe) {
+                logger.error(nameString() + " dropped unreadable spilled MessageID: " + entry.getMessageId()
+                        + ", it could not be moved to " + file + " : " + ioe.getMessage(), e);
+            }
+            return null;
+        }
+    }
+
+    private MessageContext readSpilled(MessageLog.Entry entry) {
+        byte[] bytes = overflowLog.read(entry);
+        return bytes != null ? toMessageContext(bytes, entry) : null;
+    }
+
+    private MessageContext toMessageContext(byte[] bytes, MessageLog.Entry entry) {
+        try {
+            StorableMessage message = MessageConverter.fromBytes(bytes);
+            org.apache.axis2.context.MessageContext axis2Mc = newAxis2Mc();
+            return MessageConverter.toMessageContext(message, axis2Mc, newSynapseMc(axis2Mc));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SynapseException(nameString() + " could not read spilled MessageID: "
+                    + entry.getMessageId(), e);
+        }
+    }
+
+    private boolean removeSpilled(MessageLog.Entry entry) {
+        try {
+            return overflowLog.remove(entry);
+        } catch (IOException e) {
+            throw new SynapseException(nameString() + " could not remove spilled MessageID: "
+                    + entry.getMessageId(), e);
+        }
+    }
+
+    public MessageContext remove() throws NoSuchElementException {
+        MessageContext message = poll(0);
+        if (message == null && spilling) {
+            refill();
+            message = poll(0);
+        }
+        if (message == null) {
+            throw new NoSuchElementException(nameString() + " is empty");
+        }
+        release();
+        if (logger.isDebugEnabled()) {
+            logger.debug(nameString() + " removed MessageID:" + message.getMessageID() + " => true");
+        }
         return message;
     }
 
     public void clear() {
-        synchronized (queueLock) {
-            while (!queue.isEmpty()) {
-                remove();
+        for (ConcurrentLinkedDeque<MessageContext> queue : shards) {
+            while (queue.pollFirst() != null) {
+                release();
+            }
+        }
+        if (overflowLog != null) {
+            synchronized (spillLock) {
+                try {
+                    overflowLog.clear();
+                } catch (IOException e) {
+                    throw new SynapseException("Clearing the overflow log of " + nameString() + " failed", e);
+                }
+                spilling = false;
             }
         }
         if (logger.isDebugEnabled()) {
@@ -96,61 +384,88 @@ public class InMemoryStore extends AbstractMessageStore {
     }
 
     public MessageContext remove(final String messageID) {
-        MessageContext message = null;
-        synchronized (queueLock) {
+        for (ConcurrentLinkedDeque<MessageContext> queue : shards) {
             for (MessageContext m : queue) {
                 if (m.getMessageID().equals(messageID)) {
-                    message = m;
-                    break;
+                    boolean result = queue.removeFirstOccurrence(m);
+                    if (result) {
+                        release();
+                    }
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(nameString() + " removed MessageID:" + messageID + " => " + result);
+                    }
+                    return m;
                 }
             }
-            if (message != null) {
-                boolean result = queue.remove(message);
-                if (logger.isDebugEnabled()) {
-                    logger.debug(nameString() + " removed MessageID:" + message.getMessageID() + " => " + result);
+        }
+        if (overflowLog != null) {
+            synchronized (spillLock) {
+                MessageLog.Entry entry = overflowLog.get(messageID);
+                if (entry != null) {
+                    MessageContext message = readSpilled(entry);
+                    if (removeSpilled(entry)) {
+                        dequeued();
+                    }
+                    return message;
                 }
             }
         }
-        return message;
+        return null;
     }
 
     public MessageContext get(final int index) {
-        if (index < 0 || index >= queue.size()) {
+        if (index < 0) {
             return null;
         }
-        MessageContext message = null;
-        synchronized (queueLock) {
-            int i = 0;
+        int i = 0;
+        for (ConcurrentLinkedDeque<MessageContext> queue : shards) {
             for (MessageContext m : queue) {
                 if (i == index) {
-                    message = m;
-                    break;
+                    return m;
                 }
                 ++i;
             }
         }
-        return message;
+        if (overflowLog != null) {
+            MessageLog.Entry entry = overflowLog.get(index - i);
+            if (entry != null) {
+                return readSpilled(entry);
+            }
+        }
+        return null;
     }
 
     public List<MessageContext> getAll() {
         List<MessageContext> list = new ArrayList<MessageContext>();
-        synchronized (queueLock) {
+        for (ConcurrentLinkedDeque<MessageContext> queue : shards) {
             list.addAll(queue);
         }
+        if (overflowLog != null) {
+            for (MessageLog.Entry entry : overflowLog.getAll()) {
+                MessageContext message = readSpilled(entry);
+                if (message != null) {
+                    list.add(message);
+                }
+            }
+        }
         return list;
     }
 
     public MessageContext get(String messageId) {
-        MessageContext message = null;
-        synchronized (queueLock) {
+        for (ConcurrentLinkedDeque<MessageContext> queue : shards) {
             for (MessageContext m : queue) {
                 if (m.getMessageID().equals(messageId)) {
-                    message = m;
-                    break;
+                    return m;
                 }
             }
         }
-        return message;
+        if (overflowLog != null) {
+            MessageLog.Entry entry = overflowLog.get(messageId);
+            if (entry != null) {
+                return readSpilled(entry);
+            }
+        }
+        return null;
     }
 
     public void init(SynapseEnvironment se) {
@@ -159,22 +474,129 @@ public class InMemoryStore extends AbstractMessageStore {
             return;
         }
         super.init(se);
+        configure();
         logger.info("Initialized " + nameString() + "...");
     }
 
+    private void configure() {
+        if (parameters == null) {
+            return;
+        }
+        int capacity = 0;
+        int shardCount = Runtime.getRuntime().availableProcessors();
+        try {
+            Object value = parameters.get(InMemoryStoreConstants.CAPACITY);
+            if (value != null) {
+                capacity = Integer.parseInt(value.toString().trim());
+            }
+            value = parameters.get(InMemoryStoreConstants.BLOCK_TIMEOUT);
+            if (value != null) {
+                blockTimeout = Long.parseLong(value.toString().trim());
+            }
+            value = parameters.get(InMemoryStoreConstants.SHARDS);
+            if (value != null) {
+                shardCount = Integer.parseInt(value.toString().trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new SynapseException(nameString() + " has an invalid numeric parameter", e);
+        }
+        if (shardCount <= 0) {
+            throw new SynapseException(nameString() + " must have at least one shard");
+        }
+        Object value = parameters.get(InMemoryStoreConstants.ORDERED);
+        if (value != null) {
+            ordered = Boolean.parseBoolean(value.toString().trim());
+        }
+        value = parameters.get(InMemoryStoreConstants.OVERFLOW_POLICY);
+        if (value != null) {
+            overflowPolicy = getOverflowPolicy(value.toString().trim());
+        }
+        if (!ordered && count.get() == 0) {
+            shards = newShards(shardCount);
+        }
+        if (capacity > 0) {
+            permits = new Semaphore(capacity - count.get());
+            if (overflowPolicy == InMemoryStoreConstants.OVERFLOW_SPILL) {
+                openOverflowLog();
+            }
+        }
+    }
+
+    private void openOverflowLog() {
+        File directory;
+        Object value = parameters.get(InMemoryStoreConstants.SPILL_DIRECTORY);
+        if (value != null) {
+            directory = new File(value.toString().trim());
+        } else {
+            directory = new File(FileMessageStoreConstants.DEFAULT_DIRECTORY, getName() + "-overflow");
+        }
+        try {
+            overflowLog = new MessageLog(directory, InMemoryStoreConstants.SPILL_SEGMENT_SIZE,
+                    FileMessageStoreConstants.SYNC_INTERVAL, FileMessageStoreConstants.DEFAULT_FSYNC_INTERVAL_MILLIS);
+        } catch (IOException e) {
+            throw new SynapseException("Cannot open the overflow log of " + nameString() + " at " + directory, e);
+        }
+        spilling = overflowLog.size() > 0;
+    }
+
+    private int getOverflowPolicy(String policy) {
+        if (InMemoryStoreConstants.POLICY_REJECT.equalsIgnoreCase(policy)) {
+            return InMemoryStoreConstants.OVERFLOW_REJECT;
+        } else if (InMemoryStoreConstants.POLICY_BLOCK.equalsIgnoreCase(policy)) {
+            return InMemoryStoreConstants.OVERFLOW_BLOCK;
+        } else if (InMemoryStoreConstants.POLICY_SPILL.equalsIgnoreCase(policy)) {
+            return InMemoryStoreConstants.OVERFLOW_SPILL;
+        }
+        throw new SynapseException(nameString() + " has an invalid " + InMemoryStoreConstants.OVERFLOW_POLICY
+                + " value " + policy + ", expected " + InMemoryStoreConstants.POLICY_REJECT + ", "
+                + InMemoryStoreConstants.POLICY_BLOCK + " or " + InMemoryStoreConstants.POLICY_SPILL);
+    }
+
     public void destroy() {
-        // do whatever...
         if (logger.isDebugEnabled()) {
             logger.debug("Destroying " + nameString() + "...");
         }
+        MessageLog log = overflowLog;
+        if (log != null) {
+            log.close();
+        }
         super.destroy();
     }
 
+    private org.apache.axis2.context.MessageContext newAxis2Mc() {
+        return ((Axis2SynapseEnvironment) synapseEnvironment)
+                .getAxis2ConfigurationContext().createMessageContext();
+    }
+
+    private MessageContext newSynapseMc(org.apache.axis2.context.MessageContext msgCtx) {
+        SynapseConfiguration configuration = synapseEnvironment.getSynapseConfiguration();
+        return new Axis2MessageContext(msgCtx, configuration, synapseEnvironment);
+    }
+
+    private static int shardIndex(int i, int shardCount) {
+        return (i & Integer.MAX_VALUE) % shardCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentLinkedDeque<MessageContext>[] newShards(int shardCount) {
+        ConcurrentLinkedDeque<MessageContext>[] queues = new ConcurrentLinkedDeque[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            queues[i] = new ConcurrentLinkedDeque<MessageContext>();
+        }
+        return queues;
+    }
+
+    /**
+     * @return a lock for callers that used to guard the queue of the store with it
+     * @deprecated the store keeps its messages in lock-free queues and no longer takes this lock,
+     * holding it does not keep other producers and consumers out
+     */
+    @Deprecated
     public Object getQLock() {
         return queueLock;
     }
 
-    private String nameString() {
+    String nameString() {
         return "Store [" + getName() + "]";
     }
 }
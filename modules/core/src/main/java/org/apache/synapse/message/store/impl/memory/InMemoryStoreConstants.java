@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.message.store.impl.memory;
+
+public final class InMemoryStoreConstants {
+
+    private InMemoryStoreConstants() {}
+
+    /**
+     * Maximum number of messages held in memory, 0 or less for an unbounded store
+     */
+    public static final String CAPACITY = "store.memory.capacity";
+
+    /**
+     * What a producer does when the store is full, one of {@link #POLICY_REJECT},
+     * {@link #POLICY_BLOCK} or {@link #POLICY_SPILL}
+     */
+    public static final String OVERFLOW_POLICY = "store.memory.overflow.policy";
+
+    /**
+     * Time in milliseconds a producer waits for free capacity when the overflow policy is block
+     */
+    public static final String BLOCK_TIMEOUT = "store.memory.block.timeout";
+
+    /**
+     * Directory of the overflow log when the overflow policy is spill
+     */
+    public static final String SPILL_DIRECTORY = "store.memory.spill.directory";
+
+    /**
+     * Whether messages are delivered in the order they were stored. When false, consumers claim
+     * messages from a set of shards and drain the store in parallel
+     */
+    public static final String ORDERED = "store.memory.ordered";
+
+    /**
+     * Number of shards of an unordered store
+     */
+    public static final String SHARDS = "store.memory.shards";
+
+    /** Fail storing the message */
+    public static final String POLICY_REJECT = "reject";
+
+    /** Wait up to the block timeout for a consumer to make room */
+    public static final String POLICY_BLOCK = "block";
+
+    /** Write the message to a local overflow log until the backlog is drained */
+    public static final String POLICY_SPILL = "spill";
+
+    public static final int OVERFLOW_REJECT = 0;
+
+    public static final int OVERFLOW_BLOCK = 1;
+
+    public static final int OVERFLOW_SPILL = 2;
+
+    public static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 1000;
+
+    /** Directory under the overflow log where spilled messages that can not be decoded are moved */
+    public static final String UNREADABLE_DIRECTORY = "unreadable";
+
+    /** Segment size of the overflow log */
+    public static final int SPILL_SEGMENT_SIZE = 16 * 1024 * 1024;
+}
@@ -29,10 +29,7 @@ import org.apache.synapse.message.MessageConsumer;
 import org.apache.synapse.message.store.impl.commons.MessageConverter;
 import org.apache.synapse.message.store.impl.commons.StorableMessage;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInput;
-import java.io.ObjectInputStream;
 
 /**
  * The message consumer responsible for read a message from the queue and set it into the message context
@@ -70,6 +67,12 @@ public class RabbitMQConsumer implements MessageConsumer {
                 delivery = channel.basicGet(queueName, false);
                 if (delivery != null) {
                     StorableMessage storableMessage = deserializeMessage(delivery);
+                    if (storableMessage == null) {
+                        log.error(getId() + " discarded message " + delivery.getProps().getMessageId()
+                                + " as it is not a stored message.");
+                        channel.basicAck(delivery.getEnvelope().getDeliveryTag(), false);
+                        return null;
+                    }
                     org.apache.axis2.context.MessageContext axis2Mc = store.newAxis2Mc();
                     MessageContext synapseMc = store.newSynapseMc(axis2Mc);
                     synapseMc = MessageConverter.toMessageContext(storableMessage, axis2Mc, synapseMc);
@@ -118,16 +121,11 @@ public class RabbitMQConsumer implements MessageConsumer {
      * Deserialize the message taken from the queue
      *
      * @param delivery the message received from the broker
-     * @return a {@link StorableMessage} object
+     * @return a {@link StorableMessage} object, or null if the body does not hold one
      * @throws IOException
      */
     private StorableMessage deserializeMessage(GetResponse delivery) throws IOException, ClassNotFoundException {
-        StorableMessage storableMessage;
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(delivery.getBody());
-             ObjectInput objectInput = new ObjectInputStream(inputStream)) {
-            storableMessage = (StorableMessage) objectInput.readObject();
-        }
-        return storableMessage;
+        return MessageConverter.fromBytes(delivery.getBody());
     }
 
     /**
@@ -30,10 +30,7 @@ import org.apache.synapse.message.MessageProducer;
 import org.apache.synapse.message.store.impl.commons.MessageConverter;
 import org.apache.synapse.message.store.impl.commons.StorableMessage;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -140,10 +137,7 @@ public class RabbitMQProducer implements MessageProducer {
      * @throws IOException
      */
     private byte[] serializeMessage(StorableMessage storableMessage) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ObjectOutput objectOutput = new ObjectOutputStream(outputStream);
-        objectOutput.writeObject(storableMessage);
-        return outputStream.toByteArray();
+        return MessageConverter.toBytes(storableMessage);
     }
 
     /**
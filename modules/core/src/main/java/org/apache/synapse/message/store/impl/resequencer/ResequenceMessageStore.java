@@ -31,6 +31,7 @@ import org.apache.synapse.message.store.impl.jdbc.util.Statement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -457,4 +458,19 @@ public class ResequenceMessageStore extends JDBCMessageStore {
         }
         return msg;
     }
+
+    /**
+     * <p>
+     * Messages are handed out strictly one at a time, since the next message in sequence can only be decided once
+     * the previous one has been processed. The multi-row query of the parent store orders by insertion and would
+     * bypass the sequence ids, so a prefetching consumer is handed at most the single message chosen by
+     * {@link #peek()} regardless of the count.
+     * </p>
+     * {@inheritDoc}
+     */
+    @Override
+    protected List<MessageContext> peek(int count) throws SynapseException {
+        MessageContext msg = peek();
+        return msg != null ? Collections.singletonList(msg) : Collections.<MessageContext>emptyList();
+    }
 }
@@ -28,6 +28,7 @@ import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.axis2.modules.Module;
 import org.apache.neethi.Assertion;
 import org.apache.neethi.Policy;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 /*
  * 
  */
@@ -42,6 +43,8 @@ public class MetricsAggregatorModule implements Module {
         globalRequestCounterParameter.setName(MetricsConstants.GLOBAL_REQUEST_COUNTER);
         globalRequestCounterParameter.setValue(globalRequestCounter);
         axiConfiguration.addParameter(globalRequestCounterParameter);
+        MetricsRegistry.getInstance().registerCounter("synapse_global_requests_total",
+                "Total number of requests received by the server", globalRequestCounter::getCount);
 
     }
 
@@ -25,5 +25,6 @@ package org.apache.synapse.metrics;
 public final class MetricsConstants {
     public static final String GLOBAL_REQUEST_COUNTER = "__GLOBAL_REQUEST_COUNTER__";
     public static final String REQUEST_RECEIVED_TIME = "__REQUEST_RECEIVED_TIME__";
+    public static final String ENDPOINT_SEND_TIME = "__ENDPOINT_SEND_TIME__";
 }
 
@@ -182,10 +182,8 @@ public class MessageHelper {
                     }
                 } else if (obj instanceof Stack
                            && strkey.equals(SynapseConstants.SYNAPSE__FUNCTION__STACK)) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Deep clone for Template function stack : " + strkey + ".");
-                    }
-                    obj = getClonedTemplateStack((Stack<TemplateContext>) obj);
+                    // copied after the properties, see below
+                    continue;
                 } else if (obj instanceof OMElement) {
                     if (log.isDebugEnabled()) {
                         log.debug("Deep clone for OMElement property : " + strkey + ".");
@@ -407,13 +405,18 @@ public class MessageHelper {
         }
 
         org.apache.axis2.context.MessageContext newMC = clonePartially(mc, isAggregrate);
+        // the body of a JSON message only holds the JSON payload, which is replaced by the cloned JSON payload. Cloning
+        // it would convert the JSON payload of the original message to XML for nothing.
+        boolean cloneBody = !isCloneJson || !JsonUtil.hasAJsonPayload(mc);
         if (cloneSoapEnvelope) {
-            newMC.setEnvelope(cloneSOAPEnvelope(mc.getEnvelope()));
+            newMC.setEnvelope(cloneSOAPEnvelope(mc.getEnvelope(), cloneBody));
         }
         // XXX: always this section must come after the above step. ie. after applying Envelope.
         // That is to get the existing headers into the new envelope.
         if (isCloneJson) {
-            JsonUtil.cloneJsonPayload(mc, newMC);
+            if (!JsonUtil.cloneJsonPayload(mc, newMC) && cloneSoapEnvelope && !cloneBody) {
+                newMC.setEnvelope(cloneSOAPEnvelope(mc.getEnvelope()));
+            }
         }
         newMC.setOptions(cloneOptions(mc.getOptions()));
 
@@ -574,6 +577,18 @@ public class MessageHelper {
      * @return cloned SOAPEnvelope from the provided one
      */
     public static SOAPEnvelope cloneSOAPEnvelope(SOAPEnvelope envelope) {
+        return cloneSOAPEnvelope(envelope, true);
+    }
+
+    /**
+     * This method will clone the provided SOAPEnvelope, optionally leaving out the content of the body. The headers
+     * and the namespaces and attributes of the envelope and the body are always cloned.
+     *
+     * @param envelope  - this will be cloned to get the new envelope
+     * @param cloneBody whether to clone the children of the body
+     * @return cloned SOAPEnvelope from the provided one
+     */
+    public static SOAPEnvelope cloneSOAPEnvelope(SOAPEnvelope envelope, boolean cloneBody) {
         SOAPFactory fac;
         if (SOAP11Constants.SOAP_ENVELOPE_NAMESPACE_URI
                 .equals(envelope.getBody().getNamespace().getNamespaceURI())) {
@@ -602,9 +617,31 @@ public class MessageHelper {
         }
 
         if (envelope.getBody() != null) {
+            if (!cloneBody) {
+                OMElement body = envelope.getBody();
+                Iterator ns = body.getAllDeclaredNamespaces();
+                String nsUri = body.getNamespace().getNamespaceURI();
+                String nsPrefix = body.getNamespace().getPrefix();
+                while (ns.hasNext()) {
+                    OMNamespace namespace = (OMNamespace) ns.next();
+                    if (nsUri != null && !nsUri.equals(namespace.getNamespaceURI())
+                        && nsPrefix != null && !nsPrefix.equals(namespace.getPrefix())) {
+                        newEnvelope.getBody().declareNamespace(namespace);
+                    }
+                }
+                Iterator attributes = body.getAllAttributes();
+                while (attributes.hasNext()) {
+                    OMAttribute attrb = (OMAttribute) attributes.next();
+                    newEnvelope.getBody().addAttribute(attrb.getLocalName(), attrb.getAttributeValue(),
+                            attrb.getNamespace());
+                }
+                Iterator allDeclaredNamespaces = envelope.getAllDeclaredNamespaces();
+                while (allDeclaredNamespaces.hasNext()) {
+                    newEnvelope.declareNamespace((OMNamespace) allDeclaredNamespaces.next());
+                }
             // treat the SOAPFault cloning as a special case otherwise a cloning OMElement as the
             // fault would lead to class cast exceptions if accessed through the getFault method
-        	if (envelope.getBody().getFirstElement() instanceof SOAPFault && envelope.getBody().hasFault()) {
+            } else if (envelope.getBody().getFirstElement() instanceof SOAPFault && envelope.getBody().hasFault()) {
                 SOAPFault fault = envelope.getBody().getFault();
                 newEnvelope.getBody().addFault(cloneSOAPFault(fault));
             } else {
@@ -21,7 +21,6 @@ import org.apache.synapse.util.synapse.expression.context.EvaluationContext;
 import org.apache.synapse.util.synapse.expression.exception.EvaluationException;
 
 import java.math.BigDecimal;
-import java.util.function.BiFunction;
 
 /**
  * Represents a binary operation between two nodes in AST.
@@ -94,13 +93,10 @@ public class BinaryOperationNode implements ExpressionNode {
             case NOT_EQUALS:
                 return handleNotEquality(leftValue, rightValue);
             case LESS_THAN:
-                return handleComparison(leftValue, rightValue, (a, b) -> a < b);
             case LESS_THAN_OR_EQUAL:
-                return handleComparison(leftValue, rightValue, (a, b) -> a <= b);
             case GREATER_THAN:
-                return handleComparison(leftValue, rightValue, (a, b) -> a > b);
             case GREATER_THAN_OR_EQUAL:
-                return handleComparison(leftValue, rightValue, (a, b) -> a >= b);
+                return handleComparison(leftValue, rightValue, operator);
             case AND:
             case AND_SYMBOL:
             case OR:
@@ -112,10 +108,27 @@ public class BinaryOperationNode implements ExpressionNode {
         }
     }
 
+    @Override
+    public boolean isConstant() {
+        return left.isConstant() && right.isConstant();
+    }
+
     private ExpressionResult handleComparison(ExpressionResult leftValue, ExpressionResult rightValue,
-                                              BiFunction<Double, Double, Boolean> comparison) {
+                                              Operator operator) {
         if ((leftValue.isDouble() || leftValue.isInteger()) && (rightValue.isDouble() || rightValue.isInteger())) {
-            return new ExpressionResult(comparison.apply(leftValue.asDouble(), rightValue.asDouble()));
+            // compare on primitives, without boxing the operands
+            double left = leftValue.asDouble();
+            double right = rightValue.asDouble();
+            switch (operator) {
+                case LESS_THAN:
+                    return ExpressionResult.valueOf(left < right);
+                case LESS_THAN_OR_EQUAL:
+                    return ExpressionResult.valueOf(left <= right);
+                case GREATER_THAN:
+                    return ExpressionResult.valueOf(left > right);
+                default:
+                    return ExpressionResult.valueOf(left >= right);
+            }
         }
         throw new EvaluationException("Comparison between non-numeric values: "
                 + leftValue.asString() + " and " + rightValue.asString());
@@ -123,27 +136,24 @@ public class BinaryOperationNode implements ExpressionNode {
 
     private ExpressionResult handleEquality(ExpressionResult leftValue, ExpressionResult rightValue) {
         if (leftValue != null && rightValue != null) {
-            return new ExpressionResult(leftValue.asString().equals(rightValue.asString()));
-        } else if (leftValue == null && rightValue == null) {
-            return new ExpressionResult(true);
+            return ExpressionResult.valueOf(leftValue.asString().equals(rightValue.asString()));
         }
-        return new ExpressionResult(false);
+        return ExpressionResult.valueOf(leftValue == null && rightValue == null);
     }
 
     private ExpressionResult handleNotEquality(ExpressionResult leftValue, ExpressionResult rightValue) {
         if (leftValue != null && rightValue != null) {
-            return new ExpressionResult(!leftValue.asString().equals(rightValue.asString()));
-        } else if (leftValue == null && rightValue == null) {
-            return new ExpressionResult(false);
+            return ExpressionResult.valueOf(!leftValue.asString().equals(rightValue.asString()));
         }
-        return new ExpressionResult(true);
+        return ExpressionResult.valueOf(leftValue != null || rightValue != null);
     }
 
     private ExpressionResult handleLogical(ExpressionResult leftValue, ExpressionResult rightValue, Operator operator) {
         if (leftValue.isBoolean() && rightValue.isBoolean()) {
-            BiFunction<Boolean, Boolean, Boolean> logicOperation = operator
-                    == Operator.AND || operator == Operator.AND_SYMBOL ? (a, b) -> a && b : (a, b) -> a || b;
-            return new ExpressionResult(logicOperation.apply(leftValue.asBoolean(), rightValue.asBoolean()));
+            if (operator == Operator.AND || operator == Operator.AND_SYMBOL) {
+                return ExpressionResult.valueOf(leftValue.asBoolean() && rightValue.asBoolean());
+            }
+            return ExpressionResult.valueOf(leftValue.asBoolean() || rightValue.asBoolean());
         }
         throw new EvaluationException("Logical operation between non-boolean values: "
                 + leftValue.asString() + " and " + rightValue.asString());
@@ -0,0 +1,43 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.util.synapse.expression.ast;
+
+import org.apache.synapse.util.synapse.expression.context.EvaluationContext;
+
+/**
+ * Represents a sub expression which has been evaluated at compile time, ex: ${vars.num * (60 * 60)}.
+ */
+public class ConstantNode implements ExpressionNode {
+
+    private final ExpressionResult result;
+
+    public ConstantNode(ExpressionResult result) {
+        this.result = result;
+    }
+
+    @Override
+    public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) {
+        return result;
+    }
+
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.util.synapse.expression.ast;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Compile time optimizations applied while the AST is built. Sub expressions which do not depend on the message are
+ * evaluated once and replaced by a {@link ConstantNode}.
+ */
+public final class ExpressionCompiler {
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Folds the given node into a constant if it does not depend on the message.
+     *
+     * @param node node to fold
+     * @return a constant node holding the result, or the given node if it can not be folded
+     */
+    public static ExpressionNode fold(ExpressionNode node) {
+        if (node instanceof ConstantNode || !node.isConstant()) {
+            return node;
+        }
+        try {
+            ExpressionResult result = node.evaluate(null, false);
+            // JSON results are mutable, they are created per evaluation
+            if (result == null || !(result.getValue() instanceof JsonElement)) {
+                return new ConstantNode(result);
+            }
+        } catch (RuntimeException e) {
+            // keep the node, so that the error is reported on every evaluation as before
+        }
+        return node;
+    }
+
+    /**
+     * Builds a conditional expression, selecting the branch at compile time if the condition is a constant.
+     *
+     * @param condition       condition of the expression
+     * @param trueExpression  expression evaluated if the condition is true
+     * @param falseExpression expression evaluated if the condition is false
+     * @return compiled conditional expression
+     */
+    public static ExpressionNode conditional(ExpressionNode condition, ExpressionNode trueExpression,
+                                             ExpressionNode falseExpression) {
+        ExpressionNode node = new ConditionalExpressionNode(condition, trueExpression, falseExpression);
+        if (condition.isConstant()) {
+            try {
+                ExpressionResult result = condition.evaluate(null, false);
+                if (result != null && result.isBoolean()) {
+                    return result.asBoolean() ? trueExpression : falseExpression;
+                }
+            } catch (RuntimeException e) {
+                // keep the node, so that the error is reported on every evaluation as before
+            }
+        }
+        return node;
+    }
+}
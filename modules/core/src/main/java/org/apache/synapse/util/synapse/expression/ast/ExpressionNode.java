@@ -26,4 +26,14 @@ import org.apache.synapse.util.synapse.expression.exception.EvaluationException;
  */
 public interface ExpressionNode {
     ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) throws EvaluationException;
+
+    /**
+     * Returns whether this node evaluates to the same result for every message, without accessing the evaluation
+     * context. Such nodes are folded into constants when the expression is compiled.
+     *
+     * @return true if the result of this node does not depend on the message
+     */
+    default boolean isConstant() {
+        return false;
+    }
 }
@@ -36,8 +36,23 @@ import java.util.List;
  * It can hold values of different types such as String, Number, Boolean, JsonElement, and null.
  */
 public class ExpressionResult {
+
+    private static final ExpressionResult TRUE = new ExpressionResult(true);
+
+    private static final ExpressionResult FALSE = new ExpressionResult(false);
+
     private final Object value;
 
+    /**
+     * Returns the shared result for the given boolean value.
+     *
+     * @param value boolean value
+     * @return a shared, immutable result
+     */
+    public static ExpressionResult valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
     public ExpressionResult() {
         this.value = null;
     }
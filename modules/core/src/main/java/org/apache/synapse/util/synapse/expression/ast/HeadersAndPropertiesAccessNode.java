@@ -45,22 +45,32 @@ public class HeadersAndPropertiesAccessNode implements ExpressionNode {
     // property key or header name
     private final ExpressionNode key;
 
+    // key resolved at compile time, when the key does not depend on the message
+    private final String constantName;
+
+    // property name of the constant key, with the prefix of the path and query parameter scopes
+    private final String constantPropertyName;
+
     public HeadersAndPropertiesAccessNode(ExpressionNode node, Type type) {
         this.key = node;
         this.type = type;
         scope = null;
+        constantName = resolveConstantName(node);
+        constantPropertyName = constantName;
     }
 
     public HeadersAndPropertiesAccessNode(ExpressionNode node, String scope) {
         this.key = node;
         this.scope = scope;
         this.type = Type.PROPERTY;
+        constantName = resolveConstantName(node);
+        constantPropertyName = constantName != null ? getPropertyName(constantName) : null;
     }
 
     @Override
     public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) throws EvaluationException {
         if (key != null) {
-            String name = key.evaluate(context, isObjectValue).asString();
+            String name = constantName != null ? constantName : key.evaluate(context, isObjectValue).asString();
             Object value;
             if (Type.HEADER.equals(type)) {
                 value = context.getHeader(name);
@@ -73,12 +83,11 @@ public class HeadersAndPropertiesAccessNode implements ExpressionNode {
             } else if (Type.FUNCTION_PARAM.equals(type)) {
                 value = context.getFunctionParam(name);
             } else {
-                if (ExpressionConstants.PATH_PARAM.equals(scope)) {
-                    value = context.getProperty("uri.var." + name, SynapseConstants.SYNAPSE);
-                } else if (ExpressionConstants.QUERY_PARAM.equals(scope)) {
-                    value = context.getProperty("query.param." + name, SynapseConstants.SYNAPSE);
+                String propertyName = constantPropertyName != null ? constantPropertyName : getPropertyName(name);
+                if (ExpressionConstants.PATH_PARAM.equals(scope) || ExpressionConstants.QUERY_PARAM.equals(scope)) {
+                    value = context.getProperty(propertyName, SynapseConstants.SYNAPSE);
                 } else {
-                    value = context.getProperty(name, scope);
+                    value = context.getProperty(propertyName, scope);
                 }
             }
             if (value != null) {
@@ -91,7 +100,34 @@ public class HeadersAndPropertiesAccessNode implements ExpressionNode {
     }
 
 
+    private String getPropertyName(String name) {
+        if (ExpressionConstants.PATH_PARAM.equals(scope)) {
+            return "uri.var." + name;
+        } else if (ExpressionConstants.QUERY_PARAM.equals(scope)) {
+            return "query.param." + name;
+        }
+        return name;
+    }
+
+    private static String resolveConstantName(ExpressionNode node) {
+        if (node != null && node.isConstant()) {
+            try {
+                ExpressionResult result = node.evaluate(null, false);
+                if (result != null) {
+                    return result.asString();
+                }
+            } catch (RuntimeException e) {
+                // resolved on evaluation
+            }
+        }
+        return null;
+    }
+
     private ExpressionResult tryParseNumber(String value) {
+        if (!mayBeNumber(value)) {
+            // most property values are plain strings, avoid the cost of the failing parse attempts
+            return new ExpressionResult(value);
+        }
         try {
             return new ExpressionResult(Integer.parseInt(value));
         } catch (NumberFormatException e1) {
@@ -107,4 +143,18 @@ public class HeadersAndPropertiesAccessNode implements ExpressionNode {
         }
     }
 
+    /**
+     * Returns false if the value can not be parsed by any of the number parsers, by checking the first character
+     * after the leading white spaces trimmed by {@link Double#parseDouble(String)}.
+     */
+    private static boolean mayBeNumber(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > ' ') {
+                return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'N' || c == 'I';
+            }
+        }
+        return false;
+    }
+
 }
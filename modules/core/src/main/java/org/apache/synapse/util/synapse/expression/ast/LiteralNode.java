@@ -38,19 +38,27 @@ public class LiteralNode implements ExpressionNode {
 
     private final Type type;
 
+    // result of a scalar literal, parsed once when the expression is compiled
+    private final ExpressionResult result;
+
     public LiteralNode(String value, Type type) {
         this.value = value;
         this.type = type;
+        this.result = parseScalar();
     }
 
     public LiteralNode(ArgumentListNode value, Type type) {
         this.parameterList = value;
         this.type = type;
         this.value = "";
+        this.result = null;
     }
 
     @Override
     public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) {
+        if (result != null) {
+            return result;
+        }
         switch (type) {
             case NUMBER:
                 return parseNumber(value);
@@ -67,6 +75,29 @@ public class LiteralNode implements ExpressionNode {
         }
     }
 
+    @Override
+    public boolean isConstant() {
+        return type != Type.ARRAY;
+    }
+
+    private ExpressionResult parseScalar() {
+        try {
+            switch (type) {
+                case NUMBER:
+                    return parseNumber(value);
+                case STRING:
+                    return new ExpressionResult(value);
+                case BOOLEAN:
+                    return new ExpressionResult(Boolean.parseBoolean(value));
+                default:
+                    return null;
+            }
+        } catch (IllegalArgumentException e) {
+            // invalid literals are reported when the expression is evaluated
+            return null;
+        }
+    }
+
     private ExpressionResult parseNumber(String value) {
         try {
             return new ExpressionResult(Integer.parseInt(value));
@@ -26,6 +26,7 @@ import org.apache.axiom.om.OMNode;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.synapse.util.synapse.expression.constants.ExpressionConstants;
 import org.apache.synapse.util.synapse.expression.context.EvaluationContext;
+import org.apache.synapse.util.synapse.expression.context.JsonDocumentCache;
 import org.apache.synapse.util.synapse.expression.exception.EvaluationException;
 import org.apache.synapse.util.synapse.expression.utils.ExpressionUtils;
 import org.jaxen.JaxenException;
@@ -136,7 +137,8 @@ public class PayloadAccessNode implements ExpressionNode {
                         result = keyValue;
                     } else if (keyValue instanceof JsonElement) {
                         try {
-                            result = JsonPath.parse(keyValue.toString()).read(newExpression);
+                            result = JsonDocumentCache.detach(context.parseJSON(keyValue.toString())
+                                    .read(JsonDocumentCache.compile(newExpression)));
                         } catch (PathNotFoundException e) {
                             // convert jsonPath error to native one
                             throw new EvaluationException(e.getMessage());
@@ -153,7 +155,8 @@ public class PayloadAccessNode implements ExpressionNode {
                                 + " on non-JSON variable value");
                     }
                     try {
-                        result = JsonPath.parse(variable.toString()).read(expressionToEvaluate);
+                        result = JsonDocumentCache.detach(context.parseJSON(variable.toString())
+                                .read(JsonDocumentCache.compile(expressionToEvaluate)));
                     } catch (PathNotFoundException e) {
                         // convert jsonPath error to native one
                         throw new EvaluationException(e.getMessage());
@@ -171,7 +174,8 @@ public class PayloadAccessNode implements ExpressionNode {
                                 + " on non-JSON registry value");
                     }
                     expression = expression.startsWith(".") ? "$" + expression : "$." + expression;
-                    result = JsonPath.parse(registryValue.asString()).read(expression);
+                    result = JsonDocumentCache.detach(context.parseJSON(registryValue.asString())
+                            .read(JsonDocumentCache.compile(expression)));
                 } catch (PathNotFoundException e) {
                     // convert jsonPath error to native one
                     throw new EvaluationException(e.getMessage());
@@ -182,7 +186,7 @@ public class PayloadAccessNode implements ExpressionNode {
                 expression = expression.startsWith(".") ? "$" + expression : "$." + expression;
                 ExpressionResult objFuncResult = predefinedFunctionNode.evaluate(context, isObjectValue);
                 try {
-                    result = JsonPath.parse(objFuncResult.asJsonElement()).read(expression);
+                    result = JsonPath.parse(objFuncResult.asJsonElement()).read(JsonDocumentCache.compile(expression));
                 } catch (PathNotFoundException e) {
                     throw new EvaluationException(e.getMessage());
                 }
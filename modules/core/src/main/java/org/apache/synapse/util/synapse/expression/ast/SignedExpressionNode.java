@@ -47,4 +47,9 @@ public class SignedExpressionNode implements ExpressionNode {
         }
         return result;
     }
+
+    @Override
+    public boolean isConstant() {
+        return expression.isConstant();
+    }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.synapse.util.synapse.expression.context;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.OMNode;
@@ -37,6 +38,7 @@ import org.apache.synapse.util.xpath.SynapseXPath;
 import org.jaxen.JaxenException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
@@ -58,8 +60,8 @@ public class EvaluationContext {
 
     private Map<String, String> namespaceMap;
 
-    // re-use the payload string to avoid multiple evaluations ex: payload.num1 + payload.num2 requires two evaluations
-    private String payload;
+    // re-use the parsed payload to avoid multiple parsing ex: payload.num1 + payload.num2 requires two evaluations
+    private DocumentContext payloadDocument;
 
     private boolean isJSON = false;
 
@@ -76,21 +78,47 @@ public class EvaluationContext {
 
     // Payload methods
     public Object getJSONResult(String expression) throws IOException, JaxenException {
-        if (payload == null) {
-            if (JsonUtil.hasAJsonPayload(((Axis2MessageContext) synCtx).getAxis2MessageContext())) {
-                payload = IOUtils.toString(Objects.requireNonNull(JsonUtil.getJsonPayload(((Axis2MessageContext) synCtx)
-                        .getAxis2MessageContext())));
+        if (payloadDocument == null) {
+            org.apache.axis2.context.MessageContext axis2MessageContext =
+                    ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+            if (JsonUtil.hasAJsonPayload(axis2MessageContext)) {
                 isJSON = true;
+                InputStream jsonStream = JsonUtil.getJsonPayload(axis2MessageContext);
+                // JSON payloads are parsed once per message and re-used until the payload is replaced
+                JsonDocumentCache cache = ((Axis2MessageContext) synCtx).getJsonDocumentCache();
+                payloadDocument = cache.getPayloadDocument(jsonStream);
+                if (payloadDocument == null) {
+                    payloadDocument = parsePayload(IOUtils.toString(Objects.requireNonNull(jsonStream)));
+                    cache.setPayloadDocument(jsonStream, payloadDocument);
+                }
             } else {
                 // handle non-json payloads
                 SynapseJsonPath jsonPath = new SynapseJsonPath("$.");
-                payload = jsonPath.stringValueOf(synCtx);
-            }
-            if (StringUtils.isEmpty(payload)) {
-                throw new EvaluationException("Payload is empty");
+                payloadDocument = parsePayload(jsonPath.stringValueOf(synCtx));
             }
         }
-        return JsonPath.parse(payload).read(expression);
+        return JsonDocumentCache.detach(payloadDocument.read(JsonDocumentCache.compile(expression)));
+    }
+
+    private DocumentContext parsePayload(String payload) {
+        if (StringUtils.isEmpty(payload)) {
+            throw new EvaluationException("Payload is empty");
+        }
+        return JsonPath.parse(payload);
+    }
+
+    /**
+     * Returns the parsed document of a JSON variable or registry value. Documents are cached per message when
+     * possible.
+     *
+     * @param json JSON text of the value
+     * @return parsed document
+     */
+    public DocumentContext parseJSON(String json) {
+        if (synCtx instanceof Axis2MessageContext) {
+            return ((Axis2MessageContext) synCtx).getJsonDocumentCache().parse(json);
+        }
+        return JsonPath.parse(json);
     }
 
     public Object getHeader(String name) {
@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.synapse.util.synapse.expression.context;
+
+import com.google.gson.JsonElement;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.context.MessageContext;
+import org.apache.synapse.commons.json.JsonUtil;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches parsed JSON documents of a single message, so that a mediation flow with many Synapse Expressions parses
+ * the payload, variables and registry values only once.
+ * <p>
+ * The JSON payload is cached against the identity of the JSON stream held in the Axis2 message context. Every
+ * payload change made through {@link org.apache.synapse.commons.json.JsonUtil} (enrich, payloadFactory etc.) replaces
+ * or removes that stream, so a stale document is never returned. Variable and registry values are cached against
+ * their JSON text, which makes in place changes to variables safe as well.
+ * <p>
+ * The payload document is the parsed form of the JSON payload shared by JSON path evaluation, Synapse Expressions
+ * and the enrich mediator. A mediator that changes the payload through the document writes it back with
+ * {@link #setPayloadDocument(MessageContext, DocumentContext, String)}, so that the next reader does not parse the
+ * new payload again.
+ * <p>
+ * A message context is mediated by one thread at a time, hence instances are not thread safe. Results read from a
+ * cached document are detached with {@link #detach(Object)} before they are handed out, so that a mediator changing
+ * an evaluation result can not corrupt the cached document.
+ */
+public class JsonDocumentCache {
+
+    /**
+     * Maximum number of compiled JsonPath objects kept in the shared cache. Expressions with dynamic parts produce a
+     * new path per value, the cache is cleared when this limit is hit to keep it bounded.
+     */
+    private static final int MAX_COMPILED_PATHS = 4096;
+
+    /**
+     * Maximum number of variable and registry documents cached per message.
+     */
+    private static final int MAX_VALUE_DOCUMENTS = 8;
+
+    private static final String EMPTY_OBJECT = "{}";
+
+    private static final Map<String, JsonPath> compiledPaths = new ConcurrentHashMap<>();
+
+    private Object payloadSource;
+
+    private DocumentContext payloadDocument;
+
+    private Map<String, DocumentContext> valueDocuments;
+
+    /**
+     * Returns the compiled form of the given JsonPath expression, compiling it on the first use.
+     *
+     * @param expression JsonPath expression
+     * @return compiled JsonPath
+     */
+    public static JsonPath compile(String expression) {
+        JsonPath path = compiledPaths.get(expression);
+        if (path == null) {
+            path = JsonPath.compile(expression);
+            if (compiledPaths.size() >= MAX_COMPILED_PATHS) {
+                compiledPaths.clear();
+            }
+            compiledPaths.put(expression, path);
+        }
+        return path;
+    }
+
+    /**
+     * Returns a result which does not share any mutable state with the document it was read from.
+     *
+     * @param result result read from a cached document
+     * @return the same result or a deep copy of it
+     */
+    public static Object detach(Object result) {
+        if (result instanceof JsonElement) {
+            JsonElement element = (JsonElement) result;
+            if (element.isJsonObject() || element.isJsonArray()) {
+                return element.deepCopy();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached payload document if it was parsed from the given payload source.
+     *
+     * @param source JSON stream of the current payload
+     * @return cached document or null if the payload has changed since it was cached
+     */
+    public DocumentContext getPayloadDocument(Object source) {
+        if (source != null && source == payloadSource) {
+            return payloadDocument;
+        }
+        return null;
+    }
+
+    public void setPayloadDocument(Object source, DocumentContext document) {
+        this.payloadSource = source;
+        this.payloadDocument = document;
+    }
+
+    /**
+     * Returns the parsed document of the JSON payload held in the given stream, parsing it on the first use. The
+     * document is shared by every reader of the payload, results read from it must be detached before they are
+     * handed out.
+     *
+     * @param source JSON stream of the current payload
+     * @return parsed payload document, an empty object if there is no JSON stream
+     */
+    public DocumentContext parsePayload(InputStream source) {
+        if (source == null) {
+            return JsonPath.parse(EMPTY_OBJECT);
+        }
+        DocumentContext document = getPayloadDocument(source);
+        if (document == null) {
+            document = JsonPath.parse(source);
+            setPayloadDocument(source, document);
+        }
+        return document;
+    }
+
+    /**
+     * Replaces the JSON payload of the message with the given document. The serialized form of the document becomes
+     * the new JSON stream of the message and the document is kept as its parsed form.
+     *
+     * @param axis2MessageContext Axis2 message context of the message
+     * @param document            new payload document, must not be changed afterwards other than through this cache
+     * @param json                serialized form of the document
+     * @throws AxisFault if the serialized document is not a valid JSON payload
+     */
+    public void setPayloadDocument(MessageContext axis2MessageContext, DocumentContext document, String json)
+            throws AxisFault {
+        invalidatePayload();
+        JsonUtil.getNewJsonPayload(axis2MessageContext, json, true, true);
+        InputStream source = JsonUtil.getJsonPayload(axis2MessageContext);
+        if (source != null) {
+            setPayloadDocument(source, document);
+        }
+    }
+
+    /**
+     * Drops the cached payload document.
+     */
+    public void invalidatePayload() {
+        payloadSource = null;
+        payloadDocument = null;
+    }
+
+    /**
+     * Returns the parsed document of a variable or registry value, parsing it on the first use.
+     *
+     * @param json JSON text of the value
+     * @return parsed document
+     */
+    public DocumentContext parse(String json) {
+        if (valueDocuments == null) {
+            valueDocuments = new LinkedHashMap<String, DocumentContext>(MAX_VALUE_DOCUMENTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DocumentContext> eldest) {
+                    return size() > MAX_VALUE_DOCUMENTS;
+                }
+            };
+        }
+        DocumentContext document = valueDocuments.get(json);
+        if (document == null) {
+            document = JsonPath.parse(json);
+            valueDocuments.put(json, document);
+        }
+        return document;
+    }
+}
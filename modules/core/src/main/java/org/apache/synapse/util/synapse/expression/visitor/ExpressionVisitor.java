@@ -65,7 +65,8 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
                 ExpressionNode left = visit(ctx.logicalExpression().get(0));
                 for (int i = 1; i < ctx.logicalExpression().size(); i++) {
                     ExpressionNode right = visit(ctx.logicalExpression(i));
-                    left = new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right);
+                    left = ExpressionCompiler.fold(
+                            new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right));
                 }
                 return left;
             }
@@ -82,7 +83,7 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
             ExpressionNode left = visit(ctx.arithmeticExpression());
             if (ctx.logicalExpression() != null && ctx.getChild(1) != null) {
                 ExpressionNode right = visit(ctx.logicalExpression());
-                left = new BinaryOperationNode(left, ctx.getChild(1).getText(), right);
+                left = ExpressionCompiler.fold(new BinaryOperationNode(left, ctx.getChild(1).getText(), right));
             }
             return left;
         }
@@ -101,7 +102,8 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
                 ExpressionNode left = visit(ctx.term().get(0));
                 for (int i = 1; i < ctx.term().size(); i++) {
                     ExpressionNode right = visit(ctx.term(i));
-                    left = new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right);
+                    left = ExpressionCompiler.fold(
+                            new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right));
                 }
                 return left;
             }
@@ -121,7 +123,8 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
                 ExpressionNode left = visit(ctx.factor().get(0));
                 for (int i = 1; i < ctx.factor().size(); i++) {
                     ExpressionNode right = visit(ctx.factor(i));
-                    left = new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right);
+                    left = ExpressionCompiler.fold(
+                            new BinaryOperationNode(left, ctx.getChild(2 * i - 1).getText(), right));
                 }
                 return left;
             }
@@ -440,7 +443,7 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
         }
         if (ctx.expression() != null) {
             if (ctx.MINUS() != null) {
-                return new SignedExpressionNode(visit(ctx.expression()), true);
+                return ExpressionCompiler.fold(new SignedExpressionNode(visit(ctx.expression()), true));
             } else {
                 return visit(ctx.expression());
             }
@@ -580,7 +583,7 @@ public class ExpressionVisitor extends ExpressionParserBaseVisitor<ExpressionNod
         }
         List<ExpressionParser.ExpressionContext> expList = ctx.expression();
         if (condition != null && expList.size() == 2) {
-            return new ConditionalExpressionNode(condition, visit(expList.get(0)), visit(expList.get(1)));
+            return ExpressionCompiler.conditional(condition, visit(expList.get(0)), visit(expList.get(1)));
         }
         throw new EvaluationException("Invalid conditional expression: " + ctx.getText());
     }
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.util.xpath;
+
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.mediators.GetPropertyFunction;
+import org.jaxen.VariableContext;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import javax.xml.xpath.XPathFunction;
+import javax.xml.xpath.XPathFunctionResolver;
+
+/**
+ * A DOM (XPath 2.0) expression compiled once and re-used for many evaluations.
+ * <p>
+ * The XPath engine binds the function resolver at compile time, hence the resolved functions and variables look up
+ * the message context of the current evaluation instead of capturing the one available at compile time. A compiled
+ * JAXP expression is not thread safe, so an instance must be used by one thread at a time. {@link SynapseXPath} keeps
+ * a pool of instances per expression.
+ */
+class DOMSynapseXPathEvaluator implements XPathFunctionResolver {
+
+    private final XPathExpression expression;
+
+    private final DOMSynapseXPathVariableResolver variableResolver;
+
+    private MessageContext synCtx;
+
+    DOMSynapseXPathEvaluator(String expression, NamespaceContext namespaceContext,
+                             VariableContext parentVariableContext) throws XPathExpressionException {
+        variableResolver = new DOMSynapseXPathVariableResolver(parentVariableContext, null);
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        xpath.setNamespaceContext(namespaceContext);
+        xpath.setXPathFunctionResolver(this);
+        xpath.setXPathVariableResolver(variableResolver);
+        this.expression = xpath.compile(expression);
+    }
+
+    /**
+     * Evaluates the expression on the given DOM node.
+     *
+     * @param item   DOM node to evaluate the expression on
+     * @param synCtx message context used by the functions and variables of the expression
+     * @return result of the evaluation
+     * @throws XPathExpressionException if the evaluation fails
+     */
+    Object evaluate(Object item, MessageContext synCtx) throws XPathExpressionException {
+        this.synCtx = synCtx;
+        variableResolver.setSynCtx(synCtx);
+        try {
+            return expression.evaluate(item);
+        } finally {
+            // do not keep a reference to the message in the pooled evaluator
+            this.synCtx = null;
+            variableResolver.setSynCtx(null);
+        }
+    }
+
+    @Override
+    public XPathFunction resolveFunction(QName functionName, int arity) {
+        if (SynapseXPathConstants.GET_PROPERTY_FUNCTION.equals(functionName.getLocalPart())) {
+            return args -> new GetPropertyFunction(synCtx).evaluate(args);
+        }
+        return null;
+    }
+}
@@ -42,6 +42,7 @@ import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.apache.synapse.mediators.eip.EIPUtils;
 import org.apache.synapse.transport.util.MessageHandlerProvider;
 import org.apache.synapse.util.InlineExpressionUtil;
+import org.apache.synapse.util.synapse.expression.context.JsonDocumentCache;
 import org.jaxen.JaxenException;
 
 import java.io.IOException;
@@ -190,7 +191,7 @@ public class SynapseJsonPath extends SynapsePath {
             }
         } else {
             stream = JsonUtil.getJsonPayload(amc);
-            return stringValueOf(stream);
+            return stringValueOf(stream, ((Axis2MessageContext) synCtx).getJsonDocumentCache());
         }
         return "";
     }
@@ -201,6 +202,14 @@ public class SynapseJsonPath extends SynapsePath {
     }
 
     public String stringValueOf(final InputStream jsonStream) {
+        return stringValueOf(jsonStream, null);
+    }
+
+    /**
+     * Evaluates the JSON path against the given JSON stream. When a document cache is given, the parsed form of the
+     * stream kept in it is used instead of parsing the stream again.
+     */
+    private String stringValueOf(final InputStream jsonStream, JsonDocumentCache documentCache) {
         if (jsonStream == null) {
             return "";
         }
@@ -214,7 +223,7 @@ public class SynapseJsonPath extends SynapsePath {
         }
         Object read;
         try {
-            read = formatJsonPathResponse(jsonPath.read(jsonStream));
+            read = formatJsonPathResponse(read(jsonStream, documentCache));
             if (log.isDebugEnabled()) {
                 log.debug("#stringValueOf. Evaluated JSON path <" + jsonPath.getPath() + "> : <" + (read == null ? null : read.toString()) + ">");
             }
@@ -289,7 +298,7 @@ public class SynapseJsonPath extends SynapsePath {
             }
         } else {
             stream = JsonUtil.getJsonPayload(amc);
-            return listValueOf(stream);
+            return listValueOf(stream, ((Axis2MessageContext) synCtx).getJsonDocumentCache());
         }
         return null;
     }
@@ -301,12 +310,16 @@ public class SynapseJsonPath extends SynapsePath {
      * list will return if the path points to null.
      */
     private List listValueOf(final InputStream jsonStream) {
+        return listValueOf(jsonStream, null);
+    }
+
+    private List listValueOf(final InputStream jsonStream, JsonDocumentCache documentCache) {
         if (jsonStream == null) {
             return null;
         }
         List result = new ArrayList();
         try {
-            Object object = formatJsonPathResponse(jsonPath.read(jsonStream));
+            Object object = formatJsonPathResponse(read(jsonStream, documentCache));
             if (object != null) {
                 if (object instanceof List && !jsonPath.isDefinite()) {
                     result = (List) object;
@@ -331,6 +344,14 @@ public class SynapseJsonPath extends SynapsePath {
         return result;
     }
 
+    private Object read(InputStream jsonStream, JsonDocumentCache documentCache) throws IOException {
+        if (documentCache == null) {
+            return jsonPath.read(jsonStream);
+        }
+        // the parsed payload is shared with the other readers of this message
+        return JsonDocumentCache.detach(documentCache.parsePayload(jsonStream).read(jsonPath));
+    }
+
     /**
      * JayWay json-path response have additional elements like "members"(for objects) and "elements"(for arrays)
      * This method will correct such strings by removing additional elements.
@@ -63,13 +63,13 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
-import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -118,7 +118,12 @@ public class SynapseXPath extends SynapsePath {
 
     private static final Log log = LogFactory.getLog(SynapseXPath.class);
 
-    private javax.xml.xpath.XPath domXpath = XPathFactory.newInstance().newXPath();
+    /**
+     * Compiled DOM (XPath 2.0) expressions which are not in use. A compiled expression can only be used by one thread
+     * at a time, so the pool grows up to the number of threads evaluating this expression concurrently.
+     */
+    private final Queue<DOMSynapseXPathEvaluator> domEvaluators = new ConcurrentLinkedQueue<>();
+
     private String domXpathConfig = SynapsePropertiesLoader.loadSynapseProperties().
             getProperty(SynapseConstants.FAIL_OVER_DOM_XPATH_PROCESSING);
 
@@ -250,14 +255,13 @@ public class SynapseXPath extends SynapsePath {
         /* Setting namespaces */
         OMElementUtils.addNameSpaces(this, elem, log);
         this.addNamespacesForFallbackProcessing(elem);
-        domXpath.setNamespaceContext(domNamespaceMap);
 
         /* Setting Path type */
         this.setPathType(SynapseXPath.X_PATH);
 
-        /* Compile and see if the expression is valid */
+        /* Compile and see if the expression is valid, the compiled expression is kept for the evaluation */
         try {
-            XPathExpression expr = domXpath.compile(xpathExpr);
+            domEvaluators.offer(new DOMSynapseXPathEvaluator(xpathExpr, domNamespaceMap, this.getVariableContext()));
         } catch (XPathExpressionException e) {
             throw new JaxenException(e);
         }
@@ -567,6 +571,8 @@ public class SynapseXPath extends SynapsePath {
     public void addNamespace(OMNamespace ns) throws JaxenException {
         addNamespace(ns.getPrefix(), ns.getNamespaceURI());
         domNamespaceMap.addNamespace(ns.getPrefix(), ns.getNamespaceURI());
+        // expressions compiled earlier do not know the new namespace
+        domEvaluators.clear();
         ParserComponent.addToNameSpaceMap(ns.getPrefix(), ns.getNamespaceURI());
     }
 
@@ -665,7 +671,7 @@ public class SynapseXPath extends SynapsePath {
         }
     }
 
-    public synchronized String evaluateDOMXPath(MessageContext synCtx) throws XPathExpressionException {
+    public String evaluateDOMXPath(MessageContext synCtx) throws XPathExpressionException {
 
         OMElement element = synCtx.getEnvelope().getBody().getFirstElement();
         OMElement doomElement;
@@ -674,19 +680,18 @@ public class SynapseXPath extends SynapsePath {
         } else {
             doomElement = convertToDOOM(element);
         }
-        domXpath.setNamespaceContext(domNamespaceMap);
-        GetPropertyFunctionResolver getPropertyFunctionResolver = new GetPropertyFunctionResolver(synCtx);
-        DOMSynapseXPathVariableResolver domSynapseXPathVariableResolver =
-                new DOMSynapseXPathVariableResolver(this.getVariableContext(), synCtx);
-        domXpath.setXPathFunctionResolver(getPropertyFunctionResolver);
-        domXpath.setXPathVariableResolver(domSynapseXPathVariableResolver);
-        /* Compile the original expression again with Saxon to be evaluated with XPath 2.0 */
-        XPathExpression expr = domXpath.compile(getExpression());
-        Object result = expr.evaluate(doomElement);
-
-        // Set message contexts in resolvers to null to avoid memory leaks. Resolvers are initialized for each evaluation
-        domSynapseXPathVariableResolver.setSynCtx(null);
-        getPropertyFunctionResolver.setSynCtx(null);
+
+        /* Re-use an expression compiled with Saxon to be evaluated with XPath 2.0, compile it on first use */
+        DOMSynapseXPathEvaluator evaluator = domEvaluators.poll();
+        if (evaluator == null) {
+            evaluator = new DOMSynapseXPathEvaluator(getExpression(), domNamespaceMap, this.getVariableContext());
+        }
+        Object result;
+        try {
+            result = evaluator.evaluate(doomElement, synCtx);
+        } finally {
+            domEvaluators.offer(evaluator);
+        }
 
         if (result != null) {
             return result.toString();
@@ -695,6 +700,13 @@ public class SynapseXPath extends SynapsePath {
 
     }
 
+    /**
+     * @return number of compiled XPath 2.0 evaluators waiting to be re-used
+     */
+    int getPooledDOMEvaluatorCount() {
+        return domEvaluators.size();
+    }
+
     private OMElement convertToDOOM(OMElement element) {
 
         XMLStreamReader llomReader = element.getXMLStreamReader();
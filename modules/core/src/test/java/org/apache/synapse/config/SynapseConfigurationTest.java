@@ -20,9 +20,13 @@ package org.apache.synapse.config;
 import java.util.Collection;
 
 import org.apache.synapse.api.API;
+import org.apache.synapse.api.Resource;
+import org.apache.synapse.api.dispatch.URLMappingHelper;
 
 import junit.framework.TestCase;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 import org.apache.synapse.endpoints.HTTPEndpoint;
+import org.apache.synapse.mediators.base.SequenceMediator;
 
 public class SynapseConfigurationTest extends TestCase {
 
@@ -66,6 +70,37 @@ public class SynapseConfigurationTest extends TestCase {
 		assertEquals("Order is not correct", api3, apisArray2[0]);	
 	}
 
+	public void testMetricsRemovedOnUndeploy() {
+		SynapseConfiguration config = new SynapseConfiguration();
+		MetricsRegistry registry = MetricsRegistry.getInstance();
+		API api = new API("MetricsAPI", "/metrics/test");
+		Resource resource = new Resource();
+		resource.setDispatcherHelper(new URLMappingHelper("/orders/*"));
+		api.addResource(resource);
+		config.addAPI("MetricsAPI", api);
+		registry.record(MetricsRegistry.API, "MetricsAPI", 1000, false);
+		// the resource records under the API context and the URL pattern it was dispatched by
+		String resourceName = "/metrics/test" + resource.getDispatcherHelper().getString();
+		registry.record(MetricsRegistry.RESOURCE, resourceName, 1000, false);
+		HTTPEndpoint endpoint = new HTTPEndpoint();
+		endpoint.setName("metricsEndpoint");
+		config.addEndpoint("metricsEndpoint", endpoint);
+		registry.record(MetricsRegistry.ENDPOINT, "metricsEndpoint", 1000, false);
+		SequenceMediator sequence = new SequenceMediator();
+		sequence.setName("metricsSequence");
+		config.addSequence("metricsSequence", sequence);
+		registry.record(MetricsRegistry.SEQUENCE, "metricsSequence", 1000, false);
+
+		config.removeAPI("MetricsAPI");
+		config.removeEndpoint("metricsEndpoint");
+		config.removeSequence("metricsSequence");
+
+		assertFalse(registry.getComponents(MetricsRegistry.API).containsKey("MetricsAPI"));
+		assertFalse(registry.getComponents(MetricsRegistry.RESOURCE).containsKey(resourceName));
+		assertFalse(registry.getComponents(MetricsRegistry.ENDPOINT).containsKey("metricsEndpoint"));
+		assertFalse(registry.getComponents(MetricsRegistry.SEQUENCE).containsKey("metricsSequence"));
+	}
+
 	/**
 	 * Test concurrent access of entry definition.
 	 */
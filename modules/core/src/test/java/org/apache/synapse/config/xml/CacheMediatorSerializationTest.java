@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.config.xml;
+
+public class CacheMediatorSerializationTest extends AbstractTestCase {
+
+    private CacheMediatorFactory cacheMediatorFactory;
+    private CacheMediatorSerializer cacheMediatorSerializer;
+
+    public CacheMediatorSerializationTest() {
+        super(CacheMediatorSerializationTest.class.getName());
+        cacheMediatorFactory = new CacheMediatorFactory();
+        cacheMediatorSerializer = new CacheMediatorSerializer();
+    }
+
+    public void testCacheMediatorSerializationDefaults() throws Exception {
+        String inputXml = "<cache xmlns=\"http://ws.apache.org/ns/synapse\" />";
+        assertTrue(serialization(inputXml, cacheMediatorFactory, cacheMediatorSerializer));
+        assertTrue(serialization(inputXml, cacheMediatorSerializer));
+    }
+
+    public void testCacheMediatorSerializationCollector() throws Exception {
+        String inputXml = "<cache xmlns=\"http://ws.apache.org/ns/synapse\" collector=\"true\" />";
+        assertTrue(serialization(inputXml, cacheMediatorFactory, cacheMediatorSerializer));
+        assertTrue(serialization(inputXml, cacheMediatorSerializer));
+    }
+
+    public void testCacheMediatorSerializationFull() throws Exception {
+        String inputXml = "<cache xmlns=\"http://ws.apache.org/ns/synapse\" id=\"c1\" timeout=\"120\" "
+                + "maxSize=\"2048\" maxEntrySize=\"512\" evictionPolicy=\"LFU\" methods=\"GET,POST\" "
+                + "headers=\"Accept,Accept-Language\" hashPayload=\"true\" responseCodes=\"200|203\">"
+                + "<onCacheHit><log/></onCacheHit></cache>";
+        assertTrue(serialization(inputXml, cacheMediatorFactory, cacheMediatorSerializer));
+        assertTrue(serialization(inputXml, cacheMediatorSerializer));
+    }
+}
@@ -80,4 +80,19 @@ public class DBLookupMediatorSerializationTest extends AbstractTestCase {
         assertTrue(serialization(inputXml, dbLookupFactory, dbLookupSerializer));
         assertTrue(serialization(inputXml, dbLookupSerializer));
     }
+
+    public void testDBLookupMediatorSerializationWithCache() throws Exception {
+
+        String inputXml =
+            "<syn:dblookup xmlns:syn=\"http://ws.apache.org/ns/synapse\">" +
+                    "<syn:connection><syn:pool><syn:dsName>lookupdb</syn:dsName>" +
+                    "</syn:pool></syn:connection><syn:statement><syn:sql>" +
+                    "<![CDATA[select target from destinations where source = ?]]></syn:sql>" +
+                    "<syn:parameter expression=\"//source\" type=\"INTEGER\"/>" +
+                    "<syn:result name=\"target\" column=\"1\"/></syn:statement>" +
+                    "<syn:cache timeout=\"60\" maxSize=\"100\"/></syn:dblookup>";
+
+        assertTrue(serialization(inputXml, dbLookupFactory, dbLookupSerializer));
+        assertTrue(serialization(inputXml, dbLookupSerializer));
+    }
 }
@@ -72,4 +72,13 @@ public class DBReportMediatorSerializationTest extends AbstractTestCase {
         assertTrue(serialization(inputXml, dbReportMediatorFactory, dbReportMediatorSerializer));
         assertTrue(serialization(inputXml, dbReportMediatorSerializer));
     }
-}
\ No newline at end of file
+
+    public void testDBReportMediatorSerializationWithBatching() throws Exception {
+        String inputXml = "<dbreport xmlns=\"http://ws.apache.org/ns/synapse\" batchSize=\"50\" " +
+                          "batchInterval=\"200\"><connection><pool><dsName>reportdb</dsName></pool>" +
+                          "</connection><statement><sql><![CDATA[insert into audit values(?)]]></sql>" +
+                          "<parameter expression=\"//from\" type=\"VARCHAR\"/></statement></dbreport>";
+        assertTrue(serialization(inputXml, dbReportMediatorFactory, dbReportMediatorSerializer));
+        assertTrue(serialization(inputXml, dbReportMediatorSerializer));
+    }
+}
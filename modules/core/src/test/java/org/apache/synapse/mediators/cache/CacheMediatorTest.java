@@ -0,0 +1,234 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.cache;
+
+import junit.framework.TestCase;
+import org.apache.axis2.Constants;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.axis2.transport.http.SOAPMessageFormatter;
+import org.apache.http.HttpHeaders;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.xml.AnonymousListMediator;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.mediators.AbstractMediator;
+import org.apache.synapse.mediators.TestUtils;
+import org.apache.synapse.rest.RESTConstants;
+import org.apache.synapse.transport.passthru.PassThroughConstants;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Test cases for the lookup, hit, conditional hit and collector flow of the CacheMediator
+ */
+public class CacheMediatorTest extends TestCase {
+
+    private static final String REQUEST_PATH = "/stockquote/view/WSO2";
+
+    public void testResponseServedFromCache() throws Exception {
+        final List<MessageContext> hits = new ArrayList<MessageContext>();
+        AnonymousListMediator onCacheHit = new AnonymousListMediator();
+        onCacheHit.addChild(new AbstractMediator() {
+            public boolean mediate(MessageContext synCtx) {
+                hits.add(synCtx);
+                return true;
+            }
+        });
+        CacheMediator lookup = new CacheMediator();
+        lookup.setOnCacheHit(onCacheHit);
+        CacheMediator collector = new CacheMediator();
+        collector.setCollector(true);
+
+        MessageContext request = createRequest(null);
+        lookup.init(request.getEnvironment());
+        collector.init(request.getEnvironment());
+
+        assertTrue("A miss must continue to the backend", lookup.mediate(request));
+        assertNotNull(request.getProperty(CacheMediator.CACHE_KEY));
+        assertSame(lookup, request.getProperty(CacheMediator.CACHE_MEDIATOR));
+        assertTrue(hits.isEmpty());
+
+        MessageContext response = createResponse(request);
+        assertTrue(collector.mediate(response));
+        assertNull(response.getProperty(CacheMediator.CACHE_KEY));
+        assertEquals(1, lookup.getCache().getEntryCount());
+        String eTag = getHeader(response, HttpHeaders.ETAG);
+        assertNotNull("An ETag must be generated for the stored response", eTag);
+
+        MessageContext repeated = createRequest(null);
+        assertFalse("A hit must not reach the backend", lookup.mediate(repeated));
+        assertEquals(1, hits.size());
+        assertTrue(repeated.isResponse());
+        org.apache.axis2.context.MessageContext msgCtx = axis2(repeated);
+        assertEquals(200, msgCtx.getProperty(PassThroughConstants.HTTP_SC));
+        assertEquals(eTag, getHeader(repeated, HttpHeaders.ETAG));
+        ByteBuffer payload = (ByteBuffer) msgCtx.getProperty(PassThroughConstants.CACHED_RESPONSE_PAYLOAD);
+        assertNotNull(payload);
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("<price>42.0</price>"));
+
+        MessageContext conditional = createRequest(eTag);
+        assertFalse(lookup.mediate(conditional));
+        assertEquals(2, hits.size());
+        msgCtx = axis2(conditional);
+        assertEquals(304, msgCtx.getProperty(PassThroughConstants.HTTP_SC));
+        assertEquals(Boolean.TRUE, msgCtx.getProperty(PassThroughConstants.NO_ENTITY_BODY));
+        assertNull(msgCtx.getProperty(PassThroughConstants.CACHED_RESPONSE_PAYLOAD));
+
+        lookup.destroy();
+        assertEquals(0, lookup.getCache().getEntryCount());
+    }
+
+    public void testNoStoreResponseNotCached() throws Exception {
+        CacheMediator lookup = new CacheMediator();
+        CacheMediator collector = new CacheMediator();
+        collector.setCollector(true);
+
+        MessageContext request = createRequest(null);
+        lookup.init(request.getEnvironment());
+        assertTrue(lookup.mediate(request));
+
+        MessageContext response = createResponse(request);
+        headers(response).put(HttpHeaders.CACHE_CONTROL, "no-store");
+        assertTrue(collector.mediate(response));
+        assertEquals(0, lookup.getCache().getEntryCount());
+        assertTrue(lookup.mediate(createRequest(null)));
+    }
+
+    public void testAuthorizedResponseNotShared() throws Exception {
+        CacheMediator lookup = new CacheMediator();
+        CacheMediator collector = new CacheMediator();
+        collector.setCollector(true);
+
+        MessageContext request = createRequest(HttpHeaders.AUTHORIZATION, "Basic dXNlckE6YQ==");
+        lookup.init(request.getEnvironment());
+        assertTrue(lookup.mediate(request));
+        assertTrue(collector.mediate(createResponse(request)));
+        assertEquals("A response to an authorized request must not be shared", 0,
+                lookup.getCache().getEntryCount());
+
+        MessageContext anonymous = createRequest(null);
+        assertTrue(lookup.mediate(anonymous));
+        assertTrue(collector.mediate(createResponse(anonymous)));
+        assertEquals(1, lookup.getCache().getEntryCount());
+        assertTrue("A private response must not be served to an authorized request",
+                lookup.mediate(createRequest(HttpHeaders.AUTHORIZATION, "Basic dXNlckI6Yg==")));
+
+        request = createRequest(HttpHeaders.AUTHORIZATION, "Basic dXNlckE6YQ==");
+        assertTrue(lookup.mediate(request));
+        MessageContext response = createResponse(request);
+        headers(response).put(HttpHeaders.CACHE_CONTROL, "public, max-age=60");
+        assertTrue(collector.mediate(response));
+        assertFalse("A public response may be served to other users",
+                lookup.mediate(createRequest(HttpHeaders.AUTHORIZATION, "Basic dXNlckI6Yg==")));
+    }
+
+    public void testVaryHeadersInKey() throws Exception {
+        CacheMediator lookup = new CacheMediator();
+        CacheMediator collector = new CacheMediator();
+        collector.setCollector(true);
+
+        MessageContext request = createRequest(HttpHeaders.ACCEPT, "application/xml");
+        lookup.init(request.getEnvironment());
+        assertTrue(lookup.mediate(request));
+        MessageContext response = createResponse(request);
+        headers(response).put(HttpHeaders.VARY, "Accept, Accept-Language");
+        assertTrue(collector.mediate(response));
+        assertEquals(1, lookup.getCache().getEntryCount());
+
+        assertTrue("A response must not be served to a request with other varying headers",
+                lookup.mediate(createRequest(HttpHeaders.ACCEPT, "application/json")));
+        assertFalse(lookup.mediate(createRequest(HttpHeaders.ACCEPT, "application/xml")));
+
+        request = createRequest(HttpHeaders.ACCEPT, "application/json");
+        assertTrue(lookup.mediate(request));
+        response = createResponse(request);
+        headers(response).put(HttpHeaders.VARY, "*");
+        assertTrue(collector.mediate(response));
+        assertEquals("A response varying on * must not be stored", 1, lookup.getCache().getEntryCount());
+    }
+
+    private MessageContext createRequest(String ifNoneMatch) throws Exception {
+        return createRequest(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+
+    /**
+     * Create a GET request carrying the given header, unless its value is null
+     */
+    private MessageContext createRequest(String header, String value) throws Exception {
+        MessageContext synCtx = TestUtils.createLightweightSynapseMessageContext("<getQuote/>");
+        synCtx.setProperty(RESTConstants.REST_FULL_REQUEST_PATH, REQUEST_PATH);
+        org.apache.axis2.context.MessageContext msgCtx = axis2(synCtx);
+        msgCtx.setProperty(Constants.Configuration.HTTP_METHOD, "GET");
+        // any value marks the request as received over the pass-through transport
+        msgCtx.setProperty(PassThroughConstants.PASS_THROUGH_SOURCE_CONNECTION, new Object());
+        Map<String, String> headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        if (value != null) {
+            headers.put(header, value);
+        }
+        msgCtx.setProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS, headers);
+        return synCtx;
+    }
+
+    /**
+     * Create the backend response of a request, carrying over the properties the lookup left on it
+     */
+    private MessageContext createResponse(MessageContext request) throws Exception {
+        MessageContext synCtx = TestUtils.createLightweightSynapseMessageContext(
+                "<getQuoteResponse><price>42.0</price></getQuoteResponse>");
+        synCtx.setResponse(true);
+        synCtx.setProperty(CacheMediator.CACHE_KEY, request.getProperty(CacheMediator.CACHE_KEY));
+        synCtx.setProperty(CacheMediator.CACHE_MEDIATOR, request.getProperty(CacheMediator.CACHE_MEDIATOR));
+        synCtx.setProperty(CacheMediator.CACHE_REQUEST_HEADERS,
+                request.getProperty(CacheMediator.CACHE_REQUEST_HEADERS));
+        AxisConfiguration axisConfiguration = new AxisConfiguration();
+        axisConfiguration.addMessageFormatter("text/xml", new SOAPMessageFormatter());
+        org.apache.axis2.context.MessageContext msgCtx = axis2(synCtx);
+        msgCtx.setConfigurationContext(new ConfigurationContext(axisConfiguration));
+        msgCtx.setProperty(PassThroughConstants.HTTP_SC, 200);
+        msgCtx.setProperty(Constants.Configuration.CONTENT_TYPE, "text/xml");
+        msgCtx.setProperty(Constants.Configuration.MESSAGE_TYPE, "text/xml");
+        Map<String, String> headers = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+        headers.put(HttpHeaders.CONTENT_TYPE, "text/xml");
+        headers.put(HttpHeaders.CONNECTION, "keep-alive");
+        msgCtx.setProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS, headers);
+        return synCtx;
+    }
+
+    private static org.apache.axis2.context.MessageContext axis2(MessageContext synCtx) {
+        return ((Axis2MessageContext) synCtx).getAxis2MessageContext();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> headers(MessageContext synCtx) {
+        return (Map<String, String>) axis2(synCtx).getProperty(
+                org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
+    }
+
+    private static String getHeader(MessageContext synCtx, String name) {
+        return headers(synCtx).get(name);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.cache;
+
+import junit.framework.TestCase;
+
+import java.util.Collections;
+
+/**
+ * Test cases for the ResponseCache and the Cache-Control handling of the CacheMediator
+ */
+public class ResponseCacheTest extends TestCase {
+
+    public void testLruEviction() {
+        ResponseCache cache = new ResponseCache(300, 200, ResponseCache.LRU);
+        cache.put("a", response(100, 60000));
+        cache.put("b", response(100, 60000));
+        cache.put("c", response(100, 60000));
+        assertNotNull(cache.get("a"));
+        cache.put("d", response(100, 60000));
+
+        assertNotNull("Recently used entry must be kept", cache.get("a"));
+        assertNull("Least recently used entry must be evicted", cache.get("b"));
+        assertEquals(300, cache.getSize());
+        assertEquals(3, cache.getEntryCount());
+    }
+
+    public void testLfuEviction() {
+        ResponseCache cache = new ResponseCache(300, 200, ResponseCache.LFU);
+        cache.put("a", response(100, 60000));
+        cache.put("b", response(100, 60000));
+        cache.put("c", response(100, 60000));
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.get("b");
+        cache.get("c");
+        cache.get("a");
+        cache.put("d", response(100, 60000));
+
+        assertNull("Least frequently used entry must be evicted", cache.get("c"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertNotNull(cache.get("d"));
+    }
+
+    public void testByteBudget() {
+        ResponseCache cache = new ResponseCache(250, 200, ResponseCache.LRU);
+        assertFalse("Entries above the entry limit must be rejected", cache.put("big", response(201, 60000)));
+        assertTrue(cache.put("a", response(200, 60000)));
+        assertTrue(cache.put("b", response(200, 60000)));
+        assertNull(cache.get("a"));
+        assertEquals(200, cache.getSize());
+
+        cache.put("b", response(50, 60000));
+        assertEquals("Replacing an entry must release its size", 50, cache.getSize());
+        cache.remove("b");
+        assertEquals(0, cache.getSize());
+    }
+
+    public void testExpiry() throws Exception {
+        ResponseCache cache = new ResponseCache(1000, 1000, ResponseCache.LRU);
+        cache.put("a", response(10, 1));
+        Thread.sleep(20);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getSize());
+    }
+
+    public void testPayloadIsReadOnlyCopy() {
+        byte[] payload = "<hello/>".getBytes();
+        CachedResponse response = new CachedResponse(200, Collections.<String, String>emptyMap(),
+                "application/xml", "application/xml", "\"1\"", payload, 60000);
+        payload[0] = 'x';
+        byte[] read = new byte[response.getPayloadLength()];
+        response.getPayload().get(read);
+        assertEquals("<hello/>", new String(read));
+        assertTrue(response.getPayload().isReadOnly());
+        assertEquals(0, response.getPayload().position());
+    }
+
+    public void testCacheControl() {
+        assertTrue(CacheMediator.hasDirective("public, no-store", "no-store"));
+        assertTrue(CacheMediator.hasDirective("No-Cache=\"Set-Cookie\"", "no-cache"));
+        assertFalse(CacheMediator.hasDirective("max-age=60", "no-cache"));
+        assertFalse(CacheMediator.hasDirective(null, "no-cache"));
+
+        assertEquals(60, CacheMediator.getMaxAge("public, max-age=60"));
+        assertEquals(10, CacheMediator.getMaxAge("s-maxage=10, max-age=60"));
+        assertEquals(0, CacheMediator.getMaxAge("max-age=abc"));
+        assertEquals(-1, CacheMediator.getMaxAge("public"));
+    }
+
+    public void testETagMatching() {
+        assertTrue(CacheMediator.matchesETag("\"abc\"", "\"abc\""));
+        assertTrue(CacheMediator.matchesETag("\"x\", W/\"abc\"", "\"abc\""));
+        assertTrue(CacheMediator.matchesETag("*", "\"abc\""));
+        assertFalse(CacheMediator.matchesETag("\"abd\"", "\"abc\""));
+        assertFalse(CacheMediator.matchesETag(null, "\"abc\""));
+    }
+
+    private static CachedResponse response(int length, long timeToLive) {
+        return new CachedResponse(200, Collections.<String, String>emptyMap(), "text/plain", "text/plain",
+                null, new byte[length], timeToLive);
+    }
+}
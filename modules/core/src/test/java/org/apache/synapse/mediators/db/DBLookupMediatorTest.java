@@ -35,6 +35,7 @@ import java.util.Properties;
 public class DBLookupMediatorTest extends AbstractMediatorTestCase {
 
     private static DBLookupMediator lookup;
+    private static DBLookupMediator cachedLookup;
 
     public void testLookupMediator1() throws Exception {
         MessageContext synCtx = TestUtils.getTestContext("<dummy><source>5</source></dummy>");
@@ -50,6 +51,31 @@ public class DBLookupMediatorTest extends AbstractMediatorTestCase {
         assertEquals(synCtx.getProperty("categoryProp"), "B");
     }
 
+    public void testCachedLookupUntilInvalidated() throws Exception {
+        java.sql.Connection con = lookup.getDataSource().getConnection();
+        try {
+            java.sql.Statement s = con.createStatement();
+            s.execute("insert into destinations values ('svr4', 7, 'GOLD', 'C')");
+
+            MessageContext synCtx = TestUtils.getTestContext("<dummy><source>7</source></dummy>");
+            assertTrue(cachedLookup.mediate(synCtx));
+            assertEquals("svr4", synCtx.getProperty("targetProp"));
+
+            s.execute("update destinations set target = 'svr5' where source = 7");
+            synCtx = TestUtils.getTestContext("<dummy><source>7</source></dummy>");
+            assertTrue(cachedLookup.mediate(synCtx));
+            assertEquals("svr4", synCtx.getProperty("targetProp"));
+
+            cachedLookup.invalidateCache();
+            synCtx = TestUtils.getTestContext("<dummy><source>7</source></dummy>");
+            assertTrue(cachedLookup.mediate(synCtx));
+            assertEquals("svr5", synCtx.getProperty("targetProp"));
+            s.close();
+        } finally {
+            con.close();
+        }
+    }
+
     public static Test suite() {
         return new TestSetup(new TestSuite(DBLookupMediatorTest.class)) {
 
@@ -86,6 +112,28 @@ public class DBLookupMediatorTest extends AbstractMediatorTestCase {
 
                 lookup.init(new Axis2SynapseEnvironment(new SynapseConfiguration()));
 
+                cachedLookup = (DBLookupMediator)
+                    new DBLookupMediatorFactory().createMediator(createOMElement(
+                        "<dblookup xmlns=\"http://ws.apache.org/ns/synapse\">\n" +
+                            "  <connection>\n" +
+                            "    <pool>\n" +
+                            "      <driver>org.apache.derby.jdbc.EmbeddedDriver</driver>\n" +
+                            "      <url>jdbc:derby:" + baseDir + "/target/derbyDB;create=true</url>\n" +
+                            "      <user>user</user>\n" +
+                            "      <password>pass</password>\n" +
+                            "    </pool>\n" +
+                            "  </connection>\n" +
+                            "  <statement>\n" +
+                            "    <sql>select target from destinations where source = ?</sql>\n" +
+                            "    <parameter expression=\"//source\" type=\"INTEGER\"/>\n" +
+                            "    <result name=\"targetProp\" column=\"target\"/>\n" +
+                            "  </statement>\n" +
+                            "  <cache timeout=\"60\"/>\n" +
+                            "</dblookup>"
+                    ), new Properties());
+
+                cachedLookup.init(new Axis2SynapseEnvironment(new SynapseConfiguration()));
+
                 java.sql.Statement s = lookup.getDataSource().getConnection().createStatement();
                 try {
                     s.execute("drop table destinations");
@@ -37,6 +37,7 @@ import java.util.Properties;
 public class DBReportMediatorTest extends AbstractMediatorTestCase {
 
     private static DBReportMediator report;
+    private static DBReportMediator batchedReport;
 
     public void testLookupMediator1() throws Exception {
         MessageContext synCtx = TestUtils.getTestContext(
@@ -56,6 +57,26 @@ public class DBReportMediatorTest extends AbstractMediatorTestCase {
         assertEquals("Validate updated raw count", synCtx.getProperty("DBREPORT_MODIFIED_RAW_COUNT"), 1);
     }
 
+    public void testBatchedReport() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MessageContext synCtx = TestUtils.getTestContext("<dummy><from>me" + i + "</from></dummy>");
+            assertTrue(batchedReport.mediate(synCtx));
+        }
+        Connection con = report.getDataSource().getConnection();
+        ResultSet rs = con.createStatement().executeQuery("select count(*) from batched_audit");
+        assertTrue(rs.next());
+        assertEquals("Rows are written once the batch is flushed", 0, rs.getInt(1));
+
+        batchedReport.flushBatch();
+        rs = con.createStatement().executeQuery("select fromepr from batched_audit order by fromepr");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rs.next());
+            assertEquals("me" + i, rs.getString(1));
+        }
+        assertFalse(rs.next());
+        con.close();
+    }
+
     public static Test suite() {
         return new TestSetup(new TestSuite(DBReportMediatorTest.class)) {
 
@@ -92,17 +113,42 @@ public class DBReportMediatorTest extends AbstractMediatorTestCase {
                 
                 report.init(new Axis2SynapseEnvironment(new SynapseConfiguration()));
 
+                batchedReport = (DBReportMediator)
+                    new DBReportMediatorFactory().createMediator(createOMElement(
+                        "<dbreport xmlns=\"http://ws.apache.org/ns/synapse\" batchSize=\"10\" " +
+                            "batchInterval=\"600000\">\n" +
+                            "  <connection>\n" +
+                            "    <pool>\n" +
+                            "      <driver>org.apache.derby.jdbc.EmbeddedDriver</driver>\n" +
+                            "      <url>jdbc:derby:" + baseDir + "/target/derbyDB;create=true</url>\n" +
+                            "      <user>user</user>\n" +
+                            "      <password>pass</password>\n" +
+                            "    </pool>\n" +
+                            "  </connection>\n" +
+                            "  <statement>\n" +
+                            "    <sql>insert into batched_audit values(?)</sql>\n" +
+                            "    <parameter expression=\"//from\" type=\"VARCHAR\"/>\n" +
+                            "  </statement>\n" +
+                            "</dbreport>"
+                    ), new Properties());
+
+                batchedReport.init(new Axis2SynapseEnvironment(new SynapseConfiguration()));
+
                 java.sql.Statement s = report.getDataSource().getConnection().createStatement();
                 try {
                     s.execute("drop table audit");
                 } catch (SQLException ignore) {}
                 s.execute("create table audit(fromepr varchar(10), cnt int, toepr varchar(10), category varchar(10))");
+                try {
+                    s.execute("drop table batched_audit");
+                } catch (SQLException ignore) {}
+                s.execute("create table batched_audit(fromepr varchar(10))");
                 s.close();
             }
 
             @Override
             protected void tearDown() throws Exception {
-
+                batchedReport.destroy();
             }
         };
     }
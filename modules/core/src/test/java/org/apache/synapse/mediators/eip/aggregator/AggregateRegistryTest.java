@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.mediators.eip.aggregator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for the {@link AggregateRegistry} shared by the aggregating mediators.
+ */
+public class AggregateRegistryTest {
+
+    @Test
+    public void testOnlyFirstRegistrationWins() throws Exception {
+        AggregateRegistry<ForEachAggregate> registry = new AggregateRegistry<>();
+        int threads = 8;
+        AtomicInteger registered = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ForEachAggregate aggregate = new ForEachAggregate("correlation", "foreach");
+                if (registry.register("correlation", aggregate) == null) {
+                    registered.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        Assert.assertEquals(1, registered.get());
+        Assert.assertEquals(1, registry.getActiveCount());
+        Assert.assertEquals(1, registry.getCreatedCount());
+    }
+
+    @Test
+    public void testCompletionIsCounted() {
+        AggregateRegistry<ForEachAggregate> registry = new AggregateRegistry<>();
+        ForEachAggregate aggregate = new ForEachAggregate("correlation", "foreach");
+        Assert.assertNull(registry.register("correlation", aggregate));
+        Assert.assertSame(aggregate, registry.get("correlation"));
+        Assert.assertSame(aggregate, registry.asMap().get("correlation"));
+
+        registry.complete("correlation", aggregate);
+        Assert.assertNull(registry.get("correlation"));
+        Assert.assertEquals(0, registry.getActiveCount());
+        Assert.assertEquals(1, registry.getCompletedCount());
+        Assert.assertTrue(registry.getAverageCompletionTime() >= 0);
+
+        registry.recordTimeout();
+        Assert.assertEquals(1, registry.getTimeoutCount());
+    }
+
+    @Test
+    public void testStaleRemovalKeepsNewerAggregate() {
+        AggregateRegistry<ForEachAggregate> registry = new AggregateRegistry<>();
+        ForEachAggregate first = new ForEachAggregate("correlation", "foreach");
+        ForEachAggregate second = new ForEachAggregate("correlation", "foreach");
+        registry.register("correlation", first);
+        registry.remove("correlation", first);
+        registry.register("correlation", second);
+
+        registry.complete("correlation", first);
+        Assert.assertSame(second, registry.get("correlation"));
+        Assert.assertEquals(0, registry.getCompletedCount());
+    }
+}
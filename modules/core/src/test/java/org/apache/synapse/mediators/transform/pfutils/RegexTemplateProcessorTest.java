@@ -28,6 +28,8 @@ import com.jayway.jsonpath.spi.mapper.MappingProvider;
 import junit.framework.TestCase;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.mediators.TestUtils;
+import org.apache.synapse.mediators.transform.Argument;
+import org.apache.synapse.util.xpath.SynapseJsonPath;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -243,4 +245,56 @@ public class RegexTemplateProcessorTest extends TestCase {
             Assert.assertEquals(expectedOutput, result);
         }
     }
+
+    public static class CompiledRegexTemplate {
+
+        // a JSON string holding a group reference, a backslash and double quotes
+        private static final String SPECIAL_CHARACTERS_PAYLOAD = "{ \"value\": \"cost $1 \\\\ \\\"x\\\"\" }";
+
+        @Test
+        public void testProcessorReusedForDifferentTemplates() throws Exception {
+
+            MessageContext messageContext = TestUtils.getTestContextJson("{ \"name\": \"John\", \"age\": 30 }", null);
+            TemplateProcessor templateProcessor = new RegexTemplateProcessor();
+            for (int i = 0; i < 2; i++) {
+                Assert.assertEquals("{ \"name\": \"John\" }", templateProcessor.processTemplate(
+                        "{ \"name\": \"${payload.name}\" }", "json", messageContext));
+                Assert.assertEquals("<pfPadding><age>30</age></pfPadding>", templateProcessor.processTemplate(
+                        "<age>${payload.age}</age>", "xml", messageContext));
+            }
+        }
+
+        @Test
+        public void testMissingArgumentKeepsRemainingTemplate() throws Exception {
+
+            MessageContext messageContext = TestUtils.getTestContextJson("{ \"name\": \"John\" }", null);
+            TemplateProcessor templateProcessor = new RegexTemplateProcessor();
+            Assert.assertEquals("{ \"name\": \"John\", \"id\": $1, \"other\": \"${payload.name}\" }",
+                    templateProcessor.processTemplate(
+                            "{ \"name\": \"${payload.name}\", \"id\": $1, \"other\": \"${payload.name}\" }",
+                            "json", messageContext));
+        }
+
+        @Test
+        public void testQuotedExpressionWritesJsonStringAsItIs() throws Exception {
+
+            // "$1" in the value used to be read as a group reference of the placeholder match
+            MessageContext messageContext = TestUtils.getTestContextJson(SPECIAL_CHARACTERS_PAYLOAD, null);
+            TemplateProcessor templateProcessor = new RegexTemplateProcessor();
+            Assert.assertEquals("{ \"value\": \"cost $1 \\\\ \\\"x\\\"\" }", templateProcessor.processTemplate(
+                    "{ \"value\": \"${payload.value}\" }", "json", messageContext));
+        }
+
+        @Test
+        public void testArgumentWritesJsonStringAsItIs() throws Exception {
+
+            MessageContext messageContext = TestUtils.getTestContextJson(SPECIAL_CHARACTERS_PAYLOAD, null);
+            TemplateProcessor templateProcessor = new RegexTemplateProcessor();
+            Argument argument = new Argument();
+            argument.setExpression(new SynapseJsonPath("$.value"));
+            templateProcessor.addPathArgument(argument);
+            Assert.assertEquals("{ \"value\": \"cost $1 \\\\ \\\"x\\\"\" }", templateProcessor.processTemplate(
+                    "{ \"value\": \"$1\" }", "json", messageContext));
+        }
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.message.processor.impl.forwarder;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class AckSequencerTest extends TestCase {
+
+    public void testTurnWaitsForOlderMessages() throws Exception {
+        AckSequencer sequencer = new AckSequencer();
+        long first = sequencer.next();
+        long second = sequencer.next();
+        long third = sequencer.next();
+
+        assertTrue(sequencer.awaitTurn(first, 10));
+        assertFalse(sequencer.awaitTurn(second, 10));
+
+        sequencer.finish(third);
+        assertFalse(sequencer.awaitTurn(second, 10));
+
+        sequencer.finish(first);
+        assertTrue(sequencer.awaitTurn(second, 10));
+        sequencer.finish(second);
+        assertTrue(sequencer.awaitTurn(sequencer.next(), 10));
+    }
+
+    public void testConcurrentAcknowledgementsAreOrdered() throws Exception {
+        final AckSequencer sequencer = new AckSequencer();
+        final List<Long> acknowledged = Collections.synchronizedList(new ArrayList<Long>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            final long sequence = sequencer.next();
+            final long delay = (8 - i) * 5;
+            Thread thread = new Thread() {
+                public void run() {
+                    try {
+                        Thread.sleep(delay);
+                        while (!sequencer.awaitTurn(sequence, 100)) {
+                            // keep waiting
+                        }
+                        acknowledged.add(sequence);
+                        sequencer.finish(sequence);
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8, acknowledged.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(Long.valueOf(i), acknowledged.get(i));
+        }
+    }
+}
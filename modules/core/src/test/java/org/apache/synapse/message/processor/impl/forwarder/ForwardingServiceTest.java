@@ -0,0 +1,362 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.processor.impl.forwarder;
+
+import junit.framework.TestCase;
+import org.apache.axis2.AxisFault;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseConstants;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
+import org.apache.synapse.endpoints.AddressEndpoint;
+import org.apache.synapse.endpoints.EndpointDefinition;
+import org.apache.synapse.mediators.TestUtils;
+import org.apache.synapse.mediators.base.SequenceMediator;
+import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.processor.MessageProcessorConstants;
+import org.apache.synapse.message.senders.blocking.BlockingMsgSender;
+import org.apache.synapse.message.store.MessageStore;
+import org.apache.synapse.message.store.impl.memory.InMemoryStore;
+import org.apache.synapse.message.store.impl.memory.InMemoryStoreConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Forwards messages from an unordered in-memory store through a window of three messages in flight,
+ * answering them with a stub sender.
+ */
+public class ForwardingServiceTest extends TestCase {
+
+    private static final int WINDOW_SIZE = 3;
+    private static final int MESSAGE_COUNT = 9;
+
+    private SynapseConfiguration synapseConfiguration;
+    private Axis2SynapseEnvironment synapseEnvironment;
+    private RecordingStore store;
+    private StubSender sender;
+    private TestProcessor processor;
+
+    protected void setUp() throws Exception {
+        synapseConfiguration = new SynapseConfiguration();
+        AxisConfiguration axisConfiguration = new AxisConfiguration();
+        synapseConfiguration.setAxisConfiguration(axisConfiguration);
+        synapseEnvironment = new Axis2SynapseEnvironment(new ConfigurationContext(axisConfiguration),
+                synapseConfiguration);
+
+        store = new RecordingStore();
+        Map<String, Object> storeParameters = new HashMap<String, Object>();
+        storeParameters.put(InMemoryStoreConstants.ORDERED, "false");
+        store.setParameters(storeParameters);
+        store.setName("Store");
+        store.init(synapseEnvironment);
+        synapseConfiguration.addMessageStore("Store", store);
+
+        EndpointDefinition definition = new EndpointDefinition();
+        definition.setAddress("http://localhost:9000/services/Backend");
+        AddressEndpoint endpoint = new AddressEndpoint();
+        endpoint.setName("Backend");
+        endpoint.setDefinition(definition);
+        endpoint.init(synapseEnvironment);
+        synapseConfiguration.addEndpoint("Backend", endpoint);
+
+        SequenceMediator reply = new SequenceMediator();
+        reply.setName("Reply");
+        synapseConfiguration.addSequence("Reply", reply);
+
+        sender = new StubSender(store.received);
+        processor = new TestProcessor();
+        processor.setName("Processor");
+        processor.setMessageStoreName("Store");
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            MessageContext messageContext = TestUtils.createSynapseMessageContext("<order/>", synapseConfiguration);
+            messageContext.setMessageID("ID" + i);
+            assertTrue(store.getProducer().storeMessage(messageContext));
+        }
+    }
+
+    public void testWindowForwardsDistinctMessagesInOrder() throws Exception {
+        forward(new HashMap<String, Object>());
+
+        assertEquals(MESSAGE_COUNT, store.received.size());
+        assertEquals(MESSAGE_COUNT, new HashSet<String>(store.received).size());
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            assertEquals(1, sender.getAttempts("ID" + i));
+        }
+        assertFalse("A message was forwarded by two slots at once", sender.sentConcurrently);
+        assertTrue(sender.maxInFlight.get() > 1);
+        assertTrue(sender.maxInFlight.get() <= WINDOW_SIZE);
+
+        // messages received earlier are answered later, yet they are acknowledged first
+        assertFalse(store.received.equals(sender.completed));
+        assertEquals(store.received, store.acknowledged);
+        assertEquals(0, store.size());
+        assertFalse(processor.isDeactivated());
+    }
+
+    public void testRetryAndNonRetryStatusCodes() throws Exception {
+        sender.script("ID1", 500, 503);
+        sender.script("ID2", 404);
+        sender.script("ID4", 500);
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(ForwardingProcessorConstants.NON_RETRY_STATUS_CODES, new String[] {"404"});
+        forward(parameters);
+
+        assertEquals(3, sender.getAttempts("ID1"));
+        assertEquals(1, sender.getAttempts("ID2"));
+        assertEquals(2, sender.getAttempts("ID4"));
+        assertEquals(1, sender.getAttempts("ID0"));
+        assertFalse(sender.sentConcurrently);
+
+        assertEquals(MESSAGE_COUNT, store.acknowledged.size());
+        assertEquals(store.received, store.acknowledged);
+        assertEquals(0, store.size());
+        assertFalse(processor.isDeactivated());
+    }
+
+    public void testMaxDeliveryAttemptsMoveMessageToFailStore() throws Exception {
+        MessageStore failStore = new InMemoryStore();
+        failStore.setName("Failed");
+        failStore.init(synapseEnvironment);
+        synapseConfiguration.addMessageStore("Failed", failStore);
+        sender.script("ID3", 500, 500, 500);
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(MessageProcessorConstants.MAX_DELIVER_ATTEMPTS, "2");
+        parameters.put(ForwardingProcessorConstants.FAIL_MESSAGES_STORE, "Failed");
+        forward(parameters);
+
+        assertEquals(2, sender.getAttempts("ID3"));
+        assertEquals(1, failStore.size());
+        assertEquals("ID3", failStore.get(0).getMessageID());
+
+        assertEquals(MESSAGE_COUNT, store.acknowledged.size());
+        assertEquals(store.received, store.acknowledged);
+        assertEquals(0, store.size());
+        assertFalse(processor.isDeactivated());
+    }
+
+    public void testMaxDeliveryAttemptsDeactivateProcessor() throws Exception {
+        sender.script("ID5", 500, 500, 500);
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(MessageProcessorConstants.MAX_DELIVER_ATTEMPTS, "2");
+        forward(parameters);
+
+        assertTrue(processor.isDeactivated());
+        assertEquals(2, sender.getAttempts("ID5"));
+        assertFalse(store.acknowledged.contains("ID5"));
+        // the messages acknowledged around the failed one still keep to the receive order
+        assertEquals(orderedAsReceived(store.acknowledged), store.acknowledged);
+    }
+
+    /**
+     * Runs the forwarding service the way the scheduler does, until the store is drained or the
+     * processor is deactivated
+     */
+    private void forward(Map<String, Object> parameters) {
+        parameters.put(ForwardingProcessorConstants.WINDOW_SIZE, String.valueOf(WINDOW_SIZE));
+        parameters.put(ForwardingProcessorConstants.TARGET_ENDPOINT, "Backend");
+        parameters.put(ForwardingProcessorConstants.REPLY_SEQUENCE, "Reply");
+        parameters.put(MessageProcessorConstants.INTERVAL, "10");
+        parameters.put(MessageProcessorConstants.RETRY_INTERVAL, "10");
+        processor.setParameters(parameters);
+
+        ForwardingService service = new ForwardingService(processor, sender, synapseEnvironment, 10);
+        long deadline = System.currentTimeMillis() + 30000;
+        try {
+            do {
+                service.execute();
+            } while (store.size() > 0 && !processor.isDeactivated() && System.currentTimeMillis() < deadline);
+        } finally {
+            service.destroy();
+        }
+    }
+
+    private List<String> orderedAsReceived(List<String> messageIds) {
+        List<String> ordered = new ArrayList<String>(store.received);
+        ordered.retainAll(messageIds);
+        return ordered;
+    }
+
+    /**
+     * Processor which is neither scheduled nor clustered, it only keeps track of its deactivation
+     */
+    private static class TestProcessor extends ScheduledMessageForwardingProcessor {
+
+        private volatile boolean deactivated = false;
+
+        @Override
+        public boolean isDeactivated() {
+            return deactivated;
+        }
+
+        @Override
+        public boolean isServerShuttingDown() {
+            return false;
+        }
+
+        @Override
+        public boolean isActive() {
+            return !deactivated;
+        }
+
+        @Override
+        public boolean deactivate() {
+            deactivated = true;
+            return true;
+        }
+    }
+
+    /**
+     * Answers each message with the status codes scripted for it and then with 200. A message
+     * received earlier takes longer to answer, so the messages of a window complete out of order.
+     */
+    private static class StubSender extends BlockingMsgSender {
+
+        private static final long DELAY_STEP = 20;
+
+        private final List<String> receiveOrder;
+        private final Map<String, Queue<Integer>> statusCodes = new ConcurrentHashMap<String, Queue<Integer>>();
+        private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<String, AtomicInteger>();
+        private final Set<String> inFlight = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final List<String> completed = Collections.synchronizedList(new ArrayList<String>());
+        private volatile boolean sentConcurrently = false;
+
+        StubSender(List<String> receiveOrder) {
+            this.receiveOrder = receiveOrder;
+        }
+
+        void script(String messageId, Integer... codes) {
+            statusCodes.put(messageId, new ConcurrentLinkedQueue<Integer>(Arrays.asList(codes)));
+        }
+
+        int getAttempts(String messageId) {
+            AtomicInteger count = attempts.get(messageId);
+            return count == null ? 0 : count.get();
+        }
+
+        @Override
+        public void send(EndpointDefinition endpointDefinition, MessageContext synCtx) throws AxisFault {
+            String messageId = synCtx.getMessageID();
+            if (!inFlight.add(messageId)) {
+                sentConcurrently = true;
+            }
+            int current = inFlight.size();
+            int max;
+            do {
+                max = maxInFlight.get();
+            } while (current > max && !maxInFlight.compareAndSet(max, current));
+
+            AtomicInteger count = attempts.get(messageId);
+            if (count == null) {
+                attempts.putIfAbsent(messageId, new AtomicInteger());
+                count = attempts.get(messageId);
+            }
+            count.incrementAndGet();
+            try {
+                Thread.sleep((MESSAGE_COUNT - receiveOrder.indexOf(messageId)) * DELAY_STEP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            Queue<Integer> codes = statusCodes.get(messageId);
+            Integer code = codes == null ? null : codes.poll();
+            ((Axis2MessageContext) synCtx).getAxis2MessageContext().setProperty(SynapseConstants.HTTP_SC,
+                    code == null ? 200 : code);
+            completed.add(messageId);
+            inFlight.remove(messageId);
+        }
+    }
+
+    /**
+     * In-memory store recording the order its consumers receive and acknowledge messages in
+     */
+    private static class RecordingStore extends InMemoryStore {
+
+        private final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+        private final List<String> acknowledged = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public MessageConsumer getConsumer() {
+            return new RecordingConsumer(super.getConsumer());
+        }
+
+        private class RecordingConsumer implements MessageConsumer {
+
+            private final MessageConsumer consumer;
+            private String current;
+
+            RecordingConsumer(MessageConsumer consumer) {
+                this.consumer = consumer;
+            }
+
+            public MessageContext receive() {
+                MessageContext messageContext = consumer.receive();
+                if (messageContext != null && !messageContext.getMessageID().equals(current)) {
+                    current = messageContext.getMessageID();
+                    received.add(current);
+                }
+                return messageContext;
+            }
+
+            public boolean ack() {
+                acknowledged.add(current);
+                return consumer.ack();
+            }
+
+            public boolean cleanup() {
+                return consumer.cleanup();
+            }
+
+            public boolean isAlive() {
+                return consumer.isAlive();
+            }
+
+            public void setAlive(boolean isAlive) {
+                consumer.setAlive(isAlive);
+            }
+
+            public void setId(int i) {
+                consumer.setId(i);
+            }
+
+            public String getId() {
+                return consumer.getId();
+            }
+
+            public boolean reInitialize() {
+                return consumer.reInitialize();
+            }
+        }
+    }
+}
@@ -17,13 +17,29 @@
 package org.apache.synapse.message.store;
 
 import junit.framework.TestCase;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.synapse.MessageContext;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
 import org.apache.synapse.mediators.TestUtils;
 import org.apache.synapse.message.MessageConsumer;
+import org.apache.synapse.message.MessageProducer;
+import org.apache.synapse.message.store.impl.commons.MessageConverter;
+import org.apache.synapse.message.store.impl.file.FileMessageStoreConstants;
+import org.apache.synapse.message.store.impl.file.MessageLog;
 import org.apache.synapse.message.store.impl.memory.InMemoryStore;
+import org.apache.synapse.message.store.impl.memory.InMemoryStoreConstants;
 
+import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class InMemoryMessageStoreTest extends TestCase {
     
@@ -117,6 +133,235 @@ public class InMemoryMessageStoreTest extends TestCase {
 
     }
     
+    public void testCapacityReject() throws Exception {
+        System.out.println("Testing InMemoryStore capacity with reject policy...");
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(InMemoryStoreConstants.CAPACITY, "2");
+        MessageStore store = createStore(parameters);
+        MessageProducer producer = store.getProducer();
+        assertTrue(producer.storeMessage(createMessageContext("ID0")));
+        assertTrue(producer.storeMessage(createMessageContext("ID1")));
+        assertFalse(producer.storeMessage(createMessageContext("ID2")));
+        assertEquals(2, store.size());
+
+        MessageConsumer consumer = store.getConsumer();
+        assertEquals("ID0", consumer.receive().getMessageID());
+        consumer.ack();
+        assertTrue(producer.storeMessage(createMessageContext("ID2")));
+        assertEquals(2, store.size());
+
+        store.clear();
+        assertTrue(producer.storeMessage(createMessageContext("ID3")));
+        assertTrue(producer.storeMessage(createMessageContext("ID4")));
+    }
+
+    public void testCapacityBlock() throws Exception {
+        System.out.println("Testing InMemoryStore capacity with block policy...");
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(InMemoryStoreConstants.CAPACITY, "1");
+        parameters.put(InMemoryStoreConstants.OVERFLOW_POLICY, InMemoryStoreConstants.POLICY_BLOCK);
+        parameters.put(InMemoryStoreConstants.BLOCK_TIMEOUT, "100");
+        final MessageStore store = createStore(parameters);
+        MessageProducer producer = store.getProducer();
+        assertTrue(producer.storeMessage(createMessageContext("ID0")));
+
+        long start = System.currentTimeMillis();
+        assertFalse(producer.storeMessage(createMessageContext("ID1")));
+        assertTrue(System.currentTimeMillis() - start >= 90);
+
+        Thread consumerThread = new Thread() {
+            public void run() {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException ignored) {
+                }
+                MessageConsumer consumer = store.getConsumer();
+                consumer.receive();
+                consumer.ack();
+            }
+        };
+        consumerThread.start();
+        assertTrue(producer.storeMessage(createMessageContext("ID1")));
+        consumerThread.join();
+        assertEquals(1, store.size());
+        assertEquals("ID1", store.get(0).getMessageID());
+    }
+
+    public void testUnorderedParallelDelivery() throws Exception {
+        System.out.println("Testing InMemoryStore Unordered Parallel Delivery...");
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(InMemoryStoreConstants.ORDERED, "false");
+        parameters.put(InMemoryStoreConstants.SHARDS, "4");
+        final MessageStore store = createStore(parameters);
+        populateStore(store, 1000);
+        assertEquals(1000, store.size());
+
+        final Set<String> received = ConcurrentHashMap.newKeySet();
+        final AtomicInteger duplicates = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            new Thread() {
+                public void run() {
+                    MessageConsumer consumer = store.getConsumer();
+                    MessageContext message;
+                    while ((message = consumer.receive()) != null) {
+                        if (!received.add(message.getMessageID())) {
+                            duplicates.incrementAndGet();
+                        }
+                        consumer.ack();
+                    }
+                    done.countDown();
+                }
+            }.start();
+        }
+        done.await();
+        assertEquals(0, duplicates.get());
+        assertEquals(1000, received.size());
+        assertEquals(0, store.size());
+    }
+
+    public void testUnorderedRedelivery() throws Exception {
+        System.out.println("Testing InMemoryStore Unordered Guaranteed Delivery...");
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(InMemoryStoreConstants.ORDERED, "false");
+        MessageStore store = createStore(parameters);
+        store.getProducer().storeMessage(createMessageContext("FOO"));
+        MessageConsumer consumer = store.getConsumer();
+        assertEquals("FOO", consumer.receive().getMessageID());
+        assertEquals("FOO", consumer.receive().getMessageID());
+        assertNull(store.getConsumer().receive());
+
+        consumer.cleanup();
+        assertEquals(1, store.size());
+        MessageConsumer other = store.getConsumer();
+        assertEquals("FOO", other.receive().getMessageID());
+        other.ack();
+        assertEquals(0, store.size());
+    }
+
+    public void testSpillRoundTrip() throws Exception {
+        System.out.println("Testing InMemoryStore capacity with spill policy...");
+        File directory = createSpillDirectory();
+        try {
+            MessageStore store = createSpillStore(directory, 2);
+            MessageProducer producer = store.getProducer();
+            for (int i = 0; i < 5; i++) {
+                assertTrue(producer.storeMessage(createMessageContext("ID" + i)));
+            }
+            assertEquals(5, store.size());
+            // messages beyond the capacity are read back from the overflow log
+            for (int i = 2; i < 5; i++) {
+                assertEquals("ID" + i, store.get(i).getMessageID());
+            }
+
+            MessageConsumer consumer = store.getConsumer();
+            assertEquals("ID0", consumer.receive().getMessageID());
+            consumer.ack();
+            // the store has room again, but the message must queue behind the spilled ones
+            assertTrue(producer.storeMessage(createMessageContext("ID5")));
+            for (int i = 1; i < 6; i++) {
+                assertEquals("ID" + i, consumer.receive().getMessageID());
+                consumer.ack();
+            }
+            assertNull(consumer.receive());
+            assertEquals(0, store.size());
+            store.destroy();
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    public void testSpilledMessagesSurviveRestart() throws Exception {
+        System.out.println("Testing InMemoryStore reopening an overflow log...");
+        File directory = createSpillDirectory();
+        try {
+            MessageStore store = createSpillStore(directory, 1);
+            for (int i = 0; i < 3; i++) {
+                assertTrue(store.getProducer().storeMessage(createMessageContext("ID" + i)));
+            }
+            store.destroy();
+
+            // only the spilled messages outlive the store
+            store = createSpillStore(directory, 1);
+            assertEquals(2, store.size());
+            MessageConsumer consumer = store.getConsumer();
+            for (int i = 1; i < 3; i++) {
+                assertEquals("ID" + i, consumer.receive().getMessageID());
+                consumer.ack();
+            }
+            assertNull(consumer.receive());
+            store.destroy();
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    public void testUnreadableSpilledMessageMovedAside() throws Exception {
+        System.out.println("Testing InMemoryStore skipping a spilled message it can not decode...");
+        File directory = createSpillDirectory();
+        try {
+            MessageLog log = new MessageLog(directory, InMemoryStoreConstants.SPILL_SEGMENT_SIZE,
+                    FileMessageStoreConstants.SYNC_INTERVAL, FileMessageStoreConstants.DEFAULT_FSYNC_INTERVAL_MILLIS);
+            log.append("BAD", new byte[] {1, 2, 3});
+            log.append("ID1", MessageConverter.toBytes(
+                    MessageConverter.toStorableMessage(createMessageContext("ID1"))));
+            log.close();
+
+            MessageStore store = createSpillStore(directory, 1);
+            MessageConsumer consumer = store.getConsumer();
+            assertEquals("ID1", consumer.receive().getMessageID());
+            consumer.ack();
+            assertNull(consumer.receive());
+            assertEquals(0, store.size());
+            File[] unreadable = new File(directory, InMemoryStoreConstants.UNREADABLE_DIRECTORY).listFiles();
+            assertNotNull(unreadable);
+            assertEquals(1, unreadable.length);
+            store.destroy();
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private MessageStore createSpillStore(File directory, int capacity) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(InMemoryStoreConstants.CAPACITY, String.valueOf(capacity));
+        parameters.put(InMemoryStoreConstants.OVERFLOW_POLICY, InMemoryStoreConstants.POLICY_SPILL);
+        parameters.put(InMemoryStoreConstants.SPILL_DIRECTORY, directory.getAbsolutePath());
+        InMemoryStore store = new InMemoryStore();
+        store.setParameters(parameters);
+        // spilled messages are read back into a new axis2 message context
+        store.init(new Axis2SynapseEnvironment(new ConfigurationContext(new AxisConfiguration()),
+                new SynapseConfiguration()));
+        return store;
+    }
+
+    private File createSpillDirectory() throws Exception {
+        File directory = File.createTempFile("memory-overflow", "");
+        assertTrue(directory.delete());
+        return directory;
+    }
+
+    private void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+
+    private MessageStore createStore(Map<String, Object> parameters) {
+        InMemoryStore store = new InMemoryStore();
+        store.setParameters(parameters);
+        store.init(new Axis2SynapseEnvironment(new SynapseConfiguration()));
+        return store;
+    }
+
     private MessageContext createMessageContext(String identifier) throws Exception {
         MessageContext msg = TestUtils.createLightweightSynapseMessageContext("<test/>");
         msg.setMessageID(identifier);
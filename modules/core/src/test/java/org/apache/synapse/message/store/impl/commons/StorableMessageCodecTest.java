@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.commons;
+
+import junit.framework.TestCase;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class StorableMessageCodecTest extends TestCase {
+
+    public void testRoundTrip() throws Exception {
+        StorableMessage message = createMessage("<test>payload</test>");
+        StorableMessage decoded = StorableMessageCodec.fromBytes(StorableMessageCodec.encode(message, 0));
+
+        assertEquals(7, decoded.getPriority());
+        Axis2Message axis2Message = decoded.getAxis2message();
+        assertEquals("urn:uuid:1", axis2Message.getMessageID());
+        assertEquals(new QName("http://ws.apache.org/ns/synapse", "mediate", "syn"),
+                axis2Message.getOperationName());
+        assertEquals("syn", axis2Message.getOperationName().getPrefix());
+        assertEquals("http://localhost:9000/services/SimpleStockQuoteService", axis2Message.getToAddress());
+        assertNull(axis2Message.getFaultToAddress());
+        assertTrue(axis2Message.isDoingPOX());
+        assertFalse(axis2Message.isDoingMTOM());
+        assertEquals("<test>payload</test>", axis2Message.getSoapEnvelope());
+        assertTrue(Arrays.equals("{\"a\":1}".getBytes("UTF-8"), axis2Message.getJsonStream()));
+        assertEquals(1, axis2Message.getFLOW());
+
+        Map abstractProperties = (Map) axis2Message.getProperties().get("ABSTRACT_MC_PROPERTIES");
+        assertEquals("value", abstractProperties.get("string"));
+        assertEquals(Boolean.TRUE, abstractProperties.get("boolean"));
+        assertEquals(42, abstractProperties.get("integer"));
+        assertEquals(4.2, abstractProperties.get("double"));
+        assertEquals('c', abstractProperties.get("character"));
+        Object headers = axis2Message.getProperties().get("TRANSPORT_HEADERS");
+        assertTrue(headers instanceof TreeMap);
+        assertEquals("text/xml", ((Map) headers).get("Content-Type"));
+
+        SynapseMessage synapseMessage = decoded.getSynapseMessage();
+        assertTrue(synapseMessage.isResponse());
+        assertFalse(synapseMessage.isFaultResponse());
+        assertEquals(1, synapseMessage.getTracingState());
+        assertEquals("bar", synapseMessage.getProperties().get("foo"));
+        assertEquals(Arrays.asList("entry"), synapseMessage.getLocalEntries());
+        assertTrue(Arrays.equals(new byte[]{1, 2, 3}, synapseMessage.getPropertyObjects().get("OM_ELEMENT_PREFIX_x")));
+    }
+
+    public void testReadsJavaSerializedMessages() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(createMessage("<test>payload</test>"));
+        out.close();
+
+        StorableMessage decoded = StorableMessageCodec.fromBytes(bytes.toByteArray());
+        assertEquals("urn:uuid:1", decoded.getAxis2message().getMessageID());
+        assertEquals("bar", decoded.getSynapseMessage().getProperties().get("foo"));
+    }
+
+    public void testCompression() throws Exception {
+        StringBuilder payload = new StringBuilder("<test>");
+        for (int i = 0; i < 2000; i++) {
+            payload.append("<symbol>IBM</symbol>");
+        }
+        payload.append("</test>");
+        StorableMessage message = createMessage(payload.toString());
+
+        byte[] plain = StorableMessageCodec.encode(message, 0);
+        byte[] compressed = StorableMessageCodec.encode(message, 1024);
+        assertTrue(compressed.length < plain.length / 4);
+        assertEquals(payload.toString(),
+                StorableMessageCodec.fromBytes(compressed).getAxis2message().getSoapEnvelope());
+    }
+
+    public void testSmallerThanJavaSerialization() throws Exception {
+        StorableMessage message = createMessage("<test>payload</test>");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(message);
+        out.close();
+        assertTrue(StorableMessageCodec.encode(message, 0).length < bytes.size() / 2);
+    }
+
+    public void testRejectsUnknownData() throws Exception {
+        try {
+            StorableMessageCodec.fromBytes(new byte[]{1, 2, 3, 4, 5});
+            fail("Expected an exception for data that is not a stored message");
+        } catch (java.io.IOException expected) {
+        }
+    }
+
+    private StorableMessage createMessage(String envelope) throws Exception {
+        Axis2Message axis2Message = new Axis2Message();
+        axis2Message.setMessageID("urn:uuid:1");
+        axis2Message.setOperationName(new QName("http://ws.apache.org/ns/synapse", "mediate", "syn"));
+        axis2Message.setToAddress("http://localhost:9000/services/SimpleStockQuoteService");
+        axis2Message.setDoingPOX(true);
+        axis2Message.setSoapEnvelope(envelope);
+        axis2Message.setJsonStream("{\"a\":1}".getBytes("UTF-8"));
+        axis2Message.setFLOW(1);
+        Map<String, Object> abstractProperties = new HashMap<String, Object>();
+        abstractProperties.put("string", "value");
+        abstractProperties.put("boolean", Boolean.TRUE);
+        abstractProperties.put("integer", 42);
+        abstractProperties.put("double", 4.2);
+        abstractProperties.put("character", 'c');
+        axis2Message.addProperty("ABSTRACT_MC_PROPERTIES", abstractProperties);
+        Map<String, String> headers = new TreeMap<String, String>();
+        headers.put("Content-Type", "text/xml");
+        axis2Message.addProperty("TRANSPORT_HEADERS", headers);
+
+        SynapseMessage synapseMessage = new SynapseMessage();
+        synapseMessage.setResponse(true);
+        synapseMessage.setTracingState(1);
+        synapseMessage.addProperty("foo", "bar");
+        synapseMessage.addLocalEntry("entry");
+        synapseMessage.addPropertyObject("OM_ELEMENT_PREFIX_x", new byte[]{1, 2, 3});
+
+        StorableMessage message = new StorableMessage();
+        message.setPriority(7);
+        message.setAxis2message(axis2Message);
+        message.setSynapseMessage(synapseMessage);
+        return message;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.file;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MessageLogTest extends TestCase {
+
+    private File directory;
+
+    @Override
+    protected void setUp() throws Exception {
+        directory = File.createTempFile("message-log", "");
+        assertTrue(directory.delete());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    public void testMessagesAreConsumedInOrder() throws Exception {
+        MessageLog log = open(1024 * 1024, FileMessageStoreConstants.SYNC_GROUP);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, log.append("id-" + i, bytes("message-" + i)));
+        }
+        assertEquals(5, log.size());
+        for (int i = 0; i < 5; i++) {
+            MessageLog.Entry head = log.peek();
+            assertEquals("id-" + i, head.getMessageId());
+            assertEquals("message-" + i, string(log.read(head)));
+            assertTrue(log.remove(head));
+            assertFalse(log.remove(head));
+        }
+        assertNull(log.peek());
+        log.close();
+    }
+
+    public void testRecoveryKeepsCursorAndTombstones() throws Exception {
+        MessageLog log = open(1024 * 1024, FileMessageStoreConstants.SYNC_PER_MESSAGE);
+        for (int i = 0; i < 5; i++) {
+            log.append("id-" + i, bytes("message-" + i));
+        }
+        log.remove(log.peek());
+        log.remove(log.peek());
+        log.remove(log.get("id-3"));
+        log.close();
+
+        log = open(1024 * 1024, FileMessageStoreConstants.SYNC_PER_MESSAGE);
+        assertEquals(2, log.size());
+        assertEquals("id-2", log.peek().getMessageId());
+        assertEquals("message-4", string(log.read(log.get(1))));
+        assertNull(log.get("id-3"));
+        assertEquals(5, log.append("id-5", bytes("message-5")));
+        log.close();
+    }
+
+    public void testAcknowledgedSegmentsAreDeleted() throws Exception {
+        MessageLog log = open(256, FileMessageStoreConstants.SYNC_INTERVAL);
+        for (int i = 0; i < 20; i++) {
+            log.append("id-" + i, new byte[50]);
+        }
+        assertTrue(log.getSegmentCount() > 5);
+        for (int i = 0; i < 10; i++) {
+            log.remove(log.peek());
+        }
+        int remaining = log.getSegmentCount();
+        assertTrue(remaining < 20 && remaining > 1);
+        while (log.peek() != null) {
+            log.remove(log.peek());
+        }
+        assertEquals(1, log.getSegmentCount());
+        assertEquals(1, segmentFiles().length);
+        log.close();
+
+        log = open(256, FileMessageStoreConstants.SYNC_INTERVAL);
+        assertEquals(0, log.size());
+        assertEquals(20, log.append("id-20", new byte[50]));
+        log.close();
+    }
+
+    public void testMessageLargerThanSegment() throws Exception {
+        MessageLog log = open(256, FileMessageStoreConstants.SYNC_GROUP);
+        log.append("small", new byte[10]);
+        log.append("large", new byte[4096]);
+        log.append("next", new byte[10]);
+        log.close();
+
+        log = open(256, FileMessageStoreConstants.SYNC_GROUP);
+        assertEquals(3, log.size());
+        assertEquals(4096, log.read(log.get("large")).length);
+        log.close();
+    }
+
+    public void testIncompleteRecordIsDiscarded() throws Exception {
+        MessageLog log = open(1024 * 1024, FileMessageStoreConstants.SYNC_PER_MESSAGE);
+        log.append("id-0", bytes("message-0"));
+        log.append("id-1", bytes("message-1"));
+        log.append("id-2", bytes("message-2"));
+        log.close();
+
+        // damage the last record, as a crash in the middle of writing it would
+        File segment = segmentFiles()[0];
+        RandomAccessFile raf = new RandomAccessFile(segment, "rw");
+        int offset = 0;
+        for (int i = 0; i < 2; i++) {
+            raf.seek(offset);
+            offset += 8 + raf.readInt();
+        }
+        raf.seek(offset + 20);
+        raf.write(0x7f);
+        raf.close();
+
+        log = open(1024 * 1024, FileMessageStoreConstants.SYNC_PER_MESSAGE);
+        assertEquals(2, log.size());
+        assertNull(log.get("id-2"));
+        log.append("id-3", bytes("message-3"));
+        log.close();
+
+        log = open(1024 * 1024, FileMessageStoreConstants.SYNC_PER_MESSAGE);
+        assertEquals(3, log.size());
+        assertEquals("message-3", string(log.read(log.get("id-3"))));
+        log.close();
+    }
+
+    public void testConcurrentWriters() throws Exception {
+        final MessageLog log = open(64 * 1024, FileMessageStoreConstants.SYNC_GROUP);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 100; i++) {
+                            log.append(thread + "-" + i, bytes("message-" + thread + "-" + i));
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        log.close();
+
+        MessageLog reopened = open(64 * 1024, FileMessageStoreConstants.SYNC_GROUP);
+        assertEquals(800, reopened.size());
+        long previous = -1;
+        for (MessageLog.Entry entry : reopened.getAll()) {
+            assertTrue(entry.getSequence() > previous);
+            previous = entry.getSequence();
+        }
+        assertEquals("message-7-99", string(reopened.read(reopened.get("7-99"))));
+        reopened.close();
+    }
+
+    public void testClear() throws Exception {
+        MessageLog log = open(256, FileMessageStoreConstants.SYNC_GROUP);
+        for (int i = 0; i < 10; i++) {
+            log.append("id-" + i, new byte[50]);
+        }
+        log.clear();
+        assertEquals(0, log.size());
+        log.close();
+
+        log = open(256, FileMessageStoreConstants.SYNC_GROUP);
+        assertEquals(0, log.size());
+        log.close();
+    }
+
+    private MessageLog open(int segmentSize, int syncPolicy) throws Exception {
+        return new MessageLog(directory, segmentSize, syncPolicy, 10);
+    }
+
+    private File[] segmentFiles() {
+        return directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(LogSegment.SUFFIX);
+            }
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
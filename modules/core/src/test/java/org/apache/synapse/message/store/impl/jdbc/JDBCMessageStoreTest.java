@@ -0,0 +1,226 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.message.store.impl.jdbc;
+
+import junit.framework.TestCase;
+import org.apache.axis2.context.ConfigurationContext;
+import org.apache.axis2.engine.AxisConfiguration;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.config.SynapseConfiguration;
+import org.apache.synapse.core.axis2.Axis2SynapseEnvironment;
+import org.apache.synapse.mediators.TestUtils;
+import org.apache.synapse.message.MessageConsumer;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests prefetching and batched acknowledgements of the JDBC message store against an embedded Derby database
+ */
+public class JDBCMessageStoreTest extends TestCase {
+
+    private static final String TABLE = "jdbc_store_test";
+
+    private String url;
+
+    private TestJDBCMessageStore store;
+
+    @Override
+    protected void setUp() throws Exception {
+        String baseDir = System.getProperty("basedir");
+        if (baseDir == null) {
+            baseDir = ".";
+        }
+        Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+        url = "jdbc:derby:" + baseDir + "/target/derbyDB;create=true";
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            connection.createStatement().execute("DROP TABLE " + TABLE);
+        } catch (SQLException ignore) {
+            // table did not exist
+        }
+        connection.createStatement().execute("CREATE TABLE " + TABLE
+                + " (indexId BIGINT GENERATED ALWAYS AS IDENTITY, msg_id VARCHAR(200) NOT NULL,"
+                + " message LONG VARCHAR FOR BIT DATA NOT NULL, PRIMARY KEY (indexId))");
+        connection.close();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    public void testPrefetchedMessagesAreReadInOrder() throws Exception {
+        insert(5);
+        initStore(3, 1);
+        MessageConsumer consumer = store.getConsumer();
+
+        List<String> received = new ArrayList<String>();
+        MessageContext message;
+        while ((message = consumer.receive()) != null) {
+            received.add(message.getMessageID());
+            assertTrue(consumer.ack());
+        }
+
+        assertEquals(Arrays.asList("ID0", "ID1", "ID2", "ID3", "ID4"), received);
+        // two queries to read five messages three at a time, and one that finds the table empty
+        assertEquals(3, store.queries);
+        assertEquals(0, store.size());
+    }
+
+    public void testAcknowledgementsAreDeletedInBatches() throws Exception {
+        insert(4);
+        initStore(4, 2);
+        MessageConsumer consumer = store.getConsumer();
+
+        assertEquals("ID0", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertEquals(4, store.size());
+
+        assertEquals("ID1", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertEquals(2, store.size());
+
+        assertEquals("ID2", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertEquals("ID3", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+
+        assertEquals(0, store.size());
+        assertEquals(Arrays.asList(Arrays.asList("ID0", "ID1"), Arrays.asList("ID2", "ID3")), store.removals);
+    }
+
+    public void testPartialBatchDeletedWhenPrefetchedMessagesRunOut() throws Exception {
+        insert(3);
+        initStore(3, 5);
+        MessageConsumer consumer = store.getConsumer();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ID" + i, consumer.receive().getMessageID());
+            assertTrue(consumer.ack());
+        }
+
+        assertEquals(0, store.size());
+        assertEquals(1, store.removals.size());
+    }
+
+    public void testRedeliveryAfterFailedDelete() throws Exception {
+        insert(2);
+        initStore(2, 2);
+        MessageConsumer consumer = store.getConsumer();
+
+        store.failRemoves = true;
+        assertEquals("ID0", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertEquals("ID1", consumer.receive().getMessageID());
+        assertFalse(consumer.ack());
+        assertEquals(2, store.size());
+
+        store.failRemoves = false;
+        assertEquals("ID0", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+        assertEquals("ID1", consumer.receive().getMessageID());
+        assertTrue(consumer.ack());
+
+        assertEquals(0, store.size());
+        assertNull(consumer.receive());
+    }
+
+    private void initStore(int prefetchSize, int ackBatchSize) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put(JDBCMessageStoreConstants.JDBC_CONNECTION_DRIVER, "org.apache.derby.jdbc.EmbeddedDriver");
+        parameters.put(JDBCMessageStoreConstants.JDBC_CONNECTION_URL, url);
+        parameters.put(JDBCMessageStoreConstants.JDBC_USERNAME, "synapse");
+        parameters.put(JDBCMessageStoreConstants.JDBC_PASSWORD, "synapse");
+        parameters.put(JDBCMessageStoreConstants.JDBC_TABLE, TABLE);
+        parameters.put(JDBCMessageStoreConstants.JDBC_PREFETCH_SIZE, String.valueOf(prefetchSize));
+        parameters.put(JDBCMessageStoreConstants.JDBC_ACK_BATCH_SIZE, String.valueOf(ackBatchSize));
+
+        SynapseConfiguration configuration = new SynapseConfiguration();
+        store = new TestJDBCMessageStore();
+        store.setParameters(parameters);
+        store.init(new Axis2SynapseEnvironment(new ConfigurationContext(new AxisConfiguration()), configuration));
+    }
+
+    /**
+     * Insert messages whose serialized form is just their id, read back by {@link TestJDBCMessageStore}
+     */
+    private void insert(int count) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO " + TABLE + " (msg_id, message) VALUES (?, ?)");
+            for (int i = 0; i < count; i++) {
+                ps.setString(1, "ID" + i);
+                ps.setBytes(2, ("ID" + i).getBytes(StandardCharsets.UTF_8));
+                ps.executeUpdate();
+            }
+            ps.close();
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static class TestJDBCMessageStore extends JDBCMessageStore {
+
+        private int queries;
+
+        private final List<List<String>> removals = new ArrayList<List<String>>();
+
+        private volatile boolean failRemoves;
+
+        @Override
+        protected MessageContext deserializeMessage(byte[] msgObj) {
+            try {
+                MessageContext message = TestUtils.createLightweightSynapseMessageContext("<test/>");
+                message.setMessageID(new String(msgObj, StandardCharsets.UTF_8));
+                return message;
+            } catch (Exception e) {
+                throw new SynapseException("Could not create message", e);
+            }
+        }
+
+        @Override
+        protected List<MessageContext> peek(int count) throws SynapseException {
+            queries++;
+            return super.peek(count);
+        }
+
+        @Override
+        public boolean remove(List<String> msgIds) throws SynapseException {
+            if (failRemoves) {
+                throw new SynapseException("Removing " + msgIds.size() + " messages failed !");
+            }
+            removals.add(new ArrayList<String>(msgIds));
+            return super.remove(msgIds);
+        }
+    }
+}
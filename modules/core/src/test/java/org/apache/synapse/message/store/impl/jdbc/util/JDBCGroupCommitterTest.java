@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.message.store.impl.jdbc.util;
+
+import junit.framework.TestCase;
+import org.apache.synapse.SynapseException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests group commit of concurrent inserts against an embedded Derby database
+ */
+public class JDBCGroupCommitterTest extends TestCase {
+
+    private static final String TABLE = "group_commit_test";
+
+    private String url;
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private final JDBCGroupCommitter.BatchExecutor executor = new JDBCGroupCommitter.BatchExecutor() {
+        @Override
+        public void execute(List<Statement> statements) throws SynapseException {
+            transactions.incrementAndGet();
+            Connection connection = null;
+            try {
+                connection = DriverManager.getConnection(url);
+                connection.setAutoCommit(false);
+                PreparedStatement ps = connection.prepareStatement(statements.get(0).getStatement());
+                for (Statement statement : statements) {
+                    ps.setLong(1, (Long) statement.getParameters().get(0));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                ps.close();
+                connection.commit();
+            } catch (SQLException e) {
+                if (connection != null) {
+                    try {
+                        connection.rollback();
+                    } catch (SQLException ignore) {
+                    }
+                }
+                throw new SynapseException("Insert failed", e);
+            } finally {
+                if (connection != null) {
+                    try {
+                        connection.close();
+                    } catch (SQLException ignore) {
+                    }
+                }
+            }
+        }
+    };
+
+    @Override
+    protected void setUp() throws Exception {
+        String baseDir = System.getProperty("basedir");
+        if (baseDir == null) {
+            baseDir = ".";
+        }
+        Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+        url = "jdbc:derby:" + baseDir + "/target/derbyDB;create=true";
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            connection.createStatement().execute("DROP TABLE " + TABLE);
+        } catch (SQLException ignore) {
+            // table did not exist
+        }
+        connection.createStatement().execute("CREATE TABLE " + TABLE + " (id BIGINT PRIMARY KEY)");
+        connection.close();
+    }
+
+    public void testConcurrentCommitsShareTransactions() throws Exception {
+        JDBCGroupCommitter committer = new JDBCGroupCommitter("test-committer", 10, 200, executor);
+        committer.start();
+        List<Long> failed = commitConcurrently(committer, 1, 20);
+        committer.stop();
+
+        assertTrue(failed.isEmpty());
+        assertEquals(20, count());
+        assertTrue("expected fewer transactions than commits but got " + transactions.get(),
+                transactions.get() < 20);
+    }
+
+    public void testFailureIsolatedToOffendingRequest() throws Exception {
+        JDBCGroupCommitter committer = new JDBCGroupCommitter("test-committer", 10, 200, executor);
+        committer.start();
+        committer.commit(insert(1));
+        List<Long> failed = commitConcurrently(committer, 1, 6);
+        committer.stop();
+
+        assertEquals(Collections.singletonList(1L), failed);
+        assertEquals(6, count());
+    }
+
+    public void testCommitAfterStop() throws Exception {
+        JDBCGroupCommitter committer = new JDBCGroupCommitter("test-committer", 10, 200, executor);
+        committer.start();
+        committer.stop();
+        committer.commit(insert(1));
+        assertEquals(1, count());
+    }
+
+    private List<Long> commitConcurrently(final JDBCGroupCommitter committer, long from, long to)
+            throws InterruptedException {
+        final List<Long> failed = Collections.synchronizedList(new ArrayList<Long>());
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (long id = from; id <= to; id++) {
+            final long value = id;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        committer.commit(insert(value));
+                    } catch (SynapseException e) {
+                        failed.add(value);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return failed;
+    }
+
+    private List<Statement> insert(long id) {
+        Statement statement = new Statement("INSERT INTO " + TABLE + " (id) VALUES (?)") {
+            @Override
+            public List<Map> getResult(ResultSet resultSet) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        statement.addParameter(id);
+        return Collections.singletonList(statement);
+    }
+
+    private int count() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            ResultSet rs = connection.createStatement().executeQuery("SELECT COUNT(*) FROM " + TABLE);
+            rs.next();
+            return rs.getInt(1);
+        } finally {
+            connection.close();
+        }
+    }
+}
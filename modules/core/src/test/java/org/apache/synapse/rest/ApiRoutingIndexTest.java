@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.rest;
+
+import junit.framework.TestCase;
+import org.apache.synapse.api.API;
+import org.apache.synapse.api.ApiConstants;
+import org.apache.synapse.api.ApiRoutingIndex;
+import org.apache.synapse.config.SynapseConfiguration;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ApiRoutingIndexTest extends TestCase {
+
+    public void testCandidatesMatchContext() {
+        API root = new API("RootAPI", "/");
+        API orders = new API("OrdersAPI", "/orders");
+        API ordersV2 = new API("OrdersV2API", "/orders/v2");
+        API customers = new API("CustomersAPI", "/customers");
+
+        ApiRoutingIndex index = new ApiRoutingIndex();
+        index.add(root);
+        index.add(orders);
+        index.add(ordersV2);
+        index.add(customers);
+        assertEquals(4, index.size());
+
+        assertEquals(Arrays.asList(ordersV2, orders, root), index.getCandidates("/orders/v2/items"));
+        assertEquals(Arrays.asList(ordersV2, orders, root), index.getCandidates("/orders/v2?id=1"));
+        assertEquals(Arrays.asList(orders, root), index.getCandidates("/orders"));
+        assertEquals(Arrays.asList(orders, root), index.getCandidates("/orders/"));
+        assertEquals(Arrays.asList(orders, root), index.getCandidates("/orders?v2=true"));
+        assertEquals(Collections.singletonList(root), index.getCandidates("/ordersv2"));
+        assertEquals(Collections.singletonList(root), index.getCandidates("/"));
+    }
+
+    public void testCandidatesInDeploymentOrder() {
+        API version1 = new API("OrdersAPI", "/orders");
+        API version2 = new API("OrdersAPI", "/orders");
+
+        ApiRoutingIndex index = new ApiRoutingIndex();
+        index.add(version1);
+        index.add(version2);
+        assertEquals(Arrays.asList(version1, version2), index.getCandidates("/orders/1"));
+
+        // redeployed API is tried last
+        index.add(version1);
+        assertEquals(Arrays.asList(version2, version1), index.getCandidates("/orders/1"));
+        assertEquals(2, index.size());
+    }
+
+    public void testRemove() {
+        API orders = new API("OrdersAPI", "/orders");
+        API items = new API("ItemsAPI", "/orders/items");
+
+        ApiRoutingIndex index = new ApiRoutingIndex();
+        index.add(orders);
+        index.add(items);
+
+        assertTrue(index.remove(orders));
+        assertFalse(index.remove(orders));
+        assertEquals(Collections.singletonList(items), index.getCandidates("/orders/items/1"));
+        assertTrue(index.getCandidates("/orders/1").isEmpty());
+
+        assertTrue(index.remove(items));
+        assertTrue(index.isEmpty());
+        assertTrue(index.getCandidates("/orders/items/1").isEmpty());
+    }
+
+    public void testIndexFollowsConfiguration() {
+        SynapseConfiguration synapseConfig = new SynapseConfiguration();
+        API orders = new API("OrdersAPI", "/orders");
+        API customers = new API("CustomersAPI", "/customers");
+        synapseConfig.addAPI(orders.getName(), orders);
+        synapseConfig.addAPI(customers.getName(), customers);
+
+        ApiRoutingIndex index = synapseConfig.getAPIRoutingIndex(ApiConstants.DEFAULT_BINDING_ENDPOINT_NAME);
+        assertNotNull(index);
+        assertEquals(Collections.singletonList(orders), index.getCandidates("/orders/1"));
+
+        API newOrders = new API("OrdersAPI", "/neworders");
+        synapseConfig.updateAPI(orders.getName(), newOrders);
+        index = synapseConfig.getAPIRoutingIndex(ApiConstants.DEFAULT_BINDING_ENDPOINT_NAME);
+        assertTrue(index.getCandidates("/orders/1").isEmpty());
+        assertEquals(Collections.singletonList(newOrders), index.getCandidates("/neworders/1"));
+
+        synapseConfig.removeAPI(newOrders.getName());
+        synapseConfig.removeAPI(customers.getName());
+        assertNull(synapseConfig.getAPIRoutingIndex(ApiConstants.DEFAULT_BINDING_ENDPOINT_NAME));
+    }
+}
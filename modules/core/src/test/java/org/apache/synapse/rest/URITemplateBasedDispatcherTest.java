@@ -169,4 +169,39 @@ public class URITemplateBasedDispatcherTest extends RESTMediationTestCase {
         assertEquals("c", synCtx.getProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + "char"));
         assertEquals("cat", synCtx.getProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + "word"));
     }
+
+    public void testVariablesOfFailedMatchNotSet() throws Exception {
+        API api = new API("TestAPI", "/test");
+        Resource resource1 = new Resource();
+        resource1.setDispatcherHelper(new URITemplateHelper("/orders/{id}/items/{item}"));
+        resource1.setInSequence(getTestSequence(PROP_NAME, "r1"));
+        api.addResource(resource1);
+
+        Resource resource2 = new Resource();
+        resource2.setDispatcherHelper(new URITemplateHelper("/customers/{id}"));
+        resource2.setInSequence(getTestSequence(PROP_NAME, "r2"));
+        api.addResource(resource2);
+
+        Resource resource3 = new Resource();
+        resource3.setDispatcherHelper(new URITemplateHelper("/orders/{ref}"));
+        resource3.setInSequence(getTestSequence(PROP_NAME, "r3"));
+        api.addResource(resource3);
+
+        SynapseConfiguration synapseConfig = new SynapseConfiguration();
+        synapseConfig.addAPI(api.getName(), api);
+
+        RESTRequestHandler handler = new RESTRequestHandler();
+
+        MessageContext synCtx = getMessageContext(synapseConfig, false, "/test/orders/5", "GET");
+        handler.process(synCtx);
+        assertEquals("r3", synCtx.getProperty(PROP_NAME));
+        assertEquals("5", synCtx.getProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + "ref"));
+        assertNull(synCtx.getProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + "id"));
+
+        synCtx = getMessageContext(synapseConfig, false, "/test/orders/5/items/7", "GET");
+        handler.process(synCtx);
+        assertEquals("r1", synCtx.getProperty(PROP_NAME));
+        assertEquals("5", synCtx.getProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + "id"));
+        assertEquals("7", synCtx.getProperty(RESTConstants.REST_URI_VARIABLE_PREFIX + "item"));
+    }
 }
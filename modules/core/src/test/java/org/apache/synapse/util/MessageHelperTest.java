@@ -75,6 +75,22 @@ public class MessageHelperTest extends TestCase {
         performTestForCloneEnvelope(soapFactory, header, childNode);
     }
 
+    public void testCloneSoapEnvelopeWithoutBody() {
+        SOAPFactory soapFactory = OMAbstractFactory.getSOAP11Factory();
+        OMNamespace ns = soapFactory.createOMNamespace("http://ws.apache.org/axis2", "hns");
+        SOAPEnvelope envelope = soapFactory.getDefaultEnvelope();
+        SOAPHeaderBlock header = new SOAP11HeaderBlockImpl("CustomHeader", ns, soapFactory);
+        header.setText("my custom header");
+        envelope.getHeader().addChild(header);
+        envelope.getBody().addChild(soapFactory.createOMElement("Child", ns));
+
+        SOAPEnvelope clonedEnvelope = MessageHelper.cloneSOAPEnvelope(envelope, false);
+        assertEquals("my custom header",
+                clonedEnvelope.getHeader().getFirstChildWithName(header.getQName()).getText());
+        assertNull("Body content should not be cloned", clonedEnvelope.getBody().getFirstElement());
+        assertNotNull("Original body should be intact", envelope.getBody().getFirstElement());
+    }
+
     private void performTestForCloneEnvelope(SOAPFactory soapFactory, SOAPHeaderBlock header, OMElement childNode) {
 
         SOAPEnvelope tempEnvelope = soapFactory.getDefaultEnvelope();
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.util.synapse.expression;
+
+import org.apache.synapse.util.synapse.expression.ast.BinaryOperationNode;
+import org.apache.synapse.util.synapse.expression.ast.ConstantNode;
+import org.apache.synapse.util.synapse.expression.ast.ExpressionCompiler;
+import org.apache.synapse.util.synapse.expression.ast.ExpressionNode;
+import org.apache.synapse.util.synapse.expression.ast.ExpressionResult;
+import org.apache.synapse.util.synapse.expression.ast.LiteralNode;
+import org.apache.synapse.util.synapse.expression.ast.SignedExpressionNode;
+import org.apache.synapse.util.synapse.expression.context.EvaluationContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test class for the compile time optimizations of Synapse Expressions.
+ */
+public class ExpressionCompilerTest {
+
+    @Test
+    public void testConstantFolding() {
+        ExpressionNode product = ExpressionCompiler.fold(new BinaryOperationNode(number("60"), "*", number("60")));
+        Assert.assertTrue(product instanceof ConstantNode);
+        ExpressionNode negated = ExpressionCompiler.fold(new SignedExpressionNode(product, true));
+        Assert.assertTrue(negated instanceof ConstantNode);
+        Assert.assertEquals(-3600, negated.evaluate(null, false).asInt());
+
+        ExpressionNode concat = ExpressionCompiler.fold(new BinaryOperationNode(
+                new LiteralNode("abc", LiteralNode.Type.STRING), "+", new LiteralNode("def", LiteralNode.Type.STRING)));
+        Assert.assertTrue(concat instanceof ConstantNode);
+        Assert.assertEquals("abcdef", concat.evaluate(null, false).asString());
+    }
+
+    @Test
+    public void testErrorsAreNotFolded() {
+        ExpressionNode division = ExpressionCompiler.fold(new BinaryOperationNode(number("1"), "/", number("0")));
+        Assert.assertTrue("Failing operations must be reported on evaluation",
+                division instanceof BinaryOperationNode);
+    }
+
+    @Test
+    public void testMessageDependentNodesAreNotFolded() {
+        ExpressionNode variable = new ExpressionNode() {
+            @Override
+            public ExpressionResult evaluate(EvaluationContext context, boolean isObjectValue) {
+                return new ExpressionResult(5);
+            }
+        };
+        ExpressionNode sum = ExpressionCompiler.fold(new BinaryOperationNode(variable, "+", number("1")));
+        Assert.assertTrue(sum instanceof BinaryOperationNode);
+        Assert.assertEquals(6, sum.evaluate(null, false).asInt());
+    }
+
+    @Test
+    public void testConditionalBranchSelection() {
+        ExpressionNode trueBranch = new LiteralNode("yes", LiteralNode.Type.STRING);
+        ExpressionNode falseBranch = new LiteralNode("no", LiteralNode.Type.STRING);
+        ExpressionNode condition = ExpressionCompiler.fold(new BinaryOperationNode(number("2"), ">", number("1")));
+        Assert.assertSame(trueBranch, ExpressionCompiler.conditional(condition, trueBranch, falseBranch));
+    }
+
+    @Test
+    public void testComparisons() {
+        Assert.assertTrue(compare("1", "<", "2.5"));
+        Assert.assertTrue(compare("2", "<=", "2"));
+        Assert.assertFalse(compare("2", ">", "2"));
+        Assert.assertTrue(compare("3", ">=", "2"));
+        Assert.assertTrue(compare("3", "==", "3"));
+        Assert.assertTrue(compare("3", "!=", "4"));
+    }
+
+    private static boolean compare(String left, String operator, String right) {
+        return new BinaryOperationNode(number(left), operator, number(right)).evaluate(null, false).asBoolean();
+    }
+
+    private static LiteralNode number(String value) {
+        return new LiteralNode(value, LiteralNode.Type.NUMBER);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.util.synapse.expression;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axis2.context.MessageContext;
+import org.apache.synapse.commons.json.JsonUtil;
+import org.apache.synapse.mediators.eip.EIPUtils;
+import org.apache.synapse.util.synapse.expression.context.JsonDocumentCache;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Test class for the parsed JSON document cache used by the Synapse Expressions.
+ */
+public class JsonDocumentCacheTest {
+
+    @BeforeClass
+    public static void setUp() {
+        EIPUtils.setJsonPathConfiguration();
+    }
+
+    @Test
+    public void testPayloadDocumentIsBoundToSource() {
+        JsonDocumentCache cache = new JsonDocumentCache();
+        InputStream source = new ByteArrayInputStream(new byte[0]);
+        DocumentContext document = JsonPath.parse("{\"name\":\"John\"}");
+        cache.setPayloadDocument(source, document);
+
+        Assert.assertSame(document, cache.getPayloadDocument(source));
+        Assert.assertNull("A replaced payload must not hit the cache",
+                cache.getPayloadDocument(new ByteArrayInputStream(new byte[0])));
+        Assert.assertNull(cache.getPayloadDocument(null));
+        cache.invalidatePayload();
+        Assert.assertNull(cache.getPayloadDocument(source));
+    }
+
+    @Test
+    public void testValueDocumentsAreReused() {
+        JsonDocumentCache cache = new JsonDocumentCache();
+        String json = "{\"cars\":[\"Ford\",\"BMW\"]}";
+        DocumentContext document = cache.parse(json);
+        Assert.assertSame(document, cache.parse(new String(json)));
+        Assert.assertNotSame(document, cache.parse("{\"cars\":[\"KIA\"]}"));
+        Assert.assertEquals(new JsonPrimitive("BMW"), document.read(JsonDocumentCache.compile("$.cars[1]")));
+    }
+
+    @Test
+    public void testValueDocumentsAreBounded() {
+        JsonDocumentCache cache = new JsonDocumentCache();
+        DocumentContext first = cache.parse("{\"index\":0}");
+        for (int i = 1; i <= 8; i++) {
+            cache.parse("{\"index\":" + i + "}");
+        }
+        Assert.assertNotSame("Least recently used document should be evicted", first, cache.parse("{\"index\":0}"));
+    }
+
+    @Test
+    public void testCompiledPathsAreShared() {
+        Assert.assertSame(JsonDocumentCache.compile("$.store.book[0]"), JsonDocumentCache.compile("$.store.book[0]"));
+    }
+
+    @Test
+    public void testDetachedResultDoesNotChangeDocument() {
+        JsonDocumentCache cache = new JsonDocumentCache();
+        DocumentContext document = cache.parse("{\"person\":{\"name\":\"John\"},\"cars\":[\"Ford\"]}");
+
+        JsonObject person = (JsonObject) JsonDocumentCache.detach(
+                document.read(JsonDocumentCache.compile("$.person")));
+        person.addProperty("age", 30);
+        JsonArray cars = (JsonArray) JsonDocumentCache.detach(document.read(JsonDocumentCache.compile("$.cars")));
+        cars.add("BMW");
+
+        Assert.assertEquals(JsonParser.parseString("{\"person\":{\"name\":\"John\"},\"cars\":[\"Ford\"]}"),
+                (JsonElement) document.json());
+    }
+
+    @Test
+    public void testParsedPayloadIsHandedOverOnUpdate() throws Exception {
+        MessageContext axis2MessageContext = new MessageContext();
+        axis2MessageContext.setEnvelope(OMAbstractFactory.getSOAP11Factory().getDefaultEnvelope());
+        JsonUtil.getNewJsonPayload(axis2MessageContext, "{\"name\":\"John\"}", true, true);
+        JsonDocumentCache cache = new JsonDocumentCache();
+
+        DocumentContext document = cache.parsePayload(JsonUtil.getJsonPayload(axis2MessageContext));
+        Assert.assertSame(document, cache.parsePayload(JsonUtil.getJsonPayload(axis2MessageContext)));
+
+        document.set(JsonDocumentCache.compile("$.name"), "Jane");
+        cache.setPayloadDocument(axis2MessageContext, document, document.jsonString());
+        Assert.assertEquals("{\"name\":\"Jane\"}", JsonUtil.jsonPayloadToString(axis2MessageContext));
+        Assert.assertSame("The updated document must not be parsed again", document,
+                cache.parsePayload(JsonUtil.getJsonPayload(axis2MessageContext)));
+
+        JsonUtil.getNewJsonPayload(axis2MessageContext, "{\"name\":\"Bob\"}", true, true);
+        Assert.assertEquals(new JsonPrimitive("Bob"), cache.parsePayload(JsonUtil.getJsonPayload(axis2MessageContext))
+                .read(JsonDocumentCache.compile("$.name")));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *   * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.synapse.util.xpath;
+
+import junit.framework.TestCase;
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMElement;
+import org.apache.synapse.MessageContext;
+import org.apache.synapse.mediators.TestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tests for the XPath 2.0 evaluation of SynapseXPath, which re-uses pooled compiled expressions
+ * instead of compiling the expression under a global lock
+ */
+public class DOMSynapseXPathEvaluatorTest extends TestCase {
+
+    private static final String EXPRESSION = "concat(//symbol, '-', $ctx:id, '-', get-property('id'))";
+
+    public void testPrecompiledExpressionReused() throws Exception {
+        SynapseXPath xpath = new SynapseXPath(EXPRESSION, createConfigElement());
+        assertEquals("The expression must be compiled when it is created", 1, xpath.getPooledDOMEvaluatorCount());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("S" + i + "-" + i + "-" + i, xpath.evaluateDOMXPath(createMessage(i)));
+        }
+        assertEquals("Sequential evaluations must share one compiled expression", 1,
+                xpath.getPooledDOMEvaluatorCount());
+    }
+
+    public void testPropertiesResolvedPerEvaluation() throws Exception {
+        SynapseXPath xpath = new SynapseXPath(EXPRESSION, createConfigElement());
+        MessageContext first = createMessage(1);
+        MessageContext second = createMessage(2);
+        assertEquals("S1-1-1", xpath.evaluateDOMXPath(first));
+        assertEquals("S2-2-2", xpath.evaluateDOMXPath(second));
+        assertEquals("S1-1-1", xpath.evaluateDOMXPath(first));
+
+        SynapseXPath property = new SynapseXPath("get-property('id')", createConfigElement());
+        assertEquals("1", property.evaluateDOMXPath(first));
+        MessageContext unset = TestUtils.getTestContext("<quote/>");
+        assertEquals("A property of an earlier message must not leak into the next one", "",
+                property.evaluateDOMXPath(unset));
+    }
+
+    public void testConcurrentEvaluation() throws Exception {
+        final SynapseXPath xpath = new SynapseXPath(EXPRESSION, createConfigElement());
+        final int threadCount = 8;
+        final int iterations = 200;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> failures = new CopyOnWriteArrayList<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            final MessageContext[] messages = {createMessage(t * 2), createMessage(t * 2 + 1)};
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            MessageContext message = messages[i % 2];
+                            String id = (String) message.getProperty("id");
+                            String result = xpath.evaluateDOMXPath(message);
+                            if (!("S" + id + "-" + id + "-" + id).equals(result)) {
+                                throw new AssertionError("Message " + id + " evaluated to " + result);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.get(0));
+        }
+        int pooled = xpath.getPooledDOMEvaluatorCount();
+        assertTrue("At most one expression per thread must be compiled, got " + pooled,
+                pooled >= 1 && pooled <= threadCount);
+    }
+
+    private static OMElement createConfigElement() {
+        return OMAbstractFactory.getOMFactory().createOMElement("property", null);
+    }
+
+    private static MessageContext createMessage(int id) throws Exception {
+        MessageContext synCtx = TestUtils.getTestContext("<quote><symbol>S" + id + "</symbol></quote>");
+        synCtx.setProperty("id", String.valueOf(id));
+        return synCtx;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.bsf;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
+
+import javax.script.ScriptEngine;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of script engines used by a script mediator. Engines are created on demand up to the pool size,
+ * after which callers may wait up to the configured timeout for an engine to be released. A caller that finds no
+ * engine in time gets a short-lived engine that is dropped on release, so a stalled script can never block the
+ * mediation thread indefinitely. With a timeout of 0 the temporary engine is created without waiting.
+ */
+public class ScriptEnginePool {
+
+    private static final Log log = LogFactory.getLog(ScriptEnginePool.class);
+
+    private static final LongAdder borrows = new LongAdder();
+    private static final LongAdder waitMicros = new LongAdder();
+    private static final LongAdder overflows = new LongAdder();
+
+    static {
+        if (MetricsRegistry.isEnabled()) {
+            MetricsRegistry registry = MetricsRegistry.getInstance();
+            registry.registerCounter("synapse_script_engine_pool_borrows_total",
+                    "Total number of script engines borrowed from script mediator pools", borrows::sum);
+            registry.registerCounter("synapse_script_engine_pool_wait_microseconds_total",
+                    "Total time spent waiting for a pooled script engine", waitMicros::sum);
+            registry.registerCounter("synapse_script_engine_pool_overflows_total",
+                    "Total number of script engines created beyond the pool size", overflows::sum);
+        }
+    }
+
+    private final Supplier<ScriptEngine> engineSupplier;
+    private final int size;
+    private final long maxWaitMillis;
+    private final BlockingQueue<ScriptEngineWrapper> idle;
+    private final AtomicInteger created = new AtomicInteger();
+
+    public ScriptEnginePool(Supplier<ScriptEngine> engineSupplier, int size, long maxWaitMillis) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Script engine pool size must be positive : " + size);
+        }
+        this.engineSupplier = engineSupplier;
+        this.size = size;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idle = new LinkedBlockingQueue<>(size);
+    }
+
+    /**
+     * Take an engine from the pool, creating one if the pool has not reached its size yet
+     *
+     * @return an engine which must be handed back with {@link #release(ScriptEngineWrapper)}
+     */
+    public ScriptEngineWrapper borrow() {
+        borrows.increment();
+        ScriptEngineWrapper engine = idle.poll();
+        if (engine != null) {
+            return engine;
+        }
+        while (true) {
+            int current = created.get();
+            if (current >= size) {
+                break;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                try {
+                    return new ScriptEngineWrapper(engineSupplier.get(), true);
+                } catch (RuntimeException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+
+        if (maxWaitMillis > 0) {
+            long start = System.nanoTime();
+            try {
+                engine = idle.poll(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waitMicros.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+            if (engine != null) {
+                return engine;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("No pooled script engine became available within " + maxWaitMillis
+                    + " ms, creating a temporary engine");
+        }
+        overflows.increment();
+        return new ScriptEngineWrapper(engineSupplier.get(), false);
+    }
+
+    /**
+     * Hand an engine back to the pool. Temporary engines created on overflow are discarded.
+     */
+    public void release(ScriptEngineWrapper engine) {
+        if (engine != null && engine.isPooled()) {
+            idle.offer(engine);
+        }
+    }
+
+    /**
+     * @return number of pooled engines created so far
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * @return number of pooled engines currently waiting to be borrowed
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+}
@@ -19,15 +19,34 @@
 
 package org.apache.synapse.mediators.bsf;
 
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import java.util.HashMap;
+import java.util.Map;
 
 public class ScriptEngineWrapper {
 
+    /**
+     * Upper bound of compiled scripts kept per engine, covers a script together with its includes
+     */
+    private static final int MAX_COMPILED_SCRIPTS = 16;
+
     private boolean initialized = false;
     private ScriptEngine engine;
+    private final boolean pooled;
+    private final Map<String, CompiledScript> compiledScripts = new HashMap<>();
 
     public ScriptEngineWrapper(ScriptEngine engine) {
+        this(engine, true);
+    }
+
+    public ScriptEngineWrapper(ScriptEngine engine, boolean pooled) {
         this.engine = engine;
+        this.pooled = pooled;
     }
 
     public boolean isInitialized() {
@@ -41,4 +60,32 @@ public class ScriptEngineWrapper {
     public ScriptEngine getEngine() {
         return engine;
     }
+
+    /**
+     * @return whether the engine goes back to the pool once the mediation is done
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Evaluate the script against the given bindings. Scripts are compiled once per engine when the engine
+     * supports it, so re-evaluating the same source on every mediation only re-runs the compiled form.
+     * An engine is used by one thread at a time, hence the cache needs no synchronization.
+     */
+    public Object eval(String source, Bindings bindings) throws ScriptException {
+        if (!(engine instanceof Compilable)) {
+            return engine.eval(source, bindings);
+        }
+        CompiledScript compiled = compiledScripts.get(source);
+        if (compiled == null) {
+            compiled = ((Compilable) engine).compile(source);
+            if (compiledScripts.size() >= MAX_COMPILED_SCRIPTS) {
+                // dynamic registry entries may change over time, drop the stale versions
+                compiledScripts.clear();
+            }
+            compiledScripts.put(source, compiled);
+        }
+        return compiled.eval(bindings);
+    }
 }
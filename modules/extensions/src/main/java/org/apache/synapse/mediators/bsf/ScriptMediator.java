@@ -65,8 +65,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.TreeMap;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Supplier;
 
 import static org.apache.synapse.mediators.bsf.ScriptMediatorConstants.GRAAL_JAVA_SCRIPT;
@@ -76,6 +74,7 @@ import static org.apache.synapse.mediators.bsf.ScriptMediatorConstants.NASHORN;
 import static org.apache.synapse.mediators.bsf.ScriptMediatorConstants.NASHORN_JAVA_SCRIPT;
 import static org.apache.synapse.mediators.bsf.ScriptMediatorConstants.ORACLE_NASHORN_NAME;
 import static org.apache.synapse.mediators.bsf.ScriptMediatorConstants.POOL_SIZE_PROPERTY;
+import static org.apache.synapse.mediators.bsf.ScriptMediatorConstants.POOL_WAIT_TIMEOUT_PROPERTY;
 import static org.apache.synapse.mediators.bsf.ScriptMediatorConstants.RHINO_JAVA_SCRIPT;
 
 /**
@@ -153,10 +152,19 @@ public class ScriptMediator extends AbstractMediator {
      * Pool size
      */
     private int poolSize = DEFAULT_POOL_SIZE;
+    /**
+     * Default time in milliseconds to wait for a pooled engine, an exhausted pool hands out a temporary engine at
+     * once unless a wait is configured
+     */
+    private static final long DEFAULT_POOL_WAIT_TIMEOUT = 0;
+    /**
+     * Time in milliseconds to wait for a pooled engine
+     */
+    private long poolWaitTimeout = DEFAULT_POOL_WAIT_TIMEOUT;
     /**
      * Pool ScriptEngine Resources
      */
-    private BlockingQueue<ScriptEngineWrapper> pool;
+    private ScriptEnginePool pool;
     /**
      * JSON parser used to parse JSON strings
      */
@@ -223,6 +231,8 @@ public class ScriptMediator extends AbstractMediator {
         this.nativeObjectAccessControlConfig = ScriptAccessControl.getInstance().getNativeObjectAccessControlConfig();
         Properties properties = MiscellaneousUtil.loadProperties("synapse.properties");
         poolSize = Integer.parseInt(properties.getProperty(POOL_SIZE_PROPERTY, String.valueOf(DEFAULT_POOL_SIZE)));
+        poolWaitTimeout = Long.parseLong(properties.getProperty(POOL_WAIT_TIMEOUT_PROPERTY,
+                String.valueOf(DEFAULT_POOL_WAIT_TIMEOUT)));
 
         initScriptEngine();
         if (!(scriptEngine instanceof Invocable)) {
@@ -387,8 +397,8 @@ public class ScriptMediator extends AbstractMediator {
             obj = invocableScript.invokeFunction(function, scriptArgs.toArray());
         } finally {
           if(sew != null){
-              // return engine to front of queue or drop if queue is full (i.e. if getNewScriptEngine() spawns a new engine)
-              pool.offer(sew);
+              // return engine to the pool, temporary engines spawned on overflow are dropped
+              pool.release(sew);
           }
         }
 
@@ -558,13 +568,28 @@ public class ScriptMediator extends AbstractMediator {
     protected ScriptEngineWrapper prepareExternalScript(MessageContext synCtx)
             throws ScriptException {
 
+        ScriptEngineWrapper sew = getNewScriptEngine();
+        boolean prepared = false;
+        try {
+            loadExternalScript(synCtx, sew);
+            prepared = true;
+            return sew;
+        } finally {
+            if (!prepared) {
+                // the caller never sees the engine, hand it back so the pool does not shrink
+                pool.release(sew);
+            }
+        }
+    }
+
+    private void loadExternalScript(MessageContext synCtx, ScriptEngineWrapper sew) throws ScriptException {
+
         // Derive actual key from xpath expression or get static key
         String generatedScriptKey = key.evaluateValue(synCtx);
         Entry entry = synCtx.getConfiguration().getEntryDefinition(generatedScriptKey);
         boolean needsReload = (entry != null) && entry.isDynamic() &&
                 (!entry.isCached() || entry.isExpired());
 
-        ScriptEngineWrapper sew = getNewScriptEngine();
         Bindings engineBinding = sew.getEngine().getBindings(ScriptContext.ENGINE_SCOPE);
         engineBinding.clear(); // if we don't do this, previous state can affect successive executions! ESBJAVA-4583
 
@@ -572,10 +597,10 @@ public class ScriptMediator extends AbstractMediator {
             Object o = synCtx.getEntry(generatedScriptKey);
             if (o instanceof OMElement) {
                 scriptSourceCode = ((OMElement) (o)).getText();
-                sew.getEngine().eval(scriptSourceCode, engineBinding);
+                sew.eval(scriptSourceCode, engineBinding);
             } else if (o instanceof String) {
                 scriptSourceCode = (String) o;
-                sew.getEngine().eval(scriptSourceCode, engineBinding);
+                sew.eval(scriptSourceCode, engineBinding);
             } else if (o instanceof OMText) {
                 DataHandler dataHandler = (DataHandler) ((OMText) o).getDataHandler();
                 if (dataHandler != null) {
@@ -589,7 +614,7 @@ public class ScriptMediator extends AbstractMediator {
                             scriptSB.append(currentLine).append('\n');
                         }
                         scriptSourceCode = scriptSB.toString();
-                        sew.getEngine().eval(scriptSourceCode, engineBinding);
+                        sew.eval(scriptSourceCode, engineBinding);
                     } catch (IOException e) {
                         handleException("Error in reading script as a stream ", e, synCtx);
                     } finally {
@@ -607,7 +632,7 @@ public class ScriptMediator extends AbstractMediator {
             }
 
         } else {
-            sew.getEngine().eval(scriptSourceCode, engineBinding); // Will drop TPS, but is required for ESBJAVA-4583
+            sew.eval(scriptSourceCode, engineBinding); // re-run the compiled script, required for ESBJAVA-4583
         }
 
         // load <include /> scripts; reload each script if needed
@@ -625,10 +650,10 @@ public class ScriptMediator extends AbstractMediator {
                 Object o = synCtx.getEntry(generatedKey);
                 if (o instanceof OMElement) {
                     includeSourceCode = ((OMElement) (o)).getText();
-                    sew.getEngine().eval(includeSourceCode, engineBinding);
+                    sew.eval(includeSourceCode, engineBinding);
                 } else if (o instanceof String) {
                     includeSourceCode = (String) o;
-                    sew.getEngine().eval(includeSourceCode, engineBinding);
+                    sew.eval(includeSourceCode, engineBinding);
                 } else if (o instanceof OMText) {
                     DataHandler dataHandler = (DataHandler) ((OMText) o).getDataHandler();
                     if (dataHandler != null) {
@@ -642,7 +667,7 @@ public class ScriptMediator extends AbstractMediator {
                                 scriptSB.append(currentLine).append('\n');
                             }
                             includeSourceCode = scriptSB.toString();
-                            sew.getEngine().eval(includeSourceCode, engineBinding);
+                            sew.eval(includeSourceCode, engineBinding);
                         } catch (IOException e) {
                             handleException("Error in reading script as a stream ", e, synCtx);
                         } finally {
@@ -660,13 +685,11 @@ public class ScriptMediator extends AbstractMediator {
                 }
                 includes.put(includeKey, includeSourceCode);
             } else {
-                sew.getEngine().eval(includeSourceCode, engineBinding); // Will drop TPS, but required for ESBJAVA-4583
+                sew.eval(includeSourceCode, engineBinding); // re-run the compiled script, required for ESBJAVA-4583
             }
         }
 
         sew.setInitialized(true);
-
-        return sew;
     }
 
     protected void initScriptEngine() {
@@ -697,13 +720,8 @@ public class ScriptMediator extends AbstractMediator {
             this.jsEngine = engineManager.getEngineByExtension("jsEngine");
         }
 
-        pool = new LinkedBlockingQueue<>(poolSize);
-
-        final Supplier<ScriptEngine> engineSupplier = getScriptEngineSupplier();
-
-        for (int i = 0; i < poolSize; i++) {
-            pool.add(new ScriptEngineWrapper(engineSupplier.get()));
-        }
+        // engines are created on first use, inline scripts never borrow from the pool
+        pool = new ScriptEnginePool(getScriptEngineSupplier(), poolSize, poolWaitTimeout);
         if (scriptEngine == null) {
             handleException("No script engine found for language: " + language);
         }
@@ -841,23 +859,7 @@ public class ScriptMediator extends AbstractMediator {
     }
 
     public ScriptEngineWrapper getNewScriptEngine() {
-
-        ScriptEngineWrapper scriptEngineWrapper = pool.poll();
-        if (scriptEngineWrapper == null) {
-            if (language.equals(GRAAL_JAVA_SCRIPT) || language.equals(JAVA_SCRIPT)) {
-                scriptEngineWrapper = new ScriptEngineWrapper(
-                        GraalJSScriptEngine.create(null, AccessControlUtils.createSecureGraalContext(classAccessControlConfig))
-                );
-            } else if (language.equals(NASHORN_JAVA_SCRIPT)) {
-                scriptEngineWrapper = new ScriptEngineWrapper(createNashornEnginePortable());
-            } else if (language.equals(RHINO_JAVA_SCRIPT)) {
-                scriptEngineWrapper = new ScriptEngineWrapper(engineManager.getEngineByExtension("jsEngine"));
-            } else {
-                scriptEngineWrapper = new ScriptEngineWrapper(engineManager.getEngineByExtension(language));
-            }
-        }
-        // fall back
-        return scriptEngineWrapper;
+        return pool.borrow();
     }
 
     public boolean isContentAltering() {
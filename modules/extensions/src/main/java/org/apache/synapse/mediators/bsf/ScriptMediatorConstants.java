@@ -65,6 +65,12 @@ public class ScriptMediatorConstants {
      */
     public static String POOL_SIZE_PROPERTY = "synapse.script.mediator.pool.size";
 
+    /**
+     * Maximum time in milliseconds to wait for a pooled script engine before creating a temporary one, 0 (the
+     * default) to create it without waiting
+     */
+    public static String POOL_WAIT_TIMEOUT_PROPERTY = "synapse.script.mediator.pool.wait.timeout";
+
     /**
      * Default Script Engine
      */
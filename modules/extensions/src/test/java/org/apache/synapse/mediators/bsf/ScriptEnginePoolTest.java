@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied. See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.synapse.mediators.bsf;
+
+import junit.framework.TestCase;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScriptEnginePoolTest extends TestCase {
+
+    public void testEnginesAreCreatedOnDemand() {
+        AtomicInteger engines = new AtomicInteger();
+        ScriptEnginePool pool = new ScriptEnginePool(() -> {
+            engines.incrementAndGet();
+            return new StubEngine();
+        }, 3, 10);
+        assertEquals(0, engines.get());
+
+        ScriptEngineWrapper first = pool.borrow();
+        pool.release(first);
+        assertSame(first, pool.borrow());
+        assertEquals(1, engines.get());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    public void testExhaustedPoolHandsOutTemporaryEngine() {
+        ScriptEnginePool pool = new ScriptEnginePool(StubEngine::new, 1, 10);
+        ScriptEngineWrapper pooled = pool.borrow();
+        ScriptEngineWrapper overflow = pool.borrow();
+
+        assertTrue(pooled.isPooled());
+        assertFalse(overflow.isPooled());
+        pool.release(overflow);
+        assertEquals(0, pool.getIdleCount());
+        pool.release(pooled);
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    public void testExhaustedPoolDoesNotWaitByDefault() {
+        ScriptEnginePool pool = new ScriptEnginePool(StubEngine::new, 1, 0);
+        ScriptEngineWrapper pooled = pool.borrow();
+        long start = System.nanoTime();
+        ScriptEngineWrapper overflow = pool.borrow();
+
+        assertFalse(overflow.isPooled());
+        assertTrue("A pool without a wait timeout must not block",
+                System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        pool.release(overflow);
+        pool.release(pooled);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    public void testScriptIsCompiledOncePerEngine() throws Exception {
+        StubEngine engine = new StubEngine();
+        ScriptEngineWrapper wrapper = new ScriptEngineWrapper(engine);
+        Bindings bindings = new SimpleBindings();
+
+        assertEquals("a", wrapper.eval("a", bindings));
+        assertEquals("a", wrapper.eval("a", bindings));
+        assertEquals("b", wrapper.eval("b", bindings));
+        assertEquals(2, engine.compilations);
+        assertEquals(3, engine.evaluations);
+    }
+
+    /**
+     * Minimal engine which evaluates a script to its own source
+     */
+    private static class StubEngine extends AbstractScriptEngine implements Compilable {
+
+        private int compilations;
+        private int evaluations;
+
+        @Override
+        public Object eval(String script, ScriptContext context) {
+            evaluations++;
+            return script;
+        }
+
+        @Override
+        public Object eval(Reader reader, ScriptContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Bindings createBindings() {
+            return new SimpleBindings();
+        }
+
+        @Override
+        public ScriptEngineFactory getFactory() {
+            return null;
+        }
+
+        @Override
+        public CompiledScript compile(String script) {
+            compilations++;
+            return new CompiledScript() {
+                @Override
+                public Object eval(ScriptContext context) throws ScriptException {
+                    return StubEngine.this.eval(script, context);
+                }
+
+                @Override
+                public ScriptEngine getEngine() {
+                    return StubEngine.this;
+                }
+            };
+        }
+
+        @Override
+        public CompiledScript compile(Reader script) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.http.nio.reactor.SessionRequest;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.transport.passthru.connections.HostConnections;
+import org.apache.synapse.transport.passthru.connections.TargetConnections;
 
 public class ConnectCallback implements SessionRequestCallback {
 
@@ -29,6 +30,9 @@ public class ConnectCallback implements SessionRequestCallback {
     /** The agent used for delivering requests */
     private DeliveryAgent deliveryAgent;
 
+    /** The connections the connects are made for */
+    private TargetConnections targetConnections;
+
     /**
      * Create the callback for the handling events on a given connection     
      */
@@ -49,7 +53,7 @@ public class ConnectCallback implements SessionRequestCallback {
 
     public void failed(SessionRequest request) {
         HostConnections pool = (HostConnections) request.getAttachment();
-        pool.pendingConnectionFailed();
+        connectFailed(pool);
 
         deliveryAgent.errorConnecting(pool.getRouteRequestMapping().getRoute(),
                 ErrorCodes.CONNECTION_FAILED, "Connection Failed", request.getException());
@@ -59,7 +63,7 @@ public class ConnectCallback implements SessionRequestCallback {
 
     public void timeout(SessionRequest request) {
         HostConnections pool = (HostConnections) request.getAttachment();
-        pool.pendingConnectionFailed();
+        connectFailed(pool);
 
         deliveryAgent.errorConnecting(pool.getRouteRequestMapping().getRoute(),
                 ErrorCodes.CONNECT_TIMEOUT, "Connection Timeout");
@@ -70,7 +74,7 @@ public class ConnectCallback implements SessionRequestCallback {
 
     public void cancelled(SessionRequest request) {
         HostConnections pool = (HostConnections) request.getAttachment();
-        pool.pendingConnectionFailed();
+        connectFailed(pool);
 
         deliveryAgent.errorConnecting(pool.getRouteRequestMapping().getRoute(),
                 ErrorCodes.CONNECT_CANCEL, "Connection Cancel");
@@ -78,6 +82,14 @@ public class ConnectCallback implements SessionRequestCallback {
         handleError("Connection cancelled for : " + request.getRemoteAddress());
     }
 
+    private void connectFailed(HostConnections pool) {
+        if (targetConnections != null) {
+            targetConnections.connectFailed(pool);
+        } else {
+            pool.pendingConnectionFailed();
+        }
+    }
+
     private void handleError(String errorMessage) {
         log.warn(errorMessage);
     }
@@ -85,4 +97,8 @@ public class ConnectCallback implements SessionRequestCallback {
     public void setDeliveryAgent(DeliveryAgent deliveryAgent) {
         this.deliveryAgent = deliveryAgent;
     }
+
+    public void setTargetConnections(TargetConnections targetConnections) {
+        this.targetConnections = targetConnections;
+    }
 }
@@ -345,6 +345,8 @@ public class DeliveryAgent {
                 }
                 return;
             }
+            // content is relayed untouched, let the pipe hand it over without locking
+            pipe.enableRelayMode();
         }
 
         conn.requestOutput();
@@ -231,6 +231,9 @@ public class PassThroughConstants {
     public static final String HTTP_NON_PROXY_HOST = "http.nonProxyHosts";
     public static final String HTTP_ETAG_ENABLED = "HTTP_ETAG";
 
+    /** Already serialized response body, a {@link java.nio.ByteBuffer}, to be written out as it is */
+    public static final String CACHED_RESPONSE_PAYLOAD = "CACHED_RESPONSE_PAYLOAD";
+
     public static final String ENABLE_WS_ADDRESSING ="enforceWSAddressing";
     
     public static final String SERVER_WORKER_THREAD_ID = "SERVER_WORKER_THREAD_ID";
@@ -231,7 +231,8 @@ public class PassThroughHttpListener implements TransportListener {
                     }
                 });
 
-        TransportView view = new TransportView(this, null, metrics, sourceConfiguration.getWorkerPool());
+        TransportView view = new TransportView(this, null, metrics, sourceConfiguration.getWorkerPool(),
+                sourceConfiguration.getBufferFactory());
         MBeanRegistrar.getInstance().registerMBean(
                 view, "Transport",
                 "passthru-" + namePrefix.toLowerCase() + "-receiver");
@@ -60,6 +60,7 @@ import org.apache.synapse.transport.passthru.config.SourceConfiguration;
 import org.apache.synapse.transport.passthru.config.TargetConfiguration;
 import org.apache.synapse.transport.passthru.connections.TargetConnections;
 import org.apache.synapse.transport.passthru.core.PassThroughSenderManager;
+import org.apache.synapse.transport.passthru.jmx.ConnectionPoolView;
 import org.apache.synapse.transport.passthru.jmx.MBeanRegistrar;
 import org.apache.synapse.transport.passthru.jmx.PassThroughTransportMetricsCollector;
 import org.apache.synapse.transport.passthru.jmx.TransportView;
@@ -72,6 +73,7 @@ import org.wso2.caching.digest.DigestGenerator;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.rmi.RemoteException;
 import java.util.List;
 import java.util.Locale;
@@ -201,10 +203,14 @@ public class PassThroughHttpSender extends AbstractHandler implements TransportS
 
         targetConnections = new TargetConnections(ioReactor, targetConfiguration, connectCallback);
         targetConfiguration.setConnections(targetConnections);
+        connectCallback.setTargetConnections(targetConnections);
 
-        TransportView view = new TransportView(null, this, metrics, targetConfiguration.getWorkerPool());
+        TransportView view = new TransportView(null, this, metrics, targetConfiguration.getWorkerPool(),
+                targetConfiguration.getBufferFactory());
         MBeanRegistrar.getInstance().registerMBean(view, "Transport",
                 "passthru-" + namePrefix.toLowerCase() + "-sender");
+        MBeanRegistrar.getInstance().registerMBean(new ConnectionPoolView(targetConnections),
+                "PassThroughConnectionPool", "passthru-" + namePrefix.toLowerCase() + "-sender");
 
         // create the delivery agent to hand over messages
         deliveryAgent = new DeliveryAgent(targetConfiguration, targetConnections, proxyConfig);
@@ -239,6 +245,9 @@ public class PassThroughHttpSender extends AbstractHandler implements TransportS
     }
 
     public void stop() {
+        if (targetConnections != null) {
+            targetConnections.shutdown();
+        }
         try {
             ioReactor.shutdown();
         } catch (IOException e) {
@@ -549,6 +558,11 @@ public class PassThroughHttpSender extends AbstractHandler implements TransportS
 
             pipe.attachConsumer(conn);
             sourceResponse.connect(pipe);
+            if (!Boolean.TRUE.equals(noEntityBody)
+                    && !msgContext.isPropertyTrue(PassThroughConstants.MESSAGE_BUILDER_INVOKED)) {
+                // content is relayed untouched, let the pipe hand it over without locking
+                pipe.enableRelayMode();
+            }
         }
 
         Integer errorCode = (Integer) msgContext.getProperty(PassThroughConstants.ERROR_CODE);
@@ -571,7 +585,21 @@ public class PassThroughHttpSender extends AbstractHandler implements TransportS
 				noEntityBodyResponse = true;
 			}
 			
-            if (!noEntityBodyResponse && msgContext.isPropertyTrue(PassThroughConstants.MESSAGE_BUILDER_INVOKED) && pipe != null) {
+            Object cachedPayload = msgContext.getProperty(PassThroughConstants.CACHED_RESPONSE_PAYLOAD);
+            if (!noEntityBodyResponse && cachedPayload instanceof ByteBuffer && pipe != null) {
+                Object contentType = msgContext.getProperty(Constants.Configuration.CONTENT_TYPE);
+                if (contentType != null && !sourceConfiguration.isPreserveHttpHeader(HTTP.CONTENT_TYPE)) {
+                    sourceResponse.removeHeader(HTTP.CONTENT_TYPE);
+                    sourceResponse.addHeader(HTTP.CONTENT_TYPE, contentType.toString());
+                }
+                OutputStream out = pipe.getOutputStream();
+                try {
+                    writeCachedPayload(((ByteBuffer) cachedPayload).duplicate(), out);
+                } finally {
+                    pipe.setSerializationComplete(true);
+                }
+                out.close();
+            } else if (!noEntityBodyResponse && msgContext.isPropertyTrue(PassThroughConstants.MESSAGE_BUILDER_INVOKED) && pipe != null) {
                 OutputStream out = pipe.getOutputStream();
                 /*if (msgContext.isPropertyTrue(NhttpConstants.SC_ACCEPTED)) {
                     out.write(new byte[0]);
@@ -783,4 +811,22 @@ public class PassThroughHttpSender extends AbstractHandler implements TransportS
                                              msgContext, format, msgContext.getSoapAction()));
         }
     }
+
+    /**
+     * Write a pre-serialized response payload held by the cache mediator to the source pipe
+     * @param payload   serialized payload, read from its position to its limit
+     * @param out   output stream of the source pipe
+     */
+    private void writeCachedPayload(ByteBuffer payload, OutputStream out) throws IOException {
+        if (payload.hasArray()) {
+            out.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+            return;
+        }
+        byte[] chunk = new byte[Math.min(payload.remaining(), 8192)];
+        while (payload.hasRemaining()) {
+            int length = Math.min(payload.remaining(), chunk.length);
+            payload.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
 }
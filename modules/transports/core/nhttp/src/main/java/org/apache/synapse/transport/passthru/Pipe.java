@@ -33,6 +33,8 @@ import java.io.OutputStream;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -55,7 +57,7 @@ public class Pipe {
 
     private ControlledByteBuffer outputBuffer;
 
-    private boolean producerCompleted = false;
+    private volatile boolean producerCompleted = false;
 
     public boolean isProducerCompleted() {
         return producerCompleted;
@@ -70,9 +72,9 @@ public class Pipe {
     /** Name to identify the buffer */
     private String name = "Buffer";
 
-    private boolean consumerError = false;
+    private volatile boolean consumerError = false;
 
-    private boolean producerError = false;
+    private volatile boolean producerError = false;
 
     /** Flag to indicate that the Pipe will not produce anything */
     private boolean discardable = false;
@@ -105,6 +107,29 @@ public class Pipe {
     private ByteBufferInputStream inputStream;
     private ByteBufferOutputStream outputStream;
 
+    /** Whether relay mode can be negotiated for pipes, as specified in the passthru-http properties file */
+    private static boolean relayModeAllowed = PassThroughConfiguration.getInstance().isPipeRelayModeEnabled();
+
+    /**
+     * In relay mode the buffer is used as a single producer single consumer ring. The producer (decoder) and the
+     * consumer (encoder) work on their own views of the same buffer and hand data over by publishing these
+     * monotonically increasing indexes, so no lock or condition is involved per chunk.
+     */
+    private volatile boolean relayMode = false;
+    private final AtomicLong relayWriteIndex = new AtomicLong();
+    private final AtomicLong relayReadIndex = new AtomicLong();
+    private ByteBuffer relayProducerView;
+    private ByteBuffer relayConsumerView;
+
+    /**
+     * Number of threads working on the relay views outside of the pipe lock. Relay mode is left under the lock once
+     * this drops to zero, so the buffer is never touched by a relay chunk and a locked operation at the same time.
+     */
+    private final AtomicInteger relayUsers = new AtomicInteger();
+
+    /** Set once relay mode has been left, the pipe is not switched to relay mode again after that. */
+    private boolean relayModeLeft;
+
     public Pipe(IOControl producerIoControl, ControlledByteBuffer buffer,
                 String name, BaseConfiguration baseConfig) {
         this.producerIoControl = producerIoControl;
@@ -132,6 +157,108 @@ public class Pipe {
         return (outputBuffer != null ? outputBuffer : buffer);
     }
 
+    /**
+     * Switch the pipe to relay mode, where the bytes read by the producer's decoder are written to the consumer's
+     * encoder straight from the shared buffer without going through the pipe lock. This is only possible when the
+     * content is relayed untouched, i.e. when the message has not been built and nobody reads or writes the pipe
+     * through its streams. Data already in the buffer is carried over.
+     *
+     * @return true if the pipe is in relay mode after this call
+     */
+    public boolean enableRelayMode() {
+        if (!relayModeAllowed) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (relayMode) {
+                return true;
+            }
+            if (relayModeLeft || !hasHttpProducer || producerIoControl == null || consumerIoControl == null
+                    || outputBuffer != null || inputStream != null || outputStream != null || consumerError
+                    || producerError) {
+                return false;
+            }
+            setOutputMode(buffer);
+            ByteBuffer byteBuffer = buffer.getByteBuffer();
+            relayReadIndex.set(byteBuffer.position());
+            relayWriteIndex.set(byteBuffer.limit());
+            relayProducerView = byteBuffer.duplicate();
+            relayConsumerView = byteBuffer.duplicate();
+            relayMode = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRelayMode() {
+        return relayMode;
+    }
+
+    /**
+     * Register the calling thread as a relay user, so that relay mode is not left while it works on the relay views.
+     *
+     * @return false if the pipe is not in relay mode anymore, in which case the locked path has to be taken
+     */
+    private boolean enterRelay() {
+        relayUsers.incrementAndGet();
+        if (!relayMode) {
+            relayUsers.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void exitRelay() {
+        relayUsers.decrementAndGet();
+    }
+
+    /**
+     * Switch back from relay mode to the locked hand over, before the pipe is accessed through its streams, its
+     * buffer or the discard checks. Relayed content which has not been consumed yet is carried over to the buffer.
+     * Must be called with the pipe lock held.
+     */
+    private void leaveRelayMode() {
+        if (!relayMode) {
+            return;
+        }
+        relayMode = false;
+        relayModeLeft = true;
+        // a relay chunk which started before the switch still uses the views, it completes without blocking
+        while (relayUsers.get() != 0) {
+            Thread.yield();
+        }
+
+        ByteBuffer byteBuffer = buffer.getByteBuffer();
+        int capacity = byteBuffer.capacity();
+        long readIndex = relayReadIndex.get();
+        int available = (int) (relayWriteIndex.get() - readIndex);
+        byte[] pending = new byte[available];
+        ByteBuffer ring = byteBuffer.duplicate();
+        int offset = (int) (readIndex % capacity);
+        int head = Math.min(available, capacity - offset);
+        ring.clear();
+        ring.position(offset);
+        ring.get(pending, 0, head);
+        if (head < available) {
+            ring.position(0);
+            ring.get(pending, head, available - head);
+        }
+
+        byteBuffer.clear();
+        byteBuffer.put(pending);
+        buffer.forceSetInputMode();
+        if (available > 0 && consumerIoControl != null) {
+            consumerIoControl.requestOutput();
+        }
+        // the producer may have been suspended on a full ring
+        if (byteBuffer.hasRemaining() && !producerCompleted && producerIoControl != null) {
+            producerIoControl.requestInput();
+        }
+        readCondition.signalAll();
+    }
+
     /**
      * Consume the data from the buffer. Before calling this method attachConsumer
      * method must be called with a valid IOControl.
@@ -150,6 +277,13 @@ public class Pipe {
             throw new IllegalStateException("Producer cannot be null when calling consume");
         }
 
+        if (relayMode && enterRelay()) {
+            try {
+                return relayConsume(encoder, null);
+            } finally {
+                exitRelay();
+            }
+        }
         lock.lock();
         ControlledByteBuffer consumerBuffer = getConsumerBuffer();
         try {
@@ -158,6 +292,9 @@ public class Pipe {
                 encoder.complete();
                 return -1;
             }
+            if (relayMode) {
+                return relayConsume(encoder, null);
+            }
             setOutputMode(consumerBuffer);
             int bytesWritten = encoder.write(consumerBuffer.getByteBuffer());
             consumePostActions(consumerBuffer, encoder, bytesWritten);
@@ -183,6 +320,13 @@ public class Pipe {
         if (hasHttpProducer && producerIoControl == null) {
             throw new IllegalStateException("Producer cannot be null when calling consume");
         }
+        if (relayMode && enterRelay()) {
+            try {
+                return relayCopyAndConsume(encoder);
+            } finally {
+                exitRelay();
+            }
+        }
         lock.lock();
         ControlledByteBuffer consumerBuffer = getConsumerBuffer();
         try {
@@ -191,6 +335,9 @@ public class Pipe {
                 encoder.complete();
                 return null;
             }
+            if (relayMode) {
+                return relayCopyAndConsume(encoder);
+            }
             setOutputMode(consumerBuffer);
             // clone original buffer
             ByteBuffer originalBuffer = consumerBuffer.getByteBuffer();
@@ -243,8 +390,18 @@ public class Pipe {
             throw new IllegalStateException("Producer cannot be null when calling produce");
         }
 
+        if (relayMode && enterRelay()) {
+            try {
+                return relayProduce(decoder, null);
+            } finally {
+                exitRelay();
+            }
+        }
         lock.lock();
         try {
+            if (relayMode) {
+                return relayProduce(decoder, null);
+            }
             setInputMode(buffer);
             int totalBytesRead = 0;
             int bytesRead;
@@ -284,8 +441,18 @@ public class Pipe {
         if (producerIoControl == null) {
             throw new IllegalStateException("Producer cannot be null when calling produce");
         }
+        if (relayMode && enterRelay()) {
+            try {
+                return relayCopyAndProduce(decoder);
+            } finally {
+                exitRelay();
+            }
+        }
         lock.lock();
         try {
+            if (relayMode) {
+                return relayCopyAndProduce(decoder);
+            }
             ByteBuffer duplicate = null;
             setInputMode(buffer);
             int totalBytesRead = 0;
@@ -355,7 +522,16 @@ public class Pipe {
      */
     public void forceProducerComplete(final ContentDecoder decoder) {
         //no need to mark EoS if decoder is completed
-        if (!decoder.isCompleted()) {
+        if (!decoder.isCompleted() && relayMode && enterRelay()) {
+            try {
+                producerCompleted = true;
+                if (consumerIoControl != null) {
+                    consumerIoControl.requestOutput();
+                }
+            } finally {
+                exitRelay();
+            }
+        } else if (!decoder.isCompleted()) {
             lock.lock();
             try {
                 producerCompleted = true;
@@ -373,6 +549,167 @@ public class Pipe {
         }
     }
 
+    private int relayProduce(final ContentDecoder decoder, int[] firstRegion) throws IOException {
+        int capacity = relayProducerView.capacity();
+        int totalBytesRead = 0;
+        try {
+            while (true) {
+                long writeIndex = relayWriteIndex.get();
+                long free = capacity - (writeIndex - relayReadIndex.get());
+                if (free <= 0) {
+                    break;
+                }
+                int offset = (int) (writeIndex % capacity);
+                int contiguous = (int) Math.min(free, capacity - offset);
+                relayProducerView.limit(offset + contiguous);
+                relayProducerView.position(offset);
+                int bytesRead = decoder.read(relayProducerView);
+                if (bytesRead <= 0) {
+                    break;
+                }
+                totalBytesRead += bytesRead;
+                // publishing the new index hands the bytes over to the consumer
+                relayWriteIndex.set(writeIndex + bytesRead);
+                if (firstRegion != null) {
+                    firstRegion[0] = offset;
+                    firstRegion[1] = bytesRead;
+                    break;
+                }
+            }
+        } catch (TruncatedChunkException ex) {
+            // we should add the EoF character, if there is room for it
+            long writeIndex = relayWriteIndex.get();
+            if (capacity - (writeIndex - relayReadIndex.get()) >= 4) {
+                for (int i = 0; i < 4; i++) {
+                    relayProducerView.limit(capacity);
+                    relayProducerView.put((int) ((writeIndex + i) % capacity), (byte) 0xff);
+                }
+                relayWriteIndex.set(writeIndex + 4);
+                totalBytesRead += 4;
+            }
+        }
+
+        if (consumerError) {
+            // nobody is going to consume, drop what has been read
+            relayReadIndex.set(relayWriteIndex.get());
+        }
+        if (decoder.isCompleted()) {
+            producerCompleted = true;
+        }
+        if (isRelayBufferFull()) {
+            // suspend client input until the consumer frees up some space. Re-check afterwards as the consumer
+            // may have drained the buffer before the input got suspended
+            producerIoControl.suspendInput();
+            if (!isRelayBufferFull()) {
+                producerIoControl.requestInput();
+            }
+        }
+        if ((totalBytesRead > 0 || producerCompleted) && consumerIoControl != null) {
+            consumerIoControl.requestOutput();
+        }
+        return totalBytesRead;
+    }
+
+    private ByteBuffer relayCopyAndProduce(final ContentDecoder decoder) throws IOException {
+        int[] region = new int[2];
+        relayProduce(decoder, region);
+        return copyRelayRegion(region);
+    }
+
+    private int relayConsume(final ContentEncoder encoder, int[] firstRegion) throws IOException {
+        // if producer at error we have to stop the encoding and return immediately
+        if (producerError) {
+            encoder.complete();
+            return -1;
+        }
+        int capacity = relayConsumerView.capacity();
+        int totalBytesWritten = 0;
+        while (true) {
+            long readIndex = relayReadIndex.get();
+            long available = relayWriteIndex.get() - readIndex;
+            if (available <= 0) {
+                break;
+            }
+            int offset = (int) (readIndex % capacity);
+            int contiguous = (int) Math.min(available, capacity - offset);
+            relayConsumerView.limit(offset + contiguous);
+            relayConsumerView.position(offset);
+            int bytesWritten = encoder.write(relayConsumerView);
+            if (bytesWritten <= 0) {
+                break;
+            }
+            if (firstRegion != null) {
+                // the region has to be copied before the space is handed back to the producer
+                firstRegion[0] = offset;
+                firstRegion[1] = bytesWritten;
+                return bytesWritten;
+            }
+            totalBytesWritten += bytesWritten;
+            // publishing the new index hands the space back to the producer
+            relayReadIndex.set(readIndex + bytesWritten);
+            if (bytesWritten < contiguous) {
+                // the channel cannot take more at the moment
+                break;
+            }
+        }
+        if (firstRegion == null) {
+            relayConsumePostActions(encoder, totalBytesWritten);
+        }
+        return totalBytesWritten;
+    }
+
+    private void relayConsumePostActions(final ContentEncoder encoder, int bytesWritten) throws IOException {
+        // producer completion has to be read before the indexes, it is published after the last write
+        boolean completed = producerCompleted;
+        if (isRelayBufferEmpty()) {
+            if (completed) {
+                encoder.complete();
+            } else {
+                // buffer is empty. Wait until the producer fills up the buffer, re-checking afterwards as the
+                // producer may have written before the output got suspended
+                consumerIoControl.suspendOutput();
+                if (!isRelayBufferEmpty() || producerCompleted) {
+                    consumerIoControl.requestOutput();
+                }
+            }
+        }
+        if (bytesWritten > 0 && !encoder.isCompleted() && !producerCompleted) {
+            producerIoControl.requestInput();
+        }
+    }
+
+    private ByteBuffer relayCopyAndConsume(final ContentEncoder encoder) throws IOException {
+        int[] region = new int[2];
+        int bytesWritten = relayConsume(encoder, region);
+        if (bytesWritten < 0) {
+            return null;
+        }
+        ByteBuffer copy = copyRelayRegion(region);
+        if (bytesWritten > 0) {
+            relayReadIndex.addAndGet(bytesWritten);
+        }
+        relayConsumePostActions(encoder, bytesWritten);
+        return copy;
+    }
+
+    private ByteBuffer copyRelayRegion(int[] region) {
+        ByteBuffer source = buffer.getByteBuffer().duplicate();
+        source.limit(region[0] + region[1]);
+        source.position(region[0]);
+        ByteBuffer copy = ByteBuffer.allocate(region[1]);
+        copy.put(source);
+        copy.flip();
+        return copy;
+    }
+
+    private boolean isRelayBufferFull() {
+        return relayWriteIndex.get() - relayReadIndex.get() >= relayProducerView.capacity();
+    }
+
+    private boolean isRelayBufferEmpty() {
+        return relayWriteIndex.get() == relayReadIndex.get();
+    }
+
     @Override
     public String toString() {
         return name;
@@ -407,6 +744,12 @@ public class Pipe {
      */
     public synchronized InputStream getInputStream() {
         if (inputStream == null) {
+            lock.lock();
+            try {
+                leaveRelayMode();
+            } finally {
+                lock.unlock();
+            }
             inputStream = new ByteBufferInputStream();
         }
         return inputStream;
@@ -420,6 +763,12 @@ public class Pipe {
      */
     public synchronized OutputStream getOutputStream() {
         if (outputStream == null) {
+            lock.lock();
+            try {
+                leaveRelayMode();
+            } finally {
+                lock.unlock();
+            }
             outputBuffer = baseConfig.getBufferFactory().getBuffer();
             outputStream = new ByteBufferOutputStream();
         }
@@ -434,6 +783,12 @@ public class Pipe {
      * @return An OutputStream object
      */
     public synchronized OutputStream resetOutputStream() {
+        lock.lock();
+        try {
+            leaveRelayMode();
+        } finally {
+            lock.unlock();
+        }
         outputBuffer = baseConfig.getBufferFactory().getBuffer();
         outputStream = new ByteBufferOutputStream();
         return outputStream;
@@ -468,6 +823,12 @@ public class Pipe {
     }
 
     public ControlledByteBuffer getBuffer() {
+        lock.lock();
+        try {
+            leaveRelayMode();
+        } finally {
+            lock.unlock();
+        }
         return buffer;
     }
 
@@ -517,23 +878,27 @@ public class Pipe {
      */
     public boolean isConsumeRequired() throws IOException {
         lock.lock();
-        boolean isInputMode = buffer.isInputMode();
         try {
-            if (isInputMode) {
-                setOutputMode(buffer);
-            }
-            int readRemaining = buffer.remaining();
-            int readPosition = buffer.position();
-            setInputMode(buffer);
-            int writePosition = buffer.position();
-            int writeRemaining = buffer.remaining();
-            // in this method we will return true when the buffer is full when reading didn't happened : writePosition == buffer.capacity() && readPosition == 0
-            // we will return true if we have consumed the message partially and when there is remaining to read
-            return (readRemaining == 0 && writeRemaining == readPosition) || (writePosition == buffer.capacity() && readPosition == 0);
-        } finally {
-            if (isInputMode) {
+            leaveRelayMode();
+            boolean isInputMode = buffer.isInputMode();
+            try {
+                if (isInputMode) {
+                    setOutputMode(buffer);
+                }
+                int readRemaining = buffer.remaining();
+                int readPosition = buffer.position();
                 setInputMode(buffer);
+                int writePosition = buffer.position();
+                int writeRemaining = buffer.remaining();
+                // in this method we will return true when the buffer is full when reading didn't happened : writePosition == buffer.capacity() && readPosition == 0
+                // we will return true if we have consumed the message partially and when there is remaining to read
+                return (readRemaining == 0 && writeRemaining == readPosition) || (writePosition == buffer.capacity() && readPosition == 0);
+            } finally {
+                if (isInputMode) {
+                    setInputMode(buffer);
+                }
             }
+        } finally {
             lock.unlock();
         }
     }
@@ -64,4 +64,12 @@ public class RouteRequestMapping {
     public int hashCode() {
         return Objects.hash(route, identifier);
     }
+
+    @Override
+    public String toString() {
+        if (identifier == null || identifier.isEmpty()) {
+            return String.valueOf(route);
+        }
+        return route + "#" + identifier;
+    }
 }
@@ -106,7 +106,8 @@ public class SourceRequest {
      */
     public void start(NHttpServerConnection conn) throws IOException, HttpException {
         if (entityEnclosing) {
-            pipe = new Pipe(conn, sourceConfiguration.getBufferFactory().getBuffer(), "source", sourceConfiguration);
+            pipe = new Pipe(conn, sourceConfiguration.getBufferFactory().getBuffer(request), "source",
+                    sourceConfiguration);
 
             SourceContext.get(conn).setReader(pipe);
 
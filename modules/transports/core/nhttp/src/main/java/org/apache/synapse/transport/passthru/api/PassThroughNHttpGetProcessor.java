@@ -34,6 +34,7 @@ import org.apache.http.nio.NHttpServerConnection;
 import org.apache.http.nio.entity.ContentOutputStream;
 import org.apache.http.nio.util.SimpleOutputBuffer;
 import org.apache.http.protocol.HTTP;
+import org.apache.synapse.commons.metrics.MetricsRegistry;
 import org.apache.synapse.transport.nhttp.NHttpConfiguration;
 import org.apache.synapse.transport.nhttp.NhttpConstants;
 import org.apache.synapse.transport.passthru.HttpGetRequestProcessor;
@@ -49,6 +50,7 @@ import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
@@ -111,6 +113,8 @@ public class PassThroughNHttpGetProcessor implements HttpGetRequestProcessor {
 
 		if (isServiceListBlocked(uri)) {
             sendResponseAndFinish(response, HttpStatus.SC_FORBIDDEN, conn, os, msgContext);
+		} else if (isMetricsRequest(uri)) {
+			generateMetrics(response, msgContext, conn, os);
 		} else if (uri.equals("/favicon.ico")) {
 			response.addHeader(LOCATION, "http://ws.apache.org/favicon.ico");
             sendResponseAndFinish(response, HttpStatus.SC_MOVED_PERMANENTLY, conn, os, msgContext);
@@ -153,6 +157,24 @@ public class PassThroughNHttpGetProcessor implements HttpGetRequestProcessor {
 		}
 	}
 
+    private boolean isMetricsRequest(String uri) {
+        String metricsPath = System.getProperty(MetricsRegistry.PROMETHEUS_PATH_PROPERTY);
+        return metricsPath != null && MetricsRegistry.isEnabled() && uri.equals(metricsPath);
+    }
+
+    private void generateMetrics(HttpResponse response, MessageContext msgContext,
+                                 NHttpServerConnection conn, OutputStream os) {
+        try {
+            response.setStatusCode(HttpStatus.SC_OK);
+            response.addHeader(CONTENT_TYPE, MetricsRegistry.PROMETHEUS_CONTENT_TYPE);
+            sendResponseAndFinish(response,
+                    MetricsRegistry.getInstance().toPrometheusText().getBytes(StandardCharsets.UTF_8),
+                    conn, os, msgContext);
+        } catch (IOException e) {
+            handleBrowserException(response, msgContext, conn, os, "Error generating metrics output", e);
+        }
+    }
+
 	/**
 	 * Generate WSDL.
 	 *
@@ -22,6 +22,8 @@ import org.apache.axis2.description.ParameterInclude;
 import org.apache.axis2.transport.base.threads.WorkerPool;
 import org.apache.axis2.transport.base.threads.WorkerPoolFactory;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.util.ByteBufferAllocator;
+import org.apache.http.nio.util.DirectByteBufferAllocator;
 import org.apache.http.nio.util.HeapByteBufferAllocator;
 import org.apache.http.params.BasicHttpParams;
 import org.apache.http.params.HttpConnectionParams;
@@ -126,7 +128,10 @@ public abstract class BaseConfiguration {
             PassThroughCorrelationConfigDataHolder.setSystemEnable(Boolean.parseBoolean(sysCorrelationStatus));
         }
 
-        bufferFactory = new BufferFactory(iOBufferSize, new HeapByteBufferAllocator(), 512);
+        ByteBufferAllocator allocator = conf.isIOBufferDirect() ?
+                new DirectByteBufferAllocator() : new HeapByteBufferAllocator();
+        bufferFactory = new BufferFactory(iOBufferSize, allocator, conf.getIOBufferPoolSize(),
+                conf.getIOBufferPoolThreadLocalSize(), conf.getIOBufferPoolSizeClasses());
     }
 
 
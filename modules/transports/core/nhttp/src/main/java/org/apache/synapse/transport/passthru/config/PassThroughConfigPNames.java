@@ -188,4 +188,41 @@ public interface PassThroughConfigPNames {
      */
     public String TLS_GRACEFUL_CONNECTION_TERMINATION = "tls_graceful_connection_termination";
 
+    /**
+     * Defines the maximum number of IO buffers kept in the shared buffer pool of each size class
+     */
+    public String IO_BUFFER_POOL_SIZE = "io_buffer_pool_size";
+
+    /**
+     * Defines the maximum number of IO buffers kept per thread and size class, 0 disables thread local pooling
+     */
+    public String IO_BUFFER_POOL_THREAD_LOCAL_SIZE = "io_buffer_pool_thread_local_size";
+
+    /**
+     * Defines the number of IO buffer size classes, each class doubling the capacity of the previous one.
+     * Pipes of messages with a Content-Length get a buffer of the smallest class holding the entity.
+     */
+    public String IO_BUFFER_POOL_SIZE_CLASSES = "io_buffer_pool_size_classes";
+
+    /**
+     * Defines whether IO buffers are allocated off-heap
+     */
+    public String IO_BUFFER_DIRECT = "io_buffer_direct";
+
+    /**
+     * Defines whether pipes may relay un-built messages from the decoder to the encoder without per chunk locking
+     */
+    public String PIPE_RELAY_MODE_ENABLED = "pipe_relay_mode_enabled";
+
+    /**
+     * Defines the maximum number of connections per host port which can be in the process of connecting
+     */
+    public String MAX_PENDING_CONNECTION_PER_HOST_PORT = "http.max.pending.connection.per.host.port";
+
+    /**
+     * Defines the interval in milliseconds at which idle connections are evicted from the sender connection pools,
+     * 0 or less evicts them only when the pool is accessed
+     */
+    public String CONNECTION_EVICTION_INTERVAL = "transport.sender.connection.eviction.interval";
+
 }
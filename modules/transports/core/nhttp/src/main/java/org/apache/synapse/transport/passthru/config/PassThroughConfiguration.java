@@ -46,6 +46,9 @@ public class PassThroughConfiguration {
     private static final int DEFAULT_WORKER_THREAD_KEEPALIVE_SEC = 60;
     private static final int DEFAULT_WORKER_POOL_QUEUE_LENGTH    = -1;
     private static final int DEFAULT_IO_BUFFER_SIZE              = 8 * 1024;
+    private static final int DEFAULT_IO_BUFFER_POOL_SIZE         = 512;
+    private static final int DEFAULT_IO_BUFFER_POOL_TL_SIZE      = 0;
+    private static final int DEFAULT_IO_BUFFER_POOL_SIZE_CLASSES = 1;
     private static final int DEFAULT_IO_THREADS_PER_REACTOR      =
                                                          Runtime.getRuntime().availableProcessors();
     private static final int DEFAULT_MAX_ACTIVE_CON = -1;
@@ -140,6 +143,30 @@ public class PassThroughConfiguration {
                 DEFAULT_IO_BUFFER_SIZE, props);
     }
 
+    public int getIOBufferPoolSize() {
+        return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.IO_BUFFER_POOL_SIZE,
+                DEFAULT_IO_BUFFER_POOL_SIZE, props);
+    }
+
+    public int getIOBufferPoolThreadLocalSize() {
+        return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.IO_BUFFER_POOL_THREAD_LOCAL_SIZE,
+                DEFAULT_IO_BUFFER_POOL_TL_SIZE, props);
+    }
+
+    public int getIOBufferPoolSizeClasses() {
+        return ConfigurationBuilderUtil.getIntProperty(PassThroughConfigPNames.IO_BUFFER_POOL_SIZE_CLASSES,
+                DEFAULT_IO_BUFFER_POOL_SIZE_CLASSES, props);
+    }
+
+    public boolean isIOBufferDirect() {
+        return ConfigurationBuilderUtil.getBooleanProperty(PassThroughConfigPNames.IO_BUFFER_DIRECT, false, props);
+    }
+
+    public boolean isPipeRelayModeEnabled() {
+        return ConfigurationBuilderUtil.getBooleanProperty(PassThroughConfigPNames.PIPE_RELAY_MODE_ENABLED, false,
+                props);
+    }
+
     public boolean isKeepAliveDisabled() {
         if (isKeepAliveDisabled == null) {
             isKeepAliveDisabled =
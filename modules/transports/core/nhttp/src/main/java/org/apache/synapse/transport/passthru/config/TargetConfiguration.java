@@ -45,6 +45,10 @@ public class TargetConfiguration extends BaseConfiguration {
     
     private int maxConnections = Integer.MAX_VALUE;
 
+    private int maxPendingConnections = Integer.MAX_VALUE;
+
+    private int connectionEvictionInterval = 0;
+
     private ConnectionTimeoutConfiguration connectionTimeoutConfiguration;
     
     private TargetConnections connections = null;
@@ -74,6 +78,9 @@ public class TargetConfiguration extends BaseConfiguration {
 
         maxConnections = conf.getIntProperty(PassThroughConfigPNames.MAX_CONNECTION_PER_HOST_PORT,
                 Integer.MAX_VALUE);
+        maxPendingConnections = conf.getIntProperty(PassThroughConfigPNames.MAX_PENDING_CONNECTION_PER_HOST_PORT,
+                Integer.MAX_VALUE);
+        connectionEvictionInterval = conf.getIntProperty(PassThroughConfigPNames.CONNECTION_EVICTION_INTERVAL, 0);
         preserveUserAgentHeader = conf.isPreserveUserAgentHeader();
         preserveServerHeader = conf.isPreserveServerHeader();
         populatePreserveHttpHeaders(conf.getPreserveHttpHeaders());
@@ -99,6 +106,14 @@ public class TargetConfiguration extends BaseConfiguration {
         return maxConnections;
     }
 
+    public int getMaxPendingConnections() {
+        return maxPendingConnections;
+    }
+
+    public int getConnectionEvictionInterval() {
+        return connectionEvictionInterval;
+    }
+
     public TargetConnections getConnections() {
         return connections;
     }
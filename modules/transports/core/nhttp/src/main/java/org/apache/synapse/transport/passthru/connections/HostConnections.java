@@ -27,16 +27,38 @@ import org.apache.synapse.transport.passthru.config.ConnectionTimeoutConfigurati
 import org.apache.synapse.transport.passthru.RouteRequestMapping;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This stores connections for a particular host + port.
+ * <p>
+ * The pool does not use a lock. Free connections are kept in a lock-free deque and handed out in LIFO order so
+ * that the most recently used (warm) connection is reused first, and the number of busy plus pending connections is
+ * bounded with an atomic counter. The state of each connection is kept in a concurrent map and changed with compare
+ * and set, so that a connection which is released, handed out, evicted and forgotten concurrently ends up in exactly
+ * one place.
  */
 public class HostConnections {
     private static final Log log = LogFactory.getLog(HostConnections.class);
+
+    /**
+     * state of a connection of the pool, connections which are closed or forgotten are not tracked
+     */
+    private enum ConnectionState {
+        BUSY, FREE
+    }
+
     /**
      * route
      */
@@ -45,10 +67,22 @@ public class HostConnections {
      * maximum number of connections allowed for this host + port
      */
     private final int maxSize;
+    /**
+     * maximum number of connections which can be in the process of connecting for this host + port
+     */
+    private final int maxPendingConnections;
     /**
      * number of awaiting connections
      */
-    private int pendingConnections;
+    private final AtomicInteger pendingConnections = new AtomicInteger();
+    /**
+     * number of busy plus awaiting connections, which is bounded by the maxSize
+     */
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    /**
+     * number of requests waiting for a connect to be started, because too many connections were pending
+     */
+    private final AtomicInteger parkedConnectRequests = new AtomicInteger();
     /**
      * connection idle time for connection removal
      */
@@ -64,15 +98,29 @@ public class HostConnections {
     private int connectionGraceTime;
 
     /**
-     * list of free connections available
+     * free connections available, the most recently released one first. A connection which was forgotten while it
+     * was being released may still be in here, it is dropped once polled as it is not free in the state map
      */
-    private List<NHttpClientConnection> freeConnections = new ArrayList<NHttpClientConnection>();
+    private Deque<NHttpClientConnection> freeConnections = new ConcurrentLinkedDeque<NHttpClientConnection>();
     /**
-     * list of connections in use
+     * state of the busy and free connections
      */
-    private List<NHttpClientConnection> busyConnections = new ArrayList<NHttpClientConnection>();
+    private final ConcurrentMap<NHttpClientConnection, ConnectionState> connectionStates =
+            new ConcurrentHashMap<NHttpClientConnection, ConnectionState>();
 
-    private Lock lock = new ReentrantLock();
+    /**
+     * start times of the connect requests which are in progress, used to measure the connect wait time
+     */
+    private final Queue<Long> pendingConnectStartTimes = new ConcurrentLinkedQueue<Long>();
+
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder connectionsClosed = new LongAdder();
+    private final LongAdder connectionsEvicted = new LongAdder();
+    private final LongAdder connectionsReused = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder connectWaitTime = new LongAdder();
+    private final LongAdder connectWaitCount = new LongAdder();
+    private final AtomicLong maxConnectWaitTime = new AtomicLong();
 
     public HostConnections(RouteRequestMapping route, int maxSize) {
         if (log.isDebugEnabled()) {
@@ -80,16 +128,23 @@ public class HostConnections {
         }
         this.routeRequestMapping = route;
         this.maxSize = maxSize;
+        this.maxPendingConnections = Integer.MAX_VALUE;
     }
 
     public HostConnections(RouteRequestMapping route, int maxSize, ConnectionTimeoutConfiguration
             connectionTimeoutConfiguration) {
+        this(route, maxSize, Integer.MAX_VALUE, connectionTimeoutConfiguration);
+    }
+
+    public HostConnections(RouteRequestMapping route, int maxSize, int maxPendingConnections,
+                           ConnectionTimeoutConfiguration connectionTimeoutConfiguration) {
 
         if (log.isDebugEnabled()) {
             log.debug("Creating new connection pool: " + route);
         }
         this.routeRequestMapping = route;
         this.maxSize = maxSize;
+        this.maxPendingConnections = maxPendingConnections > 0 ? maxPendingConnections : Integer.MAX_VALUE;
 
         this.connectionIdleTime = connectionTimeoutConfiguration.getConnectionIdleTime();
         this.maximumConnectionLifeSpan = connectionTimeoutConfiguration.getMaximumConnectionLifeSpane();
@@ -102,38 +157,46 @@ public class HostConnections {
      * @return a connection
      */
     public NHttpClientConnection getConnection() {
-        lock.lock();
-        try {
-            while (!freeConnections.isEmpty()) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Returning an existing free connection " + routeRequestMapping);
+        NHttpClientConnection conn;
+        while ((conn = freeConnections.pollFirst()) != null) {
+            if (isExpired(conn, System.currentTimeMillis())) {
+                if (connectionStates.remove(conn, ConnectionState.FREE)) {
+                    shutdownConnection(conn);
+                    connectionsClosed.increment();
                 }
-                NHttpClientConnection conn = freeConnections.get(0);
-                long currentTime = System.currentTimeMillis();
-                long connectionInitTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
-                                                                                        CONNECTION_INIT_TIME);
-                long expiryTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
-                        CONNECTION_EXPIRY_TIME);
-                if (isMaximumLifeSpanExceeded(currentTime, connectionInitTime) ||  currentTime >= expiryTime
-                        || conn.isStale()) {
-                    freeConnections.remove(conn);
-                    try {
-                        conn.shutdown();
-                    } catch (IOException io) {
-                        log.error("Error occurred while shutting down connection." + io.getMessage(), io);
+            } else {
+                activeConnections.incrementAndGet();
+                if (connectionStates.replace(conn, ConnectionState.FREE, ConnectionState.BUSY)) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Returning an existing free connection " + routeRequestMapping);
                     }
-                } else {
-                    freeConnections.remove(conn);
-                    busyConnections.add(conn);
+                    connectionsReused.increment();
                     return conn;
                 }
+                // the connection was forgotten after it was released
+                activeConnections.decrementAndGet();
             }
-        } finally {
-            lock.unlock();
         }
         return null;
     }
 
+    private boolean isExpired(NHttpClientConnection conn, long currentTime) {
+        long connectionInitTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
+                                                                                CONNECTION_INIT_TIME);
+        long expiryTime = (Long) conn.getContext().getAttribute(PassThroughConstants.
+                CONNECTION_EXPIRY_TIME);
+        return isMaximumLifeSpanExceeded(currentTime, connectionInitTime) || currentTime >= expiryTime
+                || conn.isStale();
+    }
+
+    private void shutdownConnection(NHttpClientConnection conn) {
+        try {
+            conn.shutdown();
+        } catch (IOException io) {
+            log.error("Error occurred while shutting down connection." + io.getMessage(), io);
+        }
+    }
+
     private boolean isMaximumLifeSpanExceeded(long currentTime, long connectionInitTime) {
         if (maximumConnectionLifeSpan > 0 && currentTime > maximumConnectionLifeSpan + connectionInitTime) {
             if (log.isDebugEnabled()) {
@@ -155,15 +218,13 @@ public class HostConnections {
         ctx.removeAttribute(SynapseHTTPRequestFactory.ENDPOINT_URL);
         ctx.removeAttribute(PassThroughConstants.REQUEST_MESSAGE_CONTEXT);
         ctx.removeAttribute(PassThroughConstants.RESPONSE_MESSAGE_CONTEXT);
-        lock.lock();
-        try {
-            if (busyConnections.remove(conn)) {
-                freeConnections.add(conn);
-            } else {
-                log.error("Attempted to releaseConnection connection not in the busy list");
-            }
-        } finally {
-            lock.unlock();
+        if (connectionStates.replace(conn, ConnectionState.BUSY, ConnectionState.FREE)) {
+            activeConnections.decrementAndGet();
+            freeConnections.offerFirst(conn);
+        } else if (connectionStates.containsKey(conn)) {
+            log.error("Attempted to releaseConnection connection not in the busy list");
+        } else if (log.isDebugEnabled()) {
+            log.debug("Connection " + routeRequestMapping + " was closed before it was released");
         }
     }
 
@@ -186,41 +247,39 @@ public class HostConnections {
     }
 
     public void forget(NHttpClientConnection conn) {
-        lock.lock();
-        try {
-            if (!freeConnections.remove(conn)) {
-                busyConnections.remove(conn);
-            }
-        } finally {
-            lock.unlock();
+        // removing the state decides between a concurrent release, getConnection or eviction of the connection
+        ConnectionState state = connectionStates.remove(conn);
+        if (state == ConnectionState.FREE) {
+            freeConnections.removeFirstOccurrence(conn);
+            connectionsClosed.increment();
+        } else if (state == ConnectionState.BUSY) {
+            activeConnections.decrementAndGet();
+            connectionsClosed.increment();
         }
     }
 
+    /**
+     * Add a newly established connection to the pool as a busy connection. The connect has to be reported with
+     * {@link #pendingConnectionSucceeded()} as well.
+     *
+     * @param conn the new connection
+     */
     public void addConnection(NHttpClientConnection conn) {
         if (log.isDebugEnabled()) {
-            log.debug("New connection " + routeRequestMapping + " is added to the free list");
-        }
-        lock.lock();
-        try {
-            pendingConnections--;
-            conn.getContext().setAttribute(PassThroughConstants.CONNECTION_INIT_TIME, System.currentTimeMillis());
-            busyConnections.add(conn);
-        } finally {
-            lock.unlock();
+            log.debug("New connection " + routeRequestMapping + " is added to the busy list");
         }
+        connectionsCreated.increment();
+        conn.getContext().setAttribute(PassThroughConstants.CONNECTION_INIT_TIME, System.currentTimeMillis());
+        connectionStates.put(conn, ConnectionState.BUSY);
     }
 
     /**
      * Indicates that a connection has been successfully established with a remote server
-     * as notified by the session request call back.
+     * as notified by the session request call back. The connection stays counted as active.
      */
-    public synchronized void pendingConnectionSucceeded() {
-        lock.lock();
-        try {
-            pendingConnections--;
-        } finally {
-            lock.unlock();
-        }
+    public void pendingConnectionSucceeded() {
+        pendingConnections.decrementAndGet();
+        recordConnectWaitTime();
     }
 
     /**
@@ -228,12 +287,10 @@ public class HostConnections {
      * consecutively
      */
     public void pendingConnectionFailed() {
-        lock.lock();
-        try {
-            pendingConnections--;
-        } finally {
-            lock.unlock();
-        }
+        pendingConnections.decrementAndGet();
+        activeConnections.decrementAndGet();
+        connectFailures.increment();
+        pendingConnectStartTimes.poll();
     }
 
     public RouteRequestMapping getRouteRequestMapping() {
@@ -241,16 +298,132 @@ public class HostConnections {
     }
 
     public boolean checkAndIncrementPendingConnections() {
-        lock.lock();
-        int totalConnections = busyConnections.size() + pendingConnections;
-        try {
-            if (totalConnections < maxSize) {
-                //We are expecting that this check is made if and only if in the state where new connection is added
-                pendingConnections++;
+        while (true) {
+            int active = activeConnections.get();
+            if (active >= maxSize) {
+                return false;
+            }
+            if (activeConnections.compareAndSet(active, active + 1)) {
+                break;
+            }
+        }
+        //We are expecting that this check is made if and only if in the state where new connection is added
+        if (pendingConnections.incrementAndGet() > maxPendingConnections) {
+            pendingConnections.decrementAndGet();
+            activeConnections.decrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Maximum pending connections reached for " + routeRequestMapping);
+            }
+            return false;
+        }
+        pendingConnectStartTimes.offer(System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Park a request which could not start a connect because too many connections are pending for this host:port.
+     * The request is resumed with {@link #reserveParkedConnect()} once a pending connect completes or a connection
+     * is given back to the pool.
+     *
+     * @return false if the maximum number of connections is reached, in which case the request cannot be parked
+     */
+    public boolean parkConnectRequest() {
+        if (activeConnections.get() >= maxSize) {
+            return false;
+        }
+        parkedConnectRequests.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Take a parked request and reserve a pending connection for it, as with
+     * {@link #checkAndIncrementPendingConnections()}.
+     *
+     * @return true if a connect has to be started for a parked request
+     */
+    public boolean reserveParkedConnect() {
+        // the slot is reserved before the request is taken, so that a parked request is never dropped
+        if (parkedConnectRequests.get() == 0 || !checkAndIncrementPendingConnections()) {
+            return false;
+        }
+        int parked;
+        while ((parked = parkedConnectRequests.get()) > 0) {
+            if (parkedConnectRequests.compareAndSet(parked, parked - 1)) {
+                return true;
+            }
+        }
+        // another thread took the parked requests in the meantime
+        pendingConnections.decrementAndGet();
+        activeConnections.decrementAndGet();
+        pendingConnectStartTimes.poll();
+        return false;
+    }
+
+    /**
+     * Close the free connections which are idle beyond their expiry time, so that they do not hold sockets until
+     * the next request to this host:port.
+     *
+     * @return number of connections evicted
+     */
+    public int evictIdleConnections() {
+        int evicted = 0;
+        long currentTime = System.currentTimeMillis();
+        Iterator<NHttpClientConnection> iterator = freeConnections.descendingIterator();
+        while (iterator.hasNext()) {
+            NHttpClientConnection conn = iterator.next();
+            if (!connectionStates.containsKey(conn)) {
+                // forgotten while it was being released
+                freeConnections.removeLastOccurrence(conn);
+            } else if (isExpired(conn, currentTime) && connectionStates.remove(conn, ConnectionState.FREE)) {
+                // only the thread which manages to remove the free connection may close it
+                freeConnections.removeLastOccurrence(conn);
+                shutdownConnection(conn);
+                connectionsEvicted.increment();
+                connectionsClosed.increment();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private void recordConnectWaitTime() {
+        Long startTime = pendingConnectStartTimes.poll();
+        if (startTime != null) {
+            long waitTime = System.currentTimeMillis() - startTime;
+            connectWaitTime.add(waitTime);
+            connectWaitCount.increment();
+            long max;
+            while (waitTime > (max = maxConnectWaitTime.get())) {
+                if (maxConnectWaitTime.compareAndSet(max, waitTime)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return statistics of this connection pool, as attribute name and value pairs
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<String, Long>();
+        long busy = 0;
+        for (ConnectionState state : connectionStates.values()) {
+            if (state == ConnectionState.BUSY) {
+                busy++;
             }
-            return totalConnections < maxSize;
-        } finally {
-            lock.unlock();
         }
+        statistics.put("FreeConnections", connectionStates.size() - busy);
+        statistics.put("BusyConnections", busy);
+        statistics.put("PendingConnections", (long) pendingConnections.get());
+        statistics.put("ParkedConnectRequests", (long) parkedConnectRequests.get());
+        statistics.put("ConnectionsCreated", connectionsCreated.sum());
+        statistics.put("ConnectionsReused", connectionsReused.sum());
+        statistics.put("ConnectionsClosed", connectionsClosed.sum());
+        statistics.put("ConnectionsEvicted", connectionsEvicted.sum());
+        statistics.put("ConnectFailures", connectFailures.sum());
+        long count = connectWaitCount.sum();
+        statistics.put("AvgConnectWaitTime", count == 0 ? 0 : connectWaitTime.sum() / count);
+        statistics.put("MaxConnectWaitTime", maxConnectWaitTime.get());
+        return statistics;
     }
 }
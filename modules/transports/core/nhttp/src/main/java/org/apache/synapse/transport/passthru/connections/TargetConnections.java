@@ -38,10 +38,16 @@ import org.apache.synapse.transport.passthru.RouteRequestMapping;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the connection from transport to the back end servers. It keeps track of the
@@ -52,7 +58,7 @@ public class TargetConnections {
     private static final Log transportLatencyLog = LogFactory.getLog(PassThroughConstants.TRANSPORT_LATENCY_LOGGER);
 
     /** map to hold the ConnectionPools. The key is host:port */
-    private final Map<RouteRequestMapping, HostConnections> poolMap =
+    private final ConcurrentMap<RouteRequestMapping, HostConnections> poolMap =
             new ConcurrentHashMap<RouteRequestMapping, HostConnections>();
 
     private final String sslSchemaName = "https";
@@ -61,6 +67,12 @@ public class TargetConnections {
      * have the same max */
     private int maxConnections;
 
+    /** max connections per host:port pair which can be in the process of connecting */
+    private int maxPendingConnections;
+
+    /** scheduler which evicts idle connections from the pools, if eviction is enabled */
+    private ScheduledExecutorService evictionScheduler;
+
     /** io-reactor to use for creating connections */
     private ConnectingIOReactor ioReactor;
 
@@ -81,12 +93,33 @@ public class TargetConnections {
                              ConnectCallback callback) {
 
         this.maxConnections = targetConfiguration.getMaxConnections();
+        this.maxPendingConnections = targetConfiguration.getMaxPendingConnections();
         this.ioReactor = ioReactor;
         this.callback = callback;
 
         connectionTimeoutConfiguration = new ConnectionTimeoutConfiguration(PassThroughConfiguration.getInstance().
                 getConnectionIdleTime(), PassThroughConfiguration.getInstance().getMaximumConnectionLifespan(),
                 PassThroughConfiguration.getInstance().getConnectionGraceTime());
+
+        int evictionInterval = targetConfiguration.getConnectionEvictionInterval();
+        if (evictionInterval > 0) {
+            evictionScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "PassThroughConnectionEvictor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            evictionScheduler.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        evictIdleConnections();
+                    } catch (Throwable t) {
+                        log.error("Error while evicting idle connections", t);
+                    }
+                }
+            }, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     /**
@@ -113,8 +146,7 @@ public class TargetConnections {
         NHttpClientConnection connection = pool.getConnection();
         if (connection == null) {
             if (pool.checkAndIncrementPendingConnections()) {
-                HttpHost host = route.getProxyHost() != null ? route.getProxyHost() : route.getTargetHost();
-                ioReactor.connect(new InetSocketAddress(host.getHostName(), host.getPort()), null, pool, callback);
+                connect(pool);
 
                 if (transportLatencyLog.isDebugEnabled()) {
                     ContextAwareLogger.getLogger(msgContext, transportLatencyLog, false)
@@ -122,6 +154,14 @@ public class TargetConnections {
                                     " and route: " + route);
 
                 }
+            } else if (pool.parkConnectRequest()) {
+                // too many connections are being established for the route. The message stays queued and a
+                // connect is started for it once one of them completes or a connection is given back
+                if (log.isDebugEnabled()) {
+                    log.debug("Maximum pending connections reached for route " + route
+                            + ", the request waits for a connection");
+                }
+                resumeParkedConnects(pool);
             } else {
                 log.warn("Connection pool reached maximum allowed connections for route "
                         + route + ". Target server may have become slow");
@@ -146,6 +186,34 @@ public class TargetConnections {
         return null;
     }
 
+    private void connect(HostConnections pool) {
+        HttpRoute route = pool.getRouteRequestMapping().getRoute();
+        HttpHost host = route.getProxyHost() != null ? route.getProxyHost() : route.getTargetHost();
+        ioReactor.connect(new InetSocketAddress(host.getHostName(), host.getPort()), null, pool, callback);
+    }
+
+    /**
+     * Start the connects of the requests parked at the pending connection limit of the pool, as far as the limits
+     * allow. Called whenever a pending connect ends or a connection leaves the busy list.
+     *
+     * @param pool the connection pool of the route
+     */
+    private void resumeParkedConnects(HostConnections pool) {
+        while (pool.reserveParkedConnect()) {
+            connect(pool);
+        }
+    }
+
+    /**
+     * This method is called when a connect to the back end failed, timed out or was cancelled.
+     *
+     * @param pool the connection pool the connect was started for
+     */
+    public void connectFailed(HostConnections pool) {
+        pool.pendingConnectionFailed();
+        resumeParkedConnects(pool);
+    }
+
     public NHttpClientConnection getExistingConnection(RouteRequestMapping routeRequestMapping) {
         if (log.isDebugEnabled()) {
             log.debug("Trying to get a existing connection connection " + routeRequestMapping);
@@ -184,6 +252,7 @@ public class TargetConnections {
 
         if (pool != null) {
             pool.forget(conn);
+            resumeParkedConnects(pool);
         } else {
             // we shouldn't get here
             log.fatal("Connection without a pool. Something wrong. Need to fix.");
@@ -211,6 +280,7 @@ public class TargetConnections {
 
         if (pool != null) {
             pool.forget(conn);
+            resumeParkedConnects(pool);
         } else {
             // we shouldn't get here
             log.fatal("Connection without a pool. Something wrong. Need to fix.");
@@ -239,6 +309,7 @@ public class TargetConnections {
 
         if (pool != null) {
             pool.release(conn);
+            resumeParkedConnects(pool);
         } else {
             // we shouldn't get here
             log.fatal("Connection without a pool. Something wrong. Need to fix.");
@@ -254,7 +325,9 @@ public class TargetConnections {
         HostConnections pool = (HostConnections) conn.getContext().getAttribute(
                 PassThroughConstants.CONNECTION_POOL);
         if (pool != null) {
+            pool.pendingConnectionSucceeded();
             pool.addConnection(conn);
+            resumeParkedConnects(pool);
         } else {
             // we shouldn't get here
             log.fatal("Connection without a pool. Something wrong. Need to fix.");            
@@ -263,15 +336,50 @@ public class TargetConnections {
 
     private HostConnections getConnectionPool(RouteRequestMapping routeRequestMapping) {
         // see weather a pool already exists for this host:port
-        synchronized (poolMap) {
-            HostConnections pool = poolMap.get(routeRequestMapping);
+        HostConnections pool = poolMap.get(routeRequestMapping);
+        if (pool == null) {
+            pool = poolMap.computeIfAbsent(routeRequestMapping, mapping ->
+                    new HostConnections(mapping, maxConnections, maxPendingConnections,
+                                        connectionTimeoutConfiguration));
+        }
+        return pool;
+    }
 
-            if (pool == null) {
-                pool = new HostConnections(routeRequestMapping, maxConnections, connectionTimeoutConfiguration);
-                poolMap.put(routeRequestMapping, pool);
-            }
-            return pool;
+    /**
+     * Close the idle connections of all the host:port pairs which have passed their expiry time.
+     *
+     * @return number of connections evicted
+     */
+    public int evictIdleConnections() {
+        int evicted = 0;
+        for (HostConnections pool : poolMap.values()) {
+            evicted += pool.evictIdleConnections();
+        }
+        if (evicted > 0 && log.isDebugEnabled()) {
+            log.debug("Evicted " + evicted + " idle connections");
+        }
+        return evicted;
+    }
 
+    /**
+     * Returns the statistics of the connection pool of each route.
+     *
+     * @return map of route to pool statistics
+     */
+    public Map<String, Map<String, Long>> getPoolStatistics() {
+        Map<String, Map<String, Long>> statistics = new LinkedHashMap<String, Map<String, Long>>();
+        for (Map.Entry<RouteRequestMapping, HostConnections> entry : poolMap.entrySet()) {
+            statistics.put(entry.getKey().toString(), entry.getValue().getStatistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * Stop the idle connection eviction, if it is running.
+     */
+    public void shutdown() {
+        if (evictionScheduler != null) {
+            evictionScheduler.shutdownNow();
         }
     }
 
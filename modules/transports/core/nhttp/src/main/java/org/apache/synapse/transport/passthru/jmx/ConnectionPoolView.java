@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru.jmx;
+
+import org.apache.synapse.transport.passthru.connections.TargetConnections;
+
+import java.util.Map;
+
+/**
+ * ConnectionPoolView MBean exposes the per route statistics of the connection pools of a pass-through
+ * sender, such as the pool size, the connection churn and the time spent waiting for new connections.
+ */
+public class ConnectionPoolView implements ConnectionPoolViewMBean {
+
+    private final TargetConnections connections;
+
+    public ConnectionPoolView(TargetConnections connections) {
+        this.connections = connections;
+    }
+
+    public int getRouteCount() {
+        return connections.getPoolStatistics().size();
+    }
+
+    public Map getPoolStatistics() {
+        return connections.getPoolStatistics();
+    }
+
+    public int evictIdleConnections() {
+        return connections.evictIdleConnections();
+    }
+}
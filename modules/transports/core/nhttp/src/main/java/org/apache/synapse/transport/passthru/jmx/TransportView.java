@@ -23,6 +23,7 @@ import org.apache.axis2.AxisFault;
 import org.apache.axis2.transport.base.threads.WorkerPool;
 import org.apache.synapse.transport.passthru.PassThroughHttpListener;
 import org.apache.synapse.transport.passthru.PassThroughHttpSender;
+import org.apache.synapse.transport.passthru.util.BufferFactory;
 
 import java.util.Map;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -37,6 +38,8 @@ public class TransportView implements TransportViewMBean {
 
     private WorkerPool threadPool = null;
 
+    private BufferFactory bufferFactory = null;
+
     public TransportView(PassThroughHttpListener listener,
                          PassThroughHttpSender sender,
                          PassThroughTransportMetricsCollector metrics,
@@ -47,6 +50,15 @@ public class TransportView implements TransportViewMBean {
         this.sender = sender;
     }
 
+    public TransportView(PassThroughHttpListener listener,
+                         PassThroughHttpSender sender,
+                         PassThroughTransportMetricsCollector metrics,
+                         WorkerPool threadPool,
+                         BufferFactory bufferFactory) throws AxisFault {
+        this(listener, sender, metrics, threadPool);
+        this.bufferFactory = bufferFactory;
+    }
+
     public void pause() throws AxisFault {
         if (listener != null) {
             listener.pause();
@@ -190,6 +202,48 @@ public class TransportView implements TransportViewMBean {
         return null;
     }
 
+    public long getBufferPoolHits() {
+        if (bufferFactory != null) {
+            return bufferFactory.getHits();
+        }
+        return -1;
+    }
+
+    public long getBufferPoolMisses() {
+        if (bufferFactory != null) {
+            return bufferFactory.getMisses();
+        }
+        return -1;
+    }
+
+    public long getBufferPoolAllocations() {
+        if (bufferFactory != null) {
+            return bufferFactory.getAllocations();
+        }
+        return -1;
+    }
+
+    public long getBufferPoolReleases() {
+        if (bufferFactory != null) {
+            return bufferFactory.getReleases();
+        }
+        return -1;
+    }
+
+    public long getBufferPoolDiscards() {
+        if (bufferFactory != null) {
+            return bufferFactory.getDiscards();
+        }
+        return -1;
+    }
+
+    public int getBufferPoolSize() {
+        if (bufferFactory != null) {
+            return bufferFactory.getPooledBufferCount();
+        }
+        return -1;
+    }
+
     public void start() throws Exception {
         if (listener != null) {
             listener.start();
@@ -206,6 +260,9 @@ public class TransportView implements TransportViewMBean {
         if (metrics != null) {
             metrics.reset();
         }
+        if (bufferFactory != null) {
+            bufferFactory.resetStatistics();
+        }
     }
 
     public long getLastResetTime() {
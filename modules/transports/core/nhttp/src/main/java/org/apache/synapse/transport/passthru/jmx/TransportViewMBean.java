@@ -41,6 +41,12 @@ public interface TransportViewMBean {
     public int  getActiveThreadCount();
     public int getQueueSize();
     public Map getResponseCodeTable();
+    public long getBufferPoolHits();
+    public long getBufferPoolMisses();
+    public long getBufferPoolAllocations();
+    public long getBufferPoolReleases();
+    public long getBufferPoolDiscards();
+    public int getBufferPoolSize();
 
     // JMX Operations
     public void start() throws Exception;
@@ -16,25 +16,60 @@
 
 package org.apache.synapse.transport.passthru.util;
 
+import org.apache.http.Header;
+import org.apache.http.HttpMessage;
 import org.apache.http.nio.util.ByteBufferAllocator;
 import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.apache.http.protocol.HTTP;
 
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Pool of {@link ControlledByteBuffer}s used by the pass-through transport.
+ * <p>
+ * Buffers are pooled per size class. Each size class has a bounded, lock-free global stack and
+ * optionally a small per-thread slab, so that an I/O dispatcher which releases and re-acquires
+ * buffers does not touch any shared state at all. Released buffers go to the slab of the releasing
+ * thread first and overflow into the global stack; buffers which do not fit into either are left to
+ * the garbage collector.
+ */
 public class BufferFactory {
 
-    private volatile ControlledByteBuffer [] buffers;
+    private final ByteBufferAllocator allocator;
+
+    private final int bufferSize;
+
+    private final SizeClass[] sizeClasses;
+
+    private final LongAdder hits = new LongAdder();
 
-    private volatile int marker = -1;
+    private final LongAdder misses = new LongAdder();
 
-    private ByteBufferAllocator allocator = null;
+    private final LongAdder allocations = new LongAdder();
 
-    private Lock lock = new ReentrantLock();
+    private final LongAdder releases = new LongAdder();
 
-    private int bufferSize = 1024 * 8;
+    private final LongAdder discards = new LongAdder();
 
     public BufferFactory(int bufferSize, ByteBufferAllocator allocator, int size) {
+        this(bufferSize, allocator, size, 0, 1);
+    }
+
+    /**
+     * Creates a buffer factory.
+     *
+     * @param bufferSize      capacity of the buffers in the smallest size class
+     * @param allocator       allocator used for new buffers, heap allocator is used if null
+     * @param size            maximum number of buffers kept in the global pool of each size class
+     * @param threadLocalSize maximum number of buffers kept per thread and size class, 0 disables
+     *                        thread local pooling
+     * @param sizeClassCount  number of size classes, each class doubles the capacity of the previous one
+     */
+    public BufferFactory(int bufferSize, ByteBufferAllocator allocator, int size, int threadLocalSize,
+                         int sizeClassCount) {
         this.bufferSize = bufferSize;
         if (allocator != null) {
             this.allocator = allocator;
@@ -42,45 +77,227 @@ public class BufferFactory {
             this.allocator = new HeapByteBufferAllocator();
         }
 
-        buffers = new ControlledByteBuffer[size];
+        if (sizeClassCount < 1) {
+            sizeClassCount = 1;
+        }
+        sizeClasses = new SizeClass[sizeClassCount];
+        for (int i = 0; i < sizeClassCount; i++) {
+            sizeClasses[i] = new SizeClass(bufferSize << i, size, threadLocalSize);
+        }
+    }
+
+    public ControlledByteBuffer getBuffer() {
+        return acquire(sizeClasses[0]);
     }
 
+    /**
+     * Returns a buffer which has at least the given capacity. Requests larger than the biggest size
+     * class are served with a new, un-pooled buffer.
+     *
+     * @param minCapacity required capacity
+     * @return an empty buffer in input mode
+     */
+    public ControlledByteBuffer getBuffer(int minCapacity) {
+        SizeClass sizeClass = sizeClassFor(minCapacity);
+        if (sizeClass == null) {
+            allocations.increment();
+            return new ControlledByteBuffer(allocator.allocate(minCapacity));
+        }
+        return acquire(sizeClass);
+    }
 
-    public ControlledByteBuffer getBuffer() {
+    /**
+     * Returns a pooled buffer sized for the entity of the given message. An entity with a known
+     * Content-Length gets the smallest size class which holds it, capped at the largest size class,
+     * any other entity gets a buffer of the smallest size class.
+     *
+     * @param message request or response whose entity is read into the buffer
+     * @return an empty buffer in input mode
+     */
+    public ControlledByteBuffer getBuffer(HttpMessage message) {
+        if (sizeClasses.length == 1) {
+            return getBuffer();
+        }
+        Header header = message.getFirstHeader(HTTP.CONTENT_LEN);
+        if (header == null || header.getValue() == null) {
+            return getBuffer();
+        }
+        long contentLength;
+        try {
+            contentLength = Long.parseLong(header.getValue().trim());
+        } catch (NumberFormatException e) {
+            return getBuffer();
+        }
+        int largest = sizeClasses[sizeClasses.length - 1].capacity;
+        return acquire(sizeClassFor((int) Math.max(0, Math.min(contentLength, largest))));
+    }
 
-        if (marker == -1) {
-            // System.out.println("allocating marker -1");
-            return new ControlledByteBuffer(allocator.allocate(bufferSize));
+    public void release(ControlledByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        SizeClass sizeClass = sizeClassOf(buffer.capacity());
+        if (sizeClass == null) {
+            discards.increment();
+            return;
+        }
+        buffer.clear();
+        buffer.forceSetInputMode();
+        if (sizeClass.offer(buffer)) {
+            releases.increment();
         } else {
-            try {
-                lock.lock();
-                if (marker >= 0) {
-                    // System.out.println("Returning buffer");
-                    ControlledByteBuffer controlledByteBuffer = buffers[marker];
-                    controlledByteBuffer.clear();
-                    controlledByteBuffer.forceSetInputMode();
-                    buffers[marker] = null;
-                    marker--;
-                    return controlledByteBuffer;
-                }
-            } finally {
-                lock.unlock();
+            discards.increment();
+        }
+    }
+
+    private ControlledByteBuffer acquire(SizeClass sizeClass) {
+        ControlledByteBuffer buffer = sizeClass.poll();
+        if (buffer != null) {
+            hits.increment();
+            return buffer;
+        }
+        misses.increment();
+        allocations.increment();
+        return new ControlledByteBuffer(allocator.allocate(sizeClass.capacity));
+    }
+
+    private SizeClass sizeClassFor(int capacity) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (capacity <= sizeClass.capacity) {
+                return sizeClass;
             }
         }
+        return null;
+    }
 
-        return new ControlledByteBuffer(allocator.allocate(bufferSize));
+    private SizeClass sizeClassOf(int capacity) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (capacity == sizeClass.capacity) {
+                return sizeClass;
+            }
+        }
+        return null;
     }
 
-    public void release(ControlledByteBuffer buffer) {
-        lock.lock();
-        try {
-            if (marker < buffers.length - 1) {
-                buffer.clear();
-                buffer.forceSetInputMode();
-                buffers[++marker] = buffer;
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return number of buffer requests served from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of pooled buffer requests which found the pool empty
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return total number of buffers allocated by this factory, including un-pooled ones
+     */
+    public long getAllocations() {
+        return allocations.sum();
+    }
+
+    /**
+     * @return number of buffers returned to the pool
+     */
+    public long getReleases() {
+        return releases.sum();
+    }
+
+    /**
+     * @return number of released buffers dropped because the pool was full
+     */
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    /**
+     * @return number of buffers currently held in the global pools, excluding per-thread slabs
+     */
+    public int getPooledBufferCount() {
+        int count = 0;
+        for (SizeClass sizeClass : sizeClasses) {
+            count += sizeClass.globalCount.get();
+        }
+        return count;
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        allocations.reset();
+        releases.reset();
+        discards.reset();
+    }
+
+    /**
+     * Buffers of a single capacity. The global stack is a lock-free deque bounded by an atomic
+     * counter, the per-thread slabs are plain deques as they are never shared.
+     */
+    private static final class SizeClass {
+
+        private final int capacity;
+
+        private final int globalLimit;
+
+        private final int threadLocalLimit;
+
+        private final ConcurrentLinkedDeque<ControlledByteBuffer> global = new ConcurrentLinkedDeque<>();
+
+        private final AtomicInteger globalCount = new AtomicInteger();
+
+        private final ThreadLocal<ArrayDeque<ControlledByteBuffer>> slab;
+
+        private SizeClass(int capacity, int globalLimit, int threadLocalLimit) {
+            this.capacity = capacity;
+            this.globalLimit = globalLimit;
+            this.threadLocalLimit = threadLocalLimit;
+            if (threadLocalLimit > 0) {
+                slab = ThreadLocal.withInitial(() -> new ArrayDeque<>(threadLocalLimit));
+            } else {
+                slab = null;
+            }
+        }
+
+        private ControlledByteBuffer poll() {
+            if (slab != null) {
+                ControlledByteBuffer buffer = slab.get().pollFirst();
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+            ControlledByteBuffer buffer = global.pollFirst();
+            if (buffer != null) {
+                globalCount.decrementAndGet();
+            }
+            return buffer;
+        }
+
+        private boolean offer(ControlledByteBuffer buffer) {
+            if (slab != null) {
+                ArrayDeque<ControlledByteBuffer> local = slab.get();
+                if (local.size() < threadLocalLimit) {
+                    local.addFirst(buffer);
+                    return true;
+                }
+            }
+            while (true) {
+                int count = globalCount.get();
+                if (count >= globalLimit) {
+                    return false;
+                }
+                if (globalCount.compareAndSet(count, count + 1)) {
+                    global.offerFirst(buffer);
+                    return true;
+                }
             }
-        } finally {
-            lock.unlock();
         }
     }
 }
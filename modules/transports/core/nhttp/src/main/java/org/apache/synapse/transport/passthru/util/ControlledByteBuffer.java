@@ -29,7 +29,7 @@ public class ControlledByteBuffer {
         return inputMode.get();
     }
 
-    private AtomicBoolean inputMode = new AtomicBoolean(true);
+    private final AtomicBoolean inputMode = new AtomicBoolean(true);
 
     public ControlledByteBuffer(ByteBuffer byteBuffer) {
         this.byteBuffer = byteBuffer;
@@ -48,7 +48,7 @@ public class ControlledByteBuffer {
     }
 
     public void forceSetInputMode() {
-        this.inputMode = new AtomicBoolean(true);
+        this.inputMode.set(true);
     }
 
     public void flip() {
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru;
+
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.synapse.transport.passthru.util.ControlledByteBuffer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Tests the relay mode of the {@link Pipe}, where content is handed over from the decoder to the encoder without
+ * locking.
+ */
+public class PipeTest {
+
+    private boolean relayModeAllowed;
+
+    @Before
+    public void setUp() throws Exception {
+        Field field = Pipe.class.getDeclaredField("relayModeAllowed");
+        field.setAccessible(true);
+        relayModeAllowed = field.getBoolean(null);
+        field.setBoolean(null, true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Field field = Pipe.class.getDeclaredField("relayModeAllowed");
+        field.setAccessible(true);
+        field.setBoolean(null, relayModeAllowed);
+    }
+
+    @Test
+    public void testRelayKeepsBufferedContent() throws Exception {
+        byte[] content = randomBytes(100);
+        TestIOControl producer = new TestIOControl();
+        TestIOControl consumer = new TestIOControl();
+        Pipe pipe = new Pipe(producer, new ControlledByteBuffer(ByteBuffer.allocate(64)), "test", null);
+
+        TestDecoder decoder = new TestDecoder(content, 40);
+        pipe.produce(decoder);
+        pipe.attachConsumer(consumer);
+        Assert.assertTrue("Relay mode should be enabled for an untouched pipe", pipe.enableRelayMode());
+
+        TestEncoder encoder = new TestEncoder(Integer.MAX_VALUE);
+        while (!encoder.isCompleted()) {
+            pipe.produce(decoder);
+            pipe.consume(encoder);
+        }
+        Assert.assertArrayEquals(content, encoder.getContent());
+    }
+
+    @Test
+    public void testRelayWrapsAroundAndSuspends() throws Exception {
+        byte[] content = randomBytes(10000);
+        TestIOControl producer = new TestIOControl();
+        TestIOControl consumer = new TestIOControl();
+        Pipe pipe = new Pipe(producer, new ControlledByteBuffer(ByteBuffer.allocate(64)), "test", null);
+        pipe.attachConsumer(consumer);
+        Assert.assertTrue(pipe.enableRelayMode());
+
+        TestDecoder decoder = new TestDecoder(content, 37);
+        TestEncoder encoder = new TestEncoder(23);
+        pipe.consume(encoder);
+        Assert.assertTrue("Consumer should be suspended on an empty pipe", consumer.outputSuspended);
+
+        int iterations = 0;
+        while (!encoder.isCompleted()) {
+            pipe.produce(decoder);
+            pipe.produce(decoder);
+            Assert.assertFalse(consumer.outputSuspended);
+            pipe.consume(encoder);
+            Assert.assertTrue("Did not complete in time", iterations++ < 10000);
+        }
+        Assert.assertArrayEquals(content, encoder.getContent());
+    }
+
+    @Test
+    public void testRelayCopyVariants() throws Exception {
+        byte[] content = randomBytes(500);
+        Pipe pipe = new Pipe(new TestIOControl(), new ControlledByteBuffer(ByteBuffer.allocate(128)), "test", null);
+        pipe.attachConsumer(new TestIOControl());
+        Assert.assertTrue(pipe.enableRelayMode());
+
+        TestDecoder decoder = new TestDecoder(content, 50);
+        TestEncoder encoder = new TestEncoder(30);
+        ByteArrayOutputStream produced = new ByteArrayOutputStream();
+        ByteArrayOutputStream consumed = new ByteArrayOutputStream();
+        while (!encoder.isCompleted()) {
+            append(produced, pipe.copyAndProduce(decoder));
+            append(consumed, pipe.copyAndConsume(encoder));
+        }
+        Assert.assertArrayEquals(content, produced.toByteArray());
+        Assert.assertArrayEquals(content, consumed.toByteArray());
+        Assert.assertArrayEquals(content, encoder.getContent());
+    }
+
+    @Test
+    public void testRelayNotEnabledWhenStreamsAreUsed() throws Exception {
+        Pipe pipe = new Pipe(new TestIOControl(), new ControlledByteBuffer(ByteBuffer.allocate(64)), "test", null);
+        Assert.assertFalse("Relay mode requires a consumer", pipe.enableRelayMode());
+        pipe.attachConsumer(new TestIOControl());
+        pipe.getInputStream();
+        Assert.assertFalse("Relay mode must not be used once the content is read", pipe.enableRelayMode());
+    }
+
+    @Test
+    public void testRelayProducerError() throws Exception {
+        Pipe pipe = new Pipe(new TestIOControl(), new ControlledByteBuffer(ByteBuffer.allocate(64)), "test", null);
+        pipe.attachConsumer(new TestIOControl());
+        Assert.assertTrue(pipe.enableRelayMode());
+        pipe.producerError();
+        TestEncoder encoder = new TestEncoder(10);
+        Assert.assertEquals(-1, pipe.consume(encoder));
+        Assert.assertTrue(encoder.isCompleted());
+    }
+
+    @Test(timeout = 30000)
+    public void testDiscardRelayModePipe() throws Exception {
+        byte[] content = randomBytes(1000);
+        final Pipe pipe = new Pipe(new TestIOControl(), new ControlledByteBuffer(ByteBuffer.allocate(64)), "test",
+                null);
+        pipe.attachConsumer(new TestIOControl());
+        Assert.assertTrue(pipe.enableRelayMode());
+
+        // relay part of the content so that the unread bytes wrap around the end of the buffer
+        final TestDecoder decoder = new TestDecoder(content, 50);
+        TestEncoder encoder = new TestEncoder(30);
+        pipe.produce(decoder);
+        pipe.consume(encoder);
+        pipe.produce(decoder);
+        byte[] relayed = encoder.getContent();
+
+        Thread producer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    while (!decoder.isCompleted()) {
+                        pipe.produce(decoder);
+                        Thread.yield();
+                    }
+                } catch (IOException ignore) {
+                }
+            }
+        };
+        producer.start();
+
+        // the same checks RelayUtils#discardMessage performs
+        ByteArrayOutputStream discarded = new ByteArrayOutputStream();
+        int iterations = 0;
+        while (!pipe.isProducerCompleted() || pipe.isConsumeRequired()) {
+            InputStream in = pipe.getInputStream();
+            byte[] bytes = new byte[128];
+            int read;
+            while ((read = in.read(bytes)) != -1) {
+                discarded.write(bytes, 0, read);
+            }
+            Assert.assertTrue("Discarding did not complete in time", iterations++ < 10000);
+        }
+        producer.join(10000);
+
+        Assert.assertFalse("Relay mode should be left once the pipe is read", pipe.isRelayMode());
+        byte[] expected = new byte[content.length - relayed.length];
+        System.arraycopy(content, relayed.length, expected, 0, expected.length);
+        Assert.assertArrayEquals(expected, discarded.toByteArray());
+    }
+
+    private static void append(ByteArrayOutputStream out, ByteBuffer buffer) {
+        if (buffer != null) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static class TestIOControl implements IOControl {
+
+        private boolean inputSuspended;
+        private boolean outputSuspended;
+
+        @Override
+        public void requestInput() {
+            inputSuspended = false;
+        }
+
+        @Override
+        public void suspendInput() {
+            inputSuspended = true;
+        }
+
+        @Override
+        public void requestOutput() {
+            outputSuspended = false;
+        }
+
+        @Override
+        public void suspendOutput() {
+            outputSuspended = true;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    /**
+     * Decoder which reads at most the given number of bytes per call, as a socket would.
+     */
+    private static class TestDecoder implements ContentDecoder {
+
+        private final ByteBuffer content;
+        private final int chunkSize;
+
+        private TestDecoder(byte[] content, int chunkSize) {
+            this.content = ByteBuffer.wrap(content);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!content.hasRemaining()) {
+                return -1;
+            }
+            int length = Math.min(Math.min(chunkSize, dst.remaining()), content.remaining());
+            ByteBuffer chunk = content.duplicate();
+            chunk.limit(chunk.position() + length);
+            dst.put(chunk);
+            content.position(content.position() + length);
+            return length;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return !content.hasRemaining();
+        }
+    }
+
+    /**
+     * Encoder which accepts at most the given number of bytes per call, as a socket would.
+     */
+    private static class TestEncoder implements ContentEncoder {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private final int chunkSize;
+        private boolean completed;
+
+        private TestEncoder(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int length = Math.min(chunkSize, src.remaining());
+            for (int i = 0; i < length; i++) {
+                content.write(src.get());
+            }
+            return length;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        private byte[] getContent() {
+            return content.toByteArray();
+        }
+    }
+}
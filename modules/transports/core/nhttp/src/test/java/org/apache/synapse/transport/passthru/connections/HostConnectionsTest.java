@@ -22,6 +22,7 @@ package org.apache.synapse.transport.passthru.connections;
 import com.tngtech.java.junit.dataprovider.DataProvider;
 import com.tngtech.java.junit.dataprovider.DataProviderRunner;
 import com.tngtech.java.junit.dataprovider.UseDataProvider;
+import org.apache.http.HttpConnectionMetrics;
 import org.apache.http.nio.NHttpClientConnection;
 import org.apache.http.protocol.HttpContext;
 import org.apache.synapse.transport.passthru.PassThroughConstants;
@@ -29,11 +30,15 @@ import org.apache.synapse.transport.passthru.config.ConnectionTimeoutConfigurati
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
-import org.powermock.api.support.membermodification.MemberModifier;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
 @RunWith(DataProviderRunner.class)
@@ -54,14 +59,14 @@ public class HostConnectionsTest {
                                   final int connectionGraceTime) throws Exception {
 
         NHttpClientConnection nHttpClientConnection = Mockito.mock(NHttpClientConnection.class);
-        List<NHttpClientConnection> freeConnections = new ArrayList<>();
-        freeConnections.add(nHttpClientConnection);
         ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(connectionIdleTime,
                 maximumConnectionLifeSpan, connectionGraceTime);
         HostConnections hostConnections = new HostConnections(null, 1, conf);
-        MemberModifier.field(HostConnections.class, "freeConnections").set(hostConnections, freeConnections);
         long currentTime = System.currentTimeMillis();
         Mockito.when((nHttpClientConnection.getContext())).thenReturn(Mockito.mock(HttpContext.class));
+        Mockito.when(nHttpClientConnection.getMetrics()).thenReturn(Mockito.mock(HttpConnectionMetrics.class));
+        hostConnections.addConnection(nHttpClientConnection);
+        hostConnections.release(nHttpClientConnection);
         Mockito.when((Long) nHttpClientConnection.getContext().getAttribute(PassThroughConstants.CONNECTION_INIT_TIME))
                 .thenReturn(0L);
         Mockito.when((Long) nHttpClientConnection.getContext().getAttribute(PassThroughConstants
@@ -77,4 +82,124 @@ public class HostConnectionsTest {
         hostConnections.getConnection();
         Mockito.verify(nHttpClientConnection, times(1)).shutdown();
     }
+
+    @Test
+    public void testWarmConnectionIsReusedFirst() {
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, 0, 0);
+        HostConnections hostConnections = new HostConnections(null, 10, conf);
+        NHttpClientConnection first = createConnection();
+        NHttpClientConnection second = createConnection();
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        hostConnections.pendingConnectionSucceeded();
+        hostConnections.addConnection(first);
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        hostConnections.pendingConnectionSucceeded();
+        hostConnections.addConnection(second);
+
+        hostConnections.release(first);
+        hostConnections.release(second);
+        assertSame("Most recently released connection should be reused first", second,
+                   hostConnections.getConnection());
+        assertSame(first, hostConnections.getConnection());
+        assertNull(hostConnections.getConnection());
+
+        Map<String, Long> statistics = hostConnections.getStatistics();
+        assertEquals(Long.valueOf(2), statistics.get("ConnectionsCreated"));
+        assertEquals(Long.valueOf(2), statistics.get("ConnectionsReused"));
+        assertEquals(Long.valueOf(2), statistics.get("BusyConnections"));
+    }
+
+    @Test
+    public void testConnectionLimits() {
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, 0, 0);
+        HostConnections hostConnections = new HostConnections(null, 3, 2, conf);
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        assertFalse("Pending connections should be bounded", hostConnections.checkAndIncrementPendingConnections());
+
+        NHttpClientConnection connection = createConnection();
+        hostConnections.pendingConnectionSucceeded();
+        hostConnections.addConnection(connection);
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        assertFalse("Total connections should be bounded", hostConnections.checkAndIncrementPendingConnections());
+
+        hostConnections.pendingConnectionFailed();
+        hostConnections.forget(connection);
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        assertEquals(Long.valueOf(1), hostConnections.getStatistics().get("ConnectFailures"));
+        assertEquals(Long.valueOf(1), hostConnections.getStatistics().get("ConnectionsClosed"));
+    }
+
+    @Test
+    public void testEvictIdleConnections() throws Exception {
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, 0, 0);
+        HostConnections hostConnections = new HostConnections(null, 10, conf);
+        NHttpClientConnection expired = createConnection();
+        NHttpClientConnection active = createConnection();
+        Mockito.when(expired.getContext().getAttribute(PassThroughConstants.CONNECTION_EXPIRY_TIME))
+                .thenReturn(0L);
+        Mockito.when(active.getContext().getAttribute(PassThroughConstants.CONNECTION_EXPIRY_TIME))
+                .thenReturn(Long.MAX_VALUE);
+        hostConnections.addConnection(active);
+        hostConnections.addConnection(expired);
+        hostConnections.release(active);
+        hostConnections.release(expired);
+
+        assertEquals(1, hostConnections.evictIdleConnections());
+        Mockito.verify(expired, times(1)).shutdown();
+        Mockito.verify(active, never()).shutdown();
+        assertSame(active, hostConnections.getConnection());
+    }
+
+    @Test
+    public void testParkedConnectRequests() {
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, 0, 0);
+        HostConnections hostConnections = new HostConnections(null, 3, 1, conf);
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        assertFalse(hostConnections.checkAndIncrementPendingConnections());
+        assertTrue("Request should wait for the pending connect", hostConnections.parkConnectRequest());
+        assertFalse("No connect can be started while the other one is pending",
+                    hostConnections.reserveParkedConnect());
+
+        hostConnections.pendingConnectionSucceeded();
+        hostConnections.addConnection(createConnection());
+        assertTrue("Parked request should be resumed", hostConnections.reserveParkedConnect());
+        assertFalse(hostConnections.reserveParkedConnect());
+        assertEquals(Long.valueOf(1), hostConnections.getStatistics().get("PendingConnections"));
+        assertEquals(Long.valueOf(0), hostConnections.getStatistics().get("ParkedConnectRequests"));
+
+        hostConnections.pendingConnectionSucceeded();
+        hostConnections.addConnection(createConnection());
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        assertFalse("Requests are rejected at the maximum connections", hostConnections.parkConnectRequest());
+    }
+
+    @Test
+    public void testForgetWhileReleasing() {
+        ConnectionTimeoutConfiguration conf = new ConnectionTimeoutConfiguration(60000, 0, 0);
+        HostConnections hostConnections = new HostConnections(null, 1, conf);
+        NHttpClientConnection connection = createConnection();
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        hostConnections.pendingConnectionSucceeded();
+        hostConnections.addConnection(connection);
+
+        hostConnections.forget(connection);
+        hostConnections.release(connection);
+        assertNull("A forgotten connection must not be handed out", hostConnections.getConnection());
+        assertTrue(hostConnections.checkAndIncrementPendingConnections());
+        assertEquals(Long.valueOf(1), hostConnections.getStatistics().get("ConnectionsClosed"));
+        assertEquals(Long.valueOf(0), hostConnections.getStatistics().get("FreeConnections"));
+    }
+
+    private NHttpClientConnection createConnection() {
+        NHttpClientConnection connection = Mockito.mock(NHttpClientConnection.class);
+        HttpContext context = Mockito.mock(HttpContext.class);
+        Mockito.when(connection.getContext()).thenReturn(context);
+        Mockito.when(connection.getMetrics()).thenReturn(Mockito.mock(HttpConnectionMetrics.class));
+        Mockito.when(context.getAttribute(PassThroughConstants.CONNECTION_INIT_TIME))
+                .thenReturn(System.currentTimeMillis());
+        Mockito.when(context.getAttribute(PassThroughConstants.CONNECTION_EXPIRY_TIME))
+                .thenReturn(Long.MAX_VALUE);
+        return connection;
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.synapse.transport.passthru.util;
+
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.nio.util.DirectByteBufferAllocator;
+import org.apache.http.nio.util.HeapByteBufferAllocator;
+import org.apache.http.protocol.HTTP;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class BufferFactoryTest {
+
+    @Test
+    public void testReleasedBufferIsReused() {
+        BufferFactory factory = new BufferFactory(1024, new HeapByteBufferAllocator(), 4);
+        ControlledByteBuffer buffer = factory.getBuffer();
+        buffer.put((byte) 1);
+        buffer.setOutputMode();
+        factory.release(buffer);
+
+        ControlledByteBuffer reused = factory.getBuffer();
+        Assert.assertSame("Released buffer has not been reused", buffer, reused);
+        Assert.assertEquals("Reused buffer has not been cleared", 0, reused.position());
+        Assert.assertTrue("Reused buffer is not in input mode", reused.isInputMode());
+        Assert.assertEquals(1, factory.getHits());
+        Assert.assertEquals(1, factory.getMisses());
+        Assert.assertEquals(1, factory.getAllocations());
+    }
+
+    @Test
+    public void testGlobalPoolIsBounded() {
+        BufferFactory factory = new BufferFactory(1024, null, 2);
+        List<ControlledByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            buffers.add(factory.getBuffer());
+        }
+        for (ControlledByteBuffer buffer : buffers) {
+            factory.release(buffer);
+        }
+        Assert.assertEquals(2, factory.getPooledBufferCount());
+        Assert.assertEquals(2, factory.getReleases());
+        Assert.assertEquals(2, factory.getDiscards());
+    }
+
+    @Test
+    public void testThreadLocalSlabOverflowsToGlobalPool() {
+        BufferFactory factory = new BufferFactory(1024, null, 8, 1, 1);
+        ControlledByteBuffer first = factory.getBuffer();
+        ControlledByteBuffer second = factory.getBuffer();
+        factory.release(first);
+        factory.release(second);
+        Assert.assertEquals("Only the overflow should reach the global pool", 1,
+                factory.getPooledBufferCount());
+        Assert.assertSame("Thread local slab should be used first", first, factory.getBuffer());
+        Assert.assertSame(second, factory.getBuffer());
+    }
+
+    @Test
+    public void testSizeClasses() {
+        BufferFactory factory = new BufferFactory(1024, new DirectByteBufferAllocator(), 4, 0, 3);
+        ControlledByteBuffer buffer = factory.getBuffer(3000);
+        Assert.assertEquals(4096, buffer.capacity());
+        Assert.assertTrue(buffer.getByteBuffer().isDirect());
+        factory.release(buffer);
+        Assert.assertSame(buffer, factory.getBuffer(2049));
+        Assert.assertEquals(1024, factory.getBuffer().capacity());
+
+        ControlledByteBuffer oversized = factory.getBuffer(10000);
+        Assert.assertEquals(10000, oversized.capacity());
+        factory.release(oversized);
+        Assert.assertEquals("Oversized buffers must not be pooled", 0, factory.getPooledBufferCount());
+    }
+
+    @Test
+    public void testEntitySizedBuffers() {
+        BufferFactory factory = new BufferFactory(1024, null, 4, 0, 3);
+        BasicHttpRequest request = new BasicHttpRequest("POST", "/");
+        Assert.assertEquals("Unknown length uses the smallest class", 1024, factory.getBuffer(request).capacity());
+
+        request.setHeader(HTTP.CONTENT_LEN, "3000");
+        ControlledByteBuffer buffer = factory.getBuffer(request);
+        Assert.assertEquals(4096, buffer.capacity());
+        factory.release(buffer);
+        Assert.assertSame(buffer, factory.getBuffer(request));
+
+        request.setHeader(HTTP.CONTENT_LEN, "100000000");
+        Assert.assertEquals("Large entities are capped at the largest class", 4096,
+                factory.getBuffer(request).capacity());
+        request.setHeader(HTTP.CONTENT_LEN, "invalid");
+        Assert.assertEquals(1024, factory.getBuffer(request).capacity());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final BufferFactory factory = new BufferFactory(512, null, 16, 4, 1);
+        final int threads = 8;
+        final int iterations = 10000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < iterations; i++) {
+                            ControlledByteBuffer a = factory.getBuffer();
+                            ControlledByteBuffer b = factory.getBuffer();
+                            factory.release(b);
+                            factory.release(a);
+                        }
+                        latch.countDown();
+                    }
+                });
+            }
+            Assert.assertTrue(latch.await(60, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(threads * iterations * 2L, factory.getHits() + factory.getMisses());
+        Assert.assertTrue(factory.getPooledBufferCount() <= 16);
+    }
+}